@@ -2,3 +2,33 @@
 
 ALTER TABLE ACT_RU_METER_LOG
   ADD REPORTER_ NVARCHAR2(255);
+
+-- job prioritization --
+
+ALTER TABLE ACT_RU_JOB
+  ADD PRIORITY_ NUMBER(19,0) DEFAULT 0 NOT NULL;
+
+create index ACT_IDX_JOB_PRIORITY on ACT_RU_JOB(PRIORITY_);
+
+ALTER TABLE ACT_RU_JOBDEF
+  ADD JOB_PRIORITY_ NUMBER(19,0);
+
+-- deployment sequence --
+
+INSERT INTO ACT_GE_PROPERTY
+  VALUES ('deployment.sequence', '0', 1);
+
+-- history time to live --
+
+ALTER TABLE ACT_RE_PROCDEF
+  ADD HISTORY_TTL_ INTEGER;
+
+-- message correlation keys --
+
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORR_KEY_NAME_ NVARCHAR2(255);
+
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORR_KEY_VALUE_ NVARCHAR2(255);
+
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORR_KEY_NAME_, CORR_KEY_VALUE_);
@@ -12,11 +12,15 @@
  */
 package org.camunda.bpm.engine.rest;
 
+import java.util.List;
+
+import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
+import org.camunda.bpm.engine.rest.dto.metrics.CommandMetricsDto;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
 
 /**
@@ -32,4 +36,9 @@ public interface MetricsRestService {
   @Path("/{name}")
   MetricsResource getMetrics(@PathParam("name") String name);
 
+  @GET
+  @Path("/commands")
+  @Produces(MediaType.APPLICATION_JSON)
+  List<CommandMetricsDto> getCommandMetrics();
+
 }
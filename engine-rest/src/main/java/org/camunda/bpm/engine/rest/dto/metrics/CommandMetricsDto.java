@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+public class CommandMetricsDto {
+
+  protected String commandName;
+  protected long invocations;
+  protected long failures;
+  protected long sqlStatements;
+  protected long entitiesLoaded;
+  protected long totalExecutionTime;
+  protected long totalFlushTime;
+  protected long executionTimeP50;
+  protected long executionTimeP99;
+  protected long flushTimeP99;
+
+  public String getCommandName() {
+    return commandName;
+  }
+  public long getInvocations() {
+    return invocations;
+  }
+  public long getFailures() {
+    return failures;
+  }
+  public long getSqlStatements() {
+    return sqlStatements;
+  }
+  public long getEntitiesLoaded() {
+    return entitiesLoaded;
+  }
+  public long getTotalExecutionTime() {
+    return totalExecutionTime;
+  }
+  public long getTotalFlushTime() {
+    return totalFlushTime;
+  }
+  public long getExecutionTimeP50() {
+    return executionTimeP50;
+  }
+  public long getExecutionTimeP99() {
+    return executionTimeP99;
+  }
+  public long getFlushTimeP99() {
+    return flushTimeP99;
+  }
+
+  public static CommandMetricsDto fromCommandMetrics(CommandMetrics commandMetrics) {
+    CommandMetricsDto dto = new CommandMetricsDto();
+
+    dto.commandName = commandMetrics.getCommandName();
+    dto.invocations = commandMetrics.getInvocations();
+    dto.failures = commandMetrics.getFailures();
+    dto.sqlStatements = commandMetrics.getSqlStatements();
+    dto.entitiesLoaded = commandMetrics.getEntitiesLoaded();
+    dto.totalExecutionTime = commandMetrics.getTotalExecutionTime();
+    dto.totalFlushTime = commandMetrics.getTotalFlushTime();
+    dto.executionTimeP50 = commandMetrics.getExecutionTimePercentile(50);
+    dto.executionTimeP99 = commandMetrics.getExecutionTimePercentile(99);
+    dto.flushTimeP99 = commandMetrics.getFlushTimePercentile(99);
+
+    return dto;
+  }
+
+}
@@ -13,24 +13,33 @@
 
 package org.camunda.bpm.engine.rest.hal.cache;
 
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.NavigableSet;
-import java.util.TreeSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.rest.cache.Cache;
 
+/**
+ * Thread-safe cache which evicts the least recently used entry once its
+ * capacity is exceeded and discards entries older than the configured
+ * time to live on access. Both operations take constant time.
+ */
 public class DefaultHalResourceCache implements Cache {
 
   public final static Comparator<HalResourceCacheEntry> COMPARATOR = HalResourceCacheEntryComparator.getInstance();
 
   protected int capacity;
   protected long secondsToLive;
-  protected Map<String, HalResourceCacheEntry> cache;
+
+  /** entries in access order, the least recently used entry first */
+  protected LinkedHashMap<String, HalResourceCacheEntry> cache;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+  protected AtomicLong evictionCount = new AtomicLong();
+  protected AtomicLong expirationCount = new AtomicLong();
 
   public DefaultHalResourceCache() {
     this(100, 100);
@@ -39,15 +48,16 @@ public class DefaultHalResourceCache implements Cache {
   public DefaultHalResourceCache(int capacity, long secondsToLive) {
     this.capacity = capacity;
     this.secondsToLive = secondsToLive;
-    cache = new HashMap<String, HalResourceCacheEntry>();
+    cache = new LinkedHashMap<String, HalResourceCacheEntry>(16, 0.75f, true);
   }
 
   public int getCapacity() {
     return capacity;
   }
 
-  public void setCapacity(int capacity) {
+  public synchronized void setCapacity(int capacity) {
     this.capacity = capacity;
+    ensureCapacityLimit();
   }
 
   public long getSecondsToLive() {
@@ -58,68 +68,71 @@ public class DefaultHalResourceCache implements Cache {
     this.secondsToLive = secondsToLive;
   }
 
-  public int size() {
+  public synchronized int size() {
     return cache.size();
   }
 
-  public void put(String id, Object resource) {
+  public synchronized void put(String id, Object resource) {
     cache.put(id, new HalResourceCacheEntry(id, resource));
     ensureCapacityLimit();
   }
 
-  public void remove(String id) {
+  public synchronized void remove(String id) {
     cache.remove(id);
   }
 
-  public Object get(String id) {
+  public synchronized Object get(String id) {
     HalResourceCacheEntry cacheEntry = cache.get(id);
     if (cacheEntry != null) {
       if (expired(cacheEntry)) {
         remove(cacheEntry.getId());
+        expirationCount.incrementAndGet();
+        missCount.incrementAndGet();
         return null;
       }
       else {
+        hitCount.incrementAndGet();
         return cacheEntry.getResource();
       }
     }
     else {
+      missCount.incrementAndGet();
       return null;
     }
   }
 
-  public void destroy() {
+  public synchronized void destroy() {
     cache.clear();
   }
 
+  /**
+   * @return a snapshot of the hit, miss and eviction counters of this cache
+   */
+  public HalResourceCacheStatistics getStatistics() {
+    return new HalResourceCacheStatistics(hitCount.get(), missCount.get(), evictionCount.get(), expirationCount.get(), size());
+  }
+
+  public void resetStatistics() {
+    hitCount.set(0);
+    missCount.set(0);
+    evictionCount.set(0);
+    expirationCount.set(0);
+  }
+
+  /**
+   * Removes the least recently used entries until the capacity limit is met.
+   * Must be called while holding the lock of this cache.
+   */
   protected void ensureCapacityLimit() {
-    if (size() > getCapacity()) {
-      List<HalResourceCacheEntry> resources = new ArrayList<HalResourceCacheEntry>(cache.values());
-      NavigableSet<HalResourceCacheEntry> remainingResources = new TreeSet<HalResourceCacheEntry>(COMPARATOR);
-
-      // remove expired resources
-      for (HalResourceCacheEntry resource : resources) {
-        if (expired(resource)) {
-          remove(resource.getId());
-        }
-        else {
-          remainingResources.add(resource);
-        }
-
-        if (size() <= getCapacity()) {
-          // abort if capacity is reached
-          return;
-        }
+    Iterator<HalResourceCacheEntry> entries = cache.values().iterator();
+    while (cache.size() > capacity && entries.hasNext()) {
+      HalResourceCacheEntry entry = entries.next();
+      entries.remove();
+      if (expired(entry)) {
+        expirationCount.incrementAndGet();
       }
-
-      // if still exceed capacity remove oldest
-      while (remainingResources.size() > capacity) {
-        HalResourceCacheEntry resourceToRemove = remainingResources.pollFirst();
-        if (resourceToRemove != null) {
-          remove(resourceToRemove.getId());
-        }
-        else {
-          break;
-        }
+      else {
+        evictionCount.incrementAndGet();
       }
     }
   }
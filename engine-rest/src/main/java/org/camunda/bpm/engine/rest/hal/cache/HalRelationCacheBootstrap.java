@@ -54,6 +54,7 @@ public class HalRelationCacheBootstrap implements ServletContextListener {
     for (Map.Entry<Class<?>, Map<String, Object>> cacheConfiguration : configuration.getCacheConfigurations().entrySet()) {
       Cache cache = createCache(cacheClass, cacheConfiguration.getValue());
       registerCache(cacheConfiguration.getKey(), cache);
+      configuration.addCache(cacheConfiguration.getKey(), cache);
     }
   }
 
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
@@ -34,6 +35,7 @@ public class HalRelationCacheConfiguration {
   protected ObjectMapper objectMapper = new ObjectMapper();
   protected Class<? extends Cache> cacheImplementationClass;
   protected Map<Class<?>, Map<String, Object>> cacheConfigurations;
+  protected Map<Class<?>, Cache> caches = new ConcurrentHashMap<Class<?>, Cache>();
 
   public HalRelationCacheConfiguration() {
     cacheConfigurations = new HashMap<Class<?>, Map<String, Object>>();
@@ -70,6 +72,31 @@ public class HalRelationCacheConfiguration {
     this.cacheConfigurations.put(halResourceClass, cacheConfiguration);
   }
 
+  /**
+   * @return the caches which were created from this configuration
+   */
+  public Map<Class<?>, Cache> getCaches() {
+    return caches;
+  }
+
+  public void addCache(Class<?> halResourceClass, Cache cache) {
+    this.caches.put(halResourceClass, cache);
+  }
+
+  /**
+   * @return the hit, miss and eviction counters of the created caches which
+   *   keep statistics, by HAL resource class
+   */
+  public Map<Class<?>, HalResourceCacheStatistics> getCacheStatistics() {
+    Map<Class<?>, HalResourceCacheStatistics> statistics = new HashMap<Class<?>, HalResourceCacheStatistics>();
+    for (Entry<Class<?>, Cache> cache : caches.entrySet()) {
+      if (cache.getValue() instanceof DefaultHalResourceCache) {
+        statistics.put(cache.getKey(), ((DefaultHalResourceCache) cache.getValue()).getStatistics());
+      }
+    }
+    return statistics;
+  }
+
   protected void parseConfiguration(String configuration) {
     try {
       JsonNode jsonConfiguration = objectMapper.readTree(configuration);
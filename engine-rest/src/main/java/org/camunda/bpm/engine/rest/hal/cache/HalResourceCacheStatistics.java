@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.rest.hal.cache;
+
+/**
+ * Snapshot of the usage counters of a {@link DefaultHalResourceCache}.
+ */
+public class HalResourceCacheStatistics {
+
+  protected long hitCount;
+  protected long missCount;
+  protected long evictionCount;
+  protected long expirationCount;
+  protected int size;
+
+  public HalResourceCacheStatistics(long hitCount, long missCount, long evictionCount, long expirationCount, int size) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.expirationCount = expirationCount;
+    this.size = size;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return the number of entries removed because the capacity was exceeded
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return the number of entries removed because their time to live expired
+   */
+  public long getExpirationCount() {
+    return expirationCount;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public double getHitRatio() {
+    long requests = hitCount + missCount;
+    return requests == 0 ? 0 : (double) hitCount / requests;
+  }
+
+  public String toString() {
+    return "HalResourceCacheStatistics[hits=" + hitCount
+        + ", misses=" + missCount
+        + ", evictions=" + evictionCount
+        + ", expirations=" + expirationCount
+        + ", size=" + size + "]";
+  }
+
+}
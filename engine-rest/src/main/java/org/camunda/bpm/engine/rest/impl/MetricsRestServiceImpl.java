@@ -12,7 +12,12 @@
  */
 package org.camunda.bpm.engine.rest.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.rest.MetricsRestService;
+import org.camunda.bpm.engine.rest.dto.metrics.CommandMetricsDto;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResourceImpl;
 
@@ -32,4 +37,14 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return new MetricsResourceImpl(name, processEngine, objectMapper);
   }
 
+  public List<CommandMetricsDto> getCommandMetrics() {
+    List<CommandMetrics> commandMetrics = processEngine.getManagementService().getCommandMetrics();
+
+    List<CommandMetricsDto> result = new ArrayList<CommandMetricsDto>();
+    for (CommandMetrics metrics : commandMetrics) {
+      result.add(CommandMetricsDto.fromCommandMetrics(metrics));
+    }
+    return result;
+  }
+
 }
@@ -13,8 +13,11 @@
 package org.camunda.bpm.engine.rest.security.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.impl.IdentityServiceImpl;
+import org.camunda.bpm.engine.impl.identity.AuthenticationCache;
 import org.camunda.bpm.engine.rest.dto.ExceptionDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.impl.NamedProcessEngineRestServiceImpl;
@@ -154,8 +157,33 @@ public class ProcessEngineAuthenticationFilter implements Filter {
   }
 
   protected void setAuthenticatedUser(ProcessEngine engine, String userId) {
+    IdentityService identityService = engine.getIdentityService();
+
+    AuthenticationCache authenticationCache = null;
+    if (identityService instanceof IdentityServiceImpl) {
+      authenticationCache = ((IdentityServiceImpl) identityService).getAuthenticationCache();
+    }
+
+    List<String> groupIds = null;
+    if (authenticationCache != null) {
+      groupIds = authenticationCache.getGroupIds(userId);
+    }
+
+    if (groupIds == null) {
+      long generation = authenticationCache != null ? authenticationCache.getGeneration() : 0;
+      groupIds = getGroupIds(identityService, userId);
+
+      if (authenticationCache != null) {
+        authenticationCache.putGroupIds(userId, groupIds, generation);
+      }
+    }
+
+    identityService.setAuthentication(userId, groupIds);
+  }
+
+  protected List<String> getGroupIds(IdentityService identityService, String userId) {
     // get user's groups
-    final List<Group> groupList = engine.getIdentityService().createGroupQuery()
+    final List<Group> groupList = identityService.createGroupQuery()
       .groupMember(userId)
       .list();
 
@@ -166,7 +194,7 @@ public class ProcessEngineAuthenticationFilter implements Filter {
       groupIds.add(group.getId());
     }
 
-    engine.getIdentityService().setAuthentication(userId, groupIds);
+    return groupIds;
   }
 
   protected void clearAuthentication(ProcessEngine engine) {
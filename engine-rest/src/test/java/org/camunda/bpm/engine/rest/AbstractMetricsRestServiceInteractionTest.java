@@ -22,11 +22,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Date;
 
 import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -41,6 +43,7 @@ public abstract class AbstractMetricsRestServiceInteractionTest extends Abstract
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String COMMANDS_URL = METRICS_URL + "/commands";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -111,5 +114,27 @@ public abstract class AbstractMetricsRestServiceInteractionTest extends Abstract
 
   }
 
+  @Test
+  public void testGetCommandMetrics() {
+    CommandMetrics commandMetrics = mock(CommandMetrics.class);
+    when(commandMetrics.getCommandName()).thenReturn("org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd");
+    when(commandMetrics.getInvocations()).thenReturn(5l);
+    when(commandMetrics.getSqlStatements()).thenReturn(20l);
+    when(commandMetrics.getExecutionTimePercentile(99)).thenReturn(1000l);
+    when(managementServiceMock.getCommandMetrics()).thenReturn(Arrays.asList(commandMetrics));
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(1))
+      .body("[0].commandName", equalTo("org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd"))
+      .body("[0].invocations", equalTo(5))
+      .body("[0].sqlStatements", equalTo(20))
+      .body("[0].executionTimeP99", equalTo(1000))
+     .when()
+      .get(COMMANDS_URL);
+
+    verify(managementServiceMock).getCommandMetrics();
+  }
 
 }
@@ -48,6 +48,7 @@ import org.camunda.bpm.engine.rest.hal.cache.DefaultHalResourceCache;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheBootstrap;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfiguration;
 import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfigurationException;
+import org.camunda.bpm.engine.rest.hal.cache.HalResourceCacheStatistics;
 import org.camunda.bpm.engine.rest.hal.identitylink.HalIdentityLink;
 import org.camunda.bpm.engine.rest.hal.user.HalUser;
 import org.camunda.bpm.engine.task.IdentityLink;
@@ -103,6 +104,47 @@ public class HalResourceCacheTest extends AbstractRestServiceTest {
     assertNull(cache.get("c"));
   }
 
+  @Test
+  public void testLeastRecentlyUsedEviction() {
+    cache.setCapacity(2);
+
+    cache.put("a", "a");
+    cache.put("b", "b");
+
+    // access a so that b becomes the least recently used entry
+    assertEquals("a", cache.get("a"));
+    cache.put("c", "c");
+
+    assertEquals(2, cache.size());
+    assertEquals("a", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("c", cache.get("c"));
+    assertEquals(1, cache.getStatistics().getEvictionCount());
+  }
+
+  @Test
+  public void testCacheStatistics() {
+    cache.put("hello", "world");
+
+    cache.get("hello");
+    cache.get("hello");
+    cache.get("unknown");
+
+    forwardTime(cache.getSecondsToLive() + 1);
+    cache.get("hello");
+
+    HalResourceCacheStatistics statistics = cache.getStatistics();
+    assertEquals(2, statistics.getHitCount());
+    assertEquals(2, statistics.getMissCount());
+    assertEquals(1, statistics.getExpirationCount());
+    assertEquals(0, statistics.getEvictionCount());
+    assertEquals(0, statistics.getSize());
+    assertEquals(0.5, statistics.getHitRatio(), 0.0001);
+
+    cache.resetStatistics();
+    assertEquals(0, cache.getStatistics().getHitCount());
+  }
+
   @Test
   public void testEntryExpiration() {
     cache.put("hello", "world");
@@ -168,6 +210,28 @@ public class HalResourceCacheTest extends AbstractRestServiceTest {
     assertEquals(123, ((DefaultHalResourceCache) cache).getSecondsToLive());
   }
 
+  @Test
+  public void testCacheStatisticsByConfiguration() {
+    HalRelationCacheConfiguration configuration = new HalRelationCacheConfiguration();
+    configuration.setCacheImplementationClass(DefaultHalResourceCache.class);
+    configuration.addCacheConfiguration(HalUser.class, Collections.<String, Object>singletonMap("capacity", 10));
+
+    contextListener.configureCaches(configuration);
+
+    Cache cache = Hal.getInstance().getHalRelationCache(HalUser.class);
+    assertEquals(cache, configuration.getCaches().get(HalUser.class));
+
+    cache.put("test", "user");
+    cache.get("test");
+    cache.get("unknown");
+
+    HalResourceCacheStatistics statistics = configuration.getCacheStatistics().get(HalUser.class);
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(1, statistics.getSize());
+  }
+
   @Test
   public void testCacheInvalidParameterName() {
     HalRelationCacheConfiguration configuration = new HalRelationCacheConfiguration();
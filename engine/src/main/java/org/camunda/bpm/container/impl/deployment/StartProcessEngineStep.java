@@ -33,7 +33,6 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
 import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
 import org.camunda.bpm.engine.impl.jobexecutor.FoxFailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
-import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
 import static org.camunda.bpm.container.impl.deployment.Attachments.PROCESS_APPLICATION;
@@ -80,10 +79,9 @@ public class StartProcessEngineStep extends DeploymentOperationStep {
     Class<? extends ProcessEngineConfigurationImpl> configurationClass = loadClass(configurationClassName, classLoader, ProcessEngineConfigurationImpl.class);
     ProcessEngineConfigurationImpl configuration = createInstance(configurationClass);
 
-    // set UUid generator
-    // TODO: move this to configuration and use as default?
+    // use the UUid generator unless another id generator type is set by the properties
     ProcessEngineConfigurationImpl configurationImpl = configuration;
-    configurationImpl.setIdGenerator(new StrongUuidGenerator());
+    configurationImpl.setIdGeneratorType(ProcessEngineConfigurationImpl.ID_GENERATOR_UUID);
 
     configureCustomRetryStrategy(configurationImpl);
 
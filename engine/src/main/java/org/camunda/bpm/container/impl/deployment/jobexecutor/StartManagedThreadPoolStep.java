@@ -14,8 +14,11 @@ package org.camunda.bpm.container.impl.deployment.jobexecutor;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 import org.camunda.bpm.container.impl.RuntimeContainerDelegateImpl;
 import org.camunda.bpm.container.impl.deployment.Attachments;
@@ -26,6 +29,7 @@ import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
 import org.camunda.bpm.container.impl.spi.DeploymentOperation;
 import org.camunda.bpm.container.impl.spi.DeploymentOperationStep;
 import org.camunda.bpm.container.impl.spi.ServiceTypes;
+import org.camunda.bpm.engine.impl.util.VirtualThreadUtil;
 
 /**
  * <p>
@@ -38,6 +42,8 @@ import org.camunda.bpm.container.impl.spi.ServiceTypes;
  */
 public class StartManagedThreadPoolStep extends DeploymentOperationStep {
 
+  private final static Logger LOGGER = Logger.getLogger(StartManagedThreadPoolStep.class.getName());
+
   private static final int DEFAULT_CORE_POOL_SIZE = 3;
   private static final int DEFAULT_MAX_POOL_SIZE = 10;
   private static final long DEFAULT_KEEP_ALIVE_TIME_MS = 0L;
@@ -61,7 +67,9 @@ public class StartManagedThreadPoolStep extends DeploymentOperationStep {
     // initialize Queue & Executor services
     BlockingQueue<Runnable> threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
 
-    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, TimeUnit.MILLISECONDS, threadPoolQueue);
+    ThreadFactory threadFactory = getThreadFactory(jobExecutorXml);
+
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, TimeUnit.MILLISECONDS, threadPoolQueue, threadFactory);
     threadPoolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
 
     // construct the service for the thread pool
@@ -78,6 +86,18 @@ public class StartManagedThreadPoolStep extends DeploymentOperationStep {
     return jobExecutorXml;
   }
 
+  private ThreadFactory getThreadFactory(JobExecutorXml jobExecutorXml) {
+    String useVirtualThreads = jobExecutorXml.getProperties().get(JobExecutorXml.USE_VIRTUAL_THREADS);
+    if (Boolean.parseBoolean(useVirtualThreads)) {
+      ThreadFactory virtualThreadFactory = VirtualThreadUtil.createVirtualThreadFactory("camunda-job-executor-");
+      if (virtualThreadFactory != null) {
+        return virtualThreadFactory;
+      }
+      LOGGER.warning("Virtual threads are not supported by this JVM. The job executor thread pool uses platform threads.");
+    }
+    return Executors.defaultThreadFactory();
+  }
+
   private int getQueueSize(JobExecutorXml jobExecutorXml) {
     String queueSize = jobExecutorXml.getProperties().get(JobExecutorXml.QUEUE_SIZE);
     if (queueSize == null) {
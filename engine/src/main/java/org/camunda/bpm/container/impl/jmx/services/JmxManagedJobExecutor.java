@@ -52,6 +52,26 @@ public class JmxManagedJobExecutor implements PlatformService<JobExecutor>, JmxM
     jobExecutor.setWaitTimeInMillis(waitTimeInMillis);
   }
 
+  public int getBusyWaitTimeInMillis() {
+    return jobExecutor.getBusyWaitTimeInMillis();
+  }
+
+  public void setBusyWaitTimeInMillis(int busyWaitTimeInMillis) {
+    jobExecutor.setBusyWaitTimeInMillis(busyWaitTimeInMillis);
+  }
+
+  public int getAvailableExecutionCapacity() {
+    return jobExecutor.getAvailableExecutionCapacity();
+  }
+
+  public int getQueueDepth() {
+    return jobExecutor.getQueueDepth();
+  }
+
+  public int getUtilization() {
+    return jobExecutor.getUtilization();
+  }
+
   public int getLockTimeInMillis() {
     return jobExecutor.getLockTimeInMillis();
   }
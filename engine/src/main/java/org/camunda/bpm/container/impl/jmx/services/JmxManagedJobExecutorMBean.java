@@ -39,6 +39,16 @@ public interface JmxManagedJobExecutorMBean {
 
   public int getWaitTimeInMillis();
 
+  public void setBusyWaitTimeInMillis(int busyWaitTimeInMillis);
+
+  public int getBusyWaitTimeInMillis();
+
+  public int getAvailableExecutionCapacity();
+
+  public int getQueueDepth();
+
+  public int getUtilization();
+
   public void shutdown();
 
   public void start();
@@ -69,6 +69,10 @@ public class JmxManagedThreadPool extends SeExecutorService implements JmxManage
     threadPoolExecutor.setCorePoolSize(corePoolSize);
   }
 
+  public int getCorePoolSize() {
+    return threadPoolExecutor.getCorePoolSize();
+  }
+
   public void setMaximumPoolSize(int maximumPoolSize) {
     threadPoolExecutor.setMaximumPoolSize(maximumPoolSize);
   }
@@ -109,6 +113,10 @@ public class JmxManagedThreadPool extends SeExecutorService implements JmxManage
     return threadPoolQueue.size();
   }
 
+  public int getQueueRemainingCapacity() {
+    return threadPoolQueue.remainingCapacity();
+  }
+
   public ThreadPoolExecutor getThreadPoolExecutor() {
     return threadPoolExecutor;
   }
@@ -42,4 +42,18 @@ public interface JmxManagedThreadPoolMBean {
 
   public abstract void setCorePoolSize(int corePoolSize);
 
+  public abstract int getCorePoolSize();
+
+  public abstract int getQueueRemainingCapacity();
+
+  /**
+   * @return the number of tasks which can be submitted without being rejected
+   */
+  public abstract int getAvailableCapacity();
+
+  /**
+   * @return the active threads in percent of the maximum pool size
+   */
+  public abstract int getUtilization();
+
 }
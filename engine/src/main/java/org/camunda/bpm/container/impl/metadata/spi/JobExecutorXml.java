@@ -34,6 +34,12 @@ public interface JobExecutorXml {
    * The time in milliseconds that threads over {@link #CORE_POOL_SIZE} will be kept alive.
    */
   public static final String KEEP_ALIVE_TIME = "keepAliveTime";
+
+  /**
+   * Execute jobs on virtual threads if supported by the JVM. {@link #MAX_POOL_SIZE} then limits the
+   * number of concurrently executed jobs.
+   */
+  public static final String USE_VIRTUAL_THREADS = "useVirtualThreads";
   /**
    * @return a list of configured JobAcquisitions.
    */
@@ -46,6 +52,7 @@ public interface JobExecutorXml {
    * @see #CORE_POOL_SIZE
    * @see #MAX_POOL_SIZE
    * @see #KEEP_ALIVE_TIME
+   * @see #USE_VIRTUAL_THREADS
    * 
    */
   public Map<String, String> getProperties();
@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 import org.camunda.bpm.container.ExecutorService;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.ExecuteJobsRunnable;
+import org.camunda.bpm.engine.impl.util.ThreadPoolExecutorUtil;
 
 /**
  * @author Daniel Meyer
@@ -69,4 +70,16 @@ public class SeExecutorService implements ExecutorService {
     return new ExecuteJobsRunnable(jobIds, processEngine);
   }
 
+  public int getAvailableCapacity() {
+    return ThreadPoolExecutorUtil.getAvailableCapacity(threadPoolExecutor);
+  }
+
+  public int getQueueDepth() {
+    return ThreadPoolExecutorUtil.getQueueDepth(threadPoolExecutor);
+  }
+
+  public int getUtilization() {
+    return ThreadPoolExecutorUtil.getUtilization(threadPoolExecutor);
+  }
+
 }
@@ -14,6 +14,9 @@
 
 package org.camunda.bpm.engine;
 
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Groups;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
@@ -42,6 +45,7 @@ import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * Service exposing information about ongoing and past process instances.  This is different
@@ -108,6 +112,68 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes historic process instances and all related historic data with set-based
+   * statements in a single transaction. The number of process instances deleted per set
+   * of statements is limited by the historic process instance deletion batch size of the
+   * process engine configuration.
+   *
+   * @throws ProcessEngineException
+   *          If one of the process instances does not exist or is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstances(List<String> processInstanceIds);
+
+  /**
+   * Deletes all historic process instances which match the given query, see {@link #deleteHistoricProcessInstances(List)}.
+   * The instances are selected and deleted in pages of the configured
+   * <code>historicProcessInstanceDeletionBatchSize</code>.
+   *
+   * @throws ProcessEngineException
+   *          If one of the process instances is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstances(HistoricProcessInstanceQuery processInstanceQuery);
+
+  /**
+   * Validates the historic process instances and schedules jobs which delete them in the
+   * background, see {@link #deleteHistoricProcessInstances(List)}.
+   *
+   * @throws ProcessEngineException
+   *          If one of the process instances does not exist or is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstancesAsync(List<String> processInstanceIds);
+
+  /**
+   * Validates the historic process instances matching the given query and schedules a job which
+   * deletes them in the background, see {@link #deleteHistoricProcessInstancesAsync(List)}. Each job
+   * deletes the next chunk of finished instances matching the query and schedules the job for the
+   * following chunk.
+   *
+   * @throws ProcessEngineException
+   *          If one of the process instances is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstancesAsync(HistoricProcessInstanceQuery processInstanceQuery);
+
+  /**
+   * Schedules the history cleanup job to run immediately. The job removes the history of
+   * process instances which ended longer ago than the history time to live of their process
+   * definition (BPMN attribute <code>camunda:historyTimeToLive</code>, in days). If the job
+   * is already scheduled, it is returned and made due immediately unless it is currently executed.
+   *
+   * @return the history cleanup job
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  Job cleanUpHistoryAsync();
+
   /**
    * Deletes a user operation log entry. Does not cascade to any related entities.
    *
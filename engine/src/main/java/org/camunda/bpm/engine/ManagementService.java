@@ -14,6 +14,7 @@ package org.camunda.bpm.engine;
 
 import java.sql.Connection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.TableMetaData;
@@ -688,6 +690,47 @@ public interface ManagementService {
    */
   void setJobDuedate(String jobId, Date newDuedate);
 
+  /**
+   * Sets a priority that overrides the priority declared in the BPMN 2.0 Xml
+   * for all jobs that are created from the given job definition from now on.
+   * Existing jobs keep their priority.
+   *
+   * @param jobDefinitionId id of the job definition, cannot be null.
+   * @param priority the new priority of the jobs.
+   *
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void setOverridingJobPriorityForJobDefinition(String jobDefinitionId, long priority);
+
+  /**
+   * Sets a priority that overrides the priority declared in the BPMN 2.0 Xml
+   * for all jobs that are created from the given job definition from now on.
+   * If cascade is <code>true</code>, the priority of all existing jobs of
+   * the job definition is updated as well.
+   *
+   * @param jobDefinitionId id of the job definition, cannot be null.
+   * @param priority the new priority of the jobs.
+   * @param cascade whether the priority of existing jobs is updated.
+   *
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_DEFINITION}
+   *          or, in case of cascade, no {@link Permissions#UPDATE_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void setOverridingJobPriorityForJobDefinition(String jobDefinitionId, long priority, boolean cascade);
+
+  /**
+   * Removes the overriding priority of a job definition. Jobs created from
+   * the job definition from now on have the priority declared in the BPMN 2.0 Xml.
+   * Existing jobs keep their priority.
+   *
+   * @param jobDefinitionId id of the job definition, cannot be null.
+   *
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void clearOverridingJobPriorityForJobDefinition(String jobDefinitionId);
+
   /**
    * Returns the full stacktrace of the exception that occurs when the job
    * with the given id was last executed. Returns null when the job has no
@@ -820,4 +863,21 @@ public interface ManagementService {
    */
   void reportDbMetricsNow();
 
+  /**
+   * Returns the metrics recorded per command class since the engine was started
+   * or the command metrics were last reset, ordered by descending total execution time.
+   * Command metrics are only recorded if they are enabled in the process engine configuration.
+   *
+   * @return the command metrics, or an empty list if metrics are disabled
+   * @since 7.4
+   */
+  List<CommandMetrics> getCommandMetrics();
+
+  /**
+   * Discards the command metrics collected by this engine.
+   *
+   * @since 7.4
+   */
+  void resetCommandMetrics();
+
 }
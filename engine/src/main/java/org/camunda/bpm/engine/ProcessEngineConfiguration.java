@@ -133,6 +133,7 @@ public abstract class ProcessEngineConfiguration {
   protected boolean jobExecutorDeploymentAware = false;
   protected boolean jobExecutorPreferTimerJobs = false;
   protected boolean jobExecutorAcquireByDueDate = false;
+  protected boolean jobExecutorAcquireByPriority = false;
 
   /**
    * The flag will be used inside the method "JobManager#send()". It will be used to decide whether to notify the
@@ -488,6 +489,15 @@ public abstract class ProcessEngineConfiguration {
     return this;
   }
 
+  public boolean isJobExecutorAcquireByPriority() {
+    return jobExecutorAcquireByPriority;
+  }
+
+  public ProcessEngineConfiguration setJobExecutorAcquireByPriority(boolean jobExecutorAcquireByPriority) {
+    this.jobExecutorAcquireByPriority = jobExecutorAcquireByPriority;
+    return this;
+  }
+
   public boolean isJobExecutorPreferTimerJobs() {
     return jobExecutorPreferTimerJobs;
   }
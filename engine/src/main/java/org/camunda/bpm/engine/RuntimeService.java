@@ -1346,6 +1346,56 @@ public interface RuntimeService {
    */
   void signalEventReceived(String signalName, Map<String, Object> processVariables);
 
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has
+   * been received. The signal is delivered asynchronously by the job executor to
+   * all executions which wait on the signal when this method is called.<p/>
+   *
+   * Executions wait on the signal when this method is called if they started waiting
+   * at most in the same second. The times are taken from the clocks of the nodes
+   * which record the signal and the subscriptions, which therefore have to be in sync.<p/>
+   *
+   * The executions are notified in chunks, each chunk in a transaction of its own.
+   * A chunk which fails is retried on its own and does not stop the other chunks.
+   * The chunk size is configured by the property <code>signalBroadcastChunkSize</code>
+   * of the process engine configuration.
+   *
+   * @param signalName
+   *          the name of the signal event
+   *
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#UPDATE} permission on any {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#UPDATE_INSTANCE} permission on any {@link Resources#PROCESS_DEFINITION}.
+   */
+  void signalEventReceivedAsync(String signalName);
+
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has
+   * been received. The signal is delivered asynchronously by the job executor to
+   * all executions which wait on the signal when this method is called.<p/>
+   *
+   * Executions wait on the signal when this method is called if they started waiting
+   * at most in the same second. The times are taken from the clocks of the nodes
+   * which record the signal and the subscriptions, which therefore have to be in sync.<p/>
+   *
+   * The executions are notified in chunks, each chunk in a transaction of its own.
+   * A chunk which fails is retried on its own and does not stop the other chunks.
+   * The chunk size is configured by the property <code>signalBroadcastChunkSize</code>
+   * of the process engine configuration.
+   *
+   * @param signalName
+   *          the name of the signal event
+   * @param processVariables
+   *          a map of variables added to the execution(s); the values have to be serializable
+   *
+   * @throws ProcessEngineException
+   *          if one of the variable values is not serializable
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#UPDATE} permission on any {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#UPDATE_INSTANCE} permission on any {@link Resources#PROCESS_DEFINITION}.
+   */
+  void signalEventReceivedAsync(String signalName, Map<String, Object> processVariables);
+
   /**
    * Notifies the process engine that a signal event of name 'signalName' has
    * been received. This method delivers the signal to a single execution, being the
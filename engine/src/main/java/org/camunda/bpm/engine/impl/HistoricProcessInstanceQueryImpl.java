@@ -17,6 +17,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsEmpty
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -59,6 +60,9 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
 
   protected String caseInstanceId;
 
+  /** not part of the API, used to page through the instances in the order of their ids */
+  protected String processInstanceIdAfter;
+
   public HistoricProcessInstanceQueryImpl() {
   }
 
@@ -220,6 +224,40 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  /**
+   * Selects at most <code>maxResults</code> matching instances whose id follows the given id,
+   * ordered by id. Unlike a first result, the id stays valid while the preceding instances
+   * are deleted.
+   *
+   * @param processInstanceIdAfter the id of the last instance of the previous page, or null for the first page
+   */
+  public List<HistoricProcessInstance> executeListAfter(CommandContext commandContext, String processInstanceIdAfter, int maxResults) {
+    List<QueryOrderingProperty> orderingProperties = getOrderingProperties();
+    int previousFirstResult = getFirstResult();
+    int previousMaxResults = getMaxResults();
+    String previousProcessInstanceIdAfter = this.processInstanceIdAfter;
+
+    QueryOrderingProperty orderById = new QueryOrderingProperty(null, HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_);
+    orderById.setDirection(Direction.ASCENDING);
+
+    List<QueryOrderingProperty> orderByIdOnly = new ArrayList<QueryOrderingProperty>();
+    orderByIdOnly.add(orderById);
+
+    try {
+      setOrderingProperties(orderByIdOnly);
+      setFirstResult(0);
+      setMaxResults(maxResults);
+      this.processInstanceIdAfter = processInstanceIdAfter;
+      return executeList(commandContext, null);
+    }
+    finally {
+      setOrderingProperties(orderingProperties);
+      setFirstResult(previousFirstResult);
+      setMaxResults(previousMaxResults);
+      this.processInstanceIdAfter = previousProcessInstanceIdAfter;
+    }
+  }
+
   public String getBusinessKey() {
     return businessKey;
   }
@@ -296,6 +334,10 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return caseInstanceId;
   }
 
+  public String getProcessInstanceIdAfter() {
+    return processInstanceIdAfter;
+  }
+
   // below is deprecated and to be removed in 5.12
 
   protected Date startDateBy;
@@ -14,6 +14,8 @@
 
 package org.camunda.bpm.engine.impl;
 
+import java.util.List;
+
 import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricActivityStatisticsQuery;
@@ -33,9 +35,13 @@ import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesAsyncCmd;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteUserOperationLogEntryCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoricJobLogExceptionStacktraceCmd;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * @author Tom Baeyens
@@ -92,6 +98,26 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public void deleteHistoricProcessInstances(List<String> processInstanceIds) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesCmd(processInstanceIds));
+  }
+
+  public void deleteHistoricProcessInstances(HistoricProcessInstanceQuery processInstanceQuery) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesCmd(processInstanceQuery));
+  }
+
+  public void deleteHistoricProcessInstancesAsync(List<String> processInstanceIds) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesAsyncCmd(processInstanceIds));
+  }
+
+  public void deleteHistoricProcessInstancesAsync(HistoricProcessInstanceQuery processInstanceQuery) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesAsyncCmd(processInstanceQuery));
+  }
+
+  public Job cleanUpHistoryAsync() {
+    return commandExecutor.execute(new HistoryCleanupCmd(true));
+  }
+
   public void deleteUserOperationLogEntry(String entryId) {
     commandExecutor.execute(new DeleteUserOperationLogEntryCmd(entryId));
   }
@@ -21,6 +21,8 @@ import org.camunda.bpm.engine.identity.GroupQuery;
 import org.camunda.bpm.engine.identity.Picture;
 import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.identity.UserQuery;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmd.CheckPassword;
 import org.camunda.bpm.engine.impl.cmd.CreateGroupCmd;
 import org.camunda.bpm.engine.impl.cmd.CreateGroupQueryCmd;
@@ -43,6 +45,9 @@ import org.camunda.bpm.engine.impl.cmd.SetUserInfoCmd;
 import org.camunda.bpm.engine.impl.cmd.SetUserPictureCmd;
 import org.camunda.bpm.engine.impl.identity.Account;
 import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.identity.AuthenticationCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.GroupEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoEntity;
 
@@ -55,6 +60,9 @@ public class IdentityServiceImpl extends ServiceImpl implements IdentityService
   /** thread local holding the current authentication */
   private ThreadLocal<Authentication> currentAuthentication = new ThreadLocal<Authentication>();
 
+  /** caches password checks and group memberships, null if caching is disabled */
+  protected AuthenticationCache authenticationCache;
+
   public boolean isReadOnly() {
     return commandExecutor.execute(new IsIdentityServiceReadOnlyCmd());
   }
@@ -72,7 +80,7 @@ public class IdentityServiceImpl extends ServiceImpl implements IdentityService
   }
 
   public void saveUser(User user) {
-    commandExecutor.execute(new SaveUserCmd(user));
+    executeAndInvalidateAuthenticationCache(new SaveUserCmd(user), user != null ? user.getId() : null);
   }
 
   public UserQuery createUserQuery() {
@@ -84,23 +92,37 @@ public class IdentityServiceImpl extends ServiceImpl implements IdentityService
   }
 
   public void createMembership(String userId, String groupId) {
-    commandExecutor.execute(new CreateMembershipCmd(userId, groupId));
+    executeAndInvalidateAuthenticationCache(new CreateMembershipCmd(userId, groupId), userId);
   }
 
   public void deleteGroup(String groupId) {
-    commandExecutor.execute(new DeleteGroupCmd(groupId));
+    // the members of the group are not known here
+    executeAndInvalidateAuthenticationCache(new DeleteGroupCmd(groupId), null);
   }
 
   public void deleteMembership(String userId, String groupId) {
-    commandExecutor.execute(new DeleteMembershipCmd(userId, groupId));
+    executeAndInvalidateAuthenticationCache(new DeleteMembershipCmd(userId, groupId), userId);
   }
 
   public boolean checkPassword(String userId, String password) {
-    return commandExecutor.execute(new CheckPassword(userId, password));
+    if (authenticationCache == null) {
+      return commandExecutor.execute(new CheckPassword(userId, password));
+    }
+
+    if (authenticationCache.isPasswordVerified(userId, password)) {
+      return true;
+    }
+
+    long generation = authenticationCache.getGeneration();
+    boolean verified = commandExecutor.execute(new CheckPassword(userId, password));
+    if (verified) {
+      authenticationCache.putVerifiedPassword(userId, password, generation);
+    }
+    return verified;
   }
 
   public void deleteUser(String userId) {
-    commandExecutor.execute(new DeleteUserCmd(userId));
+    executeAndInvalidateAuthenticationCache(new DeleteUserCmd(userId), userId);
   }
 
   public void setUserPicture(String userId, Picture picture) {
@@ -170,4 +192,53 @@ public class IdentityServiceImpl extends ServiceImpl implements IdentityService
   public void setUserAccount(String userId, String userPassword, String accountName, String accountUsername, String accountPassword, Map<String, String> accountDetails) {
     commandExecutor.execute(new SetUserInfoCmd(userId, userPassword, accountName, accountUsername, accountPassword, accountDetails));
   }
+
+  /**
+   * Executes the command and invalidates the cached authentication of the user, or of all users if
+   * the user is null, right away and again once the transaction is committed. The command may join
+   * an outer transaction, so a concurrent check could cache the state before the change until it
+   * is committed. Only the cache of this process engine is invalidated: the other nodes of a
+   * cluster see the change after the time to live of their cache.
+   */
+  protected <T> T executeAndInvalidateAuthenticationCache(final Command<T> command, final String userId) {
+    if (authenticationCache == null) {
+      return commandExecutor.execute(command);
+    }
+
+    try {
+      return commandExecutor.execute(new Command<T>() {
+        public T execute(CommandContext commandContext) {
+          T result = command.execute(commandContext);
+
+          commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+            public void execute(CommandContext commandContext) {
+              invalidateAuthenticationCache(userId);
+            }
+          });
+
+          return result;
+        }
+      });
+    } finally {
+      invalidateAuthenticationCache(userId);
+    }
+  }
+
+  protected void invalidateAuthenticationCache(String userId) {
+    if (authenticationCache != null) {
+      if (userId != null) {
+        authenticationCache.invalidate(userId);
+      } else {
+        authenticationCache.invalidateAll();
+      }
+    }
+  }
+
+  public AuthenticationCache getAuthenticationCache() {
+    return authenticationCache;
+  }
+
+  public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+    this.authenticationCache = authenticationCache;
+  }
 }
@@ -222,6 +222,10 @@ public class JobQueryImpl extends AbstractQuery<JobQuery, Job> implements JobQue
     return orderBy(JobQueryProperty.RETRIES);
   }
 
+  public JobQuery orderByJobPriority() {
+    return orderBy(JobQueryProperty.PRIORITY);
+  }
+
   //results //////////////////////////////////////////
 
   public long executeCount(CommandContext commandContext) {
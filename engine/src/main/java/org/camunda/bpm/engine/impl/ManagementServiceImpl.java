@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl;
 import java.sql.Connection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.impl.cmd.DeleteJobCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteMetricsCmd;
 import org.camunda.bpm.engine.impl.cmd.DeletePropertyCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.GetCommandMetricsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoryLevelCmd;
 import org.camunda.bpm.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetProcessApplicationForDeploymentCmd;
@@ -37,6 +39,8 @@ import org.camunda.bpm.engine.impl.cmd.GetTableNameCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterDeploymentCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterProcessApplicationCmd;
 import org.camunda.bpm.engine.impl.cmd.ReportDbMetricsCmd;
+import org.camunda.bpm.engine.impl.cmd.ResetCommandMetricsCmd;
+import org.camunda.bpm.engine.impl.cmd.SetJobDefinitionPriorityCmd;
 import org.camunda.bpm.engine.impl.cmd.SetJobDuedateCmd;
 import org.camunda.bpm.engine.impl.cmd.SetJobRetriesCmd;
 import org.camunda.bpm.engine.impl.cmd.SetPropertyCmd;
@@ -51,6 +55,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
@@ -116,6 +121,18 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     commandExecutor.execute(new SetJobDuedateCmd(jobId, newDuedate));
   }
 
+  public void setOverridingJobPriorityForJobDefinition(String jobDefinitionId, long priority) {
+    commandExecutor.execute(new SetJobDefinitionPriorityCmd(jobDefinitionId, priority, false));
+  }
+
+  public void setOverridingJobPriorityForJobDefinition(String jobDefinitionId, long priority, boolean cascade) {
+    commandExecutor.execute(new SetJobDefinitionPriorityCmd(jobDefinitionId, priority, cascade));
+  }
+
+  public void clearOverridingJobPriorityForJobDefinition(String jobDefinitionId) {
+    commandExecutor.execute(new SetJobDefinitionPriorityCmd(jobDefinitionId, null, false));
+  }
+
   public TablePageQuery createTablePageQuery() {
     return new TablePageQueryImpl(commandExecutor);
   }
@@ -322,5 +339,13 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     commandExecutor.execute(new ReportDbMetricsCmd());
   }
 
+  public List<CommandMetrics> getCommandMetrics() {
+    return commandExecutor.execute(new GetCommandMetricsCmd());
+  }
+
+  public void resetCommandMetrics() {
+    commandExecutor.execute(new ResetCommandMetricsCmd());
+  }
+
 
 }
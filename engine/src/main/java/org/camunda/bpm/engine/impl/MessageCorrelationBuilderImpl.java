@@ -12,15 +12,23 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import org.camunda.bpm.engine.impl.cmd.CorrelateAllMessageCmd;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageBatchCmd;
 import org.camunda.bpm.engine.impl.cmd.CorrelateMessageCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
 
 /**
  * @author Daniel Meyer
@@ -38,6 +46,10 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
   protected Map<String, Object> correlationProcessInstanceVariables;
   protected Map<String, Object> payloadProcessInstanceVariables;
 
+  /** the messages defined before this one, see {@link #nextMessage(String)} */
+  protected List<MessageCorrelationBuilderImpl> batch = new ArrayList<MessageCorrelationBuilderImpl>();
+  protected int batchChunkSize = 100;
+
   public MessageCorrelationBuilderImpl(CommandExecutor commandExecutor, String messageName) {
     this(messageName);
     ensureNotNull("commandExecutor", commandExecutor);
@@ -116,6 +128,95 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     }
   }
 
+  public MessageCorrelationBuilder nextMessage(String messageName) {
+    MessageCorrelationBuilderImpl nextMessage;
+    if (commandExecutor != null) {
+      nextMessage = new MessageCorrelationBuilderImpl(commandExecutor, messageName);
+    } else {
+      nextMessage = new MessageCorrelationBuilderImpl(commandContext, messageName);
+    }
+
+    batch.add(this);
+    nextMessage.batch = batch;
+    nextMessage.batchChunkSize = batchChunkSize;
+    return nextMessage;
+  }
+
+  public MessageCorrelationBuilder batchChunkSize(int chunkSize) {
+    ensurePositive("chunkSize", chunkSize);
+    this.batchChunkSize = chunkSize;
+    return this;
+  }
+
+  public List<MessageCorrelationBatchResult> correlateBatch() {
+    List<MessageCorrelationBuilderImpl> messages = new ArrayList<MessageCorrelationBuilderImpl>(batch);
+    messages.add(this);
+
+    MessageCorrelationBatchResult[] results = new MessageCorrelationBatchResult[messages.size()];
+
+    if (commandExecutor == null) {
+      // correlate the messages one by one in the transaction of the current command
+      for (int i = 0; i < messages.size(); i++) {
+        List<MessageCorrelationBuilderImpl> message = Collections.singletonList(messages.get(i));
+        results[i] = new CorrelateMessageBatchCmd(message).execute(commandContext).get(0);
+      }
+      return toList(results);
+    }
+
+    LinkedList<Integer> pendingMessages = new LinkedList<Integer>();
+    for (int i = 0; i < messages.size(); i++) {
+      pendingMessages.add(i);
+    }
+
+    while (!pendingMessages.isEmpty()) {
+      List<Integer> chunk = new ArrayList<Integer>();
+      List<MessageCorrelationBuilderImpl> chunkMessages = new ArrayList<MessageCorrelationBuilderImpl>();
+      while (!pendingMessages.isEmpty() && chunk.size() < batchChunkSize) {
+        Integer message = pendingMessages.removeFirst();
+        chunk.add(message);
+        chunkMessages.add(messages.get(message));
+      }
+
+      List<MessageCorrelationBatchResultImpl> chunkResults = correlateChunk(chunkMessages);
+
+      // messages which were not correlated are correlated with the next chunk
+      for (int i = chunk.size() - 1; i >= 0; i--) {
+        if (chunkResults.get(i) == null) {
+          pendingMessages.addFirst(chunk.get(i));
+        } else {
+          results[chunk.get(i)] = chunkResults.get(i);
+        }
+      }
+    }
+
+    return toList(results);
+  }
+
+  protected List<MessageCorrelationBatchResultImpl> correlateChunk(List<MessageCorrelationBuilderImpl> chunkMessages) {
+    try {
+      return commandExecutor.execute(new CorrelateMessageBatchCmd(chunkMessages));
+
+    } catch (RuntimeException e) {
+      // a message failed after the chunk was partially correlated, correlate the messages one by one
+      List<MessageCorrelationBatchResultImpl> chunkResults = new ArrayList<MessageCorrelationBatchResultImpl>();
+      for (MessageCorrelationBuilderImpl message : chunkMessages) {
+        try {
+          List<MessageCorrelationBuilderImpl> singleMessage = Collections.singletonList(message);
+          chunkResults.add(commandExecutor.execute(new CorrelateMessageBatchCmd(singleMessage)).get(0));
+        } catch (RuntimeException ex) {
+          chunkResults.add(MessageCorrelationBatchResultImpl.failed(message.getMessageName(), message.getBusinessKey(), ex));
+        }
+      }
+      return chunkResults;
+    }
+  }
+
+  protected List<MessageCorrelationBatchResult> toList(MessageCorrelationBatchResult[] results) {
+    List<MessageCorrelationBatchResult> resultList = new ArrayList<MessageCorrelationBatchResult>();
+    Collections.addAll(resultList, results);
+    return resultList;
+  }
+
   // getters //////////////////////////////////
 
   public CommandExecutor getCommandExecutor() {
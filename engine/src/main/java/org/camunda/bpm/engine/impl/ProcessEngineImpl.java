@@ -29,11 +29,16 @@ import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.handler.AsyncBufferedHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
 
 /**
@@ -102,6 +107,17 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.registerProcessEngine(this);
     }
 
+    HistoryEventHandler historyEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    if (historyEventHandler instanceof AsyncBufferedHistoryEventHandler) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.isMetricsEnabled() ? processEngineConfiguration.getMetricsRegistry() : null;
+      ((AsyncBufferedHistoryEventHandler) historyEventHandler).start(processEngineConfiguration.getCommandExecutorTxRequiresNew(), metricsRegistry);
+    }
+
+    if (HistoryCleanupJobHandler.isBatchWindowConfigured(processEngineConfiguration)) {
+      // make sure the history cleanup runs in the next batch window
+      commandExecutor.execute(new HistoryCleanupCmd(false));
+    }
+
     if (processEngineConfiguration.isMetricsEnabled()) {
       String reporterId = processEngineConfiguration.getMetricsReporterIdProvider().provideId(this);
       DbMetricsReporter dbMetricsReporter = processEngineConfiguration.getDbMetricsReporter();
@@ -131,6 +147,12 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    HistoryEventHandler historyEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    if (historyEventHandler instanceof AsyncBufferedHistoryEventHandler) {
+      // write the history events which are still buffered
+      ((AsyncBufferedHistoryEventHandler) historyEventHandler).stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
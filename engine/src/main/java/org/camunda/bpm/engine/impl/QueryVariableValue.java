@@ -33,7 +33,8 @@ public class QueryVariableValue implements Serializable {
   protected QueryOperator operator;
   protected boolean local;
 
-  protected AbstractQueryVariableValueCondition valueCondition;
+  // derived from the value whenever the query is executed
+  protected transient AbstractQueryVariableValueCondition valueCondition;
 
   public QueryVariableValue(String name, Object value, QueryOperator operator, boolean local) {
     this.name = name;
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.cmd.PatchExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.RemoveExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.SetExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalCmd;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedAsyncCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
 import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceByMessageAndProcessDefinitionIdCmd;
 import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceByMessageCmd;
@@ -350,6 +351,14 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     commandExecutor.execute(new SignalEventReceivedCmd(signalName, null, processVariables));
   }
 
+  public void signalEventReceivedAsync(String signalName) {
+    commandExecutor.execute(new SignalEventReceivedAsyncCmd(signalName, null));
+  }
+
+  public void signalEventReceivedAsync(String signalName, Map<String, Object> processVariables) {
+    commandExecutor.execute(new SignalEventReceivedAsyncCmd(signalName, processVariables));
+  }
+
   public void signalEventReceived(String signalName, String executionId) {
     commandExecutor.execute(new SignalEventReceivedCmd(signalName, executionId, null));
   }
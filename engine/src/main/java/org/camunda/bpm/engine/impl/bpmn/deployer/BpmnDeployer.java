@@ -181,6 +181,12 @@ public class BpmnDeployer implements Deployer {
       // Add to deployment for further usage
       deployment.addDeployedArtifact(processDefinition);
     }
+
+    if (deployment.isNew() && !processDefinitions.isEmpty()) {
+      // the latest versions of the deployed keys changed
+      deploymentCache.removeLatestProcessDefinitionIds(keyList);
+      commandContext.getPropertyManager().incrementDeploymentSequence();
+    }
   }
 
   protected void updateJobDeclarations(List<JobDeclaration<?>> jobDeclarations, ProcessDefinitionEntity processDefinition, boolean isNewDeployment) {
@@ -23,8 +23,10 @@ import java.text.StringCharacterIterator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -182,6 +184,7 @@ public class BpmnParse extends Parse {
   protected static final String ATTRIBUTEVALUE_T_FORMAL_EXPRESSION = BpmnParser.BPMN20_NS + ":tFormalExpression";
 
   public static final String PROPERTYNAME_IS_MULTI_INSTANCE = "isMultiInstance";
+  public static final String PROPERTYNAME_CORRELATION_KEY_NAMES = "correlationKeyNames";
 
   /** The deployment to which the parsed process definitions will be added. */
   protected DeploymentEntity deployment;
@@ -500,6 +503,7 @@ public class BpmnParse extends Parse {
     processDefinition.setProperty(PROPERTYNAME_DOCUMENTATION, parseDocumentation(processElement));
     processDefinition.setTaskDefinitions(new HashMap<String, TaskDefinition>());
     processDefinition.setDeploymentId(deployment.getId());
+    processDefinition.setHistoryTimeToLive(parseHistoryTimeToLive(processElement));
 
     if (LOGGER.isLoggable(Level.FINE)) {
       LOGGER.fine("Parsing process " + processDefinition.getKey());
@@ -935,7 +939,14 @@ public class BpmnParse extends Parse {
       addError("Invalid 'messageRef': no message with id '"+messageRef+"' found.", messageEventDefinition);
     }
 
-    return new EventSubscriptionDeclaration(messageDefinition.getName(), MessageEventHandler.EVENT_HANDLER_TYPE);
+    EventSubscriptionDeclaration messageEventDeclaration = new EventSubscriptionDeclaration(messageDefinition.getName(), MessageEventHandler.EVENT_HANDLER_TYPE);
+
+    String correlationKey = messageEventDefinition.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "correlationKey");
+    if (correlationKey != null) {
+      messageEventDeclaration.setCorrelationKeyName(correlationKey);
+    }
+
+    return messageEventDeclaration;
   }
 
   @SuppressWarnings("unchecked")
@@ -946,6 +957,10 @@ public class BpmnParse extends Parse {
       addError("Cannot have a message event subscription with an empty or missing name", element);
     }
 
+    if (subscription.getCorrelationKeyName() != null) {
+      addCorrelationKeyName(subscription.getCorrelationKeyName(), scope.getProcessDefinition());
+    }
+
     List<EventSubscriptionDeclaration> eventDefinitions = (List<EventSubscriptionDeclaration>) scope.getProperty(PROPERTYNAME_EVENT_SUBSCRIPTION_DECLARATION);
     if(eventDefinitions == null) {
       eventDefinitions = new ArrayList<EventSubscriptionDeclaration>();
@@ -965,6 +980,20 @@ public class BpmnParse extends Parse {
     eventDefinitions.add(subscription);
   }
 
+  /**
+   * Remembers the correlation keys declared in the process definition so that the
+   * stored correlation keys of the subscriptions can be updated when the variables change.
+   */
+  @SuppressWarnings("unchecked")
+  protected void addCorrelationKeyName(String correlationKeyName, ProcessDefinitionImpl processDefinition) {
+    Set<String> correlationKeyNames = (Set<String>) processDefinition.getProperty(PROPERTYNAME_CORRELATION_KEY_NAMES);
+    if (correlationKeyNames == null) {
+      correlationKeyNames = new HashSet<String>();
+      processDefinition.setProperty(PROPERTYNAME_CORRELATION_KEY_NAMES, correlationKeyNames);
+    }
+    correlationKeyNames.add(correlationKeyName);
+  }
+
   /**
    * Parses the activities of a certain level in the process (process,
    * subprocess or another scope).
@@ -1727,6 +1756,7 @@ public class BpmnParse extends Parse {
     boolean isAsyncBefore = isAsyncBefore(element);
     boolean isAsyncAfter = isAsyncAfter(element);
     boolean exclusive = isExclusive(element);
+    Long jobPriority = parseJobPriority(element);
 
     // can't use #getMultiInstanceScope here to determine whether the task is multi-instance,
     // since the property hasn't been set yet (cf parseActivity)
@@ -1744,6 +1774,7 @@ public class BpmnParse extends Parse {
       MessageJobDeclaration messageJobDeclaration = new AsyncBeforeMessageJobDeclaration();
       messageJobDeclaration.setExclusive(exclusive);
       messageJobDeclaration.setActivityId(activity.getId());
+      messageJobDeclaration.setJobPriority(jobPriority);
 
       addMessageJobDeclarationToActivity(messageJobDeclaration, activity);
       addJobDeclarationToProcessDefinition(messageJobDeclaration, activity.getProcessDefinition());
@@ -1754,6 +1785,7 @@ public class BpmnParse extends Parse {
       MessageJobDeclaration messageJobDeclaration = new AsyncAfterMessageJobDeclaration();
       messageJobDeclaration.setExclusive(exclusive);
       messageJobDeclaration.setActivityId(activity.getId());
+      messageJobDeclaration.setJobPriority(jobPriority);
 
       addMessageJobDeclarationToActivity(messageJobDeclaration, activity);
       addJobDeclarationToProcessDefinition(messageJobDeclaration, activity.getProcessDefinition());
@@ -2702,6 +2734,7 @@ public class BpmnParse extends Parse {
       addError("Attribute \"id\" is required!",timerEventDefinition);
     }
     timerDeclaration.setActivityId(timerActivity.getId());
+    timerDeclaration.setJobPriority(parseJobPriority(timerEventDefinition));
     timerDeclaration.setJobConfiguration(type.toString() + ": " +expression.getExpressionText());
     addJobDeclarationToProcessDefinition(timerDeclaration, timerActivity.getProcessDefinition());
 
@@ -3558,6 +3591,37 @@ public class BpmnParse extends Parse {
     return "true".equals(element.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "exclusive", String.valueOf(JobEntity.DEFAULT_EXCLUSIVE)));
   }
 
+  protected Long parseJobPriority(Element element) {
+    String jobPriority = element.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "jobPriority");
+    if (jobPriority == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(jobPriority.trim());
+    } catch (NumberFormatException e) {
+      addError("Attribute 'jobPriority' must be a long value but is '" + jobPriority + "'", element);
+      return null;
+    }
+  }
+
+  protected Integer parseHistoryTimeToLive(Element element) {
+    String historyTimeToLive = element.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "historyTimeToLive");
+    if (historyTimeToLive == null) {
+      return null;
+    }
+    try {
+      Integer timeToLive = Integer.valueOf(historyTimeToLive.trim());
+      if (timeToLive < 0) {
+        addError("Attribute 'historyTimeToLive' must not be negative but is '" + historyTimeToLive + "'", element);
+        return null;
+      }
+      return timeToLive;
+    } catch (NumberFormatException e) {
+      addError("Attribute 'historyTimeToLive' must be an integer value but is '" + historyTimeToLive + "'", element);
+      return null;
+    }
+  }
+
   protected boolean isAsyncBefore(Element element) {
     return "true".equals(element.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "async"))
         || "true".equals(element.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "asyncBefore"));
@@ -46,6 +46,7 @@ public class EventSubscriptionDeclaration implements Serializable {
   protected String eventScopeActivityId = null;
   protected boolean isStartEvent;
   protected Boolean isParallelMultiInstance = null;
+  protected String correlationKeyName;
 
   public EventSubscriptionDeclaration(String eventName, String eventType) {
     this.eventName = eventName;
@@ -92,6 +93,18 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventType;
   }
 
+  /**
+   * @return the name of the variable whose value is stored with the message subscriptions
+   * created for this declaration, or null
+   */
+  public String getCorrelationKeyName() {
+    return correlationKeyName;
+  }
+
+  public void setCorrelationKeyName(String correlationKeyName) {
+    this.correlationKeyName = correlationKeyName;
+  }
+
   public EventSubscriptionEntity createSubscription(ExecutionEntity execution) {
     if (isStartEvent()) {
       return null;
@@ -108,7 +121,9 @@ public class EventSubscriptionDeclaration implements Serializable {
   private EventSubscriptionEntity createEventSubscription(ExecutionEntity execution) {
     EventSubscriptionEntity eventSubscriptionEntity = null;
     if (eventType.equals(MessageEventHandler.EVENT_HANDLER_TYPE)) {
-      eventSubscriptionEntity = new MessageEventSubscriptionEntity(execution);
+      MessageEventSubscriptionEntity messageEventSubscription = new MessageEventSubscriptionEntity(execution);
+      initializeCorrelationKey(messageEventSubscription, execution);
+      eventSubscriptionEntity = messageEventSubscription;
     } else if (eventType.equals(SignalEventHandler.EVENT_HANDLER_TYPE)) {
       eventSubscriptionEntity = new SignalEventSubscriptionEntity(execution);
     } else {
@@ -127,6 +142,20 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventSubscriptionEntity;
   }
 
+  /**
+   * Stores the current value of the correlation key with the subscription. Only string values
+   * are stored; otherwise the subscription is correlated by the process variables.
+   */
+  protected void initializeCorrelationKey(MessageEventSubscriptionEntity messageEventSubscription, ExecutionEntity execution) {
+    if (correlationKeyName != null) {
+      Object correlationKeyValue = execution.getVariable(correlationKeyName);
+      if (correlationKeyValue instanceof String) {
+        messageEventSubscription.setCorrelationKeyName(correlationKeyName);
+        messageEventSubscription.setCorrelationKeyValue((String) correlationKeyValue);
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public static List<EventSubscriptionDeclaration> getDeclarationsForScope(PvmScope scope) {
     Object result = scope.getProperty(BpmnParse.PROPERTYNAME_EVENT_SUBSCRIPTION_DECLARATION);
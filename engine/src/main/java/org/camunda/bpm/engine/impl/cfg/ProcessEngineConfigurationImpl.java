@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.cfg;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -94,6 +95,7 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
@@ -128,6 +130,7 @@ import org.camunda.bpm.engine.impl.form.validator.ReadOnlyValidator;
 import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBuffer;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
@@ -135,6 +138,7 @@ import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProduc
 import org.camunda.bpm.engine.impl.history.producer.CmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.transformer.CmmnHistoryTransformListener;
+import org.camunda.bpm.engine.impl.identity.AuthenticationCache;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.db.DbIdentityServiceProvider;
@@ -144,6 +148,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContextFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
@@ -152,9 +157,13 @@ import org.camunda.bpm.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceDeletionJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceQueryDeletionJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
@@ -170,8 +179,12 @@ import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
+import org.camunda.bpm.engine.impl.persistence.StrongUuidGenerator;
+import org.camunda.bpm.engine.impl.persistence.TimeOrderedIdGenerator;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
@@ -197,6 +210,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessInstanceFetchPlan;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
@@ -249,6 +263,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public static final String DB_SCHEMA_UPDATE_CREATE = "create";
   public static final String DB_SCHEMA_UPDATE_DROP_CREATE = "drop-create";
 
+  /** ids are taken from blocks reserved in the database, see {@link DbIdGenerator} */
+  public static final String ID_GENERATOR_DB = "db";
+  /** ids are time based UUIDs, see {@link StrongUuidGenerator} */
+  public static final String ID_GENERATOR_UUID = "uuid";
+  /** ids are sorted by creation time, see {@link TimeOrderedIdGenerator} */
+  public static final String ID_GENERATOR_TIME_ORDERED = "timeOrdered";
+
   public static final int HISTORYLEVEL_NONE = HistoryLevel.HISTORY_LEVEL_NONE.getId();
   public static final int HISTORYLEVEL_ACTIVITY = HistoryLevel.HISTORY_LEVEL_ACTIVITY.getId();
   public static final int HISTORYLEVEL_AUDIT = HistoryLevel.HISTORY_LEVEL_AUDIT.getId();
@@ -308,6 +329,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  // CACHE ////////////////////////////////////////////////////////////////////
+
+  protected CacheFactory cacheFactory;
+  /** the default maximum number of entries of each deployment cache */
+  protected int cacheCapacity = DeploymentCache.DEFAULT_CACHE_CAPACITY;
+  /** maximum number of entries per deployment cache name, overrides the {@link #cacheCapacity} */
+  protected Map<String, Integer> cacheCapacities;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -325,6 +354,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /** selects the id generator if none is set, one of the ID_GENERATOR_* constants */
+  protected String idGeneratorType = ID_GENERATOR_DB;
+
+  /** the largest id block the {@link DbIdGenerator} fetches when ids are consumed quickly */
+  protected int maxIdBlockSize = 10000;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -432,8 +467,36 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryEventHandler historyEventHandler;
 
+  /** the number of historic process instances removed by one set of bulk delete statements */
+  protected int historicProcessInstanceDeletionBatchSize = 100;
+
+  /** start of the daily window in which the history cleanup runs, format "HH:mm"; null if the cleanup is not scheduled */
+  protected String historyCleanupBatchWindowStartTime;
+
+  /** end of the daily window in which the history cleanup runs, format "HH:mm" */
+  protected String historyCleanupBatchWindowEndTime;
+
+  /** the number of expired historic process instances removed by one execution of the history cleanup job */
+  protected int historyCleanupBatchSize = 500;
+
+  /** the number of executions an asynchronously broadcast signal is delivered to in one transaction */
+  protected int signalBroadcastChunkSize = 100;
+
+  /** the time in milliseconds successful password checks and group memberships are cached for, 0 disables the cache */
+  protected long authenticationCacheTimeToLive = 0;
+
+  protected AuthenticationCache authenticationCache;
+
+  /** the time in milliseconds the decisions of authorization checks are cached for across commands, 0 disables the cache */
+  protected long authorizationCacheTimeToLive = 0;
+
+  protected AuthorizationDecisionCache authorizationDecisionCache;
+
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /** the entities which are loaded for a whole process instance at once, nothing by default */
+  protected ProcessInstanceFetchPlan processInstanceFetchPlan = new ProcessInstanceFetchPlan();
+
   /** If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
    */
@@ -446,6 +509,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isInvokeCustomVariableListeners = true;
 
+  /** If true, the inserts, updates and deletes of a flush are sent to the database
+   * as JDBC batches. Default setting is false.
+   */
+  protected boolean isJdbcBatchProcessing = false;
+
   /**
    * The process engine created by this configuration.
    */
@@ -464,6 +532,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /** if true, wall time, flush time and database work are recorded per command class */
+  protected boolean isCommandMetricsEnabled = false;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   // buildProcessEngine ///////////////////////////////////////////////////////
@@ -484,6 +555,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initHistoryEventProducer();
     initCmmnHistoryEventProducer();
     initHistoryEventHandler();
+    initHistoryCleanup();
     initExpressionManager();
     initBeans();
     initArtifactFactory();
@@ -517,6 +589,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
     initMetrics();
+    initAuthenticationCache();
+    initAuthorizationDecisionCache();
 
     invokePostInit();
   }
@@ -594,6 +668,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequired = new ArrayList<CommandInterceptor>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequired.add(new CommandMetricsInterceptor(this));
+      }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
       if (customPostCommandInterceptorsTxRequired!=null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
@@ -609,6 +686,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequiresNew = new ArrayList<CommandInterceptor>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequiresNew.add(new CommandMetricsInterceptor(this));
+      }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
       if (customPostCommandInterceptorsTxRequiresNew!=null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
@@ -875,6 +955,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(HistoricVariableInstanceManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricIncidentManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricJobLogManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryEventBuffer.class));
       addSessionFactory(new GenericManagerFactory(IdentityInfoManager.class));
       addSessionFactory(new GenericManagerFactory(IdentityLinkManager.class));
       addSessionFactory(new GenericManagerFactory(JobManager.class));
@@ -924,6 +1005,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+    dbSqlSessionFactory.setJdbcBatchProcessing(isJdbcBatchProcessing);
     addSessionFactory(dbSqlSessionFactory);
     addSessionFactory(new DbSqlPersistenceProviderFactory());
   }
@@ -966,11 +1048,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         deployers.addAll(customPostDeployers);
       }
 
-      deploymentCache = new DeploymentCache();
+      if (cacheFactory == null) {
+        cacheFactory = new DefaultCacheFactory();
+      }
+
+      deploymentCache = new DeploymentCache(cacheFactory,
+          getCacheCapacity(DeploymentCache.PROCESS_DEFINITION_CACHE),
+          getCacheCapacity(DeploymentCache.CASE_DEFINITION_CACHE),
+          getCacheCapacity(DeploymentCache.BPMN_MODEL_INSTANCE_CACHE),
+          getCacheCapacity(DeploymentCache.CMMN_MODEL_INSTANCE_CACHE));
       deploymentCache.setDeployers(deployers);
     }
   }
 
+  protected int getCacheCapacity(String cacheName) {
+    if (cacheCapacities != null && cacheCapacities.containsKey(cacheName)) {
+      return cacheCapacities.get(cacheName);
+    }
+    return cacheCapacity;
+  }
+
   protected Collection< ? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<Deployer>();
 
@@ -1097,6 +1194,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     TimerActivateJobDefinitionHandler activateJobDefinitionHandler = new TimerActivateJobDefinitionHandler();
     jobHandlers.put(activateJobDefinitionHandler.getType(), activateJobDefinitionHandler);
 
+    HistoricProcessInstanceDeletionJobHandler historicProcessInstanceDeletionJobHandler = new HistoricProcessInstanceDeletionJobHandler();
+    jobHandlers.put(historicProcessInstanceDeletionJobHandler.getType(), historicProcessInstanceDeletionJobHandler);
+
+    HistoricProcessInstanceQueryDeletionJobHandler historicProcessInstanceQueryDeletionJobHandler = new HistoricProcessInstanceQueryDeletionJobHandler();
+    jobHandlers.put(historicProcessInstanceQueryDeletionJobHandler.getType(), historicProcessInstanceQueryDeletionJobHandler);
+
+    HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
+    jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+
+    ensurePositive("signalBroadcastChunkSize", signalBroadcastChunkSize);
+    SignalBroadcastJobHandler signalBroadcastJobHandler = new SignalBroadcastJobHandler();
+    jobHandlers.put(signalBroadcastJobHandler.getType(), signalBroadcastJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers()!=null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1156,29 +1266,46 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // id generator /////////////////////////////////////////////////////////////
 
   protected void initIdGenerator() {
-    if (idGenerator==null) {
-      CommandExecutor idGeneratorCommandExecutor = null;
-      if (idGeneratorDataSource!=null) {
-        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneProcessEngineConfiguration();
-        processEngineConfiguration.setDataSource(idGeneratorDataSource);
-        processEngineConfiguration.setDatabaseSchemaUpdate(DB_SCHEMA_UPDATE_FALSE);
-        processEngineConfiguration.init();
-        idGeneratorCommandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
-      } else if (idGeneratorDataSourceJndiName!=null) {
-        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneProcessEngineConfiguration();
-        processEngineConfiguration.setDataSourceJndiName(idGeneratorDataSourceJndiName);
-        processEngineConfiguration.setDatabaseSchemaUpdate(DB_SCHEMA_UPDATE_FALSE);
-        processEngineConfiguration.init();
-        idGeneratorCommandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
-      } else {
-        idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
+    if (idGenerator == null) {
+      if (idGeneratorType == null || ID_GENERATOR_DB.equals(idGeneratorType)) {
+        idGenerator = createDbIdGenerator();
+      }
+      else if (ID_GENERATOR_UUID.equals(idGeneratorType)) {
+        idGenerator = new StrongUuidGenerator();
+      }
+      else if (ID_GENERATOR_TIME_ORDERED.equals(idGeneratorType)) {
+        idGenerator = new TimeOrderedIdGenerator();
       }
+      else {
+        throw new ProcessEngineException("Invalid id generator type '" + idGeneratorType + "', must be one of '"
+            + ID_GENERATOR_DB + "', '" + ID_GENERATOR_UUID + "' or '" + ID_GENERATOR_TIME_ORDERED + "'");
+      }
+    }
+  }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
-      dbIdGenerator.setIdBlockSize(idBlockSize);
-      dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
-      idGenerator = dbIdGenerator;
+  protected IdGenerator createDbIdGenerator() {
+    CommandExecutor idGeneratorCommandExecutor = null;
+    if (idGeneratorDataSource!=null) {
+      ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneProcessEngineConfiguration();
+      processEngineConfiguration.setDataSource(idGeneratorDataSource);
+      processEngineConfiguration.setDatabaseSchemaUpdate(DB_SCHEMA_UPDATE_FALSE);
+      processEngineConfiguration.init();
+      idGeneratorCommandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+    } else if (idGeneratorDataSourceJndiName!=null) {
+      ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneProcessEngineConfiguration();
+      processEngineConfiguration.setDataSourceJndiName(idGeneratorDataSourceJndiName);
+      processEngineConfiguration.setDatabaseSchemaUpdate(DB_SCHEMA_UPDATE_FALSE);
+      processEngineConfiguration.init();
+      idGeneratorCommandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+    } else {
+      idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
     }
+
+    DbIdGenerator dbIdGenerator = new DbIdGenerator();
+    dbIdGenerator.setIdBlockSize(idBlockSize);
+    dbIdGenerator.setMaxIdBlockSize(maxIdBlockSize);
+    dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+    return dbIdGenerator;
   }
 
   // OTHER ////////////////////////////////////////////////////////////////////
@@ -1239,6 +1366,62 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
     metricsRegistry.createMeter(Metrics.JOB_FAILED);
     metricsRegistry.createMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
+
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_HIT, false);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_MISS, false);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_EVICTION, false);
+
+    metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_TIME);
+    metricsRegistry.createHistogram(Metrics.FLUSH_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTOR_QUEUE_DEPTH);
+    metricsRegistry.createHistogram(Metrics.JOB_EXECUTOR_UTILIZATION);
+
+    metricsRegistry.createMeter(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES);
+    metricsRegistry.createHistogram(Metrics.HISTORY_CLEANUP_TIME);
+
+    metricsRegistry.createHistogram(Metrics.HISTORY_EVENT_BUFFER_LAG);
+    metricsRegistry.createMeter(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW);
+
+    metricsRegistry.createMeter(Metrics.SIGNAL_BROADCAST_DELIVERIES);
+    metricsRegistry.createMeter(Metrics.SIGNAL_BROADCAST_CHUNKS);
+
+    metricsRegistry.createMeter(Metrics.AUTHENTICATION_CACHE_HIT, false);
+    metricsRegistry.createMeter(Metrics.AUTHENTICATION_CACHE_MISS, false);
+  }
+
+  // authorization decision cache /////////////////////////////////////////////
+
+  protected void initAuthorizationDecisionCache() {
+    if (authorizationDecisionCache == null && authorizationCacheTimeToLive > 0) {
+      authorizationDecisionCache = new AuthorizationDecisionCache(authorizationCacheTimeToLive);
+    }
+  }
+
+  // authentication cache /////////////////////////////////////////////////////
+
+  protected void initAuthenticationCache() {
+    if (authenticationCache == null && authenticationCacheTimeToLive > 0) {
+      authenticationCache = new AuthenticationCache(authenticationCacheTimeToLive, isMetricsEnabled ? metricsRegistry : null);
+    }
+
+    if (identityService instanceof IdentityServiceImpl) {
+      ((IdentityServiceImpl) identityService).setAuthenticationCache(authenticationCache);
+    }
+  }
+
+  // history cleanup //////////////////////////////////////////////////////////
+
+  protected void initHistoryCleanup() {
+    ensurePositive("historyCleanupBatchSize", historyCleanupBatchSize);
+
+    if (historyCleanupBatchWindowStartTime != null || historyCleanupBatchWindowEndTime != null) {
+      if (historyCleanupBatchWindowStartTime == null || historyCleanupBatchWindowEndTime == null) {
+        throw new ProcessEngineException("Both historyCleanupBatchWindowStartTime and historyCleanupBatchWindowEndTime must be set to define the history cleanup batch window");
+      }
+      HistoryCleanupJobHandler.parseTimeOfDay(historyCleanupBatchWindowStartTime);
+      HistoryCleanupJobHandler.parseTimeOfDay(historyCleanupBatchWindowEndTime);
+    }
   }
 
   protected void initSerialization() {
@@ -2179,6 +2362,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.deploymentCache = deploymentCache;
   }
 
+  public CacheFactory getCacheFactory() {
+    return cacheFactory;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheFactory(CacheFactory cacheFactory) {
+    this.cacheFactory = cacheFactory;
+    return this;
+  }
+
+  public int getCacheCapacity() {
+    return cacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheCapacity(int cacheCapacity) {
+    this.cacheCapacity = cacheCapacity;
+    return this;
+  }
+
+  public Map<String, Integer> getCacheCapacities() {
+    return cacheCapacities;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheCapacities(Map<String, Integer> cacheCapacities) {
+    this.cacheCapacities = cacheCapacities;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDelegateInterceptor(DelegateInterceptor delegateInterceptor) {
     this.delegateInterceptor = delegateInterceptor;
     return this;
@@ -2416,6 +2626,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public ProcessInstanceFetchPlan getProcessInstanceFetchPlan() {
+    return processInstanceFetchPlan;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessInstanceFetchPlan(ProcessInstanceFetchPlan processInstanceFetchPlan) {
+    this.processInstanceFetchPlan = processInstanceFetchPlan;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -2566,6 +2785,114 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getHistoricProcessInstanceDeletionBatchSize() {
+    return historicProcessInstanceDeletionBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoricProcessInstanceDeletionBatchSize(int historicProcessInstanceDeletionBatchSize) {
+    this.historicProcessInstanceDeletionBatchSize = historicProcessInstanceDeletionBatchSize;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowStartTime() {
+    return historyCleanupBatchWindowStartTime;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowStartTime(String historyCleanupBatchWindowStartTime) {
+    this.historyCleanupBatchWindowStartTime = historyCleanupBatchWindowStartTime;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowEndTime() {
+    return historyCleanupBatchWindowEndTime;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowEndTime(String historyCleanupBatchWindowEndTime) {
+    this.historyCleanupBatchWindowEndTime = historyCleanupBatchWindowEndTime;
+    return this;
+  }
+
+  public int getHistoryCleanupBatchSize() {
+    return historyCleanupBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchSize(int historyCleanupBatchSize) {
+    this.historyCleanupBatchSize = historyCleanupBatchSize;
+    return this;
+  }
+
+  public int getSignalBroadcastChunkSize() {
+    return signalBroadcastChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSignalBroadcastChunkSize(int signalBroadcastChunkSize) {
+    this.signalBroadcastChunkSize = signalBroadcastChunkSize;
+    return this;
+  }
+
+  public long getAuthenticationCacheTimeToLive() {
+    return authenticationCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthenticationCacheTimeToLive(long authenticationCacheTimeToLive) {
+    this.authenticationCacheTimeToLive = authenticationCacheTimeToLive;
+    return this;
+  }
+
+  public AuthenticationCache getAuthenticationCache() {
+    return authenticationCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthenticationCache(AuthenticationCache authenticationCache) {
+    this.authenticationCache = authenticationCache;
+    return this;
+  }
+
+  public long getAuthorizationCacheTimeToLive() {
+    return authorizationCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCacheTimeToLive(long authorizationCacheTimeToLive) {
+    this.authorizationCacheTimeToLive = authorizationCacheTimeToLive;
+    return this;
+  }
+
+  public AuthorizationDecisionCache getAuthorizationDecisionCache() {
+    return authorizationDecisionCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationDecisionCache(AuthorizationDecisionCache authorizationDecisionCache) {
+    this.authorizationDecisionCache = authorizationDecisionCache;
+    return this;
+  }
+
+  public String getIdGeneratorType() {
+    return idGeneratorType;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorType(String idGeneratorType) {
+    this.idGeneratorType = idGeneratorType;
+    return this;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+    return this;
+  }
+
+  public boolean isJdbcBatchProcessing() {
+    return isJdbcBatchProcessing;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchProcessing(boolean isJdbcBatchProcessing) {
+    this.isJdbcBatchProcessing = isJdbcBatchProcessing;
+    return this;
+  }
+
   public void close() {
     if (dataSource instanceof PooledDataSource) {
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
@@ -2591,6 +2918,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  public boolean isCommandMetricsEnabled() {
+    return isCommandMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsEnabled(boolean isCommandMetricsEnabled) {
+    this.isCommandMetricsEnabled = isCommandMetricsEnabled;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
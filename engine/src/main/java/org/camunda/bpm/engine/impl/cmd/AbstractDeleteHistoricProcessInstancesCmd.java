@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+
+/**
+ * Resolves and validates the historic process instances to delete: all of them must
+ * exist, be finished and the user must be allowed to delete their history. The instances
+ * which match a query are selected page by page in the order of their ids.
+ */
+public abstract class AbstractDeleteHistoricProcessInstancesCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> processInstanceIds;
+  protected HistoricProcessInstanceQueryImpl processInstanceQuery;
+
+  public AbstractDeleteHistoricProcessInstancesCmd(List<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  public AbstractDeleteHistoricProcessInstancesCmd(HistoricProcessInstanceQuery processInstanceQuery) {
+    this.processInstanceQuery = (HistoricProcessInstanceQueryImpl) processInstanceQuery;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    int batchSize = commandContext.getProcessEngineConfiguration().getHistoricProcessInstanceDeletionBatchSize();
+    ensurePositive("historicProcessInstanceDeletionBatchSize", batchSize);
+
+    if (processInstanceQuery != null) {
+      deleteProcessInstancesByQuery(commandContext, batchSize);
+    }
+    else {
+      ensureNotEmpty("processInstanceIds", processInstanceIds);
+      ensureNotContainsNull("processInstanceIds", processInstanceIds);
+      // remove duplicates
+      List<String> historicProcessInstanceIds = new ArrayList<String>(new LinkedHashSet<String>(processInstanceIds));
+
+      checkProcessInstances(commandContext, historicProcessInstanceIds, batchSize);
+      deleteProcessInstances(commandContext, historicProcessInstanceIds);
+    }
+
+    return null;
+  }
+
+  /**
+   * Validates and deletes the instances which match the query one page at a time.
+   */
+  protected void deleteProcessInstancesByQuery(CommandContext commandContext, int batchSize) {
+    Set<String> checkedProcessDefinitionKeys = new HashSet<String>();
+    String lastProcessInstanceId = null;
+    List<String> page;
+
+    do {
+      page = checkNextPage(commandContext, lastProcessInstanceId, batchSize, checkedProcessDefinitionKeys);
+      if (!page.isEmpty()) {
+        deleteProcessInstances(commandContext, page);
+        lastProcessInstanceId = page.get(page.size() - 1);
+      }
+    } while (page.size() == batchSize);
+  }
+
+  /**
+   * Validates the instances which match the query one page at a time.
+   *
+   * @return the keys of the process definitions of the matching instances
+   */
+  protected Set<String> checkProcessInstancesByQuery(CommandContext commandContext, int batchSize) {
+    Set<String> checkedProcessDefinitionKeys = new HashSet<String>();
+    String lastProcessInstanceId = null;
+    List<String> page;
+
+    do {
+      page = checkNextPage(commandContext, lastProcessInstanceId, batchSize, checkedProcessDefinitionKeys);
+      if (!page.isEmpty()) {
+        lastProcessInstanceId = page.get(page.size() - 1);
+      }
+    } while (page.size() == batchSize);
+
+    return checkedProcessDefinitionKeys;
+  }
+
+  /**
+   * @return the ids of the validated instances of the page which follows the given instance
+   */
+  protected List<String> checkNextPage(CommandContext commandContext, String lastProcessInstanceId, int batchSize, Set<String> checkedProcessDefinitionKeys) {
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+
+    List<String> ids = new ArrayList<String>();
+    for (HistoricProcessInstance instance : processInstanceQuery.executeListAfter(commandContext, lastProcessInstanceId, batchSize)) {
+      checkProcessInstance(authorizationManager, instance, checkedProcessDefinitionKeys);
+      ids.add(instance.getId());
+    }
+    return ids;
+  }
+
+  protected void checkProcessInstances(CommandContext commandContext, List<String> historicProcessInstanceIds, int batchSize) {
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+
+    Set<String> checkedProcessDefinitionKeys = new HashSet<String>();
+
+    for (int fromIndex = 0; fromIndex < historicProcessInstanceIds.size(); fromIndex += batchSize) {
+      int toIndex = Math.min(fromIndex + batchSize, historicProcessInstanceIds.size());
+      List<String> chunk = historicProcessInstanceIds.subList(fromIndex, toIndex);
+
+      Map<String, HistoricProcessInstanceEntity> instances = new HashMap<String, HistoricProcessInstanceEntity>();
+      for (HistoricProcessInstanceEntity instance : historicProcessInstanceManager.findHistoricProcessInstancesByIds(new ArrayList<String>(chunk))) {
+        instances.put(instance.getId(), instance);
+      }
+
+      for (String processInstanceId : chunk) {
+        HistoricProcessInstanceEntity instance = instances.get(processInstanceId);
+        ensureNotNull("No historic process instance found with id: " + processInstanceId, "instance", instance);
+
+        checkProcessInstance(authorizationManager, instance, checkedProcessDefinitionKeys);
+      }
+    }
+  }
+
+  protected void checkProcessInstance(AuthorizationManager authorizationManager, HistoricProcessInstance instance, Set<String> checkedProcessDefinitionKeys) {
+    // the permission is granted per process definition key
+    if (checkedProcessDefinitionKeys.add(instance.getProcessDefinitionKey())) {
+      authorizationManager.checkDeleteHistoricProcessInstance(instance);
+    }
+
+    ensureNotNull("Process instance is still running, cannot delete historic process instance: " + instance.getId(), "instance.getEndTime()", instance.getEndTime());
+  }
+
+  protected abstract void deleteProcessInstances(CommandContext commandContext, List<String> historicProcessInstanceIds);
+
+}
@@ -15,7 +15,10 @@ package org.camunda.bpm.engine.impl.cmd;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
@@ -51,12 +54,31 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     String lockOwner = jobExecutor.getLockOwner();
     int lockTimeInMillis = jobExecutor.getLockTimeInMillis();
-    int maxNonExclusiveJobsPerAcquisition = jobExecutor.getMaxJobsPerAcquisition();
+    // do not lock more jobs than the job executor is able to execute right away: the capacity
+    // counts job batches and every selected job starts at most one batch below
+    String processEngineName = Context.getProcessEngineConfiguration().getProcessEngineName();
+    int maxJobBatches = jobExecutor.getMaxJobsToAcquire(processEngineName);
+
+    acquiredJobs = new AcquiredJobs(maxJobBatches);
+    if (maxJobBatches == 0) {
+      return acquiredJobs;
+    }
 
-    acquiredJobs = new AcquiredJobs();
     List<JobEntity> jobs = commandContext
       .getJobManager()
-      .findNextJobsToExecute(new Page(0, maxNonExclusiveJobsPerAcquisition));
+      .findNextJobsToExecute(new Page(0, maxJobBatches));
+
+    // fetch the exclusive jobs of all affected process instances at once
+    // (includes the jobs found above)
+    Set<String> exclusiveProcessInstanceIds = new LinkedHashSet<String>();
+    for (JobEntity job : jobs) {
+      if (job != null && job.isExclusive() && job.getProcessInstanceId() != null) {
+        exclusiveProcessInstanceIds.add(job.getProcessInstanceId());
+      }
+    }
+    Map<String, List<JobEntity>> exclusiveJobsByProcessInstanceId = commandContext
+      .getJobManager()
+      .findExclusiveJobsToExecute(exclusiveProcessInstanceIds);
 
     for (JobEntity job: jobs) {
       List<String> jobIds = new ArrayList<String>();
@@ -64,18 +86,20 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
       if (job != null && !acquiredJobs.contains(job.getId())) {
         if (job.isExclusive() && job.getProcessInstanceId() != null) {
           // acquire all exclusive jobs in the same process instance
-          // (includes the current job)
-          List<JobEntity> exclusiveJobs = commandContext.getJobManager()
-            .findExclusiveJobsToExecute(job.getProcessInstanceId());
-          for (JobEntity exclusiveJob : exclusiveJobs) {
-            if(exclusiveJob != null) {
-              lockJob(exclusiveJob, lockOwner, lockTimeInMillis);
-              jobIds.add(exclusiveJob.getId());
+          List<JobEntity> exclusiveJobs = exclusiveJobsByProcessInstanceId.get(job.getProcessInstanceId());
+          if (exclusiveJobs != null) {
+            for (JobEntity exclusiveJob : exclusiveJobs) {
+              if(exclusiveJob != null) {
+                lockJob(exclusiveJob, lockOwner, lockTimeInMillis);
+                jobIds.add(exclusiveJob.getId());
+                acquiredJobs.addJob(exclusiveJob);
+              }
             }
           }
         } else {
           lockJob(job, lockOwner, lockTimeInMillis);
           jobIds.add(job.getId());
+          acquiredJobs.addJob(job);
         }
 
       }
@@ -0,0 +1,278 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureAtLeastOneNotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.runtime.BatchCorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationSet;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResult;
+
+/**
+ * <p>Correlates a chunk of the messages of a batch in one transaction. Each message is
+ * correlated like by the {@link CorrelateMessageCmd}, but messages which can not be
+ * correlated are reported instead of failing the command.</p>
+ *
+ * <p>If the correlation handler is a {@link BatchCorrelationHandler}, the waiting executions of
+ * all messages are selected before the first message is correlated. Otherwise, each message is
+ * resolved right before it is correlated. The chunk ends at the first message which may refer
+ * to a process instance changed by a preceding message of the chunk. The results of this and
+ * all following messages are <code>null</code>; they have to be correlated in a later transaction.</p>
+ */
+public class CorrelateMessageBatchCmd implements Command<List<MessageCorrelationBatchResultImpl>> {
+
+  protected List<MessageCorrelationBuilderImpl> messages;
+
+  public CorrelateMessageBatchCmd(List<MessageCorrelationBuilderImpl> messages) {
+    this.messages = messages;
+  }
+
+  public List<MessageCorrelationBatchResultImpl> execute(final CommandContext commandContext) {
+    List<CorrelateMessageCmd> correlations = new ArrayList<CorrelateMessageCmd>();
+    final List<String> messageNames = new ArrayList<String>();
+    final List<CorrelationSet> correlationSets = new ArrayList<CorrelationSet>();
+
+    for (MessageCorrelationBuilderImpl message : messages) {
+      CorrelateMessageCmd correlation = new CorrelateMessageCmd(message);
+      correlations.add(correlation);
+      messageNames.add(correlation.messageName);
+      correlationSets.add(new CorrelationSet(correlation.businessKey, correlation.processInstanceId, correlation.correlationKeys));
+    }
+
+    final CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
+
+    List<List<MessageCorrelationResult>> batchCorrelationResults = null;
+    if (correlationHandler instanceof BatchCorrelationHandler) {
+      batchCorrelationResults = commandContext.runWithoutAuthorization(new Callable<List<List<MessageCorrelationResult>>>() {
+        public List<List<MessageCorrelationResult>> call() throws Exception {
+          return ((BatchCorrelationHandler) correlationHandler).correlateMessageBatch(commandContext, messageNames, correlationSets);
+        }
+      });
+    }
+
+    List<MessageCorrelationBatchResultImpl> results = new ArrayList<MessageCorrelationBatchResultImpl>();
+
+    boolean isAnyMessageCorrelated = false;
+    Set<String> correlatedProcessInstanceIds = new HashSet<String>();
+    Set<String> correlatedBusinessKeys = new HashSet<String>();
+
+    for (int i = 0; i < correlations.size(); i++) {
+      CorrelateMessageCmd correlation = correlations.get(i);
+
+      if (isAnyMessageCorrelated && !isIndependent(correlation, correlatedProcessInstanceIds, correlatedBusinessKeys)) {
+        break;
+      }
+
+      List<MessageCorrelationResult> correlationResults;
+      if (batchCorrelationResults != null) {
+        correlationResults = batchCorrelationResults.get(i);
+      }
+      else {
+        correlationResults = correlateMessages(commandContext, correlationHandler, messageNames.get(i), correlationSets.get(i));
+      }
+
+      if (isAnyMessageCorrelated && !isUnaffected(commandContext, correlation, correlationResults, correlatedProcessInstanceIds)) {
+        break;
+      }
+
+      MessageCorrelationResult correlationResult;
+      try {
+        correlationResult = selectCorrelationResult(correlation, correlationResults);
+        correlation.checkAuthorization(correlationResult);
+
+      } catch (ProcessEngineException e) {
+        results.add(MessageCorrelationBatchResultImpl.failed(correlation.messageName, correlation.businessKey, e));
+        continue;
+      }
+
+      isAnyMessageCorrelated = true;
+
+      if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
+        ExecutionEntity execution = correlationResult.getExecutionEntity();
+        String executionId = execution.getId();
+        String processInstanceId = execution.getProcessInstanceId();
+
+        correlatedProcessInstanceIds.add(processInstanceId);
+        String processBusinessKey = execution.getProcessBusinessKey();
+        if (processBusinessKey != null) {
+          correlatedBusinessKeys.add(processBusinessKey);
+        }
+
+        correlation.triggerExecution(commandContext, correlationResult);
+        results.add(MessageCorrelationBatchResultImpl.correlatedToExecution(correlation.messageName, correlation.businessKey, executionId, processInstanceId));
+
+      } else {
+        ExecutionEntity processInstance = correlation.instantiateProcess(commandContext, correlationResult);
+
+        correlatedProcessInstanceIds.add(processInstance.getId());
+        if (correlation.businessKey != null) {
+          correlatedBusinessKeys.add(correlation.businessKey);
+        }
+
+        results.add(MessageCorrelationBatchResultImpl.startedProcessInstance(correlation.messageName, correlation.businessKey, processInstance.getId()));
+      }
+    }
+
+    // the remaining messages are correlated in a later transaction
+    while (results.size() < correlations.size()) {
+      results.add(null);
+    }
+
+    return results;
+  }
+
+  protected List<MessageCorrelationResult> correlateMessages(final CommandContext commandContext, final CorrelationHandler correlationHandler,
+      final String messageName, final CorrelationSet correlationSet) {
+
+    return commandContext.runWithoutAuthorization(new Callable<List<MessageCorrelationResult>>() {
+      public List<MessageCorrelationResult> call() throws Exception {
+        return correlationHandler.correlateMessages(commandContext, messageName, correlationSet);
+      }
+    });
+  }
+
+  /**
+   * Selects the correlation result like {@link CorrelationHandler#correlateMessage(CommandContext, String, CorrelationSet)}:
+   * the single matching execution or, if there is none, the matching process definition.
+   */
+  protected MessageCorrelationResult selectCorrelationResult(CorrelateMessageCmd correlation, List<MessageCorrelationResult> correlationResults) {
+    ensureAtLeastOneNotNull("At least one of the following correlation criteria has to be present: "
+        + "messageName, businessKey, correlationKeys, processInstanceId", correlation.messageName, correlation.businessKey,
+        correlation.correlationKeys, correlation.processInstanceId);
+
+    List<MessageCorrelationResult> executionCorrelations = new ArrayList<MessageCorrelationResult>();
+    MessageCorrelationResult processDefinitionCorrelation = null;
+
+    for (MessageCorrelationResult correlationResult : correlationResults) {
+      if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
+        executionCorrelations.add(correlationResult);
+      } else {
+        processDefinitionCorrelation = correlationResult;
+      }
+    }
+
+    if (executionCorrelations.size() > 1) {
+      throw new MismatchingMessageCorrelationException(correlation.messageName, correlation.businessKey, correlation.correlationKeys,
+          String.valueOf(executionCorrelations.size()) + " executions match the correlation keys. Should be one or zero.");
+    }
+    else if (!executionCorrelations.isEmpty()) {
+      return executionCorrelations.get(0);
+    }
+    else if (processDefinitionCorrelation != null) {
+      return processDefinitionCorrelation;
+    }
+    else {
+      throw new MismatchingMessageCorrelationException(correlation.messageName, "No process definition or execution matches the parameters");
+    }
+  }
+
+  /**
+   * @return true if the message can not refer to one of the process instances changed by the preceding messages.
+   * Messages which are only correlated on correlation keys are checked by
+   * {@link #isUnaffected(CommandContext, CorrelateMessageCmd, List, Set)} once they are resolved.
+   */
+  protected boolean isIndependent(CorrelateMessageCmd correlation, Set<String> correlatedProcessInstanceIds, Set<String> correlatedBusinessKeys) {
+    if (correlation.processInstanceId != null) {
+      return !correlatedProcessInstanceIds.contains(correlation.processInstanceId);
+    }
+    else if (correlation.businessKey != null) {
+      return !correlatedBusinessKeys.contains(correlation.businessKey);
+    }
+    else {
+      return true;
+    }
+  }
+
+  /**
+   * A message which is only correlated on correlation keys may refer to any process instance. Its
+   * resolution is still valid if the preceding messages of the chunk neither changed the matched
+   * process instances nor created or changed a subscription to the message which it may match.
+   *
+   * @return true if the resolved correlation of the message is not affected by the preceding messages
+   */
+  protected boolean isUnaffected(CommandContext commandContext, CorrelateMessageCmd correlation, List<MessageCorrelationResult> correlationResults,
+      Set<String> correlatedProcessInstanceIds) {
+
+    if (correlation.processInstanceId != null || correlation.businessKey != null) {
+      return true;
+    }
+    else if (correlation.messageName == null) {
+      // the message may match a subscription to any message
+      return false;
+    }
+
+    DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+
+    for (MessageCorrelationResult correlationResult : correlationResults) {
+      if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
+        ExecutionEntity execution = correlationResult.getExecutionEntity();
+        if (correlatedProcessInstanceIds.contains(execution.getProcessInstanceId()) || dbEntityCache.isDeleted(execution)) {
+          return false;
+        }
+      }
+    }
+
+    for (CachedDbEntity cachedEntity : dbEntityCache.getCachedEntities()) {
+      if (cachedEntity.getEntity() instanceof MessageEventSubscriptionEntity) {
+        MessageEventSubscriptionEntity subscription = (MessageEventSubscriptionEntity) cachedEntity.getEntity();
+        boolean isChanged = cachedEntity.getEntityState() == DbEntityState.TRANSIENT
+            || (cachedEntity.getEntityState() == DbEntityState.PERSISTENT && cachedEntity.isDirty());
+
+        if (isChanged && correlation.messageName.equals(subscription.getEventName()) && mayMatch(correlation, subscription)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @return true if the subscription may match the correlation keys of the message
+   */
+  protected boolean mayMatch(CorrelateMessageCmd correlation, MessageEventSubscriptionEntity subscription) {
+    Map<String, Object> correlationKeys = correlation.correlationKeys;
+    String correlationKeyName = subscription.getCorrelationKeyName();
+
+    if (correlationKeys == null || correlationKeys.isEmpty() || correlationKeyName == null) {
+      // the subscription is matched by the process variables
+      return true;
+    }
+    else {
+      Object correlationKeyValue = correlationKeys.get(correlationKeyName);
+      // only string values are compared to the stored correlation key, others are matched by the process variables
+      return !(correlationKeyValue instanceof String) || correlationKeyValue.equals(subscription.getCorrelationKeyValue());
+    }
+  }
+
+}
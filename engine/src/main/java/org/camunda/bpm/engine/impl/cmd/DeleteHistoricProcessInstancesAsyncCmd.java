@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceDeletionJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceQueryDeletionJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+
+/**
+ * Validates the historic process instances to delete and schedules jobs which
+ * delete them in the background. The instances which match a query are deleted by
+ * a chain of jobs which each select their own chunk of instances.
+ */
+public class DeleteHistoricProcessInstancesAsyncCmd extends AbstractDeleteHistoricProcessInstancesCmd {
+
+  private static final long serialVersionUID = 1L;
+
+  public DeleteHistoricProcessInstancesAsyncCmd(List<String> processInstanceIds) {
+    super(processInstanceIds);
+  }
+
+  public DeleteHistoricProcessInstancesAsyncCmd(HistoricProcessInstanceQuery processInstanceQuery) {
+    super(processInstanceQuery);
+  }
+
+  protected void deleteProcessInstancesByQuery(CommandContext commandContext, int batchSize) {
+    Set<String> processDefinitionKeys = checkProcessInstancesByQuery(commandContext, batchSize);
+
+    if (!processDefinitionKeys.isEmpty()) {
+      HistoricProcessInstanceQueryDeletionJobHandler.scheduleDeletion(commandContext, processInstanceQuery, processDefinitionKeys);
+    }
+  }
+
+  protected void deleteProcessInstances(CommandContext commandContext, List<String> historicProcessInstanceIds) {
+    List<String> jobIds = new ArrayList<String>();
+
+    for (String processInstanceId : historicProcessInstanceIds) {
+      if (!jobIds.isEmpty()
+          && !HistoricProcessInstanceDeletionJobHandler.fitsIntoConfiguration(jobIds, processInstanceId)) {
+        scheduleJob(commandContext, jobIds);
+        jobIds = new ArrayList<String>();
+      }
+      jobIds.add(processInstanceId);
+    }
+
+    if (!jobIds.isEmpty()) {
+      scheduleJob(commandContext, jobIds);
+    }
+  }
+
+  protected void scheduleJob(CommandContext commandContext, List<String> processInstanceIds) {
+    MessageEntity message = new MessageEntity();
+    message.setJobHandlerType(HistoricProcessInstanceDeletionJobHandler.TYPE);
+    message.setJobHandlerConfiguration(HistoricProcessInstanceDeletionJobHandler.toConfiguration(processInstanceIds));
+
+    commandContext.getJobManager().send(message);
+  }
+
+}
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes historic process instances with set-based statements in the current transaction.
+ */
+public class DeleteHistoricProcessInstancesCmd extends AbstractDeleteHistoricProcessInstancesCmd {
+
+  private static final long serialVersionUID = 1L;
+
+  public DeleteHistoricProcessInstancesCmd(List<String> processInstanceIds) {
+    super(processInstanceIds);
+  }
+
+  public DeleteHistoricProcessInstancesCmd(HistoricProcessInstanceQuery processInstanceQuery) {
+    super(processInstanceQuery);
+  }
+
+  protected void deleteProcessInstances(CommandContext commandContext, List<String> historicProcessInstanceIds) {
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .deleteHistoricProcessInstanceByIds(historicProcessInstanceIds);
+  }
+
+}
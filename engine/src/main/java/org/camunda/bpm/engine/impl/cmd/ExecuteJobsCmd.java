@@ -21,14 +21,18 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ExecuteJobsRunnable;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobListener;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.jobexecutor.SuccessfulJobListener;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Tom Baeyens
@@ -42,17 +46,31 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
 
   protected String jobId;
 
+  /** the state of the job as locked by the job acquisition */
+  protected transient JobEntity acquiredJob;
+
   public ExecuteJobsCmd(String jobId) {
     this.jobId = jobId;
   }
 
+  /**
+   * @param acquiredJob the job as it was loaded and locked by the job acquisition. If the job
+   *   still has the acquired revision, only its revision is selected instead of the whole job.
+   *   It must only be passed if the job was acquired right before,
+   *   see {@link ExecuteJobsRunnable#getAcquiredJob(String)}.
+   */
+  public ExecuteJobsCmd(String jobId, JobEntity acquiredJob) {
+    this.jobId = jobId;
+    this.acquiredJob = acquiredJob;
+  }
+
   public Object execute(CommandContext commandContext) {
     ensureNotNull("jobId", jobId);
 
     if (log.isLoggable(Level.FINE)) {
       log.fine("Executing job " + jobId);
     }
-    JobEntity job = commandContext.getDbEntityManager().selectById(JobEntity.class, jobId);
+    JobEntity job = getJob(commandContext);
 
     final CommandExecutor commandExecutor = Context.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew();
     final JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
@@ -103,6 +121,10 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
       jobExecutorContext.setCurrentJob(job);
     }
 
+    MetricsRegistry metricsRegistry = commandContext.getProcessEngineConfiguration().isMetricsEnabled()
+        ? commandContext.getProcessEngineConfiguration().getMetricsRegistry() : null;
+    long startNanos = metricsRegistry != null ? System.nanoTime() : 0;
+
     try {
       job.execute(commandContext);
       return null;
@@ -120,10 +142,42 @@ public class ExecuteJobsCmd implements Command<Object>, Serializable {
       if (jobExecutorContext != null) {
         jobExecutorContext.setCurrentJob(null);
       }
+
+      if (metricsRegistry != null) {
+        metricsRegistry.recordDurationSince(Metrics.JOB_EXECUTION_TIME, startNanos);
+      }
     }
 
   }
 
+  protected JobEntity getJob(CommandContext commandContext) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    JobEntity job = acquiredJob;
+    // the acquired state may only be used once
+    acquiredJob = null;
+
+    if (job != null
+        && jobId.equals(job.getId())
+        && dbEntityManager.getCachedEntity(JobEntity.class, jobId) == null
+        && isUnchangedSinceAcquisition(dbEntityManager, job)) {
+      dbEntityManager.getDbEntityCache().putPersistent(job);
+      return job;
+    }
+    else {
+      return dbEntityManager.selectById(JobEntity.class, jobId);
+    }
+  }
+
+  /**
+   * @return true if the job still exists with the revision it was acquired with. Otherwise
+   * it was deleted or changed while it waited for execution and must be selected again.
+   */
+  protected boolean isUnchangedSinceAcquisition(DbEntityManager dbEntityManager, JobEntity job) {
+    Integer revision = (Integer) dbEntityManager.selectOne("selectJobRevision", jobId);
+    return revision != null && revision == job.getRevision();
+  }
+
   protected FailedJobListener createFailedJobListener(CommandExecutor commandExecutor) {
     return new FailedJobListener(commandExecutor, jobId);
   }
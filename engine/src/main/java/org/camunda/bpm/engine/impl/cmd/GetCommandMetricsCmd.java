@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsCollector;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * Returns a snapshot of the command metrics collected by this process engine,
+ * ordered by descending total execution time.
+ */
+public class GetCommandMetricsCmd implements Command<List<CommandMetrics>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public List<CommandMetrics> execute(CommandContext commandContext) {
+    MetricsRegistry metricsRegistry = commandContext.getProcessEngineConfiguration().getMetricsRegistry();
+    if (metricsRegistry == null) {
+      return Collections.emptyList();
+    }
+
+    List<CommandMetrics> result = new ArrayList<CommandMetrics>();
+    for (CommandMetricsCollector collector : metricsRegistry.getCommandMetrics().values()) {
+      result.add(collector.getSnapshot());
+    }
+
+    Collections.sort(result, new Comparator<CommandMetrics>() {
+      public int compare(CommandMetrics o1, CommandMetrics o2) {
+        long t1 = o1.getTotalExecutionTime();
+        long t2 = o2.getTotalExecutionTime();
+        return t1 > t2 ? -1 : (t1 == t2 ? o1.getCommandName().compareTo(o2.getCommandName()) : 1);
+      }
+    });
+
+    return result;
+  }
+
+}
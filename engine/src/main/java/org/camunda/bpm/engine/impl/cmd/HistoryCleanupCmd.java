@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+
+/**
+ * Schedules the history cleanup job unless it is already scheduled.
+ * The job is unique within the cluster because the check runs under the deployment lock.
+ */
+public class HistoryCleanupCmd implements Command<Job> {
+
+  /** if true, the job is due immediately, otherwise at the start of the next batch window */
+  protected boolean immediately;
+
+  public HistoryCleanupCmd(boolean immediately) {
+    this.immediately = immediately;
+  }
+
+  public Job execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().isCamundaAdmin();
+
+    if (Context.getProcessEngineConfiguration().isDeploymentLockUsed()) {
+      // engines of a cluster which start at the same time must not create the job twice,
+      // so the check for an existing job is serialized by the deployment lock
+      commandContext.getPropertyManager().acquireExclusiveLock();
+    }
+
+    List<JobEntity> jobs = commandContext
+      .getJobManager()
+      .findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+
+    if (!jobs.isEmpty()) {
+      JobEntity job = jobs.get(0);
+      if (immediately && job.getLockOwner() == null) {
+        job.setDuedate(ClockUtil.getCurrentTime());
+      }
+      return job;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    Date now = ClockUtil.getCurrentTime();
+
+    TimerEntity timer = new TimerEntity();
+    timer.setJobHandlerType(HistoryCleanupJobHandler.TYPE);
+    if (immediately) {
+      timer.setDuedate(now);
+    }
+    else {
+      timer.setDuedate(HistoryCleanupJobHandler.getNextBatchWindowStart(processEngineConfiguration, now));
+    }
+
+    commandContext.getJobManager().schedule(timer);
+
+    return timer;
+  }
+
+}
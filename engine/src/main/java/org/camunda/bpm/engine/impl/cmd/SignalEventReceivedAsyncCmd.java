@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler.SignalBroadcastConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Records a signal and schedules the job which delivers it to the waiting executions.
+ */
+public class SignalEventReceivedAsyncCmd implements Command<Void> {
+
+  protected final String eventName;
+  protected final Map<String, Object> variables;
+
+  public SignalEventReceivedAsyncCmd(String eventName, Map<String, Object> variables) {
+    this.eventName = eventName;
+    this.variables = variables;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ensureNotNull("signalName", eventName);
+
+    // the executions are not known yet
+    commandContext.getAuthorizationManager().checkUpdateAnyProcessInstance();
+
+    String payloadId = null;
+    if (variables != null && !variables.isEmpty()) {
+      payloadId = insertPayload(commandContext);
+    }
+
+    SignalBroadcastConfiguration configuration = new SignalBroadcastConfiguration(eventName, ClockUtil.getCurrentTime(), payloadId, null);
+    SignalBroadcastJobHandler.scheduleJob(commandContext, configuration);
+
+    return null;
+  }
+
+  protected String insertPayload(CommandContext commandContext) {
+    for (Map.Entry<String, Object> variable : variables.entrySet()) {
+      if (variable.getValue() != null && !(variable.getValue() instanceof Serializable)) {
+        throw new ProcessEngineException("Cannot broadcast signal '" + eventName + "' asynchronously: value of variable '"
+            + variable.getKey() + "' is not serializable");
+      }
+    }
+
+    byte[] bytes = SignalBroadcastJobHandler.serializePayload(new HashMap<String, Object>(variables));
+    ByteArrayEntity payload = new ByteArrayEntity(SignalBroadcastJobHandler.TYPE + "-payload", bytes);
+    commandContext.getByteArrayManager().insert(payload);
+
+    return payload.getId();
+  }
+
+}
@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandInvocationContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.metrics.CommandStatistics;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 
 
@@ -46,6 +47,7 @@ public class Context {
   protected static ThreadLocal<Stack<ProcessEngineConfigurationImpl>> processEngineConfigurationStackThreadLocal = new ThreadLocal<Stack<ProcessEngineConfigurationImpl>>();
   protected static ThreadLocal<Stack<CoreExecutionContext<? extends CoreExecution>>> executionContextStackThreadLocal = new ThreadLocal<Stack<CoreExecutionContext<? extends CoreExecution>>>();
   protected static ThreadLocal<JobExecutorContext> jobExecutorContextThreadLocal = new ThreadLocal<JobExecutorContext>();
+  protected static ThreadLocal<CommandStatistics> commandStatisticsThreadLocal = new ThreadLocal<CommandStatistics>();
   protected static ThreadLocal<Stack<ProcessApplicationReference>> processApplicationContext = new ThreadLocal<Stack<ProcessApplicationReference>>();
 
   public static CommandContext getCommandContext() {
@@ -155,6 +157,18 @@ public class Context {
     jobExecutorContextThreadLocal.remove();
   }
 
+  public static CommandStatistics getCommandStatistics() {
+    return commandStatisticsThreadLocal.get();
+  }
+
+  public static void setCommandStatistics(CommandStatistics commandStatistics) {
+    commandStatisticsThreadLocal.set(commandStatistics);
+  }
+
+  public static void removeCommandStatistics() {
+    commandStatisticsThreadLocal.remove();
+  }
+
 
   public static ProcessApplicationReference getCurrentProcessApplication() {
     Stack<ProcessApplicationReference> stack = getStack(processApplicationContext);
@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Caches the decisions of authorization checks across commands for a limited time.</p>
+ *
+ * <p>The {@link org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager} invalidates
+ * all decisions when a command which changed authorizations is committed. Decisions loaded
+ * concurrently to an invalidation are not cached: a caller reads the
+ * {@link #getGeneration() generation} before loading and passes it when putting the decision.</p>
+ */
+public class AuthorizationDecisionCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  protected final long timeToLiveMillis;
+  protected final int maxEntries;
+
+  protected final Map<Object, CacheEntry> decisions = new ConcurrentHashMap<Object, CacheEntry>();
+
+  /** incremented on every invalidation, guarded by this */
+  protected volatile long generation = 0;
+
+  public AuthorizationDecisionCache(long timeToLiveMillis) {
+    this(timeToLiveMillis, DEFAULT_MAX_ENTRIES);
+  }
+
+  public AuthorizationDecisionCache(long timeToLiveMillis, int maxEntries) {
+    this.timeToLiveMillis = timeToLiveMillis;
+    this.maxEntries = maxEntries;
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @return the cached decision or null if no decision is cached for the key
+   */
+  public Boolean getDecision(Object key) {
+    CacheEntry entry = decisions.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.isExpired(ClockUtil.getCurrentTime().getTime())) {
+      decisions.remove(key);
+      return null;
+    }
+    return entry.authorized;
+  }
+
+  public synchronized void putDecision(Object key, boolean authorized, long loadedInGeneration) {
+    if (loadedInGeneration != generation) {
+      return;
+    }
+
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    if (decisions.size() >= maxEntries) {
+      removeExpiredEntries(now);
+      if (decisions.size() >= maxEntries) {
+        decisions.clear();
+      }
+    }
+
+    decisions.put(key, new CacheEntry(authorized, now + timeToLiveMillis));
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    decisions.clear();
+  }
+
+  public long getTimeToLiveMillis() {
+    return timeToLiveMillis;
+  }
+
+  protected void removeExpiredEntries(long now) {
+    Iterator<CacheEntry> iterator = decisions.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().isExpired(now)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  protected static class CacheEntry {
+
+    protected final boolean authorized;
+    protected final long expirationTime;
+
+    public CacheEntry(boolean authorized, long expirationTime) {
+      this.authorized = authorized;
+      this.expirationTime = expirationTime;
+    }
+
+    public boolean isExpired(long now) {
+      return now >= expirationTime;
+    }
+
+  }
+
+}
@@ -1,9 +1,9 @@
 /* Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- * 
+ *
  *      http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -13,35 +13,161 @@
 
 package org.camunda.bpm.engine.impl.db;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 
 /**
+ * <p>Generates ids from blocks which are reserved in the database.</p>
+ *
+ * <p>Ids are handed out from the active block without locking. Once a quarter of the
+ * active block is left, the next block is fetched by a background thread so that
+ * threads asking for ids do not wait for the database when the active block runs out.</p>
+ *
+ * <p>The size of the next block is adapted to the rate at which ids are consumed: it is
+ * chosen so that the block lasts about {@link #getTargetBlockDurationInMillis()}, but
+ * is never smaller than {@link #getIdBlockSize()} and never larger than
+ * {@link #getMaxIdBlockSize()}. This keeps the number of updates of the
+ * <code>next.dbid</code> property low under load.</p>
+ *
  * @author Tom Baeyens
  */
 public class DbIdGenerator implements IdGenerator {
 
+  private final static Logger LOG = Logger.getLogger(DbIdGenerator.class.getName());
+
   protected int idBlockSize;
-  protected long nextId = 0;
-  protected long lastId = -1;
-  
+  protected int maxIdBlockSize;
+  protected long targetBlockDurationInMillis = 10000;
+
   protected CommandExecutor commandExecutor;
-  
-  public synchronized String getNextId() {
-    if (lastId<nextId) {
-      getNewBlock();
+
+  protected final AtomicReference<ActiveIdBlock> activeBlock = new AtomicReference<ActiveIdBlock>(new ActiveIdBlock(0, -1, 0));
+  protected final AtomicReference<FutureTask<IdBlock>> prefetchedBlock = new AtomicReference<FutureTask<IdBlock>>();
+
+  /** held while the exhausted active block is replaced by the next one */
+  protected final Object blockSwitchLock = new Object();
+
+  /** the size of the block fetched if no block was prefetched */
+  protected volatile int nextBlockSize;
+
+  public String getNextId() {
+    while (true) {
+      ActiveIdBlock block = activeBlock.get();
+      long id = block.nextId.getAndIncrement();
+
+      if (id <= block.lastId) {
+        if (id == block.prefetchId) {
+          // exactly one thread gets this id
+          prefetchNextBlock(block);
+        }
+        return Long.toString(id);
+      }
+
+      switchBlock(block);
+    }
+  }
+
+  protected void switchBlock(ActiveIdBlock exhaustedBlock) {
+    synchronized (blockSwitchLock) {
+      if (activeBlock.get() != exhaustedBlock) {
+        // another thread already switched the block
+        return;
+      }
+
+      IdBlock idBlock = takePrefetchedBlock();
+      if (idBlock == null) {
+        idBlock = fetchIdBlock(getNextBlockSize());
+      }
+
+      activeBlock.set(new ActiveIdBlock(idBlock.getNextId(), idBlock.getLastId(), System.nanoTime()));
+    }
+  }
+
+  protected void prefetchNextBlock(ActiveIdBlock block) {
+    long consumedIds = block.prefetchId - block.firstId + 1;
+    final int blockSize = calculateBlockSize(consumedIds, System.nanoTime() - block.activationNanos);
+    nextBlockSize = blockSize;
+
+    FutureTask<IdBlock> fetchTask = new FutureTask<IdBlock>(new Callable<IdBlock>() {
+      public IdBlock call() throws Exception {
+        return fetchIdBlock(blockSize);
+      }
+    });
+
+    if (prefetchedBlock.compareAndSet(null, fetchTask)) {
+      Thread fetchThread = new Thread(fetchTask, "camunda-id-block-prefetch");
+      fetchThread.setDaemon(true);
+      fetchThread.start();
+    }
+  }
+
+  /**
+   * @return the prefetched block or null if none was prefetched or the prefetch failed
+   */
+  protected IdBlock takePrefetchedBlock() {
+    FutureTask<IdBlock> fetchTask = prefetchedBlock.getAndSet(null);
+    if (fetchTask == null) {
+      return null;
     }
-    long _nextId = nextId++;
-    return Long.toString(_nextId);
+
+    try {
+      return fetchTask.get();
+    } catch (ExecutionException e) {
+      LOG.log(Level.WARNING, "Could not prefetch id block, fetching it synchronously", e.getCause());
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  protected IdBlock fetchIdBlock(int blockSize) {
+    return commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
   }
 
-  protected synchronized void getNewBlock() {
-    // TODO http://jira.codehaus.org/browse/ACT-45 use a separate 'requiresNew' command executor
-    IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
-    this.nextId = idBlock.getNextId();
-    this.lastId = idBlock.getLastId();
+  /**
+   * @return the number of ids which lasts for {@link #targetBlockDurationInMillis} if ids are
+   * consumed at the given rate, bounded by {@link #idBlockSize} and {@link #maxIdBlockSize}
+   */
+  protected int calculateBlockSize(long consumedIds, long elapsedNanos) {
+    long elapsedMillis = Math.max(1, elapsedNanos / 1000000);
+    long blockSize = consumedIds * targetBlockDurationInMillis / elapsedMillis;
+
+    blockSize = Math.min(blockSize, Math.max(idBlockSize, maxIdBlockSize));
+    return (int) Math.max(blockSize, idBlockSize);
+  }
+
+  protected int getNextBlockSize() {
+    return Math.max(nextBlockSize, idBlockSize);
+  }
+
+  protected static class ActiveIdBlock {
+
+    protected final AtomicLong nextId;
+    protected final long firstId;
+    protected final long lastId;
+    /** the id which triggers the prefetch of the next block */
+    protected final long prefetchId;
+    protected final long activationNanos;
+
+    public ActiveIdBlock(long firstId, long lastId, long activationNanos) {
+      this.nextId = new AtomicLong(firstId);
+      this.firstId = firstId;
+      this.lastId = lastId;
+      this.prefetchId = lastId - (lastId - firstId + 1) / 4;
+      this.activationNanos = activationNanos;
+    }
+
   }
 
   public int getIdBlockSize() {
@@ -51,7 +177,23 @@ public class DbIdGenerator implements IdGenerator {
   public void setIdBlockSize(int idBlockSize) {
     this.idBlockSize = idBlockSize;
   }
-  
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetBlockDurationInMillis() {
+    return targetBlockDurationInMillis;
+  }
+
+  public void setTargetBlockDurationInMillis(long targetBlockDurationInMillis) {
+    this.targetBlockDurationInMillis = targetBlockDurationInMillis;
+  }
+
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
   }
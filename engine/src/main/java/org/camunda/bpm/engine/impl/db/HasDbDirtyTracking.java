@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * <p>Implemented by {@link DbEntity DbEntities} which track changes to their
+ * persistent state themselves instead of relying on a snapshot of
+ * {@link DbEntity#getPersistentState()} taken when they are put into the
+ * entity cache.</p>
+ *
+ * <p>Implementations keep the last flushed values of their persistent fields
+ * and compare them field by field, which avoids building and comparing a
+ * persistent state map for every cached entity on every flush. Subclasses
+ * which add fields to the persistent state must override both methods.</p>
+ */
+public interface HasDbDirtyTracking {
+
+  /**
+   * @return true if the persistent state changed since the last
+   * invocation of {@link #markDbClean()}
+   */
+  boolean isDbDirty();
+
+  /**
+   * Remembers the current persistent state as the clean state.
+   */
+  void markDbClean();
+
+}
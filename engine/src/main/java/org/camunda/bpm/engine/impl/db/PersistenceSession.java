@@ -28,6 +28,14 @@ public interface PersistenceSession extends Session {
 
   void executeDbOperation(DbOperation operation);
 
+  /**
+   * Executes all operations which were deferred by {@link #executeDbOperation(DbOperation)},
+   * for instance because they are collected in a JDBC batch.
+   *
+   * @return the operations which failed with an optimistic locking exception
+   */
+  List<DbOperation> flushOperations();
+
   List<?> selectList(String statement, Object parameter);
 
   <T extends DbEntity> T selectById(Class<T> type, String id);
@@ -68,6 +68,9 @@ import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.metrics.CommandStatistics;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  *
@@ -89,9 +92,13 @@ public class DbEntityManager implements Session {
 
   protected PersistenceSession persistenceSession;
 
+  /** collects the database work of the current command, null if command metrics are disabled */
+  protected CommandStatistics commandStatistics;
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
+    this.commandStatistics = Context.getCommandStatistics();
     initializeEntityCache();
     initializeOperationManager();
   }
@@ -162,12 +169,21 @@ public class DbEntityManager implements Session {
       return Collections.EMPTY_LIST;
     }
     List loadedObjects = persistenceSession.selectList(statement, parameter);
+    if (commandStatistics != null) {
+      commandStatistics.addSqlStatement();
+    }
     return filterLoadedObjects(loadedObjects);
   }
 
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
+    if (commandStatistics != null) {
+      commandStatistics.addSqlStatement();
+    }
     if (result instanceof DbEntity) {
+      if (commandStatistics != null) {
+        commandStatistics.addEntitiesLoaded(1);
+      }
       DbEntity loadedObject = (DbEntity) result;
       result = cacheFilter(loadedObject);
     }
@@ -177,6 +193,9 @@ public class DbEntityManager implements Session {
   @SuppressWarnings("unchecked")
   public boolean selectBoolean(String statement, Object parameter) {
     List<String> result = (List<String>) persistenceSession.selectList(statement, parameter);
+    if (commandStatistics != null) {
+      commandStatistics.addSqlStatement();
+    }
     if(result != null) {
       return result.contains(1);
     }
@@ -190,6 +209,10 @@ public class DbEntityManager implements Session {
       return persistentObject;
     }
     persistentObject = persistenceSession.selectById(entityClass, id);
+    if (commandStatistics != null) {
+      commandStatistics.addSqlStatement();
+      commandStatistics.addEntitiesLoaded(persistentObject != null ? 1 : 0);
+    }
 
     if (persistentObject==null) {
       return null;
@@ -213,6 +236,9 @@ public class DbEntityManager implements Session {
     if (! (DbEntity.class.isAssignableFrom(loadedObjects.get(0).getClass()))) {
       return loadedObjects;
     }
+    if (commandStatistics != null) {
+      commandStatistics.addEntitiesLoaded(loadedObjects.size());
+    }
     List<DbEntity> filteredObjects = new ArrayList<DbEntity>(loadedObjects.size());
     for (Object loadedObject: loadedObjects) {
       DbEntity cachedPersistentObject = cacheFilter((DbEntity) loadedObject);
@@ -245,6 +271,9 @@ public class DbEntityManager implements Session {
 
   public void lock(String statement, Object parameter) {
     persistenceSession.lock(statement, parameter);
+    if (commandStatistics != null) {
+      commandStatistics.addSqlStatement();
+    }
   }
 
   public boolean isDirty(DbEntity dbEntity) {
@@ -257,12 +286,26 @@ public class DbEntityManager implements Session {
   }
 
   public void flush() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    MetricsRegistry metricsRegistry = processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()
+        ? processEngineConfiguration.getMetricsRegistry() : null;
+    long startNanos = metricsRegistry != null || commandStatistics != null ? System.nanoTime() : 0;
 
-    // flush the entity cache which inserts operations to the db operation manager
-    flushEntityCache();
+    try {
+      // flush the entity cache which inserts operations to the db operation manager
+      flushEntityCache();
 
-    // flush the db operation manager
-    flushDbOperationManager();
+      // flush the db operation manager
+      flushDbOperationManager();
+
+    } finally {
+      if (metricsRegistry != null) {
+        metricsRegistry.recordDurationSince(Metrics.FLUSH_TIME, startNanos);
+      }
+      if (commandStatistics != null) {
+        commandStatistics.addFlushTime(System.nanoTime() - startNanos);
+      }
+    }
   }
 
   protected void flushDbOperationManager() {
@@ -274,6 +317,9 @@ public class DbEntityManager implements Session {
     for (DbOperation dbOperation : operationsToFlush) {
       try {
         persistenceSession.executeDbOperation(dbOperation);
+        if (commandStatistics != null) {
+          commandStatistics.addSqlStatement();
+        }
       }
       catch(Exception e) {
         throw new ProcessEngineException(formatExceptionMessage(e, dbOperation, operationsToFlush), e);
@@ -282,6 +328,18 @@ public class DbEntityManager implements Session {
         handleOptimisticLockingException(dbOperation);
       }
     }
+
+    // execute operations deferred by the persistence session (e.g. JDBC batches)
+    List<DbOperation> failedOperations;
+    try {
+      failedOperations = persistenceSession.flushOperations();
+    }
+    catch(Exception e) {
+      throw new ProcessEngineException(formatBatchExceptionMessage(e, operationsToFlush), e);
+    }
+    for (DbOperation failedOperation : failedOperations) {
+      handleOptimisticLockingException(failedOperation);
+    }
   }
 
   public void flushEntity(DbEntity entity) {
@@ -299,6 +357,19 @@ public class DbEntityManager implements Session {
     exceptionMessage.append(dbOperation.toString());
     exceptionMessage.append(":");
     exceptionMessage.append(e.getMessage());
+    appendFlushSummary(exceptionMessage, operationsToFlush);
+    return exceptionMessage.toString();
+  }
+
+  protected String formatBatchExceptionMessage(Exception e, List<DbOperation> operationsToFlush) {
+    StringBuilder exceptionMessage = new StringBuilder();
+    exceptionMessage.append("Exception while executing batched Database Operations: ");
+    exceptionMessage.append(e.getMessage());
+    appendFlushSummary(exceptionMessage, operationsToFlush);
+    return exceptionMessage.toString();
+  }
+
+  protected void appendFlushSummary(StringBuilder exceptionMessage, List<DbOperation> operationsToFlush) {
     exceptionMessage.append("\nFlush summary:\n[\n");
     for (DbOperation op : operationsToFlush) {
       exceptionMessage.append("  ");
@@ -306,7 +377,6 @@ public class DbEntityManager implements Session {
       exceptionMessage.append("\n");
     }
     exceptionMessage.append("]");
-    return exceptionMessage.toString();
   }
 
   protected void handleOptimisticLockingException(DbOperation dbOperation) {
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.db.entitymanager.cache;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyTracking;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
 /**
@@ -41,6 +42,10 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
+    if (dbEntity instanceof HasDbDirtyTracking) {
+      // copy is only set if the entity was forced dirty
+      return copy != null || ((HasDbDirtyTracking) dbEntity).isDbDirty();
+    }
     return !dbEntity.getPersistentState().equals(copy);
   }
 
@@ -50,7 +55,14 @@ public class CachedDbEntity implements Recyclable {
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (dbEntity instanceof HasDbDirtyTracking) {
+      // the entity tracks its own state, no snapshot needed
+      copy = null;
+      ((HasDbDirtyTracking) dbEntity).markDbClean();
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
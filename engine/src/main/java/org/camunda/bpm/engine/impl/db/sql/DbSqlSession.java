@@ -26,10 +26,14 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -39,6 +43,8 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
@@ -63,18 +69,41 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected String connectionMetadataDefaultCatalog = null;
   protected String connectionMetadataDefaultSchema = null;
 
+  /** if true, insert, update and delete statements are collected in JDBC batches */
+  protected boolean isJdbcBatchProcessing = false;
+
+  /** the operations added to the current JDBC batch, in the order of execution */
+  protected List<DbOperation> batchedOperations = new ArrayList<DbOperation>();
+
+  /** the operations of already executed JDBC batches which failed with an optimistic locking exception */
+  protected List<DbOperation> failedBatchedOperations = new ArrayList<DbOperation>();
+
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
-    this.sqlSession = dbSqlSessionFactory
-      .getSqlSessionFactory()
-      .openSession();
+    this.isJdbcBatchProcessing = dbSqlSessionFactory.isJdbcBatchProcessing();
+    if (isJdbcBatchProcessing) {
+      this.sqlSession = dbSqlSessionFactory
+        .getSqlSessionFactory()
+        .openSession(ExecutorType.BATCH);
+    } else {
+      this.sqlSession = dbSqlSessionFactory
+        .getSqlSessionFactory()
+        .openSession();
+    }
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
-    this.sqlSession = dbSqlSessionFactory
-      .getSqlSessionFactory()
-      .openSession(connection);
+    this.isJdbcBatchProcessing = dbSqlSessionFactory.isJdbcBatchProcessing();
+    if (isJdbcBatchProcessing) {
+      this.sqlSession = dbSqlSessionFactory
+        .getSqlSessionFactory()
+        .openSession(ExecutorType.BATCH, connection);
+    } else {
+      this.sqlSession = dbSqlSessionFactory
+        .getSqlSessionFactory()
+        .openSession(connection);
+    }
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
   }
@@ -82,6 +111,7 @@ public class DbSqlSession extends AbstractPersistenceSession {
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
+    executeBatch();
     statement = dbSqlSessionFactory.mapStatement(statement);
     return sqlSession.selectList(statement, parameter);
   }
@@ -91,10 +121,12 @@ public class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
+    executeBatch();
     return (T) sqlSession.selectOne(selectStatement, id);
   }
 
   public Object selectOne(String statement, Object parameter) {
+    executeBatch();
     statement = dbSqlSessionFactory.mapStatement(statement);
     return sqlSession.selectOne(statement, parameter);
   }
@@ -106,8 +138,25 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // by default which may cause deadlocks if the deploy command needs to get a new
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
+      executeBatch();
+
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
       sqlSession.update(mappedStatement, parameter);
+
+      if (isJdbcBatchProcessing) {
+        // the lock must be acquired right away and must not end up in the batch of flushed operations
+        sqlSession.flushStatements();
+      }
+    }
+  }
+
+  // operations ///////////////////////////////////////
+
+  public void executeDbOperation(DbOperation operation) {
+    super.executeDbOperation(operation);
+
+    if (isJdbcBatchProcessing) {
+      batchedOperations.add(operation);
     }
   }
 
@@ -163,6 +212,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // execute the delete
     int nrOfRowsDeleted = executeDelete(deleteStatement, dbEntity);
 
+    // in batch mode, the result is checked when the batch is flushed
+    if (!isJdbcBatchProcessing) {
+      handleDeleteResult(operation, nrOfRowsDeleted);
+    }
+  }
+
+  protected void handleDeleteResult(DbEntityOperation operation, int nrOfRowsDeleted) {
+    DbEntity dbEntity = operation.getEntity();
+
     // It only makes sense to check for optimistic locking exceptions for objects that actually have a revision
     if (dbEntity instanceof HasDbRevision && nrOfRowsDeleted == 0) {
       operation.setFailed(true);
@@ -210,6 +268,15 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // execute update
     int numOfRowsUpdated = executeUpdate(updateStatement, dbEntity);
 
+    // in batch mode, the result is checked when the batch is flushed
+    if (!isJdbcBatchProcessing) {
+      handleUpdateResult(operation, numOfRowsUpdated);
+    }
+  }
+
+  protected void handleUpdateResult(DbEntityOperation operation, int numOfRowsUpdated) {
+    DbEntity dbEntity = operation.getEntity();
+
     if (dbEntity instanceof HasDbRevision) {
       if(numOfRowsUpdated != 1) {
         // failed with optimistic locking
@@ -265,6 +332,95 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // nothing to do
   }
 
+  public List<DbOperation> flushOperations() {
+    executeBatch();
+
+    if (failedBatchedOperations.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<DbOperation> failedOperations = new ArrayList<DbOperation>(failedBatchedOperations);
+    failedBatchedOperations.clear();
+    return failedOperations;
+  }
+
+  /**
+   * Executes the current JDBC batch. MyBatis executes the batch implicitly before every
+   * select, so this is called before each statement which is not batched to keep the
+   * update counts of the batched operations.
+   */
+  protected void executeBatch() {
+    if (!isJdbcBatchProcessing || batchedOperations.isEmpty()) {
+      return;
+    }
+
+    try {
+      List<BatchResult> batchResults = sqlSession.flushStatements();
+      failedBatchedOperations.addAll(handleBatchResults(batchResults));
+    }
+    finally {
+      batchedOperations.clear();
+    }
+  }
+
+  /**
+   * Assigns the update counts of the flushed JDBC batches to the batched operations.
+   * MyBatis reports one {@link BatchResult} per statement execution, in the order in
+   * which the operations were added to the batch.
+   *
+   * @return the operations which failed with an optimistic locking exception
+   */
+  protected List<DbOperation> handleBatchResults(List<BatchResult> batchResults) {
+    List<DbOperation> failedOperations = new ArrayList<DbOperation>();
+
+    int operationIndex = 0;
+    for (BatchResult batchResult : batchResults) {
+      int[] updateCounts = batchResult.getUpdateCounts();
+      for (int updateCount : updateCounts) {
+        if (operationIndex >= batchedOperations.size()) {
+          throw new ProcessEngineException("Unexpected number of batch results: got more results than the "
+              + batchedOperations.size() + " batched operations");
+        }
+
+        DbOperation operation = batchedOperations.get(operationIndex++);
+        if (updateCount == Statement.SUCCESS_NO_INFO && isRevisionChecked(operation)) {
+          // without the update count, a concurrent modification cannot be detected
+          throw new ProcessEngineException("The JDBC driver does not report update counts for batched statements, "
+              + "optimistic locking cannot be enforced for " + operation + ". Disable jdbcBatchProcessing for this database.");
+        }
+
+        switch (operation.getOperationType()) {
+          case UPDATE:
+            handleUpdateResult((DbEntityOperation) operation, updateCount);
+            break;
+          case DELETE:
+            handleDeleteResult((DbEntityOperation) operation, updateCount);
+            break;
+          default:
+            // nothing to check for inserts and bulk operations
+            break;
+        }
+
+        if (operation.isFailed()) {
+          failedOperations.add(operation);
+        }
+      }
+    }
+
+    if (operationIndex != batchedOperations.size()) {
+      throw new ProcessEngineException("Unexpected number of batch results: got " + operationIndex
+          + " results for " + batchedOperations.size() + " batched operations");
+    }
+
+    return failedOperations;
+  }
+
+  protected boolean isRevisionChecked(DbOperation operation) {
+    DbOperationType operationType = operation.getOperationType();
+    return (operationType == DbOperationType.UPDATE || operationType == DbOperationType.DELETE)
+        && ((DbEntityOperation) operation).getEntity() instanceof HasDbRevision;
+  }
+
   public void close() {
     sqlSession.close();
   }
@@ -274,6 +430,8 @@ public class DbSqlSession extends AbstractPersistenceSession {
   }
 
   public void rollback() {
+    batchedOperations.clear();
+    failedBatchedOperations.clear();
     sqlSession.rollback();
   }
 
@@ -37,6 +37,9 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final String MYSQL = "mysql";
   public static final String POSTGRES = "postgres";
 
+  /** the maximum number of expressions in an IN list, limited by Oracle */
+  public static final int MAXIMUM_IN_LIST_SIZE = 1000;
+
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<String, Map<String,String>>();
 
   public static final Map<String, String> databaseSpecificLimitBeforeStatements = new HashMap<String, String>();
@@ -258,6 +261,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
+  protected boolean isJdbcBatchProcessing = false;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
@@ -435,5 +439,13 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public boolean isJdbcBatchProcessing() {
+    return isJdbcBatchProcessing;
+  }
+
+  public void setJdbcBatchProcessing(boolean isJdbcBatchProcessing) {
+    this.isJdbcBatchProcessing = isJdbcBatchProcessing;
+  }
+
 
 }
@@ -0,0 +1,420 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>History event handler which writes history events asynchronously.</p>
+ *
+ * <p>The events of a command are collected in a {@link HistoryEventBuffer} and handed
+ * over to a bounded in-memory queue once the transaction of the command is committed.
+ * A background writer thread takes up to {@link #getBatchSize() batchSize} events from
+ * the queue and writes them in a single command, so that the history inserts and updates
+ * are no longer part of the flush of the runtime command.</p>
+ *
+ * <p>If the queue is full, the committing thread writes the queued events and its own
+ * events synchronously. This slows down the producers to the speed of the writer and
+ * makes sure that no event is dropped.</p>
+ *
+ * <p>Events are written in the order in which the commands started to commit. A command
+ * which reads the state committed by another command commits after it, so its updates
+ * never overtake the inserts of the other command. The events of a command are therefore
+ * only queued once all commands which started to commit before are committed or rolled
+ * back.</p>
+ *
+ * <p>History is visible with a delay: queries issued right after a command may not yet
+ * see its history. Queued events are written when the process engine is closed. Events
+ * still queued when the JVM terminates abruptly are lost.</p>
+ */
+public class AsyncBufferedHistoryEventHandler implements HistoryEventHandler {
+
+  private final static Logger LOG = Logger.getLogger(AsyncBufferedHistoryEventHandler.class.getName());
+
+  /** the maximum number of events waiting in the queue */
+  protected int capacity = 10000;
+
+  /** the maximum number of events written in one command */
+  protected int batchSize = 500;
+
+  /** the time the writer waits for more events if less than a full batch was written */
+  protected long writeIntervalInMillis = 100;
+
+  protected HistoryEventHandler writingHistoryEventHandler = new CoalescingDbHistoryEventHandler();
+  protected HistoryEventHandler synchronousHistoryEventHandler = new DbHistoryEventHandler();
+
+  protected BlockingQueue<BufferedHistoryEvent> queue;
+
+  /** the buffers of the commands which started to commit but whose events are not queued yet, by commit sequence */
+  protected final SortedMap<Long, HistoryEventBuffer> committingBuffers = new TreeMap<Long, HistoryEventBuffer>();
+
+  /** the commit sequence of the next command which starts to commit, guarded by {@link #committingBuffers} */
+  protected long nextCommitSequence = 0;
+
+  /** held while events are taken from the queue and written so that the write order is preserved */
+  protected final Object writeLock = new Object();
+
+  /** the writer waits on this monitor if there are not enough events for a full batch */
+  protected final Object idleMonitor = new Object();
+
+  protected CommandExecutor commandExecutor;
+  protected MetricsRegistry metricsRegistry;
+
+  protected Thread writerThread;
+  protected volatile boolean isActive = false;
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    handleEvents(Collections.singletonList(historyEvent));
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    if (!isActive) {
+      // not started yet or already stopped: write the events as part of the command
+      synchronousHistoryEventHandler.handleEvents(historyEvents);
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    final HistoryEventBuffer buffer = commandContext.getSession(HistoryEventBuffer.class);
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      buffer.add(historyEvent);
+    }
+
+    if (!buffer.isTransactionListenerRegistered()) {
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      transactionContext.addTransactionListener(TransactionState.COMMITTING, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          beforeCommit(buffer);
+        }
+      });
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          afterCommit(buffer);
+        }
+      });
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          afterRollback(buffer);
+        }
+      });
+      buffer.setTransactionListenerRegistered(true);
+    }
+  }
+
+  // commit order /////////////////////////////////////////////////////////
+
+  protected void beforeCommit(HistoryEventBuffer buffer) {
+    synchronized (committingBuffers) {
+      buffer.setCommitSequence(nextCommitSequence++);
+      committingBuffers.put(buffer.getCommitSequence(), buffer);
+    }
+  }
+
+  protected void afterCommit(HistoryEventBuffer buffer) {
+    synchronized (committingBuffers) {
+      buffer.setCommitted(true);
+      enqueueCommittedBuffers();
+    }
+  }
+
+  protected void afterRollback(HistoryEventBuffer buffer) {
+    synchronized (committingBuffers) {
+      if (buffer.getCommitSequence() != null) {
+        committingBuffers.remove(buffer.getCommitSequence());
+        // the command may have held back the events of commands which committed after it
+        enqueueCommittedBuffers();
+      }
+    }
+  }
+
+  /**
+   * Queues the events of the committed commands up to the first command which is
+   * still committing. Must be called while holding the {@link #committingBuffers} monitor,
+   * so that concurrent committers cannot queue their events in a different order.
+   */
+  protected void enqueueCommittedBuffers() {
+    List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+
+    Iterator<HistoryEventBuffer> buffers = committingBuffers.values().iterator();
+    while (buffers.hasNext()) {
+      HistoryEventBuffer buffer = buffers.next();
+      if (!buffer.isCommitted()) {
+        break;
+      }
+      historyEvents.addAll(buffer.getHistoryEvents());
+      buffers.remove();
+    }
+
+    if (!historyEvents.isEmpty()) {
+      enqueue(historyEvents);
+    }
+  }
+
+  // lifecycle ////////////////////////////////////////////////////////////
+
+  /**
+   * Starts the background writer.
+   *
+   * @param commandExecutor a command executor which always opens a new transaction
+   * @param metricsRegistry the registry to record the lag of the written events in, may be null
+   */
+  public synchronized void start(CommandExecutor commandExecutor, MetricsRegistry metricsRegistry) {
+    if (isActive) {
+      return;
+    }
+
+    this.commandExecutor = commandExecutor;
+    this.metricsRegistry = metricsRegistry;
+    queue = new ArrayBlockingQueue<BufferedHistoryEvent>(capacity);
+
+    isActive = true;
+
+    writerThread = new Thread(new HistoryEventWriter(), "camunda-history-event-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the background writer and writes all events which are still queued.
+   */
+  public synchronized void stop() {
+    if (!isActive) {
+      return;
+    }
+
+    isActive = false;
+
+    synchronized (idleMonitor) {
+      idleMonitor.notifyAll();
+    }
+
+    try {
+      // the writer finishes its current batch and terminates
+      writerThread.join();
+    } catch (InterruptedException e) {
+      LOG.log(Level.WARNING, "Interrupted while waiting for the history event writer to stop", e);
+      Thread.currentThread().interrupt();
+    }
+    writerThread = null;
+
+    flush();
+  }
+
+  /**
+   * Writes all queued events on the calling thread.
+   */
+  public void flush() {
+    if (queue == null) {
+      return;
+    }
+    synchronized (writeLock) {
+      List<BufferedHistoryEvent> events = new ArrayList<BufferedHistoryEvent>();
+      queue.drainTo(events);
+      write(events);
+    }
+  }
+
+  // writing events ///////////////////////////////////////////////////////
+
+  protected void enqueue(List<HistoryEvent> historyEvents) {
+    long enqueuedNanos = System.nanoTime();
+
+    for (int i = 0; i < historyEvents.size(); i++) {
+      if (!queue.offer(new BufferedHistoryEvent(historyEvents.get(i), enqueuedNanos))) {
+        // the queue is full: fall back to writing the events on the committing thread
+        List<HistoryEvent> remainingEvents = historyEvents.subList(i, historyEvents.size());
+        if (metricsRegistry != null) {
+          metricsRegistry.markOccurrence(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW, remainingEvents.size());
+        }
+        writeSynchronously(remainingEvents, enqueuedNanos);
+        return;
+      }
+    }
+
+    if (!isActive) {
+      // the writer was stopped while the command committed
+      flush();
+    }
+    else if (queue.size() >= batchSize) {
+      // wake up the writer for a full batch
+      synchronized (idleMonitor) {
+        idleMonitor.notifyAll();
+      }
+    }
+  }
+
+  protected void writeSynchronously(List<HistoryEvent> historyEvents, long enqueuedNanos) {
+    synchronized (writeLock) {
+      // write the queued events first so that the order of the events is preserved
+      List<BufferedHistoryEvent> events = new ArrayList<BufferedHistoryEvent>();
+      queue.drainTo(events);
+      for (HistoryEvent historyEvent : historyEvents) {
+        events.add(new BufferedHistoryEvent(historyEvent, enqueuedNanos));
+      }
+      write(events);
+    }
+  }
+
+  /**
+   * @return the number of written events
+   */
+  protected int writeBatch() {
+    synchronized (writeLock) {
+      List<BufferedHistoryEvent> events = new ArrayList<BufferedHistoryEvent>();
+      queue.drainTo(events, batchSize);
+      write(events);
+      return events.size();
+    }
+  }
+
+  protected void write(List<BufferedHistoryEvent> bufferedEvents) {
+    if (bufferedEvents.isEmpty()) {
+      return;
+    }
+
+    List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+    for (BufferedHistoryEvent bufferedEvent : bufferedEvents) {
+      historyEvents.add(bufferedEvent.historyEvent);
+    }
+
+    try {
+      commandExecutor.execute(new WriteHistoryEventsCmd(historyEvents));
+
+    } catch (Exception e) {
+      LOG.log(Level.WARNING, "Could not write " + historyEvents.size() + " history events in one batch, writing them one by one", e);
+
+      for (HistoryEvent historyEvent : historyEvents) {
+        try {
+          commandExecutor.execute(new WriteHistoryEventsCmd(Collections.singletonList(historyEvent)));
+        } catch (Exception ex) {
+          LOG.log(Level.SEVERE, "Could not write history event " + historyEvent + ", the event is lost", ex);
+        }
+      }
+    }
+
+    if (metricsRegistry != null) {
+      // the first event is the one which waited longest
+      metricsRegistry.recordDurationSince(Metrics.HISTORY_EVENT_BUFFER_LAG, bufferedEvents.get(0).enqueuedNanos);
+    }
+  }
+
+  protected class WriteHistoryEventsCmd implements Command<Void> {
+
+    protected List<HistoryEvent> historyEvents;
+
+    public WriteHistoryEventsCmd(List<HistoryEvent> historyEvents) {
+      this.historyEvents = historyEvents;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      writingHistoryEventHandler.handleEvents(historyEvents);
+      return null;
+    }
+
+  }
+
+  protected class HistoryEventWriter implements Runnable {
+
+    public void run() {
+      while (isActive) {
+        try {
+          int written = writeBatch();
+          if (written < batchSize) {
+            synchronized (idleMonitor) {
+              if (isActive) {
+                idleMonitor.wait(writeIntervalInMillis);
+              }
+            }
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (Exception e) {
+          LOG.log(Level.SEVERE, "Exception in the history event writer", e);
+        }
+      }
+    }
+
+  }
+
+  protected static class BufferedHistoryEvent {
+
+    protected final HistoryEvent historyEvent;
+    protected final long enqueuedNanos;
+
+    public BufferedHistoryEvent(HistoryEvent historyEvent, long enqueuedNanos) {
+      this.historyEvent = historyEvent;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+
+  }
+
+  // getters / setters ////////////////////////////////////////////////////
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getWriteIntervalInMillis() {
+    return writeIntervalInMillis;
+  }
+
+  public void setWriteIntervalInMillis(long writeIntervalInMillis) {
+    this.writeIntervalInMillis = writeIntervalInMillis;
+  }
+
+  /**
+   * @return the number of events waiting to be written
+   */
+  public int getQueueSize() {
+    return queue != null ? queue.size() : 0;
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+}
@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>Writes the history events of several commands in a single command.</p>
+ *
+ * <p>The {@link DbHistoryEventHandler} relies on the history event producer
+ * updating the cached event object when a later event of the same command
+ * refers to the same history entity. Events of different commands are different
+ * objects though, so a later event replaces the cached one: it is inserted if
+ * the cached event was not yet inserted and merged otherwise.</p>
+ */
+public class CoalescingDbHistoryEventHandler extends DbHistoryEventHandler {
+
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    String eventType = historyEvent.getEventType();
+
+    if (eventType != null && !isInitialEvent(eventType) && historyEvent.getId() != null) {
+      DbEntityManager dbEntityManager = getDbEntityManager();
+      CachedDbEntity cachedEntity = dbEntityManager.getDbEntityCache().getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+
+      if (cachedEntity != null && cachedEntity.getEntity() != historyEvent && !isDeleted(cachedEntity)) {
+        if (historyEvent instanceof HistoricScopeInstanceEvent && cachedEntity.getEntity() instanceof HistoricScopeInstanceEvent) {
+          HistoricScopeInstanceEvent cachedEvent = (HistoricScopeInstanceEvent) cachedEntity.getEntity();
+          ((HistoricScopeInstanceEvent) historyEvent).setStartTime(cachedEvent.getStartTime());
+        }
+
+        dbEntityManager.getDbEntityCache().remove(cachedEntity);
+
+        if (cachedEntity.getEntityState() == DbEntityState.TRANSIENT) {
+          dbEntityManager.insert(historyEvent);
+        } else {
+          dbEntityManager.merge(historyEvent);
+        }
+        return;
+      }
+    }
+
+    super.insertOrUpdate(historyEvent);
+  }
+
+  protected boolean isDeleted(CachedDbEntity cachedEntity) {
+    return cachedEntity.getEntityState() == DbEntityState.DELETED_TRANSIENT
+        || cachedEntity.getEntityState() == DbEntityState.DELETED_PERSISTENT
+        || cachedEntity.getEntityState() == DbEntityState.DELETED_MERGED;
+  }
+
+}
@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * <p>Collects the history events fired during a command. The
+ * {@link AsyncBufferedHistoryEventHandler} hands them over to its
+ * background writer once the transaction of the command is committed.</p>
+ */
+public class HistoryEventBuffer implements Session {
+
+  protected List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+
+  protected boolean isTransactionListenerRegistered = false;
+
+  /** the position of the command among the committing commands, null if it did not start to commit */
+  protected Long commitSequence;
+
+  protected boolean isCommitted = false;
+
+  public void add(HistoryEvent historyEvent) {
+    historyEvents.add(historyEvent);
+  }
+
+  public List<HistoryEvent> getHistoryEvents() {
+    return historyEvents;
+  }
+
+  public boolean isTransactionListenerRegistered() {
+    return isTransactionListenerRegistered;
+  }
+
+  public void setTransactionListenerRegistered(boolean isTransactionListenerRegistered) {
+    this.isTransactionListenerRegistered = isTransactionListenerRegistered;
+  }
+
+  public Long getCommitSequence() {
+    return commitSequence;
+  }
+
+  public void setCommitSequence(Long commitSequence) {
+    this.commitSequence = commitSequence;
+  }
+
+  public boolean isCommitted() {
+    return isCommitted;
+  }
+
+  public void setCommitted(boolean isCommitted) {
+    this.isCommitted = isCommitted;
+  }
+
+  public void flush() {
+    // the events are handed over after commit
+  }
+
+  public void close() {
+    // nothing to do
+  }
+
+}
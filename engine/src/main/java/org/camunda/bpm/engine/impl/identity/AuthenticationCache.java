@@ -0,0 +1,202 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.identity;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Caches successful password checks and the group memberships of users for a limited
+ * time, so that clients which authenticate every request do not hit the identity provider
+ * each time.</p>
+ *
+ * <p>Passwords are not stored; an entry holds a salted digest of the verified credentials.
+ * The {@link org.camunda.bpm.engine.impl.IdentityServiceImpl} invalidates the entries of a
+ * user when the user or the memberships are changed through it, again once the change is committed.
+ * The cache is local to a process engine: changes made on another node of a cluster or directly in
+ * the identity provider, for example in an LDAP directory, are seen after the time to live.</p>
+ *
+ * <p>Values loaded concurrently to an invalidation are not cached: a caller reads the
+ * {@link #getGeneration() generation} before loading and passes it when putting the value.</p>
+ */
+public class AuthenticationCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  protected final long timeToLiveMillis;
+  protected final int maxEntries;
+  protected final MetricsRegistry metricsRegistry;
+
+  protected final byte[] salt = new byte[16];
+
+  protected final Map<String, CacheEntry<byte[]>> verifiedCredentials = new ConcurrentHashMap<String, CacheEntry<byte[]>>();
+  protected final Map<String, CacheEntry<List<String>>> groupIds = new ConcurrentHashMap<String, CacheEntry<List<String>>>();
+
+  /** incremented on every invalidation, guarded by this */
+  protected volatile long generation = 0;
+
+  /**
+   * @param timeToLiveMillis the time an entry is valid
+   * @param metricsRegistry the registry counting hits and misses, may be null
+   */
+  public AuthenticationCache(long timeToLiveMillis, MetricsRegistry metricsRegistry) {
+    this(timeToLiveMillis, DEFAULT_MAX_ENTRIES, metricsRegistry);
+  }
+
+  public AuthenticationCache(long timeToLiveMillis, int maxEntries, MetricsRegistry metricsRegistry) {
+    this.timeToLiveMillis = timeToLiveMillis;
+    this.maxEntries = maxEntries;
+    this.metricsRegistry = metricsRegistry;
+    new SecureRandom().nextBytes(salt);
+  }
+
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @return true if the password of the user was verified within the time to live
+   */
+  public boolean isPasswordVerified(String userId, String password) {
+    CacheEntry<byte[]> entry = getEntry(verifiedCredentials, userId);
+    boolean verified = entry != null && MessageDigest.isEqual(entry.value, digest(userId, password));
+    markLookup(verified);
+    return verified;
+  }
+
+  public synchronized void putVerifiedPassword(String userId, String password, long loadedInGeneration) {
+    if (loadedInGeneration == generation) {
+      putEntry(verifiedCredentials, userId, digest(userId, password));
+    }
+  }
+
+  /**
+   * @return the ids of the groups the user is a member of, or null if they are not cached
+   */
+  public List<String> getGroupIds(String userId) {
+    CacheEntry<List<String>> entry = getEntry(groupIds, userId);
+    markLookup(entry != null);
+    return entry != null ? entry.value : null;
+  }
+
+  public synchronized void putGroupIds(String userId, List<String> groupIdsOfUser, long loadedInGeneration) {
+    if (loadedInGeneration == generation) {
+      putEntry(groupIds, userId, Collections.unmodifiableList(new ArrayList<String>(groupIdsOfUser)));
+    }
+  }
+
+  public synchronized void invalidate(String userId) {
+    generation++;
+    verifiedCredentials.remove(userId);
+    groupIds.remove(userId);
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    verifiedCredentials.clear();
+    groupIds.clear();
+  }
+
+  public long getTimeToLiveMillis() {
+    return timeToLiveMillis;
+  }
+
+  protected <T> CacheEntry<T> getEntry(Map<String, CacheEntry<T>> entries, String userId) {
+    if (userId == null) {
+      return null;
+    }
+
+    CacheEntry<T> entry = entries.get(userId);
+    if (entry != null && entry.isExpired(ClockUtil.getCurrentTime().getTime())) {
+      entries.remove(userId);
+      return null;
+    }
+    return entry;
+  }
+
+  protected <T> void putEntry(Map<String, CacheEntry<T>> entries, String userId, T value) {
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    if (entries.size() >= maxEntries) {
+      removeExpiredEntries(entries, now);
+      if (entries.size() >= maxEntries) {
+        entries.clear();
+      }
+    }
+
+    entries.put(userId, new CacheEntry<T>(value, now + timeToLiveMillis));
+  }
+
+  protected <T> void removeExpiredEntries(Map<String, CacheEntry<T>> entries, long now) {
+    Iterator<CacheEntry<T>> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().isExpired(now)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  protected byte[] digest(String userId, String password) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(salt);
+      digest.update(userId.getBytes("UTF-8"));
+      digest.update((byte) 0);
+      if (password != null) {
+        digest.update(password.getBytes("UTF-8"));
+      }
+      return digest.digest();
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot digest credentials", e);
+    } catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("Cannot digest credentials", e);
+    }
+  }
+
+  protected void markLookup(boolean hit) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(hit ? Metrics.AUTHENTICATION_CACHE_HIT : Metrics.AUTHENTICATION_CACHE_MISS);
+    }
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final T value;
+    protected final long expirationTime;
+
+    public CacheEntry(T value, long expirationTime) {
+      this.value = value;
+      this.expirationTime = expirationTime;
+    }
+
+    public boolean isExpired(long now) {
+      return now >= expirationTime;
+    }
+
+  }
+
+}
@@ -20,6 +20,8 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.delegate.ProcessEngineServicesAware;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -80,6 +82,9 @@ public class CommandContextInterceptor extends CommandInterceptor {
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command);
     Context.setCommandInvocationContext(commandInvocationContext);
 
+    MetricsRegistry metricsRegistry = openNew ? getMetricsRegistry() : null;
+    long startNanos = metricsRegistry != null ? System.nanoTime() : 0;
+
     try {
       if(openNew) {
         LOGGER.log(Level.FINE, "Opening new command context.");
@@ -111,12 +116,24 @@ public class CommandContextInterceptor extends CommandInterceptor {
         Context.removeCommandInvocationContext();
         Context.removeCommandContext();
         Context.removeProcessEngineConfiguration();
+
+        if (metricsRegistry != null) {
+          metricsRegistry.recordDurationSince(Metrics.COMMAND_EXECUTION_TIME, startNanos);
+        }
       }
     }
 
     return null;
   }
 
+  protected MetricsRegistry getMetricsRegistry() {
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      return processEngineConfiguration.getMetricsRegistry();
+    } else {
+      return null;
+    }
+  }
+
   public CommandContextFactory getCommandContextFactory() {
     return commandContextFactory;
   }
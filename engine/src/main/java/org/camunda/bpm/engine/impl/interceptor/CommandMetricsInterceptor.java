@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.CommandStatistics;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+
+/**
+ * <p>Records the wall time, flush time, number of sql statements and number
+ * of loaded entities of each command in the {@link MetricsRegistry}, grouped
+ * by command class.</p>
+ *
+ * <p>Must be placed in front of the transaction and command context interceptors
+ * so that the wall time includes flush and commit. Commands which are executed
+ * within another command are accounted to the outermost command.</p>
+ */
+public class CommandMetricsInterceptor extends CommandInterceptor {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public CommandMetricsInterceptor(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public <T> T execute(Command<T> command) {
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (metricsRegistry == null || Context.getCommandStatistics() != null) {
+      return next.execute(command);
+    }
+
+    CommandStatistics statistics = new CommandStatistics();
+    Context.setCommandStatistics(statistics);
+
+    long startNanos = System.nanoTime();
+    boolean failed = true;
+    try {
+      T result = next.execute(command);
+      failed = false;
+      return result;
+
+    } finally {
+      long executionNanos = System.nanoTime() - startNanos;
+      Context.removeCommandStatistics();
+
+      metricsRegistry
+        .getCommandMetrics(command.getClass().getName())
+        .record(executionNanos, statistics, failed);
+    }
+  }
+
+}
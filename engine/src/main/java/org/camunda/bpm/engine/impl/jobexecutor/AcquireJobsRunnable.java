@@ -20,6 +20,7 @@ import java.util.logging.Logger;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -52,19 +53,22 @@ public class AcquireJobsRunnable implements Runnable {
       log.info(jobExecutor.getName() + " starting to acquire jobs");
     }
 
-    ProcessEngineImpl processEngine = jobExecutor.getProcessEngines().get(0);
+    ProcessEngineImpl processEngine = getProcessEngine();
 
     final CommandExecutor commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+    final Command<AcquiredJobs> acquireJobsCmd = getAcquireJobsCmd();
 
     while (!isInterrupted) {
       int maxJobsPerAcquisition = jobExecutor.getMaxJobsPerAcquisition();
 
       try {
         jobExecutor.logAcquisitionAttempt(processEngine);
-        AcquiredJobs acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd());
+        jobExecutor.logExecutorLoad(processEngine);
+        AcquiredJobs acquiredJobs = commandExecutor.execute(acquireJobsCmd);
 
         jobExecutor.logAcquiredJobs(processEngine, acquiredJobs.size());
         jobExecutor.logAcquisitionFailureJobs(processEngine, acquiredJobs.getNumberOfJobsFailedToLock());
+        jobExecutor.registerAcquiredJobs(processEngine, acquiredJobs);
 
         for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
           jobExecutor.executeJobs(jobIds, processEngine);
@@ -74,7 +78,12 @@ public class AcquireJobsRunnable implements Runnable {
         millisToWait = jobExecutor.getWaitTimeInMillis();
         // add number of jobs which we attempted to acquire but could not obtain a lock for -> do not wait if we could not acquire jobs.
         int jobsAcquired = acquiredJobs.getJobIdBatches().size() + acquiredJobs.getNumberOfJobsFailedToLock();
-        if (jobsAcquired < maxJobsPerAcquisition) {
+        int jobsAttemptedToAcquire = acquiredJobs.getNumberOfJobsAttemptedToAcquire();
+        if (jobsAttemptedToAcquire < 0) {
+          jobsAttemptedToAcquire = maxJobsPerAcquisition;
+        }
+
+        if (jobsAcquired < jobsAttemptedToAcquire) {
 
           isJobAdded = false;
 
@@ -89,6 +98,12 @@ public class AcquireJobsRunnable implements Runnable {
             }
           }
 
+        } else if (jobsAttemptedToAcquire < maxJobsPerAcquisition) {
+          // the acquisition was limited by the available execution capacity:
+          // give the execution threads some time to catch up
+          isJobAdded = false;
+          millisToWait = jobExecutor.getBusyWaitTimeInMillis();
+
         } else {
           millisToWait = 0;
         }
@@ -144,6 +159,31 @@ public class AcquireJobsRunnable implements Runnable {
       }
   }
 
+  /**
+   * @return the process engine for which jobs are acquired
+   */
+  protected ProcessEngineImpl getProcessEngine() {
+    return jobExecutor.getProcessEngines().get(0);
+  }
+
+  protected Command<AcquiredJobs> getAcquireJobsCmd() {
+    return jobExecutor.getAcquireJobsCmd();
+  }
+
+  /**
+   * Notifies the acquisition that the process engines registered with the job executor changed.
+   */
+  public void processEnginesChanged() {
+    // nothing to do: the registered process engines are looked up on every acquisition
+  }
+
+  /**
+   * Notifies the acquisition that a job was added by the given process engine.
+   */
+  public void jobWasAdded(ProcessEngineImpl processEngine) {
+    jobWasAdded();
+  }
+
   public void jobWasAdded() {
     isJobAdded = true;
     if(isWaiting.compareAndSet(true, false)) {
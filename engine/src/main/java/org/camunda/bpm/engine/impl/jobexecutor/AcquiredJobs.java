@@ -13,11 +13,16 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
 
 /**
  * @author Tom Baeyens
@@ -27,9 +32,20 @@ public class AcquiredJobs {
 
   protected List<List<String>> acquiredJobBatches = new ArrayList<List<String>>();
   protected Set<String> acquiredJobs = new HashSet<String>();
+  protected Map<String, JobEntity> acquiredJobEntities = new HashMap<String, JobEntity>();
 
   protected int numberOfJobsFailedToLock = 0;
 
+  /** the number of jobs the acquisition attempted to acquire or -1 if unknown */
+  protected int numberOfJobsAttemptedToAcquire = -1;
+
+  public AcquiredJobs() {
+  }
+
+  public AcquiredJobs(int numberOfJobsAttemptedToAcquire) {
+    this.numberOfJobsAttemptedToAcquire = numberOfJobsAttemptedToAcquire;
+  }
+
   public List<List<String>> getJobIdBatches() {
     return acquiredJobBatches;
   }
@@ -39,6 +55,18 @@ public class AcquiredJobs {
     acquiredJobs.addAll(jobIds);
   }
 
+  /**
+   * Adds the state of an acquired job. The entity must not be modified after the
+   * acquisition has been committed.
+   */
+  public void addJob(JobEntity job) {
+    acquiredJobEntities.put(job.getId(), job);
+  }
+
+  public Collection<JobEntity> getJobs() {
+    return acquiredJobEntities.values();
+  }
+
   public boolean contains(String jobId) {
     return acquiredJobs.contains(jobId);
   }
@@ -51,6 +79,7 @@ public class AcquiredJobs {
     numberOfJobsFailedToLock++;
 
     acquiredJobs.remove(id);
+    acquiredJobEntities.remove(id);
 
     Iterator<List<String>> batchIterator = acquiredJobBatches.iterator();
     while (batchIterator.hasNext()) {
@@ -69,4 +98,8 @@ public class AcquiredJobs {
     return numberOfJobsFailedToLock;
   }
 
+  public int getNumberOfJobsAttemptedToAcquire() {
+    return numberOfJobsAttemptedToAcquire;
+  }
+
 }
@@ -12,13 +12,24 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.util.VirtualThreadUtil;
+
 /**
  * <p>This is a simple implementation of the {@link JobExecutor} using self-managed
  * threads for performing background work.</p>
@@ -29,6 +40,12 @@ import java.util.logging.Logger;
  * <p><em>NOTE: use this class in environments in which self-management of threads 
  * is permitted. Consider using a different thread-management strategy in 
  * J(2)EE-Environments.</em></p>
+ *
+ * <p>If {@link #setUseVirtualThreads(boolean) virtual threads} are enabled and supported by
+ * the JVM, no thread pool is used. Each batch of jobs is executed on a new virtual thread and
+ * the number of batches executed concurrently is limited per process engine by
+ * {@link #setMaxConcurrentJobsPerProcessEngine(int)}. Batches exceeding the limit are passed to
+ * the {@link RejectedJobsHandler}.</p>
  * 
  * @author Daniel Meyer
  */
@@ -39,22 +56,136 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
   protected int queueSize = 3;
   protected int corePoolSize = 3;
   private int maxPoolSize = 10;
-    
+  protected boolean useVirtualThreads = false;
+  protected ThreadFactory threadFactory;
+  protected int maxConcurrentJobsPerProcessEngine = 100;
+
+  /** creates a thread per batch of jobs if virtual threads are used, null otherwise */
+  protected ThreadFactory virtualThreadFactory;
+  protected ConcurrentMap<String, Semaphore> processEngineSemaphores = new ConcurrentHashMap<String, Semaphore>();
+  protected Set<Thread> virtualThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
   protected void startExecutingJobs() {
-   
+
+    if (threadPoolExecutor == null && threadFactory == null && useVirtualThreads) {
+      virtualThreadFactory = createVirtualThreadFactory();
+      if (virtualThreadFactory == null) {
+        log.log(Level.WARNING, "Virtual threads are not supported by this JVM. " + name + " executes jobs on platform threads.");
+      }
+    }
+
     BlockingQueue<Runnable> threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
     
-    if (threadPoolExecutor==null) {
-      threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, 0L, TimeUnit.MILLISECONDS, threadPoolQueue);      
+    if (threadPoolExecutor==null && virtualThreadFactory==null) {
+      threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, 0L, TimeUnit.MILLISECONDS, threadPoolQueue, createThreadFactory());
       threadPoolExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
     }
     
     super.startExecutingJobs();
   }
     
+  protected ThreadFactory createThreadFactory() {
+    if (threadFactory != null) {
+      return threadFactory;
+    }
+    return Executors.defaultThreadFactory();
+  }
+
+  /**
+   * @return a factory for virtual threads or null if the JVM does not support them
+   */
+  protected ThreadFactory createVirtualThreadFactory() {
+    return VirtualThreadUtil.createVirtualThreadFactory(name + "-");
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (virtualThreadFactory == null) {
+      super.executeJobs(jobIds, processEngine);
+      return;
+    }
+
+    final Semaphore semaphore = getProcessEngineSemaphore(processEngine.getName());
+    if (!semaphore.tryAcquire()) {
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine);
+      return;
+    }
+
+    final ExecuteJobsRunnable executeJobsRunnable = new ExecuteJobsRunnable(jobIds, processEngine);
+    Thread thread = virtualThreadFactory.newThread(new Runnable() {
+      public void run() {
+        try {
+          executeJobsRunnable.run();
+        }
+        finally {
+          virtualThreads.remove(Thread.currentThread());
+          semaphore.release();
+        }
+      }
+    });
+
+    virtualThreads.add(thread);
+    thread.start();
+  }
+
+  protected Semaphore getProcessEngineSemaphore(String processEngineName) {
+    Semaphore semaphore = processEngineSemaphores.get(processEngineName);
+    if (semaphore == null) {
+      semaphore = new Semaphore(maxConcurrentJobsPerProcessEngine);
+      Semaphore existingSemaphore = processEngineSemaphores.putIfAbsent(processEngineName, semaphore);
+      if (existingSemaphore != null) {
+        semaphore = existingSemaphore;
+      }
+    }
+    return semaphore;
+  }
+
+  public int getAvailableExecutionCapacity() {
+    if (virtualThreadFactory == null) {
+      return super.getAvailableExecutionCapacity();
+    }
+
+    long capacity = 0;
+    for (ProcessEngineImpl processEngine : processEngines) {
+      capacity += getAvailableExecutionCapacity(processEngine.getName());
+    }
+    return (int) Math.min(Integer.MAX_VALUE, capacity);
+  }
+
+  public int getAvailableExecutionCapacity(String processEngineName) {
+    if (virtualThreadFactory == null) {
+      return super.getAvailableExecutionCapacity(processEngineName);
+    }
+    return getProcessEngineSemaphore(processEngineName).availablePermits();
+  }
+
+  public int getQueueDepth() {
+    if (virtualThreadFactory == null) {
+      return super.getQueueDepth();
+    }
+    // batches are never queued, they are either executed right away or rejected
+    return 0;
+  }
+
+  public int getUtilization() {
+    if (virtualThreadFactory == null) {
+      return super.getUtilization();
+    }
+
+    int maxThreads = processEngines.size() * maxConcurrentJobsPerProcessEngine;
+    if (maxThreads <= 0) {
+      return 0;
+    }
+    return Math.min(100, virtualThreads.size() * 100 / maxThreads);
+  }
+
   protected void stopExecutingJobs() {
     
     super.stopExecutingJobs();
+
+    if (virtualThreadFactory != null) {
+      stopVirtualThreads();
+      return;
+    }
     
     // Ask the thread pool to finish and exit
     threadPoolExecutor.shutdown();
@@ -69,6 +200,26 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
       log.log(Level.WARNING, "Interrupted while shutting down the job executor. ", e);
     }
   }
+
+  protected void stopVirtualThreads() {
+    // Waits for 1 minute to finish all currently executing jobs
+    long deadline = System.currentTimeMillis() + 60L * 1000;
+    try {
+      for (Thread thread : virtualThreads) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining > 0) {
+          thread.join(remaining);
+        }
+      }
+      if (!virtualThreads.isEmpty()) {
+        log.log(Level.WARNING, "Timeout during shutdown of job executor. "
+                + "The current running jobs could not end within 60 seconds after shutdown operation.");
+      }
+    } catch (InterruptedException e) {
+      log.log(Level.WARNING, "Interrupted while shutting down the job executor. ", e);
+    }
+    virtualThreadFactory = null;
+  }
   
   // getters and setters ////////////////////////////////////////////////////// 
   
@@ -84,17 +235,75 @@ public class DefaultJobExecutor extends ThreadPoolJobExecutor {
     return corePoolSize;
   }
   
+  /**
+   * Sets the core pool size. If the job executor is running, the size of the
+   * thread pool is adjusted immediately.
+   */
   public void setCorePoolSize(int corePoolSize) {
     this.corePoolSize = corePoolSize;
+    resizeThreadPool();
   }
 
   public int getMaxPoolSize() {
     return maxPoolSize;
   }
 
+  /**
+   * Sets the maximum pool size. If the job executor is running, the size of the
+   * thread pool is adjusted immediately.
+   */
   public void setMaxPoolSize(int maxPoolSize) {
     this.maxPoolSize = maxPoolSize;
+    resizeThreadPool();
   }
-      
-}
 
+  protected void resizeThreadPool() {
+    if (threadPoolExecutor != null && !threadPoolExecutor.isShutdown() && corePoolSize <= maxPoolSize) {
+      // the thread pool executor rejects a maximum pool size lower than the core pool size:
+      // grow the maximum first, shrink the core first
+      if (maxPoolSize >= threadPoolExecutor.getMaximumPoolSize()) {
+        threadPoolExecutor.setMaximumPoolSize(maxPoolSize);
+        threadPoolExecutor.setCorePoolSize(corePoolSize);
+      }
+      else {
+        threadPoolExecutor.setCorePoolSize(corePoolSize);
+        threadPoolExecutor.setMaximumPoolSize(maxPoolSize);
+      }
+    }
+  }
+
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  /**
+   * Execute jobs on virtual threads if the JVM supports them. Has no effect once the job executor is started.
+   */
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  public int getMaxConcurrentJobsPerProcessEngine() {
+    return maxConcurrentJobsPerProcessEngine;
+  }
+
+  /**
+   * Sets the number of job batches executed concurrently for each process engine if jobs are
+   * executed on virtual threads. Has no effect once the job executor is started.
+   */
+  public void setMaxConcurrentJobsPerProcessEngine(int maxConcurrentJobsPerProcessEngine) {
+    this.maxConcurrentJobsPerProcessEngine = maxConcurrentJobsPerProcessEngine;
+  }
+
+  public ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  /**
+   * Sets the factory for the job execution threads. Takes precedence over {@link #setUseVirtualThreads(boolean)}.
+   */
+  public void setThreadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+  }
+
+}
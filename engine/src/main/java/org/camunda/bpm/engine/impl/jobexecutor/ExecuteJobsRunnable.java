@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 
 
 /**
@@ -76,7 +77,32 @@ public class ExecuteJobsRunnable implements Runnable {
   }
   
   protected void executeJob(String nextJobId, CommandExecutor commandExecutor) {    
-    commandExecutor.execute(new ExecuteJobsCmd(nextJobId));
+    commandExecutor.execute(new ExecuteJobsCmd(nextJobId, getAcquiredJob(nextJobId)));
+  }
+
+  /**
+   * @return the job as it was locked by the acquisition if it is the first job of the batch,
+   *   null otherwise. The other jobs may have been changed or deleted while the previous jobs
+   *   were executed, so they are selected again.
+   */
+  protected JobEntity getAcquiredJob(String jobId) {
+    if (processEngine == null) {
+      return null;
+    }
+
+    JobExecutor engineJobExecutor = jobExecutor;
+    if (engineJobExecutor == null) {
+      engineJobExecutor = processEngine.getProcessEngineConfiguration().getJobExecutor();
+    }
+
+    if (engineJobExecutor != null) {
+      // always take the job so that the job executor does not keep its state
+      JobEntity acquiredJob = engineJobExecutor.takeAcquiredJob(processEngine, jobId);
+      if (!jobIds.isEmpty() && jobIds.get(0).equals(jobId)) {
+        return acquiredJob;
+      }
+    }
+    return null;
   }
   
 }
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * Deletes the historic process instances listed in the job configuration. The
+ * instances are validated when the job is created.
+ */
+public class HistoricProcessInstanceDeletionJobHandler implements JobHandler {
+
+  public final static String TYPE = "historic-process-instance-deletion";
+
+  /** the smallest size of the job handler configuration column over all databases */
+  public final static int MAX_CONFIGURATION_LENGTH = 2000;
+
+  protected final static String SEPARATOR = ",";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    List<String> processInstanceIds = fromConfiguration(configuration);
+
+    if (!processInstanceIds.isEmpty()) {
+      commandContext
+        .getHistoricProcessInstanceManager()
+        .deleteHistoricProcessInstanceByIds(processInstanceIds);
+    }
+  }
+
+  public static String toConfiguration(List<String> processInstanceIds) {
+    StringBuilder configuration = new StringBuilder();
+    for (String processInstanceId : processInstanceIds) {
+      if (configuration.length() > 0) {
+        configuration.append(SEPARATOR);
+      }
+      configuration.append(processInstanceId);
+    }
+    return configuration.toString();
+  }
+
+  public static List<String> fromConfiguration(String configuration) {
+    if (configuration == null || configuration.length() == 0) {
+      return new ArrayList<String>();
+    }
+    return new ArrayList<String>(Arrays.asList(configuration.split(SEPARATOR)));
+  }
+
+  /**
+   * @return true if the process instance id can be added to the configuration of a job
+   * which deletes the given process instances
+   */
+  public static boolean fitsIntoConfiguration(List<String> processInstanceIds, String processInstanceId) {
+    int length = processInstanceId.length();
+    for (String id : processInstanceIds) {
+      length += id.length() + SEPARATOR.length();
+    }
+    return length <= MAX_CONFIGURATION_LENGTH;
+  }
+
+}
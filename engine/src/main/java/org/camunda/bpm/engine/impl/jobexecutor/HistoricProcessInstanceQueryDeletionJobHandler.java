@@ -0,0 +1,195 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.PermissionCheck;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * <p>Deletes the historic process instances which match a query, one chunk at a time.</p>
+ *
+ * <p>The query is stored in a byte array when the deletion is scheduled. Each job selects
+ * the next chunk of finished instances in the order of their ids, deletes it and, if the chunk
+ * is full, schedules the job of the following chunk. The job configuration only remembers the
+ * id of the last deleted instance, so the instances never have to be loaded at once.</p>
+ *
+ * <p>Only instances of the process definitions which were validated when the deletion was
+ * scheduled are deleted, other instances which match the query by now are skipped.</p>
+ */
+public class HistoricProcessInstanceQueryDeletionJobHandler implements JobHandler {
+
+  public final static String TYPE = "historic-process-instance-query-deletion";
+
+  protected final static String SEPARATOR = "|";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    String[] parts = configuration.split("\\|", 2);
+    if (parts.length != 2) {
+      throw new ProcessEngineException("Invalid historic process instance deletion configuration '" + configuration + "'");
+    }
+    String payloadId = parts[0];
+    String lastProcessInstanceId = parts[1].length() > 0 ? parts[1] : null;
+
+    QueryDeletion deletion = deserializePayload(findPayload(commandContext, payloadId).getBytes());
+    int chunkSize = Context.getProcessEngineConfiguration().getHistoricProcessInstanceDeletionBatchSize();
+
+    // instances which were started after the deletion was scheduled may still be running
+    HistoricProcessInstanceQueryImpl query = deletion.getQuery();
+    query.finished();
+
+    List<HistoricProcessInstance> instances = query.executeListAfter(commandContext, lastProcessInstanceId, chunkSize);
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (HistoricProcessInstance instance : instances) {
+      if (deletion.getProcessDefinitionKeys().contains(instance.getProcessDefinitionKey())) {
+        processInstanceIds.add(instance.getId());
+      }
+    }
+
+    if (!processInstanceIds.isEmpty()) {
+      commandContext
+        .getHistoricProcessInstanceManager()
+        .deleteHistoricProcessInstanceByIds(processInstanceIds);
+    }
+
+    if (instances.size() == chunkSize) {
+      scheduleJob(commandContext, payloadId, instances.get(instances.size() - 1).getId());
+    } else {
+      commandContext.getByteArrayManager().deleteByteArrayById(payloadId);
+    }
+  }
+
+  protected ByteArrayEntity findPayload(CommandContext commandContext, String payloadId) {
+    ByteArrayEntity payload = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, payloadId);
+    if (payload == null) {
+      throw new ProcessEngineException("Cannot find the query of the historic process instance deletion with id '" + payloadId + "'");
+    }
+    return payload;
+  }
+
+  /**
+   * Stores the query and schedules the job which deletes the first chunk of the matching instances.
+   *
+   * @param processDefinitionKeys the keys of the process definitions the instances were validated for
+   */
+  public static void scheduleDeletion(CommandContext commandContext, HistoricProcessInstanceQueryImpl query, Set<String> processDefinitionKeys) {
+    byte[] bytes = serializePayload(new QueryDeletion(query, processDefinitionKeys));
+    ByteArrayEntity payload = new ByteArrayEntity(TYPE + "-payload", bytes);
+    commandContext.getByteArrayManager().insert(payload);
+
+    scheduleJob(commandContext, payload.getId(), null);
+  }
+
+  protected static void scheduleJob(CommandContext commandContext, String payloadId, String lastProcessInstanceId) {
+    MessageEntity message = new MessageEntity();
+    message.setJobHandlerType(TYPE);
+    message.setJobHandlerConfiguration(payloadId + SEPARATOR + (lastProcessInstanceId != null ? lastProcessInstanceId : ""));
+
+    commandContext.getJobManager().send(message);
+  }
+
+  public static byte[] serializePayload(QueryDeletion deletion) {
+    HistoricProcessInstanceQueryImpl query = deletion.getQuery();
+
+    // the ordering is replaced when the chunks are selected and the
+    // permission checks are created again for every execution
+    List<QueryOrderingProperty> orderingProperties = query.getOrderingProperties();
+    List<PermissionCheck> permissionChecks = query.getPermissionChecks();
+    query.setOrderingProperties(new ArrayList<QueryOrderingProperty>());
+    query.setPermissionChecks(new ArrayList<PermissionCheck>());
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = null;
+    try {
+      oos = new ObjectOutputStream(baos);
+      oos.writeObject(deletion);
+      oos.flush();
+      return baos.toByteArray();
+
+    } catch (IOException e) {
+      throw new ProcessEngineException("Cannot serialize the query of the historic process instance deletion", e);
+
+    } finally {
+      query.setOrderingProperties(orderingProperties);
+      query.setPermissionChecks(permissionChecks);
+      IoUtil.closeSilently(oos);
+      IoUtil.closeSilently(baos);
+    }
+  }
+
+  public static QueryDeletion deserializePayload(byte[] bytes) {
+    ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
+    ObjectInputStream ois = null;
+    try {
+      ois = new SignalBroadcastJobHandler.ClassloaderAwareObjectInputStream(bais);
+      return (QueryDeletion) ois.readObject();
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Cannot deserialize the query of the historic process instance deletion", e);
+
+    } finally {
+      IoUtil.closeSilently(ois);
+      IoUtil.closeSilently(bais);
+    }
+  }
+
+  /**
+   * The query of a deletion together with the process definition keys the deletion was validated for.
+   */
+  public static class QueryDeletion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final HistoricProcessInstanceQueryImpl query;
+    protected final HashSet<String> processDefinitionKeys;
+
+    public QueryDeletion(HistoricProcessInstanceQueryImpl query, Set<String> processDefinitionKeys) {
+      this.query = query;
+      this.processDefinitionKeys = new HashSet<String>(processDefinitionKeys);
+    }
+
+    public HistoricProcessInstanceQueryImpl getQuery() {
+      return query;
+    }
+
+    public Set<String> getProcessDefinitionKeys() {
+      return processDefinitionKeys;
+    }
+
+  }
+
+}
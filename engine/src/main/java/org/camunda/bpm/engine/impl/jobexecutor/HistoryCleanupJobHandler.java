@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Removes the history of process instances which ended longer ago than the
+ * history time to live of their process definition.
+ *
+ * <p>One execution removes at most {@link ProcessEngineConfigurationImpl#getHistoryCleanupBatchSize()}
+ * process instances. If a full batch was removed, the job is rescheduled right away.
+ * Otherwise it is rescheduled to the start of the following batch window or, if no batch
+ * window is configured, not at all.</p>
+ */
+public class HistoryCleanupJobHandler implements JobHandler {
+
+  public final static String TYPE = "history-cleanup";
+
+  protected final static String TIME_OF_DAY_FORMAT = "HH:mm";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    Date now = ClockUtil.getCurrentTime();
+
+    boolean hasMoreToRemove = false;
+    if (isWithinBatchWindow(processEngineConfiguration, now)) {
+      int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+
+      long startNanos = System.nanoTime();
+      int removed = removeExpiredHistory(commandContext, now, batchSize);
+
+      if (processEngineConfiguration.isMetricsEnabled()) {
+        processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, removed);
+        processEngineConfiguration.getMetricsRegistry().recordDurationSince(Metrics.HISTORY_CLEANUP_TIME, startNanos);
+      }
+
+      hasMoreToRemove = removed >= batchSize;
+    }
+
+    Date nextDuedate = getNextDuedate(processEngineConfiguration, now, hasMoreToRemove);
+    if (nextDuedate != null) {
+      schedule(commandContext, nextDuedate);
+    }
+  }
+
+  /**
+   * @return the number of removed historic process instances
+   */
+  protected int removeExpiredHistory(CommandContext commandContext, Date now, int batchSize) {
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+
+    List<ProcessDefinitionEntity> processDefinitions = commandContext
+      .getProcessDefinitionManager()
+      .findProcessDefinitionsWithHistoryTimeToLive();
+
+    int removed = 0;
+    for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+      if (removed >= batchSize) {
+        break;
+      }
+
+      Calendar endedBefore = Calendar.getInstance();
+      endedBefore.setTime(now);
+      endedBefore.add(Calendar.DAY_OF_MONTH, -processDefinition.getHistoryTimeToLive());
+
+      List<String> processInstanceIds = historicProcessInstanceManager
+        .findExpiredHistoricProcessInstanceIds(processDefinition.getId(), endedBefore.getTime(), batchSize - removed);
+
+      if (!processInstanceIds.isEmpty()) {
+        historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(processInstanceIds);
+        removed += processInstanceIds.size();
+      }
+    }
+
+    return removed;
+  }
+
+  protected Date getNextDuedate(ProcessEngineConfigurationImpl processEngineConfiguration, Date now, boolean hasMoreToRemove) {
+    if (hasMoreToRemove) {
+      return now;
+    }
+    else if (isBatchWindowConfigured(processEngineConfiguration)) {
+      // nothing is left for the current window, so wait for the following one
+      return getBatchWindowStartAfter(processEngineConfiguration, now);
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected void schedule(CommandContext commandContext, Date duedate) {
+    TimerEntity timer = new TimerEntity();
+    timer.setDuedate(duedate);
+    timer.setJobHandlerType(TYPE);
+
+    commandContext.getJobManager().schedule(timer);
+  }
+
+  // batch window //////////////////////////////////////////////////////////
+
+  public static boolean isBatchWindowConfigured(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    return processEngineConfiguration.getHistoryCleanupBatchWindowStartTime() != null;
+  }
+
+  /**
+   * @return true if no batch window is configured or the given date lies within the batch window.
+   * A window whose end time is before its start time spans midnight.
+   */
+  public static boolean isWithinBatchWindow(ProcessEngineConfigurationImpl processEngineConfiguration, Date date) {
+    if (!isBatchWindowConfigured(processEngineConfiguration)) {
+      return true;
+    }
+
+    int start = parseTimeOfDay(processEngineConfiguration.getHistoryCleanupBatchWindowStartTime());
+    int end = parseTimeOfDay(processEngineConfiguration.getHistoryCleanupBatchWindowEndTime());
+    int current = getMinuteOfDay(date);
+
+    if (start < end) {
+      return start <= current && current < end;
+    }
+    else if (start > end) {
+      return start <= current || current < end;
+    }
+    else {
+      // the window covers the whole day
+      return true;
+    }
+  }
+
+  /**
+   * @return the start of the batch window following the given date or the given date if
+   * it lies within the batch window
+   */
+  public static Date getNextBatchWindowStart(ProcessEngineConfigurationImpl processEngineConfiguration, Date date) {
+    if (isWithinBatchWindow(processEngineConfiguration, date)) {
+      return date;
+    }
+    else {
+      return getBatchWindowStartAfter(processEngineConfiguration, date);
+    }
+  }
+
+  /**
+   * @return the first start of the batch window after the given date, even if the given
+   * date lies within the batch window
+   */
+  public static Date getBatchWindowStartAfter(ProcessEngineConfigurationImpl processEngineConfiguration, Date date) {
+    int start = parseTimeOfDay(processEngineConfiguration.getHistoryCleanupBatchWindowStartTime());
+
+    Calendar windowStart = Calendar.getInstance();
+    windowStart.setTime(date);
+    windowStart.set(Calendar.HOUR_OF_DAY, start / 60);
+    windowStart.set(Calendar.MINUTE, start % 60);
+    windowStart.set(Calendar.SECOND, 0);
+    windowStart.set(Calendar.MILLISECOND, 0);
+
+    if (!windowStart.getTime().after(date)) {
+      windowStart.add(Calendar.DAY_OF_MONTH, 1);
+    }
+
+    return windowStart.getTime();
+  }
+
+  /**
+   * @return the minute of the day denoted by the given time of day in the format "HH:mm"
+   */
+  public static int parseTimeOfDay(String timeOfDay) {
+    SimpleDateFormat format = new SimpleDateFormat(TIME_OF_DAY_FORMAT);
+    format.setLenient(false);
+
+    try {
+      return getMinuteOfDay(format.parse(timeOfDay));
+    } catch (ParseException e) {
+      throw new ProcessEngineException("Cannot parse time of day '" + timeOfDay + "' of the history cleanup batch window, expected format is '" + TIME_OF_DAY_FORMAT + "'", e);
+    }
+  }
+
+  protected static int getMinuteOfDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    return calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+  }
+
+}
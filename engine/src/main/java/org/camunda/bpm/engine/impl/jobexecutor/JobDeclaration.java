@@ -42,6 +42,9 @@ public abstract class JobDeclaration<T extends JobEntity> implements Serializabl
 
   protected String activityId;
 
+  /** the priority declared in the BPMN 2.0 Xml, null if none is declared */
+  protected Long jobPriority;
+
   public JobDeclaration(String jobHandlerType) {
     this.jobHandlerType = jobHandlerType;
   }
@@ -60,6 +63,10 @@ public abstract class JobDeclaration<T extends JobEntity> implements Serializabl
     // set job definition id
     job.setJobDefinitionId(jobDefinitionId);
 
+    if(jobPriority != null) {
+      job.setPriority(jobPriority);
+    }
+
     if(jobDefinitionId != null) {
 
       JobDefinitionEntity jobDefinition = Context.getCommandContext()
@@ -72,6 +79,11 @@ public abstract class JobDeclaration<T extends JobEntity> implements Serializabl
         job.setSuspensionState(jobDefinition.getSuspensionState());
         job.setProcessDefinitionKey(jobDefinition.getProcessDefinitionKey());
         job.setProcessDefinitionId(jobDefinition.getProcessDefinitionId());
+
+        // a priority set on the job definition overrides the declared priority
+        if(jobDefinition.getOverridingJobPriority() != null) {
+          job.setPriority(jobDefinition.getOverridingJobPriority());
+        }
       }
 
     }
@@ -136,4 +148,12 @@ public abstract class JobDeclaration<T extends JobEntity> implements Serializabl
     this.jobConfiguration = jobConfiguration;
   }
 
+  public Long getJobPriority() {
+    return jobPriority;
+  }
+
+  public void setJobPriority(Long jobPriority) {
+    this.jobPriority = jobPriority;
+  }
+
 }
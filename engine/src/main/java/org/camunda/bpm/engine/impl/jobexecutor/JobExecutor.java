@@ -13,8 +13,12 @@
 
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -23,6 +27,9 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.runtime.Job;
 
@@ -53,11 +60,20 @@ public abstract class JobExecutor {
   protected boolean isAutoActivate = false;
   protected boolean isActive = false;
 
+  /** if true, one acquisition loop with an independent backoff is run per registered process engine */
+  protected boolean isAcquisitionPerProcessEngine = false;
+
   protected int maxJobsPerAcquisition = 3;
   protected int waitTimeInMillis = 5 * 1000;
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
+  /** time to wait before the next acquisition if the previous one was limited by the available execution capacity */
+  protected int busyWaitTimeInMillis = 100;
+
+  /** jobs locked by the acquisition which were not yet handed to an execution, see {@link #takeAcquiredJob(ProcessEngineImpl, String)} */
+  protected ConcurrentMap<String, JobEntity> acquiredJobEntities = new ConcurrentHashMap<String, JobEntity>();
+
   public void start() {
     if (isActive) {
       return;
@@ -80,13 +96,22 @@ public abstract class JobExecutor {
   }
 
   protected void ensureInitialization() {
-    acquireJobsCmd = new AcquireJobsCmd(this);
-    acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    acquireJobsCmd = createAcquireJobsCmd();
+    if (isAcquisitionPerProcessEngine) {
+      acquireJobsRunnable = new ParallelJobAcquisitionRunnable(this);
+    } else {
+      acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    }
+  }
+
+  public Command<AcquiredJobs> createAcquireJobsCmd() {
+    return new AcquireJobsCmd(this);
   }
 
   protected void ensureCleanup() {
     acquireJobsCmd = null;
     acquireJobsRunnable = null;
+    acquiredJobEntities.clear();
   }
 
   public void jobWasAdded() {
@@ -95,6 +120,12 @@ public abstract class JobExecutor {
     }
   }
 
+  public void jobWasAdded(ProcessEngineImpl processEngine) {
+    if(isActive) {
+      acquireJobsRunnable.jobWasAdded(processEngine);
+    }
+  }
+
   public synchronized void registerProcessEngine(ProcessEngineImpl processEngine) {
     processEngines.add(processEngine);
 
@@ -102,17 +133,67 @@ public abstract class JobExecutor {
     if(processEngines.size() == 1 && isAutoActivate) {
       start();
     }
+    else if (isActive) {
+      acquireJobsRunnable.processEnginesChanged();
+    }
   }
 
   public synchronized void unregisterProcessEngine(ProcessEngineImpl processEngine) {
     processEngines.remove(processEngine);
 
+    if (isActive) {
+      acquireJobsRunnable.processEnginesChanged();
+    }
+
     // if we unregister the last process engine, auto-shutdown the jobexecutor
     if(processEngines.isEmpty() && isActive) {
       shutdown();
     }
   }
 
+  /**
+   * Remembers the state of the jobs locked by a committed acquisition. The execution
+   * of the jobs can then use this state instead of selecting the jobs again.
+   */
+  public void registerAcquiredJobs(ProcessEngineImpl processEngine, AcquiredJobs acquiredJobs) {
+    removeExpiredAcquiredJobs();
+
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      acquiredJobEntities.put(getAcquiredJobKey(processEngine, job.getId()), job);
+    }
+  }
+
+  /**
+   * @return the job as it was locked by the acquisition or null if the state of the job
+   * is not known or the lock of the job has expired in the meantime
+   */
+  public JobEntity takeAcquiredJob(ProcessEngineImpl processEngine, String jobId) {
+    JobEntity job = acquiredJobEntities.remove(getAcquiredJobKey(processEngine, jobId));
+    if (job != null && isLockExpired(job)) {
+      return null;
+    }
+    return job;
+  }
+
+  protected void removeExpiredAcquiredJobs() {
+    Iterator<JobEntity> jobs = acquiredJobEntities.values().iterator();
+    while (jobs.hasNext()) {
+      if (isLockExpired(jobs.next())) {
+        jobs.remove();
+      }
+    }
+  }
+
+  protected boolean isLockExpired(JobEntity job) {
+    Date lockExpirationTime = job.getLockExpirationTime();
+    return lockExpirationTime == null || lockExpirationTime.before(ClockUtil.getCurrentTime());
+  }
+
+  protected String getAcquiredJobKey(ProcessEngineImpl processEngine, String jobId) {
+    // job ids are only unique per process engine
+    return processEngine.getName() + ":" + jobId;
+  }
+
   protected abstract void startExecutingJobs();
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
@@ -128,6 +209,73 @@ public abstract class JobExecutor {
     }
   }
 
+  /**
+   * @return the number of job batches which can currently be passed to {@link #executeJobs(List, ProcessEngineImpl)}
+   * without being rejected or {@link Integer#MAX_VALUE} if the capacity is not known
+   */
+  public int getAvailableExecutionCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the number of job batches of the given process engine which can currently be passed to
+   * {@link #executeJobs(List, ProcessEngineImpl)} without being rejected. By default, all process
+   * engines share the capacity of the job executor.
+   */
+  public int getAvailableExecutionCapacity(String processEngineName) {
+    return getAvailableExecutionCapacity();
+  }
+
+  /**
+   * @return the number of job batches waiting for an execution thread or -1 if not known
+   */
+  public int getQueueDepth() {
+    return -1;
+  }
+
+  /**
+   * @return the busy execution threads in percent of the maximum number of threads or -1 if not known
+   */
+  public int getUtilization() {
+    return -1;
+  }
+
+  /**
+   * @return the number of jobs the next acquisition should attempt to acquire. Jobs are only
+   * acquired if they can be executed right away so that they are not locked while waiting.
+   * The execution capacity counts job batches while the acquisition selects jobs: every selected
+   * job starts at most one batch, which also contains the other exclusive jobs of its process
+   * instance. So the number of selected jobs is limited to the number of batches which can be
+   * executed, even if more jobs are acquired.
+   */
+  public int getMaxJobsToAcquire() {
+    return Math.max(0, Math.min(maxJobsPerAcquisition, getAvailableExecutionCapacity()));
+  }
+
+  /**
+   * @return the number of jobs the next acquisition for the given process engine should attempt to acquire,
+   * limited by the number of job batches it can execute, see {@link #getMaxJobsToAcquire()}
+   */
+  public int getMaxJobsToAcquire(String processEngineName) {
+    return Math.max(0, Math.min(maxJobsPerAcquisition, getAvailableExecutionCapacity(processEngineName)));
+  }
+
+  public void logExecutorLoad(ProcessEngineImpl engine) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = engine.getProcessEngineConfiguration().getMetricsRegistry();
+
+      int queueDepth = getQueueDepth();
+      if (queueDepth >= 0) {
+        metricsRegistry.recordValue(Metrics.JOB_EXECUTOR_QUEUE_DEPTH, queueDepth);
+      }
+
+      int utilization = getUtilization();
+      if (utilization >= 0) {
+        metricsRegistry.recordValue(Metrics.JOB_EXECUTOR_UTILIZATION, utilization);
+      }
+    }
+  }
+
   public void logAcquisitionAttempt(ProcessEngineImpl engine) {
     if (engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
@@ -215,6 +363,14 @@ public abstract class JobExecutor {
     this.isAutoActivate = isAutoActivate;
   }
 
+  public boolean isAcquisitionPerProcessEngine() {
+    return isAcquisitionPerProcessEngine;
+  }
+
+  public void setAcquisitionPerProcessEngine(boolean isAcquisitionPerProcessEngine) {
+    this.isAcquisitionPerProcessEngine = isAcquisitionPerProcessEngine;
+  }
+
   public int getMaxJobsPerAcquisition() {
     return maxJobsPerAcquisition;
   }
@@ -223,6 +379,14 @@ public abstract class JobExecutor {
     this.maxJobsPerAcquisition = maxJobsPerAcquisition;
   }
 
+  public int getBusyWaitTimeInMillis() {
+    return busyWaitTimeInMillis;
+  }
+
+  public void setBusyWaitTimeInMillis(int busyWaitTimeInMillis) {
+    this.busyWaitTimeInMillis = busyWaitTimeInMillis;
+  }
+
   public String getName() {
     return name;
   }
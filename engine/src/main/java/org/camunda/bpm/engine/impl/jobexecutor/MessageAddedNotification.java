@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.logging.Logger;
 
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 
@@ -33,6 +34,11 @@ public class MessageAddedNotification implements TransactionListener {
 
   public void execute(CommandContext commandContext) {
     log.fine("notifying job executor of new job");
-    jobExecutor.jobWasAdded();
+    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration().getProcessEngine();
+    if (processEngine != null) {
+      jobExecutor.jobWasAdded(processEngine);
+    } else {
+      jobExecutor.jobWasAdded();
+    }
   }
 }
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * <p>Job acquisition which runs one {@link ProcessEngineJobAcquisitionRunnable} per
+ * process engine registered with the job executor, each in its own thread.</p>
+ *
+ * <p>In contrast to the {@link SequentialJobAcquisitionRunnable}, every process engine
+ * backs off independently: a process engine without jobs or with a failing database
+ * does not delay the acquisition for the other process engines. A job added by a
+ * process engine only wakes up the acquisition of this process engine.</p>
+ *
+ * <p>This runnable itself only starts and stops the acquisition loops when process
+ * engines are registered or unregistered.</p>
+ */
+public class ParallelJobAcquisitionRunnable extends AcquireJobsRunnable {
+
+  private static Logger log = Logger.getLogger(ParallelJobAcquisitionRunnable.class.getName());
+
+  protected Map<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable> acquisitionRunnables = new ConcurrentHashMap<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable>();
+  protected Map<ProcessEngineImpl, Thread> acquisitionThreads = new ConcurrentHashMap<ProcessEngineImpl, Thread>();
+
+  protected volatile boolean isProcessEnginesChanged = true;
+
+  public ParallelJobAcquisitionRunnable(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  public synchronized void run() {
+    log.info(jobExecutor.getName() + " starting to acquire jobs per process engine");
+
+    while (!isInterrupted) {
+
+      if (isProcessEnginesChanged) {
+        isProcessEnginesChanged = false;
+        try {
+          synchronizeAcquisitions();
+        } catch (Exception e) {
+          log.log(Level.SEVERE, "exception while starting or stopping job acquisitions: " + e.getMessage(), e);
+        }
+      }
+
+      try {
+        synchronized (MONITOR) {
+          if (!isInterrupted && !isProcessEnginesChanged) {
+            isWaiting.set(true);
+            MONITOR.wait(jobExecutor.getWaitTimeInMillis());
+          }
+        }
+      } catch (InterruptedException e) {
+        log.fine("job acquisition wait interrupted");
+      } finally {
+        isWaiting.set(false);
+      }
+    }
+
+    stopAcquisitions();
+
+    log.info(jobExecutor.getName() + " stopped job acquisition");
+  }
+
+  /**
+   * Starts an acquisition for every newly registered process engine and stops the
+   * acquisitions of unregistered process engines.
+   */
+  protected void synchronizeAcquisitions() {
+    List<ProcessEngineImpl> registeredProcessEngines = jobExecutor.getProcessEngines();
+
+    for (ProcessEngineImpl processEngine : registeredProcessEngines) {
+      if (!acquisitionRunnables.containsKey(processEngine)) {
+        startAcquisition(processEngine);
+      }
+    }
+
+    Iterator<Entry<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable>> iterator = acquisitionRunnables.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable> acquisition = iterator.next();
+      if (!registeredProcessEngines.contains(acquisition.getKey())) {
+        iterator.remove();
+        stopAcquisition(acquisition.getKey(), acquisition.getValue());
+      }
+    }
+  }
+
+  protected void startAcquisition(ProcessEngineImpl processEngine) {
+    ProcessEngineJobAcquisitionRunnable acquisitionRunnable = new ProcessEngineJobAcquisitionRunnable(jobExecutor, processEngine);
+    acquisitionRunnable.setWaitIncreaseFactor(waitIncreaseFactor);
+    acquisitionRunnable.setMaxWait(maxWait);
+
+    Thread acquisitionThread = new Thread(acquisitionRunnable, jobExecutor.getName() + "[" + processEngine.getName() + "]");
+
+    acquisitionRunnables.put(processEngine, acquisitionRunnable);
+    acquisitionThreads.put(processEngine, acquisitionThread);
+
+    acquisitionThread.start();
+  }
+
+  protected void stopAcquisition(ProcessEngineImpl processEngine, ProcessEngineJobAcquisitionRunnable acquisitionRunnable) {
+    acquisitionRunnable.stop();
+
+    Thread acquisitionThread = acquisitionThreads.remove(processEngine);
+    if (acquisitionThread != null) {
+      try {
+        acquisitionThread.join();
+      } catch (InterruptedException e) {
+        log.log(Level.WARNING, "Interrupted while waiting for the job acquisition thread of process engine '"
+            + processEngine.getName() + "' to terminate", e);
+      }
+    }
+  }
+
+  protected void stopAcquisitions() {
+    Iterator<Entry<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable>> iterator = acquisitionRunnables.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable> acquisition = iterator.next();
+      iterator.remove();
+      stopAcquisition(acquisition.getKey(), acquisition.getValue());
+    }
+  }
+
+  public void processEnginesChanged() {
+    isProcessEnginesChanged = true;
+    synchronized (MONITOR) {
+      MONITOR.notifyAll();
+    }
+  }
+
+  public void jobWasAdded(ProcessEngineImpl processEngine) {
+    ProcessEngineJobAcquisitionRunnable acquisitionRunnable = acquisitionRunnables.get(processEngine);
+    if (acquisitionRunnable != null) {
+      acquisitionRunnable.jobWasAdded();
+    }
+  }
+
+  public void jobWasAdded() {
+    // the process engine which added the job is unknown: notify all acquisitions
+    for (ProcessEngineJobAcquisitionRunnable acquisitionRunnable : acquisitionRunnables.values()) {
+      acquisitionRunnable.jobWasAdded();
+    }
+  }
+
+  public Map<ProcessEngineImpl, ProcessEngineJobAcquisitionRunnable> getAcquisitionRunnables() {
+    return acquisitionRunnables;
+  }
+
+}
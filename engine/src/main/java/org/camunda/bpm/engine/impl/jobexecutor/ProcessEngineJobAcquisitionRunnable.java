@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+
+/**
+ * Acquires jobs for a single process engine. Used by the {@link ParallelJobAcquisitionRunnable}
+ * so that every process engine has its own acquisition loop and backoff.
+ */
+public class ProcessEngineJobAcquisitionRunnable extends AcquireJobsRunnable {
+
+  protected final ProcessEngineImpl processEngine;
+
+  /** the acquire jobs command is stateful, so every acquisition loop needs its own instance */
+  protected final Command<AcquiredJobs> acquireJobsCmd;
+
+  public ProcessEngineJobAcquisitionRunnable(JobExecutor jobExecutor, ProcessEngineImpl processEngine) {
+    super(jobExecutor);
+    this.processEngine = processEngine;
+    this.acquireJobsCmd = jobExecutor.createAcquireJobsCmd();
+  }
+
+  protected ProcessEngineImpl getProcessEngine() {
+    return processEngine;
+  }
+
+  protected Command<AcquiredJobs> getAcquireJobsCmd() {
+    return acquireJobsCmd;
+  }
+
+}
@@ -16,6 +16,7 @@ import java.util.List;
 
 import org.camunda.bpm.container.ExecutorService;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
+import org.camunda.bpm.container.impl.threading.se.SeExecutorService;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 
@@ -61,6 +62,45 @@ public class RuntimeContainerJobExecutor extends JobExecutor {
            
   }
 
+  public int getAvailableExecutionCapacity() {
+    SeExecutorService executorService = getSeExecutorService();
+    if (executorService != null) {
+      return executorService.getAvailableCapacity();
+    }
+    return super.getAvailableExecutionCapacity();
+  }
+
+  public int getQueueDepth() {
+    SeExecutorService executorService = getSeExecutorService();
+    if (executorService != null) {
+      return executorService.getQueueDepth();
+    }
+    return super.getQueueDepth();
+  }
+
+  public int getUtilization() {
+    SeExecutorService executorService = getSeExecutorService();
+    if (executorService != null) {
+      return executorService.getUtilization();
+    }
+    return super.getUtilization();
+  }
+
+  /**
+   * @return the executor service of the runtime container if it is backed by a thread pool
+   * which reports its capacity, null otherwise
+   */
+  protected SeExecutorService getSeExecutorService() {
+    RuntimeContainerDelegate runtimeContainerDelegate = getRuntimeContainerDelegate();
+    if (runtimeContainerDelegate != null) {
+      ExecutorService executorService = runtimeContainerDelegate.getExecutorService();
+      if (executorService instanceof SeExecutorService) {
+        return (SeExecutorService) executorService;
+      }
+    }
+    return null;
+  }
+
   protected RuntimeContainerDelegate getRuntimeContainerDelegate() {
     return RuntimeContainerDelegate.INSTANCE.get();
   }
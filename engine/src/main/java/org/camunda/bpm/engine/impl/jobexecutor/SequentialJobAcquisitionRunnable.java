@@ -54,6 +54,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       }
 
       jobExecutionFailed = false;
+      boolean executorBusy = false;
 
       if (currentProcessEngine != null) {
 
@@ -62,10 +63,12 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
               .getCommandExecutorTxRequired();
 
           jobExecutor.logAcquisitionAttempt(currentProcessEngine);
+          jobExecutor.logExecutorLoad(currentProcessEngine);
           AcquiredJobs acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd());
 
           jobExecutor.logAcquiredJobs(currentProcessEngine, acquiredJobs.size());
           jobExecutor.logAcquisitionFailureJobs(currentProcessEngine, acquiredJobs.getNumberOfJobsFailedToLock());
+          jobExecutor.registerAcquiredJobs(currentProcessEngine, acquiredJobs);
 
           for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
             jobExecutor.executeJobs(jobIds, currentProcessEngine);
@@ -73,8 +76,16 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
           // add number of jobs which we attempted to acquire but could not obtain a lock for -> do not wait if we could not acquire jobs.
           int jobsAcquired = acquiredJobs.getJobIdBatches().size() + acquiredJobs.getNumberOfJobsFailedToLock();
-          if (jobsAcquired < maxJobsPerAcquisition) {
+          int jobsAttemptedToAcquire = acquiredJobs.getNumberOfJobsAttemptedToAcquire();
+          if (jobsAttemptedToAcquire < 0) {
+            jobsAttemptedToAcquire = maxJobsPerAcquisition;
+          }
+
+          if (jobsAcquired < jobsAttemptedToAcquire) {
             idleEngines.add(currentProcessEngine.getName());
+          } else if (jobsAttemptedToAcquire < maxJobsPerAcquisition) {
+            // the acquisition was limited by the available execution capacity
+            executorBusy = true;
           }
 
         } catch (Exception e) {
@@ -100,7 +111,12 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
         millisToWait = jobExecutor.getWaitTimeInMillis();
       } else {
         if(!jobExecutionFailed) {
-          millisToWait = 0;
+          if (executorBusy) {
+            // give the execution threads some time to catch up
+            millisToWait = jobExecutor.getBusyWaitTimeInMillis();
+          } else {
+            millisToWait = 0;
+          }
         }
       }
 
@@ -0,0 +1,306 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Broadcasts a signal to the executions which waited on it when it was broadcast, one
+ * chunk of subscriptions at a time.</p>
+ *
+ * <p>A job without a chunk end reads the next chunk and schedules one job which delivers the
+ * signal to this chunk. If the chunk is full, it also schedules the job which reads the
+ * following chunk. Since reading a chunk does not execute any process, a delivery which fails
+ * only fails the job of its chunk and the broadcast continues with the other chunks.</p>
+ *
+ * <p>The subscriptions are visited in the order of their ids, so the job configuration
+ * only has to remember the id range of a chunk. Subscriptions created after the broadcast,
+ * for example by executions which received the signal, are skipped.</p>
+ *
+ * <p>Whether a subscription was created after the broadcast is decided by its creation time,
+ * compared in full seconds since some databases do not store milliseconds. Subscriptions created
+ * in the second of the broadcast receive the signal. Both times are taken from the clock of the
+ * node which created them, so the clocks of the nodes of a cluster have to be synchronized
+ * to less than a second.</p>
+ */
+public class SignalBroadcastJobHandler implements JobHandler {
+
+  public final static String TYPE = "signal-broadcast";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    SignalBroadcastConfiguration broadcast = SignalBroadcastConfiguration.fromConfiguration(configuration);
+    int chunkSize = Context.getProcessEngineConfiguration().getSignalBroadcastChunkSize();
+
+    if (broadcast.getChunkEndSubscriptionId() == null) {
+      scheduleChunk(commandContext, broadcast, chunkSize);
+    } else {
+      deliverChunk(commandContext, broadcast, chunkSize);
+    }
+  }
+
+  protected void scheduleChunk(CommandContext commandContext, SignalBroadcastConfiguration broadcast, int chunkSize) {
+    List<SignalEventSubscriptionEntity> subscriptions = commandContext
+      .getEventSubscriptionManager()
+      .findSignalEventSubscriptionsForBroadcast(broadcast.getSignalName(), broadcast.getSubscriptionsCreatedUntil(),
+          broadcast.getLastSubscriptionId(), null, chunkSize);
+
+    if (subscriptions.isEmpty()) {
+      deletePayload(commandContext, broadcast.getPayloadId());
+      return;
+    }
+
+    String chunkEndSubscriptionId = subscriptions.get(subscriptions.size() - 1).getId();
+
+    if (subscriptions.size() == chunkSize) {
+      // the chunk gets its own payload since the jobs of the chunks may run in any order
+      String chunkPayloadId = copyPayload(commandContext, broadcast.getPayloadId());
+      scheduleJob(commandContext, new SignalBroadcastConfiguration(broadcast.getSignalName(), broadcast.getBroadcastTime(),
+          chunkPayloadId, broadcast.getLastSubscriptionId(), chunkEndSubscriptionId));
+      scheduleJob(commandContext, new SignalBroadcastConfiguration(broadcast.getSignalName(), broadcast.getBroadcastTime(),
+          broadcast.getPayloadId(), chunkEndSubscriptionId, null));
+
+    } else {
+      // this is the last chunk of the broadcast
+      scheduleJob(commandContext, new SignalBroadcastConfiguration(broadcast.getSignalName(), broadcast.getBroadcastTime(),
+          broadcast.getPayloadId(), broadcast.getLastSubscriptionId(), chunkEndSubscriptionId));
+    }
+  }
+
+  protected void deliverChunk(CommandContext commandContext, SignalBroadcastConfiguration broadcast, int chunkSize) {
+    List<SignalEventSubscriptionEntity> subscriptions = commandContext
+      .getEventSubscriptionManager()
+      .findSignalEventSubscriptionsForBroadcast(broadcast.getSignalName(), broadcast.getSubscriptionsCreatedUntil(),
+          broadcast.getLastSubscriptionId(), broadcast.getChunkEndSubscriptionId(), chunkSize);
+
+    HashMap<String, Object> payload = loadPayload(commandContext, broadcast.getPayloadId());
+
+    for (SignalEventSubscriptionEntity subscription : subscriptions) {
+      subscription.eventReceived(payload, false);
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.SIGNAL_BROADCAST_DELIVERIES, subscriptions.size());
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.SIGNAL_BROADCAST_CHUNKS);
+    }
+
+    deletePayload(commandContext, broadcast.getPayloadId());
+  }
+
+  protected HashMap<String, Object> loadPayload(CommandContext commandContext, String payloadId) {
+    if (payloadId == null) {
+      return null;
+    }
+
+    return deserializePayload(findPayload(commandContext, payloadId).getBytes());
+  }
+
+  protected ByteArrayEntity findPayload(CommandContext commandContext, String payloadId) {
+    ByteArrayEntity payload = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, payloadId);
+    if (payload == null) {
+      throw new ProcessEngineException("Cannot find the variables of the signal broadcast with id '" + payloadId + "'");
+    }
+    return payload;
+  }
+
+  protected String copyPayload(CommandContext commandContext, String payloadId) {
+    if (payloadId == null) {
+      return null;
+    }
+
+    ByteArrayEntity payload = findPayload(commandContext, payloadId);
+    ByteArrayEntity copy = new ByteArrayEntity(payload.getName(), payload.getBytes());
+    commandContext.getByteArrayManager().insert(copy);
+    return copy.getId();
+  }
+
+  protected void deletePayload(CommandContext commandContext, String payloadId) {
+    if (payloadId != null) {
+      commandContext.getByteArrayManager().deleteByteArrayById(payloadId);
+    }
+  }
+
+  public static void scheduleJob(CommandContext commandContext, SignalBroadcastConfiguration configuration) {
+    MessageEntity message = new MessageEntity();
+    message.setJobHandlerType(TYPE);
+    message.setJobHandlerConfiguration(configuration.toConfiguration());
+
+    commandContext.getJobManager().send(message);
+  }
+
+  public static byte[] serializePayload(HashMap<String, Object> variables) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = null;
+    try {
+      oos = new ObjectOutputStream(baos);
+      oos.writeObject(variables);
+      oos.flush();
+      return baos.toByteArray();
+
+    } catch (IOException e) {
+      throw new ProcessEngineException("Cannot serialize the variables of the signal broadcast", e);
+
+    } finally {
+      IoUtil.closeSilently(oos);
+      IoUtil.closeSilently(baos);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public static HashMap<String, Object> deserializePayload(byte[] bytes) {
+    ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
+    ObjectInputStream ois = null;
+    try {
+      ois = new ClassloaderAwareObjectInputStream(bais);
+      return (HashMap<String, Object>) ois.readObject();
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Cannot deserialize the variables of the signal broadcast", e);
+
+    } finally {
+      IoUtil.closeSilently(ois);
+      IoUtil.closeSilently(bais);
+    }
+  }
+
+  protected static class ClassloaderAwareObjectInputStream extends ObjectInputStream {
+
+    public ClassloaderAwareObjectInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      return ReflectUtil.loadClass(desc.getName());
+    }
+
+  }
+
+  /**
+   * The state of a broadcast, stored as
+   * <code>&lt;broadcast time&gt;|&lt;payload id&gt;|&lt;last subscription id&gt;|&lt;chunk end subscription id&gt;|&lt;signal name&gt;</code>.
+   */
+  public static class SignalBroadcastConfiguration {
+
+    protected final static String SEPARATOR = "|";
+
+    protected final String signalName;
+    protected final Date broadcastTime;
+    protected final String payloadId;
+    protected final String lastSubscriptionId;
+    protected final String chunkEndSubscriptionId;
+
+    public SignalBroadcastConfiguration(String signalName, Date broadcastTime, String payloadId, String lastSubscriptionId) {
+      this(signalName, broadcastTime, payloadId, lastSubscriptionId, null);
+    }
+
+    public SignalBroadcastConfiguration(String signalName, Date broadcastTime, String payloadId, String lastSubscriptionId,
+        String chunkEndSubscriptionId) {
+      this.signalName = signalName;
+      this.broadcastTime = broadcastTime;
+      this.payloadId = payloadId;
+      this.lastSubscriptionId = lastSubscriptionId;
+      this.chunkEndSubscriptionId = chunkEndSubscriptionId;
+    }
+
+    public String getSignalName() {
+      return signalName;
+    }
+
+    public Date getBroadcastTime() {
+      return broadcastTime;
+    }
+
+    /**
+     * @return the latest creation time of the subscriptions which receive the signal: the broadcast
+     * time rounded up to a full second, since MySQL rounds the creation time of a subscription to
+     * full seconds
+     */
+    public Date getSubscriptionsCreatedUntil() {
+      long time = broadcastTime.getTime();
+      long remainder = time % 1000;
+      return remainder == 0 ? broadcastTime : new Date(time - remainder + 1000);
+    }
+
+    /**
+     * @return the id of the byte array which holds the serialized variables of the signal, or null
+     */
+    public String getPayloadId() {
+      return payloadId;
+    }
+
+    /**
+     * @return the id of the subscription before the chunk, or null if the chunk is the first one
+     */
+    public String getLastSubscriptionId() {
+      return lastSubscriptionId;
+    }
+
+    /**
+     * @return the id of the last subscription of the chunk the signal is delivered to,
+     * or null if the job reads the next chunk
+     */
+    public String getChunkEndSubscriptionId() {
+      return chunkEndSubscriptionId;
+    }
+
+    public String toConfiguration() {
+      // the signal name is the last part since it may contain the separator
+      return broadcastTime.getTime() + SEPARATOR
+          + (payloadId != null ? payloadId : "") + SEPARATOR
+          + (lastSubscriptionId != null ? lastSubscriptionId : "") + SEPARATOR
+          + (chunkEndSubscriptionId != null ? chunkEndSubscriptionId : "") + SEPARATOR
+          + signalName;
+    }
+
+    public static SignalBroadcastConfiguration fromConfiguration(String configuration) {
+      String[] parts = configuration.split("\\|", 5);
+      if (parts.length != 5) {
+        throw new ProcessEngineException("Invalid signal broadcast configuration '" + configuration + "'");
+      }
+
+      Date broadcastTime = new Date(Long.parseLong(parts[0]));
+      String payloadId = parts[1].length() > 0 ? parts[1] : null;
+      String lastSubscriptionId = parts[2].length() > 0 ? parts[2] : null;
+      String chunkEndSubscriptionId = parts[3].length() > 0 ? parts[3] : null;
+
+      return new SignalBroadcastConfiguration(parts[4], broadcastTime, payloadId, lastSubscriptionId, chunkEndSubscriptionId);
+    }
+
+  }
+
+}
@@ -17,6 +17,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.util.ThreadPoolExecutorUtil;
 
 /**
  * @author Daniel Meyer
@@ -44,6 +45,27 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
   
+  public int getAvailableExecutionCapacity() {
+    if (threadPoolExecutor == null) {
+      return super.getAvailableExecutionCapacity();
+    }
+    return ThreadPoolExecutorUtil.getAvailableCapacity(threadPoolExecutor);
+  }
+
+  public int getQueueDepth() {
+    if (threadPoolExecutor == null) {
+      return super.getQueueDepth();
+    }
+    return ThreadPoolExecutorUtil.getQueueDepth(threadPoolExecutor);
+  }
+
+  public int getUtilization() {
+    if (threadPoolExecutor == null) {
+      return super.getUtilization();
+    }
+    return ThreadPoolExecutorUtil.getUtilization(threadPoolExecutor);
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * Aggregates the {@link CommandStatistics} of all invocations of one command class.
+ */
+public class CommandMetricsCollector {
+
+  /** commands are less contended than the engine wide meters */
+  protected static final int STRIPES = Math.min(StripedCounter.DEFAULT_STRIPES, 8);
+
+  protected String commandName;
+
+  protected StripedCounter invocations = new StripedCounter(STRIPES);
+  protected StripedCounter failures = new StripedCounter(STRIPES);
+  protected StripedCounter sqlStatements = new StripedCounter(STRIPES);
+  protected StripedCounter entitiesLoaded = new StripedCounter(STRIPES);
+  protected StripedCounter totalExecutionTime = new StripedCounter(STRIPES);
+  protected StripedCounter totalFlushTime = new StripedCounter(STRIPES);
+
+  protected Histogram executionTime;
+  protected Histogram flushTime;
+
+  public CommandMetricsCollector(String commandName) {
+    this.commandName = commandName;
+    this.executionTime = new Histogram(commandName, Histogram.DEFAULT_TIMING_BUCKET_BOUNDS, STRIPES);
+    this.flushTime = new Histogram(commandName, Histogram.DEFAULT_TIMING_BUCKET_BOUNDS, STRIPES);
+  }
+
+  /**
+   * @param executionNanos the wall time of the invocation in nanoseconds
+   */
+  public void record(long executionNanos, CommandStatistics statistics, boolean failed) {
+    long executionMicros = executionNanos / 1000;
+    long flushMicros = statistics.getFlushNanos() / 1000;
+
+    invocations.increment();
+    if (failed) {
+      failures.increment();
+    }
+    sqlStatements.add(statistics.getSqlStatements());
+    entitiesLoaded.add(statistics.getEntitiesLoaded());
+    totalExecutionTime.add(executionMicros);
+    totalFlushTime.add(flushMicros);
+    executionTime.record(executionMicros);
+    flushTime.record(flushMicros);
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public CommandMetrics getSnapshot() {
+    CommandMetricsImpl snapshot = new CommandMetricsImpl();
+    snapshot.setCommandName(commandName);
+    snapshot.setInvocations(invocations.sum());
+    snapshot.setFailures(failures.sum());
+    snapshot.setSqlStatements(sqlStatements.sum());
+    snapshot.setEntitiesLoaded(entitiesLoaded.sum());
+    snapshot.setTotalExecutionTime(totalExecutionTime.sum());
+    snapshot.setTotalFlushTime(totalFlushTime.sum());
+    snapshot.setExecutionTimeBuckets(getBucketCounts(executionTime));
+    snapshot.setFlushTimeBuckets(getBucketCounts(flushTime));
+    return snapshot;
+  }
+
+  protected SortedMap<Long, Long> getBucketCounts(Histogram histogram) {
+    long[] bucketBounds = histogram.getBucketBounds();
+    long[] counts = histogram.get();
+
+    SortedMap<Long, Long> bucketCounts = new TreeMap<Long, Long>();
+    for (int i = 0; i < counts.length; i++) {
+      bucketCounts.put(i < bucketBounds.length ? bucketBounds[i] : Long.MAX_VALUE, counts[i]);
+    }
+    return bucketCounts;
+  }
+
+}
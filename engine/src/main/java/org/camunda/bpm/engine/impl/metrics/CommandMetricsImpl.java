@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.io.Serializable;
+import java.util.SortedMap;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+public class CommandMetricsImpl implements CommandMetrics, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String commandName;
+  protected long invocations;
+  protected long failures;
+  protected long sqlStatements;
+  protected long entitiesLoaded;
+  protected long totalExecutionTime;
+  protected long totalFlushTime;
+  protected SortedMap<Long, Long> executionTimeBuckets;
+  protected SortedMap<Long, Long> flushTimeBuckets;
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public void setInvocations(long invocations) {
+    this.invocations = invocations;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  public void setFailures(long failures) {
+    this.failures = failures;
+  }
+
+  public long getSqlStatements() {
+    return sqlStatements;
+  }
+
+  public void setSqlStatements(long sqlStatements) {
+    this.sqlStatements = sqlStatements;
+  }
+
+  public long getEntitiesLoaded() {
+    return entitiesLoaded;
+  }
+
+  public void setEntitiesLoaded(long entitiesLoaded) {
+    this.entitiesLoaded = entitiesLoaded;
+  }
+
+  public long getTotalExecutionTime() {
+    return totalExecutionTime;
+  }
+
+  public void setTotalExecutionTime(long totalExecutionTime) {
+    this.totalExecutionTime = totalExecutionTime;
+  }
+
+  public long getTotalFlushTime() {
+    return totalFlushTime;
+  }
+
+  public void setTotalFlushTime(long totalFlushTime) {
+    this.totalFlushTime = totalFlushTime;
+  }
+
+  public long getExecutionTimePercentile(double percentile) {
+    return Histogram.percentile(executionTimeBuckets, percentile);
+  }
+
+  public long getFlushTimePercentile(double percentile) {
+    return Histogram.percentile(flushTimeBuckets, percentile);
+  }
+
+  public SortedMap<Long, Long> getExecutionTimeBuckets() {
+    return executionTimeBuckets;
+  }
+
+  public void setExecutionTimeBuckets(SortedMap<Long, Long> executionTimeBuckets) {
+    this.executionTimeBuckets = executionTimeBuckets;
+  }
+
+  public SortedMap<Long, Long> getFlushTimeBuckets() {
+    return flushTimeBuckets;
+  }
+
+  public void setFlushTimeBuckets(SortedMap<Long, Long> flushTimeBuckets) {
+    this.flushTimeBuckets = flushTimeBuckets;
+  }
+
+  public String toString() {
+    return "CommandMetricsImpl [commandName=" + commandName
+        + ", invocations=" + invocations
+        + ", failures=" + failures
+        + ", sqlStatements=" + sqlStatements
+        + ", entitiesLoaded=" + entitiesLoaded
+        + ", totalExecutionTime=" + totalExecutionTime
+        + ", totalFlushTime=" + totalFlushTime + "]";
+  }
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+/**
+ * Counts the database work of a single command invocation. An instance is
+ * only accessed by the thread which executes the command.
+ */
+public class CommandStatistics {
+
+  protected long flushNanos;
+  protected int sqlStatements;
+  protected int entitiesLoaded;
+
+  public void addFlushTime(long nanos) {
+    flushNanos += nanos;
+  }
+
+  public void addSqlStatement() {
+    sqlStatements++;
+  }
+
+  public void addEntitiesLoaded(int entities) {
+    entitiesLoaded += entities;
+  }
+
+  public long getFlushNanos() {
+    return flushNanos;
+  }
+
+  public int getSqlStatements() {
+    return sqlStatements;
+  }
+
+  public int getEntitiesLoaded() {
+    return entitiesLoaded;
+  }
+
+}
@@ -0,0 +1,188 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+/**
+ * <p>A histogram which counts recorded values in buckets with fixed upper
+ * bounds. The last bucket counts all values above the largest bound.</p>
+ *
+ * <p>Histograms of timings record durations in microseconds.</p>
+ */
+public class Histogram {
+
+  /** 100 microseconds up to one minute */
+  public static final long[] DEFAULT_TIMING_BUCKET_BOUNDS = new long[] {
+    100, 250, 500,
+    1000, 2500, 5000,
+    10000, 25000, 50000,
+    100000, 250000, 500000,
+    1000000, 2500000, 5000000,
+    10000000, 30000000, 60000000
+  };
+
+  protected String name;
+
+  /** separates the name of a histogram from the bounds in the names of its bucket meter logs */
+  public static final String BUCKET_NAME_INFIX = ".bucket.";
+
+  protected long[] bucketBounds;
+  protected StripedCounter[] buckets;
+
+  public Histogram(String name) {
+    this(name, DEFAULT_TIMING_BUCKET_BOUNDS);
+  }
+
+  /**
+   * @param bucketBounds the inclusive upper bounds of the buckets in ascending order
+   */
+  public Histogram(String name, long[] bucketBounds) {
+    this(name, bucketBounds, StripedCounter.DEFAULT_STRIPES);
+  }
+
+  /**
+   * @param bucketBounds the inclusive upper bounds of the buckets in ascending order
+   * @param stripes the number of stripes of each bucket counter
+   */
+  public Histogram(String name, long[] bucketBounds, int stripes) {
+    this.name = name;
+    this.bucketBounds = bucketBounds.clone();
+    this.buckets = new StripedCounter[bucketBounds.length + 1];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new StripedCounter(stripes);
+    }
+  }
+
+  public void record(long value) {
+    buckets[bucketIndex(value)].increment();
+  }
+
+  /**
+   * @param startNanos the result of {@link System#nanoTime()} when the timed operation started
+   */
+  public void recordDurationSince(long startNanos) {
+    record((System.nanoTime() - startNanos) / 1000);
+  }
+
+  protected int bucketIndex(long value) {
+    int low = 0;
+    int high = bucketBounds.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (bucketBounds[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long[] getBucketBounds() {
+    return bucketBounds.clone();
+  }
+
+  /**
+   * @return the current count of each bucket, the last element being
+   *   the count of values above the largest bound.
+   */
+  public long[] get() {
+    long[] counts = new long[buckets.length];
+    for (int i = 0; i < buckets.length; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * @return the bucket counts as returned by {@link #get()} and resets them
+   */
+  public long[] getAndClear() {
+    long[] counts = new long[buckets.length];
+    for (int i = 0; i < buckets.length; i++) {
+      counts[i] = buckets[i].sumThenReset();
+    }
+    return counts;
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (StripedCounter bucket : buckets) {
+      count += bucket.sum();
+    }
+    return count;
+  }
+
+  /**
+   * @return the name of the meter log which holds the count of the bucket
+   *   with the given index.
+   */
+  public String getBucketName(int bucketIndex) {
+    return getBucketName(name, bucketIndex < bucketBounds.length ? bucketBounds[bucketIndex] : null);
+  }
+
+  public static String getBucketNamePrefix(String histogramName) {
+    return histogramName + BUCKET_NAME_INFIX;
+  }
+
+  public static String getBucketName(String histogramName, Long bucketBound) {
+    return getBucketNamePrefix(histogramName) + (bucketBound != null ? bucketBound.toString() : "inf");
+  }
+
+  /**
+   * @return the upper bound of the bucket with the given name or
+   *   {@link Long#MAX_VALUE} for the bucket counting the values above the largest bound.
+   */
+  public static long getBucketBound(String histogramName, String bucketName) {
+    String bound = bucketName.substring(getBucketNamePrefix(histogramName).length());
+    if ("inf".equals(bound)) {
+      return Long.MAX_VALUE;
+    } else {
+      return Long.parseLong(bound);
+    }
+  }
+
+  /**
+   * @param bucketCounts the counts of the buckets by their upper bound
+   * @param percentile the percentile between 0 and 100
+   *
+   * @return the upper bound of the bucket which contains the given percentile
+   *   of all counted values or 0 if no values are counted.
+   */
+  public static long percentile(SortedMap<Long, Long> bucketCounts, double percentile) {
+    long count = 0;
+    for (Long bucketCount : bucketCounts.values()) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(count * percentile / 100);
+    long seen = 0;
+    for (Entry<Long, Long> bucket : bucketCounts.entrySet()) {
+      seen += bucket.getValue();
+      if (seen >= rank && seen > 0) {
+        return bucket.getKey();
+      }
+    }
+    return bucketCounts.lastKey();
+  }
+
+}
@@ -12,30 +12,36 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on a {@link StripedCounter}
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  protected StripedCounter counter = new StripedCounter();
 
   protected String name;
 
+  /** if false, the meter is kept in memory only and not logged to the database */
+  protected boolean reported = true;
+
   public Meter(String name) {
     this.name = name;
   }
 
+  public Meter(String name, boolean reported) {
+    this.name = name;
+    this.reported = reported;
+  }
+
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(int times) {
-    counter.addAndGet(times);
+    counter.add(times);
   }
 
   public String getName() {
@@ -46,12 +52,16 @@ public class Meter {
     this.name = name;
   }
 
+  public boolean isReported() {
+    return reported;
+  }
+
   public long getAndClear() {
-    return counter.getAndSet(0);
+    return counter.sumThenReset();
   }
 
   public long get() {
-    return counter.get();
+    return counter.sum();
   }
 
 }
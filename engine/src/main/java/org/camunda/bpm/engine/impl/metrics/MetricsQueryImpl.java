@@ -36,6 +36,7 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
   protected Date startDate;
   protected Date endDate;
   protected MetricsQueryType queryType;
+  protected double percentile;
 
   protected transient CommandExecutor commandExecutor;
 
@@ -72,11 +73,24 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return (Long) commandExecutor.execute(this);
   }
 
+  public long percentile(double percentile) {
+    ensureNotNull("name", name);
+    if (percentile <= 0 || percentile > 100) {
+      throw new ProcessEngineException("The percentile must be greater than 0 and at most 100, but is " + percentile);
+    }
+    this.percentile = percentile;
+    queryType = MetricsQueryType.PERCENTILE;
+    return (Long) commandExecutor.execute(this);
+  }
+
   public Object execute(CommandContext commandContext) {
     switch (queryType) {
     case SUM:
       return commandContext.getMeterLogManager()
           .executeSelectSum(this);
+    case PERCENTILE:
+      return commandContext.getMeterLogManager()
+          .executeSelectPercentile(this);
     }
     throw new ProcessEngineException("Incorrect query type. Must be one of "+MetricsQueryType.values());
   }
@@ -97,4 +111,16 @@ public class MetricsQueryImpl implements Serializable, Command<Object>, MetricsQ
     return reporter;
   }
 
+  public double getPercentile() {
+    return percentile;
+  }
+
+  public String getBucketNameLike() {
+    return Histogram.getBucketNamePrefix(name) + "%";
+  }
+
+  public String getAnyBucketNameLike() {
+    return "%" + Histogram.BUCKET_NAME_INFIX + "%";
+  }
+
 }
@@ -14,6 +14,8 @@ package org.camunda.bpm.engine.impl.metrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Daniel Meyer
@@ -22,6 +24,8 @@ import java.util.Map;
 public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, Histogram> histograms = new HashMap<String, Histogram>();
+  protected ConcurrentMap<String, CommandMetricsCollector> commandMetrics = new ConcurrentHashMap<String, CommandMetricsCollector>();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -44,9 +48,75 @@ public class MetricsRegistry {
   }
 
   public Meter createMeter(String name) {
-    Meter meter = new Meter(name);
+    return createMeter(name, true);
+  }
+
+  /**
+   * @param reported false if the meter is only kept in memory and not logged to the database,
+   *   so that it is not part of the sum over all meters
+   */
+  public Meter createMeter(String name, boolean reported) {
+    Meter meter = new Meter(name, reported);
     meters.put(name, meter);
     return meter;
   }
 
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.record(value);
+    }
+  }
+
+  /**
+   * Records the time elapsed since the given start time in microseconds.
+   *
+   * @param startNanos the result of {@link System#nanoTime()} when the timed operation started
+   */
+  public void recordDurationSince(String name, long startNanos) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.recordDurationSince(startNanos);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  public Map<String, CommandMetricsCollector> getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  /**
+   * @return the collector for the given command, created on first use
+   */
+  public CommandMetricsCollector getCommandMetrics(String commandName) {
+    CommandMetricsCollector collector = commandMetrics.get(commandName);
+    if (collector == null) {
+      collector = new CommandMetricsCollector(commandName);
+      CommandMetricsCollector existingCollector = commandMetrics.putIfAbsent(commandName, collector);
+      if (existingCollector != null) {
+        collector = existingCollector;
+      }
+    }
+    return collector;
+  }
+
+  public void clearCommandMetrics() {
+    commandMetrics.clear();
+  }
+
 }
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A counter which spreads updates over multiple cells so that
+ * concurrent threads do not compete for the same cache line.</p>
+ *
+ * <p>A thread always updates the cell selected by its thread id. Cells are
+ * placed one cache line apart from each other. The value of the counter
+ * is the sum of all cells.</p>
+ */
+public class StripedCounter {
+
+  /** number of longs in a 64 byte cache line */
+  protected static final int CELL_PADDING = 8;
+
+  protected static final int MAX_STRIPES = 64;
+
+  public static final int DEFAULT_STRIPES = stripesFor(Runtime.getRuntime().availableProcessors());
+
+  protected final AtomicLongArray cells;
+  protected final int stripeMask;
+
+  public StripedCounter() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * @param stripes the number of cells, rounded up to the next power of two.
+   */
+  public StripedCounter(int stripes) {
+    int numberOfStripes = stripesFor(stripes);
+    this.stripeMask = numberOfStripes - 1;
+    this.cells = new AtomicLongArray(numberOfStripes * CELL_PADDING);
+  }
+
+  public void add(long value) {
+    cells.addAndGet(cellIndex(), value);
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  /**
+   * @return the current value. Updates which happen concurrently may or
+   *   may not be reflected in the result.
+   */
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+      sum += cells.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Resets all cells to zero and returns their sum. Every update is
+   * contained either in the returned value or in the value after the reset.
+   */
+  public long sumThenReset() {
+    long sum = 0;
+    for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+      sum += cells.getAndSet(i, 0);
+    }
+    return sum;
+  }
+
+  protected int cellIndex() {
+    // thread ids are assigned sequentially, so threads of the same
+    // pool are distributed evenly over the stripes
+    return ((int) Thread.currentThread().getId() & stripeMask) * CELL_PADDING;
+  }
+
+  protected static int stripesFor(int requested) {
+    int stripes = 1;
+    while (stripes < requested && stripes < MAX_STRIPES) {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+
+}
@@ -21,6 +21,7 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
@@ -61,6 +62,10 @@ public class MetricsCollectionTask extends TimerTask {
 
     final List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
     for (Meter meter : metricsRegistry.getMeters().values()) {
+      if (!meter.isReported()) {
+        continue;
+      }
+
       logs.add(new MeterLogEntity(meter.getName(),
           reporterId,
           meter.getAndClear(),
@@ -68,6 +73,10 @@ public class MetricsCollectionTask extends TimerTask {
 
     }
 
+    for (Histogram histogram : metricsRegistry.getHistograms().values()) {
+      collectHistogram(histogram, logs);
+    }
+
     commandExecutor.execute(new Command<Void>() {
 
       public Void execute(CommandContext commandContext) {
@@ -79,6 +88,23 @@ public class MetricsCollectionTask extends TimerTask {
     });
   }
 
+  /**
+   * Logs the count of each non-empty bucket under the name of the bucket.
+   * The number of recorded values is the sum of the bucket counts.
+   */
+  protected void collectHistogram(Histogram histogram, List<MeterLogEntity> logs) {
+    long[] bucketCounts = histogram.getAndClear();
+
+    for (int i = 0; i < bucketCounts.length; i++) {
+      if (bucketCounts[i] > 0) {
+        logs.add(new MeterLogEntity(histogram.getBucketName(i),
+            reporterId,
+            bucketCounts[i],
+            ClockUtil.getCurrentTime()));
+      }
+    }
+  }
+
   public String getReporter() {
     return reporterId;
   }
@@ -16,7 +16,9 @@ package org.camunda.bpm.engine.impl.persistence.deploy;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -31,8 +33,13 @@ import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.Cache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.MapCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.model.bpmn.Bpmn;
@@ -47,14 +54,49 @@ import org.camunda.bpm.model.cmmn.CmmnModelInstance;
  */
 public class DeploymentCache {
 
+  public static final String PROCESS_DEFINITION_CACHE = "processDefinitionCache";
+  public static final String CASE_DEFINITION_CACHE = "caseDefinitionCache";
+  public static final String BPMN_MODEL_INSTANCE_CACHE = "bpmnModelInstanceCache";
+  public static final String CMMN_MODEL_INSTANCE_CACHE = "cmmnModelInstanceCache";
+
+  /** the default maximum number of entries per cache */
+  public static final int DEFAULT_CACHE_CAPACITY = 1000;
+
   private Logger LOGGER = Logger.getLogger(DeploymentCache.class.getName());
 
-  protected Map<String, ProcessDefinitionEntity> processDefinitionCache = new HashMap<String, ProcessDefinitionEntity>();
-  protected Map<String, CaseDefinitionEntity> caseDefinitionCache = new HashMap<String, CaseDefinitionEntity>();
-  protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = new HashMap<String, BpmnModelInstance>();
-  protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = new HashMap<String, CmmnModelInstance>();
+  protected Cache<String, ProcessDefinitionEntity> processDefinitionCache;
+  protected Cache<String, CaseDefinitionEntity> caseDefinitionCache;
+  protected Cache<String, BpmnModelInstance> bpmnModelInstanceCache;
+  protected Cache<String, CmmnModelInstance> cmmnModelInstanceCache;
   protected List<Deployer> deployers;
 
+  /**
+   * maps process definition keys to the ids of their latest versions; only valid
+   * as long as the deployment sequence equals {@link #latestProcessDefinitionIdsSequence}
+   */
+  protected Map<String, String> latestProcessDefinitionIds = new HashMap<String, String>();
+  protected Integer latestProcessDefinitionIdsSequence;
+
+  public DeploymentCache() {
+    this(new DefaultCacheFactory(), DEFAULT_CACHE_CAPACITY);
+  }
+
+  public DeploymentCache(CacheFactory cacheFactory, int cacheCapacity) {
+    this(cacheFactory, cacheCapacity, cacheCapacity, cacheCapacity, cacheCapacity);
+  }
+
+  /**
+   * Note: a definition cache must be able to hold at least all definitions of a single
+   * deployment since a cache miss redeploys the whole deployment of the missing definition.
+   */
+  public DeploymentCache(CacheFactory cacheFactory, int processDefinitionCacheCapacity, int caseDefinitionCacheCapacity,
+      int bpmnModelInstanceCacheCapacity, int cmmnModelInstanceCacheCapacity) {
+    processDefinitionCache = cacheFactory.createCache(PROCESS_DEFINITION_CACHE, processDefinitionCacheCapacity);
+    caseDefinitionCache = cacheFactory.createCache(CASE_DEFINITION_CACHE, caseDefinitionCacheCapacity);
+    bpmnModelInstanceCache = cacheFactory.createCache(BPMN_MODEL_INSTANCE_CACHE, bpmnModelInstanceCacheCapacity);
+    cmmnModelInstanceCache = cacheFactory.createCache(CMMN_MODEL_INSTANCE_CACHE, cmmnModelInstanceCacheCapacity);
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     Context.getCommandContext().runWithoutAuthorization(new Callable<Void>() {
       public Void call() throws Exception {
@@ -83,15 +125,71 @@ public class DeploymentCache {
   }
 
   public ProcessDefinitionEntity findDeployedLatestProcessDefinitionByKey(String processDefinitionKey) {
-    ProcessDefinitionEntity processDefinition = Context
-      .getCommandContext()
+    CommandContext commandContext = Context.getCommandContext();
+
+    // the deployment sequence tells whether the cached latest versions are still valid. It is not
+    // used if the current command changed the deployed process definitions itself
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+    Integer deploymentSequence = null;
+    if (!propertyManager.isDeploymentSequenceIncremented()) {
+      deploymentSequence = propertyManager.findDeploymentSequence();
+    }
+
+    if (deploymentSequence != null) {
+      String processDefinitionId = getLatestProcessDefinitionId(processDefinitionKey, deploymentSequence);
+      if (processDefinitionId != null) {
+        ProcessDefinitionEntity cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
+        if (cachedProcessDefinition != null) {
+          return cachedProcessDefinition;
+        }
+      }
+    }
+
+    ProcessDefinitionEntity processDefinition = commandContext
       .getProcessDefinitionManager()
       .findLatestProcessDefinitionByKey(processDefinitionKey);
     ensureNotNull("no processes deployed with key '" + processDefinitionKey + "'", "processDefinition", processDefinition);
     processDefinition = resolveProcessDefinition(processDefinition);
+
+    if (deploymentSequence != null) {
+      putLatestProcessDefinitionId(processDefinitionKey, processDefinition.getId(), deploymentSequence);
+    }
+
     return processDefinition;
   }
 
+  /**
+   * @return the id of the latest process definition with the given key if it is cached
+   * for the given deployment sequence, null otherwise
+   */
+  protected synchronized String getLatestProcessDefinitionId(String processDefinitionKey, Integer deploymentSequence) {
+    if (!deploymentSequence.equals(latestProcessDefinitionIdsSequence)) {
+      // deployments changed on this or another node
+      latestProcessDefinitionIds.clear();
+      latestProcessDefinitionIdsSequence = deploymentSequence;
+      return null;
+    }
+    return latestProcessDefinitionIds.get(processDefinitionKey);
+  }
+
+  protected synchronized void putLatestProcessDefinitionId(String processDefinitionKey, String processDefinitionId, Integer deploymentSequence) {
+    // ignore results which were read for an outdated deployment sequence
+    if (deploymentSequence.equals(latestProcessDefinitionIdsSequence)) {
+      latestProcessDefinitionIds.put(processDefinitionKey, processDefinitionId);
+    }
+  }
+
+  public synchronized void removeLatestProcessDefinitionIds(Collection<String> processDefinitionKeys) {
+    for (String processDefinitionKey : processDefinitionKeys) {
+      latestProcessDefinitionIds.remove(processDefinitionKey);
+    }
+  }
+
+  public synchronized void discardLatestProcessDefinitionIds() {
+    latestProcessDefinitionIds.clear();
+    latestProcessDefinitionIdsSequence = null;
+  }
+
   public ProcessDefinitionEntity findDeployedProcessDefinitionByKeyAndVersion(final String processDefinitionKey, final Integer processDefinitionVersion) {
     final CommandContext commandContext = Context.getCommandContext();
     ProcessDefinitionEntity processDefinition = commandContext.runWithoutAuthorization(new Callable<ProcessDefinitionEntity>() {
@@ -177,10 +275,20 @@ public class DeploymentCache {
 
   public void removeProcessDefinition(String processDefinitionId) {
     processDefinitionCache.remove(processDefinitionId);
+
+    synchronized (this) {
+      Iterator<String> latestIds = latestProcessDefinitionIds.values().iterator();
+      while (latestIds.hasNext()) {
+        if (processDefinitionId.equals(latestIds.next())) {
+          latestIds.remove();
+        }
+      }
+    }
   }
 
   public void discardProcessDefinitionCache() {
     processDefinitionCache.clear();
+    discardLatestProcessDefinitionIds();
   }
 
   // CASE DEFINITION ////////////////////////////////////////////////////////////////////////////////
@@ -332,26 +440,42 @@ public class DeploymentCache {
   // getters and setters //////////////////////////////////////////////////////
 
   public Map<String, BpmnModelInstance> getBpmnModelInstanceCache() {
-    return bpmnModelInstanceCache;
+    return bpmnModelInstanceCache.asMap();
+  }
+
+  public void setBpmnModelInstanceCache(Cache<String, BpmnModelInstance> bpmnModelInstanceCache) {
+    this.bpmnModelInstanceCache = bpmnModelInstanceCache;
   }
 
   public Map<String, CmmnModelInstance> getCmmnModelInstanceCache() {
-    return cmmnModelInstanceCache;
+    return cmmnModelInstanceCache.asMap();
+  }
+
+  public void setCmmnModelInstanceCache(Cache<String, CmmnModelInstance> cmmnModelInstanceCache) {
+    this.cmmnModelInstanceCache = cmmnModelInstanceCache;
   }
 
   public Map<String, ProcessDefinitionEntity> getProcessDefinitionCache() {
-    return processDefinitionCache;
+    return processDefinitionCache.asMap();
   }
 
   public void setProcessDefinitionCache(Map<String, ProcessDefinitionEntity> processDefinitionCache) {
+    this.processDefinitionCache = new MapCache<String, ProcessDefinitionEntity>(processDefinitionCache);
+  }
+
+  public void setProcessDefinitionCache(Cache<String, ProcessDefinitionEntity> processDefinitionCache) {
     this.processDefinitionCache = processDefinitionCache;
   }
 
   public Map<String, CaseDefinitionEntity> getCaseDefinitionCache() {
-    return caseDefinitionCache;
+    return caseDefinitionCache.asMap();
   }
 
   public void setCaseDefinitionCache(Map<String, CaseDefinitionEntity> caseDefinitionCache) {
+    this.caseDefinitionCache = new MapCache<String, CaseDefinitionEntity>(caseDefinitionCache);
+  }
+
+  public void setCaseDefinitionCache(Cache<String, CaseDefinitionEntity> caseDefinitionCache) {
     this.caseDefinitionCache = caseDefinitionCache;
   }
 
@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Map;
+
+/**
+ * A cache used by the {@link org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache}
+ * to hold parsed definitions and model instances. Implementations may evict entries at
+ * any time; the deployment cache reloads evicted entries on demand.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface Cache<K, V> {
+
+  /**
+   * @return the cached value or null if the key is not (or no longer) cached
+   */
+  V get(K key);
+
+  void put(K key, V value);
+
+  void remove(K key);
+
+  void clear();
+
+  boolean isEmpty();
+
+  int size();
+
+  /**
+   * @return a live view of the cached entries, lookups through the view are not
+   *   counted as cache hits or misses
+   */
+  Map<K, V> asMap();
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * A thread-safe cache which evicts the least recently used entry once the number
+ * of entries exceeds its capacity. Hits, misses and evictions are reported to the
+ * metrics registry of the current process engine.
+ */
+public class LruCache<K, V> implements Cache<K, V> {
+
+  protected String name;
+  protected int capacity;
+  protected Map<K, V> entries;
+
+  public LruCache(String name, int capacity) {
+    this.name = name;
+    this.capacity = capacity;
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        boolean evict = isBounded() && size() > LruCache.this.capacity;
+        if (evict) {
+          markOccurrence(Metrics.DEPLOYMENT_CACHE_EVICTION);
+        }
+        return evict;
+      }
+    });
+  }
+
+  public V get(K key) {
+    V value = entries.get(key);
+    if (value != null) {
+      markOccurrence(Metrics.DEPLOYMENT_CACHE_HIT);
+    } else {
+      markOccurrence(Metrics.DEPLOYMENT_CACHE_MISS);
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    entries.put(key, value);
+  }
+
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the synchronized map holding the entries, iterating it requires
+   *   synchronizing on the returned map
+   */
+  public Map<K, V> asMap() {
+    return entries;
+  }
+
+  public boolean isBounded() {
+    return capacity > 0;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  protected void markOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Map;
+
+/**
+ * An unbounded cache backed by the given map, used if a plain map is set
+ * on the {@link org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache}.
+ */
+public class MapCache<K, V> implements Cache<K, V> {
+
+  protected Map<K, V> entries;
+
+  public MapCache(Map<K, V> entries) {
+    this.entries = entries;
+  }
+
+  public V get(K key) {
+    return entries.get(key);
+  }
+
+  public void put(K key, V value) {
+    entries.put(key, value);
+  }
+
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public Map<K, V> asMap() {
+    return entries;
+  }
+
+}
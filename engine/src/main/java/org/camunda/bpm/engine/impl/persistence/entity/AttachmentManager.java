@@ -51,6 +51,12 @@ public class AttachmentManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteAttachmentsByTaskProcessInstanceIds(List<String> processInstanceIds) {
+    checkHistoryEnabled();
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteAttachmentByteArraysByHistoricTaskProcessInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(AttachmentEntity.class, "deleteAttachmentsByHistoricTaskProcessInstanceIds", processInstanceIds);
+  }
+
   public Attachment findAttachmentByTaskIdAndAttachmentId(String taskId, String attachmentId) {
     checkHistoryEnabled();
 
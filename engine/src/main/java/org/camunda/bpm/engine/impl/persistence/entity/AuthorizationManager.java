@@ -30,6 +30,7 @@ import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
 import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
 import static org.camunda.bpm.engine.authorization.Resources.TASK;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -66,8 +67,11 @@ import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserOperationLogQueryImpl;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.PermissionCheck;
 import org.camunda.bpm.engine.impl.identity.Authentication;
@@ -83,6 +87,12 @@ public class AuthorizationManager extends AbstractManager {
 
   public static final String DEFAULT_AUTHORIZATION_CHECK = "defaultAuthorizationCheck";
 
+  /** the decisions of the authorization checks made in the current command */
+  protected Map<List<Object>, Boolean> authorizationDecisions = new HashMap<List<Object>, Boolean>();
+
+  /** true once the current command changed authorizations; the engine wide decision cache is bypassed then */
+  protected boolean authorizationsChanged = false;
+
   public Authorization createNewAuthorization(int type) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     return new AuthorizationEntity(type);
@@ -91,6 +101,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    onAuthorizationsChanged();
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -129,12 +140,14 @@ public class AuthorizationManager extends AbstractManager {
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
     getDbEntityManager().merge(authorization);
+    onAuthorizationsChanged();
   }
 
   public void delete(DbEntity authorization) {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
+    onAuthorizationsChanged();
   }
 
   // authorization checks ///////////////////////////////////////////
@@ -224,11 +237,77 @@ public class AuthorizationManager extends AbstractManager {
   }
 
   public boolean isAuthorized(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
-    AuthorizationCheck authCheck = new AuthorizationCheck();
-    authCheck.setAuthUserId(userId);
-    authCheck.setAuthGroupIds(groupIds);
-    authCheck.setPermissionChecks(permissionChecks);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    // commands like bulk operations check the same permission for many entities
+    List<Object> decisionKey = createDecisionKey(userId, groupIds, permissionChecks);
+    Boolean isAuthorized = authorizationDecisions.get(decisionKey);
+    if (isAuthorized != null) {
+      return isAuthorized;
+    }
+
+    AuthorizationDecisionCache decisionCache = null;
+    if (!authorizationsChanged) {
+      decisionCache = Context.getProcessEngineConfiguration().getAuthorizationDecisionCache();
+    }
+
+    if (decisionCache != null) {
+      isAuthorized = decisionCache.getDecision(decisionKey);
+    }
+
+    if (isAuthorized == null) {
+      long generation = decisionCache != null ? decisionCache.getGeneration() : 0;
+
+      AuthorizationCheck authCheck = new AuthorizationCheck();
+      authCheck.setAuthUserId(userId);
+      authCheck.setAuthGroupIds(groupIds);
+      authCheck.setPermissionChecks(permissionChecks);
+      isAuthorized = getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+
+      if (decisionCache != null) {
+        decisionCache.putDecision(decisionKey, isAuthorized, generation);
+      }
+    }
+
+    authorizationDecisions.put(decisionKey, isAuthorized);
+    return isAuthorized;
+  }
+
+  protected List<Object> createDecisionKey(String userId, List<String> groupIds, List<PermissionCheck> permissionChecks) {
+    List<Object> key = new ArrayList<Object>();
+    key.add(userId);
+    key.add(groupIds != null ? new ArrayList<String>(groupIds) : null);
+
+    for (PermissionCheck permissionCheck : permissionChecks) {
+      key.add(permissionCheck.getPerms());
+      key.add(permissionCheck.getResourceType());
+      key.add(permissionCheck.getResourceId());
+      key.add(permissionCheck.getResourceIdQueryParam());
+      key.add(permissionCheck.getAuthorizationNotFoundReturnValue());
+    }
+
+    return key;
+  }
+
+  /**
+   * Forgets the decisions made in the current command and invalidates the engine wide
+   * decision cache, again once the command is committed.
+   */
+  protected void onAuthorizationsChanged() {
+    authorizationDecisions.clear();
+
+    if (!authorizationsChanged) {
+      authorizationsChanged = true;
+
+      final AuthorizationDecisionCache decisionCache = Context.getProcessEngineConfiguration().getAuthorizationDecisionCache();
+      if (decisionCache != null) {
+        decisionCache.invalidateAll();
+
+        getCommandContext().getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            decisionCache.invalidateAll();
+          }
+        });
+      }
+    }
   }
 
   // authorization checks on queries ////////////////////////////////
@@ -294,6 +373,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      onAuthorizationsChanged();
     }
 
   }
@@ -531,6 +611,26 @@ public class AuthorizationManager extends AbstractManager {
     checkAuthorization(Arrays.asList(firstCheck, secondCheck));
   }
 
+  public void checkUpdateAnyProcessInstance() {
+    // necessary permissions:
+    // - UPDATE on ANY PROCESS_INSTANCE
+
+    PermissionCheck firstCheck = new PermissionCheck();
+    firstCheck.setPermission(UPDATE);
+    firstCheck.setResource(PROCESS_INSTANCE);
+
+    // ... OR ...
+
+    // - UPDATE_INSTANCE on ANY PROCESS_DEFINITION
+
+    PermissionCheck secondCheck = new PermissionCheck();
+    secondCheck.setPermission(UPDATE_INSTANCE);
+    secondCheck.setResource(PROCESS_DEFINITION);
+    secondCheck.setAuthorizationNotFoundReturnValue(0l);
+
+    checkAuthorization(Arrays.asList(firstCheck, secondCheck));
+  }
+
   // delete permission /////////////////////////////////////////////////
 
   public void checkDeleteProcessInstance(ExecutionEntity execution) {
@@ -61,6 +61,11 @@ public class CommentManager extends AbstractHistoricManager {
     getDbEntityManager().delete(CommentEntity.class, "deleteCommentsByTaskId", taskId);
   }
 
+  public void deleteCommentsByTaskProcessInstanceIds(List<String> processInstanceIds) {
+    checkHistoryEnabled();
+    getDbEntityManager().delete(CommentEntity.class, "deleteCommentsByHistoricTaskProcessInstanceIds", processInstanceIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Comment> findCommentsByProcessInstanceId(String processInstanceId) {
     checkHistoryEnabled();
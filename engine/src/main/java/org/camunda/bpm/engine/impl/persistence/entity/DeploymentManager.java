@@ -102,6 +102,11 @@ public class DeploymentManager extends AbstractManager {
     // delete process definitions from db
     getProcessDefinitionManager().deleteProcessDefinitionsByDeploymentId(deploymentId);
 
+    if (!processDefinitions.isEmpty()) {
+      // invalidate cached latest process definitions on all nodes
+      getPropertyManager().incrementDeploymentSequence();
+    }
+
     for (ProcessDefinition processDefinition : processDefinitions) {
       String processDefinitionId = processDefinition.getId();
 
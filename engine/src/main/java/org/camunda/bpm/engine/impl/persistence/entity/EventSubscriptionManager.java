@@ -14,6 +14,8 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -22,7 +24,9 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 
 
@@ -83,6 +87,23 @@ public class EventSubscriptionManager extends AbstractManager {
     return new ArrayList<SignalEventSubscriptionEntity>(selectList);
   }
 
+  /**
+   * @return the next subscriptions of active executions to the signal which were created until the
+   * given time, ordered by id, starting after the given subscription id and, if a chunk end
+   * is given, ending with the chunk end subscription id
+   */
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsForBroadcast(String eventName, Date createdBefore,
+      String lastSubscriptionId, String chunkEndSubscriptionId, int maxResults) {
+    final String query = "selectSignalEventSubscriptionsForBroadcast";
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    params.put("createdBefore", createdBefore);
+    params.put("lastSubscriptionId", lastSubscriptionId);
+    params.put("chunkEndSubscriptionId", chunkEndSubscriptionId);
+    return getDbEntityManager().selectList(query, params, new Page(0, maxResults));
+  }
+
   @SuppressWarnings("unchecked")
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByExecution(String executionId) {
     final String query = "selectSignalEventSubscriptionsByExecution";
@@ -131,6 +152,11 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList(query, executionId);
   }
 
+  public List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceId(String processInstanceId) {
+    final String query = "selectEventSubscriptionsByProcessInstanceId";
+    return getDbEntityManager().selectList(query, processInstanceId);
+  }
+
   public List<EventSubscriptionEntity> findEventSubscriptions(String executionId, String type, String activityId) {
     final String query = "selectEventSubscriptionsByExecutionTypeAndActivity";
     Map<String,String> params = new HashMap<String, String>();
@@ -172,6 +198,49 @@ public class EventSubscriptionManager extends AbstractManager {
     return entity;
   }
 
+  /**
+   * @return the subscriptions of active executions to the message which declare the correlation key
+   * and captured the given value for it
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageEventSubscriptionEntity> findMessageEventSubscriptionsByCorrelationKey(String messageName, String correlationKeyName, String correlationKeyValue) {
+    final String query = "selectMessageEventSubscriptionsByCorrelationKey";
+    Map<String, String> params = new HashMap<String, String>();
+    params.put("eventName", messageName);
+    params.put("correlationKeyName", correlationKeyName);
+    params.put("correlationKeyValue", correlationKeyValue);
+    return getDbEntityManager().selectList(query, params);
+  }
+
+  /**
+   * @return the subscriptions of active executions to the message which declare the correlation key
+   * and captured one of the given values for it
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageEventSubscriptionEntity> findMessageEventSubscriptionsByCorrelationKeyValues(String messageName, String correlationKeyName, Collection<String> correlationKeyValues) {
+    final String query = "selectMessageEventSubscriptionsByCorrelationKeyValues";
+    List<MessageEventSubscriptionEntity> subscriptions = new ArrayList<MessageEventSubscriptionEntity>();
+    for (List<String> values : CollectionUtil.partition(correlationKeyValues, DbSqlSessionFactory.MAXIMUM_IN_LIST_SIZE)) {
+      Map<String, Object> params = new HashMap<String, Object>();
+      params.put("eventName", messageName);
+      params.put("correlationKeyName", correlationKeyName);
+      params.put("correlationKeyValues", values);
+      subscriptions.addAll(getDbEntityManager().selectList(query, params));
+    }
+    return subscriptions;
+  }
+
+  /**
+   * @return true if an execution is subscribed to the message without one of the given correlation keys
+   */
+  public boolean hasMessageEventSubscriptionsWithoutCorrelationKey(String messageName, Collection<String> correlationKeyNames) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", messageName);
+    params.put("correlationKeyNames", correlationKeyNames);
+    Long count = (Long) getDbEntityManager().selectOne("selectMessageEventSubscriptionCountWithoutCorrelationKey", params);
+    return count != null && count > 0;
+  }
+
   protected void configureAuthorizationCheck(EventSubscriptionQueryImpl query) {
     getAuthorizationManager().configureEventSubscriptionQuery(query);
   }
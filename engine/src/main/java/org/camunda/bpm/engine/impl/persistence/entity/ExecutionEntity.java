@@ -13,11 +13,14 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import static org.camunda.bpm.engine.impl.util.CompareUtil.areEqual;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +40,7 @@ import org.camunda.bpm.engine.impl.core.operation.CoreAtomicOperation;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.core.variable.scope.CoreVariableStore;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyTracking;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
@@ -86,7 +90,8 @@ public class ExecutionEntity extends PvmExecutionImpl implements
       ProcessInstance,
       DbEntity,
       HasDbRevision,
-      HasDbReferences {
+      HasDbReferences,
+      HasDbDirtyTracking {
 
   private static final long serialVersionUID = 1L;
 
@@ -206,6 +211,24 @@ public class ExecutionEntity extends PvmExecutionImpl implements
    */
   protected String superCaseExecutionId;
 
+  // last flushed persistent state, see #isDbDirty() //////////////////////////
+
+  protected transient String dbProcessDefinitionId;
+  protected transient String dbBusinessKey;
+  protected transient String dbActivityId;
+  protected transient String dbActivityInstanceId;
+  protected transient boolean dbIsActive;
+  protected transient boolean dbIsConcurrent;
+  protected transient boolean dbIsScope;
+  protected transient boolean dbIsEventScope;
+  protected transient String dbParentId;
+  protected transient String dbSuperExecutionId;
+  protected transient String dbSuperCaseExecutionId;
+  protected transient String dbCaseInstanceId;
+  protected transient int dbSuspensionState;
+  protected transient int dbCachedEntityState;
+  protected transient long dbSequenceCounter;
+
   public ExecutionEntity() {
 
   }
@@ -1053,6 +1076,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements
   }
 
   protected List<VariableInstanceEntity> loadVariableInstances() {
+    if (isPrefetchEnabled(getProcessInstanceFetchPlan().isFetchVariables())) {
+      return prefetchVariableInstances();
+    }
     return Context
       .getCommandContext()
       .getVariableInstanceManager()
@@ -1127,6 +1153,143 @@ public class ExecutionEntity extends PvmExecutionImpl implements
     }
   }
 
+  // process instance fetch plan /////////////////////////////////////////////
+
+  protected ProcessInstanceFetchPlan getProcessInstanceFetchPlan() {
+    return Context.getProcessEngineConfiguration()
+      .getProcessInstanceFetchPlan();
+  }
+
+  protected boolean isPrefetchEnabled(boolean fetchPlanFlag) {
+    return fetchPlanFlag && processInstanceId != null;
+  }
+
+  /**
+   * @return the executions of this process instance which are present in the
+   *   entity cache of the current command (includes this execution)
+   */
+  protected List<ExecutionEntity> getCachedExecutionsOfProcessInstance() {
+    List<ExecutionEntity> cachedExecutions = Context.getCommandContext()
+      .getDbEntityManager()
+      .getCachedEntitiesByType(ExecutionEntity.class);
+
+    List<ExecutionEntity> result = new ArrayList<ExecutionEntity>();
+    for (ExecutionEntity execution : cachedExecutions) {
+      if (processInstanceId != null && processInstanceId.equals(execution.getProcessInstanceId())) {
+        result.add(execution);
+      }
+    }
+    if (!result.contains(this)) {
+      result.add(this);
+    }
+    return result;
+  }
+
+  protected void prefetchEventSubscriptions() {
+    List<EventSubscriptionEntity> eventSubscriptions = Context.getCommandContext()
+      .getEventSubscriptionManager()
+      .findEventSubscriptionsByProcessInstanceId(processInstanceId);
+
+    Map<String, List<EventSubscriptionEntity>> eventSubscriptionsByExecution = new HashMap<String, List<EventSubscriptionEntity>>();
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      getListForExecution(eventSubscriptionsByExecution, eventSubscription.getExecutionId()).add(eventSubscription);
+    }
+
+    for (ExecutionEntity execution : getCachedExecutionsOfProcessInstance()) {
+      if (execution.eventSubscriptions == null) {
+        execution.eventSubscriptions = getListForExecution(eventSubscriptionsByExecution, execution.getId());
+      }
+    }
+  }
+
+  protected void prefetchJobs() {
+    List<JobEntity> jobs = Context.getCommandContext()
+      .getJobManager()
+      .findJobsByProcessInstanceId(processInstanceId);
+
+    Map<String, List<JobEntity>> jobsByExecution = new HashMap<String, List<JobEntity>>();
+    for (JobEntity job : jobs) {
+      getListForExecution(jobsByExecution, job.getExecutionId()).add(job);
+    }
+
+    for (ExecutionEntity execution : getCachedExecutionsOfProcessInstance()) {
+      if (execution.jobs == null) {
+        execution.jobs = getListForExecution(jobsByExecution, execution.getId());
+      }
+    }
+  }
+
+  protected void prefetchIncidents() {
+    List<IncidentEntity> incidents = Context.getCommandContext()
+      .getIncidentManager()
+      .findIncidentsByProcessInstance(processInstanceId);
+
+    Map<String, List<IncidentEntity>> incidentsByExecution = new HashMap<String, List<IncidentEntity>>();
+    for (IncidentEntity incident : incidents) {
+      getListForExecution(incidentsByExecution, incident.getExecutionId()).add(incident);
+    }
+
+    for (ExecutionEntity execution : getCachedExecutionsOfProcessInstance()) {
+      if (execution.incidents == null) {
+        execution.incidents = getListForExecution(incidentsByExecution, execution.getId());
+      }
+    }
+  }
+
+  protected void prefetchTasks() {
+    List<TaskEntity> tasks = Context.getCommandContext()
+      .getTaskManager()
+      .findTasksByProcessInstanceId(processInstanceId);
+
+    Map<String, List<TaskEntity>> tasksByExecution = new HashMap<String, List<TaskEntity>>();
+    for (TaskEntity task : tasks) {
+      getListForExecution(tasksByExecution, task.getExecutionId()).add(task);
+    }
+
+    for (ExecutionEntity execution : getCachedExecutionsOfProcessInstance()) {
+      if (execution.tasks == null) {
+        execution.tasks = getListForExecution(tasksByExecution, execution.getId());
+      }
+    }
+  }
+
+  /**
+   * Loads the variables of all executions of this process instance, initializes
+   * the variable stores of the other cached executions and returns the variables
+   * of this execution.
+   */
+  protected List<VariableInstanceEntity> prefetchVariableInstances() {
+    List<VariableInstanceEntity> variableInstances = Context.getCommandContext()
+      .getVariableInstanceManager()
+      .findVariableInstancesByProcessInstanceId(processInstanceId);
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecution = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variableInstance : variableInstances) {
+      getListForExecution(variablesByExecution, variableInstance.getExecutionId()).add(variableInstance);
+    }
+
+    for (ExecutionEntity execution : getCachedExecutionsOfProcessInstance()) {
+      if (execution != this && execution.variableStore.getVariableInstancesWithoutInitialization() == null) {
+        Map<String, VariableInstanceEntity> executionVariables = new HashMap<String, VariableInstanceEntity>();
+        for (VariableInstanceEntity variableInstance : getListForExecution(variablesByExecution, execution.getId())) {
+          executionVariables.put(variableInstance.getName(), variableInstance);
+        }
+        execution.variableStore.setVariableInstances(executionVariables);
+      }
+    }
+
+    return getListForExecution(variablesByExecution, id);
+  }
+
+  protected static <T> List<T> getListForExecution(Map<String, List<T>> entitiesByExecution, String executionId) {
+    List<T> entities = entitiesByExecution.get(executionId);
+    if (entities == null) {
+      entities = new ArrayList<T>();
+      entitiesByExecution.put(executionId, entities);
+    }
+    return entities;
+  }
+
   // persistent state /////////////////////////////////////////////////////////
 
   public Object getPersistentState() {
@@ -1149,6 +1312,42 @@ public class ExecutionEntity extends PvmExecutionImpl implements
     return persistentState;
   }
 
+  public boolean isDbDirty() {
+    return !areEqual(dbProcessDefinitionId, processDefinitionId)
+        || !areEqual(dbBusinessKey, businessKey)
+        || !areEqual(dbActivityId, activityId)
+        || !areEqual(dbActivityInstanceId, activityInstanceId)
+        || dbIsActive != isActive
+        || dbIsConcurrent != isConcurrent
+        || dbIsScope != isScope
+        || dbIsEventScope != isEventScope
+        || !areEqual(dbParentId, parentId)
+        || !areEqual(dbSuperExecutionId, superExecutionId)
+        || !areEqual(dbSuperCaseExecutionId, superCaseExecutionId)
+        || !areEqual(dbCaseInstanceId, caseInstanceId)
+        || dbSuspensionState != suspensionState
+        || dbCachedEntityState != getCachedEntityState()
+        || dbSequenceCounter != getSequenceCounter();
+  }
+
+  public void markDbClean() {
+    dbProcessDefinitionId = processDefinitionId;
+    dbBusinessKey = businessKey;
+    dbActivityId = activityId;
+    dbActivityInstanceId = activityInstanceId;
+    dbIsActive = isActive;
+    dbIsConcurrent = isConcurrent;
+    dbIsScope = isScope;
+    dbIsEventScope = isEventScope;
+    dbParentId = parentId;
+    dbSuperExecutionId = superExecutionId;
+    dbSuperCaseExecutionId = superCaseExecutionId;
+    dbCaseInstanceId = caseInstanceId;
+    dbSuspensionState = suspensionState;
+    dbCachedEntityState = getCachedEntityState();
+    dbSequenceCounter = getSequenceCounter();
+  }
+
   public void insert() {
     Context
       .getCommandContext()
@@ -1222,6 +1421,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements
   }
 
   protected void ensureEventSubscriptionsInitialized() {
+    if (eventSubscriptions == null && isPrefetchEnabled(getProcessInstanceFetchPlan().isFetchEventSubscriptions())) {
+      prefetchEventSubscriptions();
+    }
     if (eventSubscriptions == null) {
 
       eventSubscriptions = Context.getCommandContext()
@@ -1241,9 +1443,44 @@ public class ExecutionEntity extends PvmExecutionImpl implements
     getEventSubscriptionsInternal().remove(eventSubscriptionEntity);
   }
 
+  /**
+   * Updates the stored correlation key of the message event subscriptions of this execution
+   * and its child executions after the value of the variable has changed.
+   */
+  @SuppressWarnings("unchecked")
+  public void updateMessageCorrelationKeys(String variableName) {
+    ProcessDefinitionImpl processDefinition = getProcessDefinition();
+    if (processDefinition == null) {
+      return;
+    }
+
+    Set<String> correlationKeyNames = (Set<String>) processDefinition.getProperty(BpmnParse.PROPERTYNAME_CORRELATION_KEY_NAMES);
+    if (correlationKeyNames != null && correlationKeyNames.contains(variableName)) {
+      updateMessageCorrelationKey(variableName);
+    }
+  }
+
+  protected void updateMessageCorrelationKey(String correlationKeyName) {
+    for (EventSubscriptionEntity eventSubscription : getEventSubscriptionsInternal()) {
+      if (eventSubscription instanceof MessageEventSubscriptionEntity) {
+        MessageEventSubscriptionEntity messageEventSubscription = (MessageEventSubscriptionEntity) eventSubscription;
+        if (correlationKeyName.equals(messageEventSubscription.getCorrelationKeyName())) {
+          messageEventSubscription.updateCorrelationKeyValue(getVariable(correlationKeyName));
+        }
+      }
+    }
+
+    for (ExecutionEntity childExecution : getExecutions()) {
+      childExecution.updateMessageCorrelationKey(correlationKeyName);
+    }
+  }
+
   // referenced job entities //////////////////////////////////////////////////
 
   protected void ensureJobsInitialized() {
+    if(jobs == null && isPrefetchEnabled(getProcessInstanceFetchPlan().isFetchJobs())) {
+      prefetchJobs();
+    }
     if(jobs == null) {
       jobs = Context.getCommandContext()
         .getJobManager()
@@ -1274,6 +1511,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements
   // referenced incidents entities //////////////////////////////////////////////
 
   protected void ensureIncidentsInitialized() {
+    if(incidents == null && isPrefetchEnabled(getProcessInstanceFetchPlan().isFetchIncidents())) {
+      prefetchIncidents();
+    }
     if(incidents == null) {
       incidents = Context.getCommandContext()
         .getIncidentManager()
@@ -1315,6 +1555,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements
 
   @SuppressWarnings({ "unchecked", "rawtypes" })
   protected void ensureTasksInitialized() {
+    if(tasks == null && isPrefetchEnabled(getProcessInstanceFetchPlan().isFetchTasks())) {
+      prefetchTasks();
+    }
     if(tasks == null) {
       tasks = (List)Context.getCommandContext()
         .getTaskManager()
@@ -15,7 +15,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.variable.AbstractPersistentVariableStore;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 
 /**
  * @author Daniel Meyer
@@ -45,6 +48,25 @@ public class ExecutionEntityVariableStore extends AbstractPersistentVariableStor
     return executionEntity.isAutoFireHistoryEvents();
   }
 
+  public CoreVariableInstance createVariableInstance(String variableName, TypedValue value, AbstractVariableScope sourceActivityExecution) {
+    CoreVariableInstance variableInstance = super.createVariableInstance(variableName, value, sourceActivityExecution);
+    executionEntity.updateMessageCorrelationKeys(variableName);
+    return variableInstance;
+  }
+
+  public void setVariableValue(CoreVariableInstance variableInstance, TypedValue value, AbstractVariableScope sourceActivityExecution) {
+    super.setVariableValue(variableInstance, value, sourceActivityExecution);
+    executionEntity.updateMessageCorrelationKeys(variableInstance.getName());
+  }
+
+  public CoreVariableInstance removeVariableInstance(String variableName, AbstractVariableScope sourceActivityExecution) {
+    CoreVariableInstance variableInstance = super.removeVariableInstance(variableName, sourceActivityExecution);
+    if (variableInstance != null) {
+      executionEntity.updateMessageCorrelationKeys(variableName);
+    }
+    return variableInstance;
+  }
+
   public Map<String, VariableInstanceEntity> getVariableInstancesWithoutInitialization() {
     return variableInstances;
   }
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,7 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationCandidate;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 
@@ -103,6 +105,25 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByIds(Collection<String> executionIds) {
+    return getDbEntityManager().selectList("selectExecutionsByIds", executionIds);
+  }
+
+  /**
+   * @return the active executions waiting for a message with one of the given names which belong to one of
+   * the given process instances or to a process instance with one of the given business keys
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageCorrelationCandidate> findMessageCorrelationCandidates(Collection<String> messageNames,
+      Collection<String> businessKeys, Collection<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("messageNames", messageNames);
+    parameters.put("businessKeys", businessKeys);
+    parameters.put("processInstanceIds", processInstanceIds);
+    return getDbEntityManager().selectList("selectMessageCorrelationCandidates", parameters);
+  }
+
   public long findExecutionCountByQueryCriteria(ExecutionQueryImpl executionQuery) {
     configureAuthorizationCheck(executionQuery);
     return (Long) getDbEntityManager().selectOne("selectExecutionCountByQueryCriteria", executionQuery);
@@ -66,6 +66,13 @@ public class HistoricDetailManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteHistoricDetailsByProcessInstanceIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      getDbEntityManager().delete(ByteArrayEntity.class, "deleteHistoricDetailByteArraysByProcessInstanceIds", historicProcessInstanceIds);
+      getDbEntityManager().delete(HistoricDetailEventEntity.class, "deleteHistoricDetailsByProcessInstanceIds", historicProcessInstanceIds);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricDetail> findHistoricDetailsByProcessInstanceId(String processInstanceId) {
     return getDbEntityManager().selectList("selectHistoricDetailsByProcessInstanceId", processInstanceId);
@@ -13,13 +13,19 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -45,6 +51,29 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return null;
   }
 
+  @SuppressWarnings("unchecked")
+  public List<HistoricProcessInstanceEntity> findHistoricProcessInstancesByIds(List<String> processInstanceIds) {
+    if (isHistoryEnabled()) {
+      return getDbEntityManager().selectList("selectHistoricProcessInstancesByIds", processInstanceIds);
+    }
+    return Collections.EMPTY_LIST;
+  }
+
+  /**
+   * @return the ids of at most <code>maxResults</code> historic process instances
+   * of the given process definition which ended before the given date.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findExpiredHistoricProcessInstanceIds(String processDefinitionId, Date endedBefore, int maxResults) {
+    if (isHistoryEnabled()) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("processDefinitionId", processDefinitionId);
+      parameters.put("endedBefore", endedBefore);
+      return getDbEntityManager().selectList("selectExpiredHistoricProcessInstanceIds", parameters, 0, maxResults);
+    }
+    return Collections.EMPTY_LIST;
+  }
+
   @SuppressWarnings("unchecked")
   public void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId) {
     if (isHistoryEnabled()) {
@@ -87,6 +116,49 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  /**
+   * Deletes the given historic process instances and all related historic data with set-based
+   * statements. The ids are processed in chunks of
+   * {@link ProcessEngineConfigurationImpl#getHistoricProcessInstanceDeletionBatchSize()} to keep
+   * the statements below the parameter limits of the databases.
+   */
+  public void deleteHistoricProcessInstanceByIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+      int batchSize = Context.getProcessEngineConfiguration().getHistoricProcessInstanceDeletionBatchSize();
+      ensurePositive("historicProcessInstanceDeletionBatchSize", batchSize);
+
+      for (int fromIndex = 0; fromIndex < historicProcessInstanceIds.size(); fromIndex += batchSize) {
+        int toIndex = Math.min(fromIndex + batchSize, historicProcessInstanceIds.size());
+        // copy the chunk: the parameter of a bulk operation is only used at flush
+        List<String> chunk = new ArrayList<String>(historicProcessInstanceIds.subList(fromIndex, toIndex));
+
+        getHistoricDetailManager()
+          .deleteHistoricDetailsByProcessInstanceIds(chunk);
+
+        getHistoricVariableInstanceManager()
+          .deleteHistoricVariableInstancesByProcessInstanceIds(chunk);
+
+        getHistoricActivityInstanceManager()
+          .deleteHistoricActivityInstancesByProcessInstanceIds(chunk);
+
+        getHistoricTaskInstanceManager()
+          .deleteHistoricTaskInstancesByProcessInstanceIds(chunk);
+
+        getUserOperationLogManager()
+          .deleteOperationLogEntriesByProcessInstanceIds(chunk);
+
+        getHistoricIncidentManager()
+          .deleteHistoricIncidentsByProcessInstanceIds(chunk);
+
+        getHistoricJobLogManager()
+          .deleteHistoricJobLogsByProcessInstanceIds(chunk);
+
+        commandContext.getDbEntityManager().delete(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstancesByIds", chunk);
+      }
+    }
+  }
+
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (isHistoryEnabled()) {
       getAuthorizationManager().configureHistoricProcessInstanceQuery(historicProcessInstanceQuery);
@@ -43,6 +43,26 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     deleteHistoricTaskInstances("processInstanceId", processInstanceId);
   }
 
+  /**
+   * Deletes the historic task instances of the given process instances together with their
+   * comments and attachments using set-based statements.
+   */
+  public void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    if (isHistoryEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+
+      commandContext
+        .getCommentManager()
+        .deleteCommentsByTaskProcessInstanceIds(processInstanceIds);
+
+      commandContext
+        .getAttachmentManager()
+        .deleteAttachmentsByTaskProcessInstanceIds(processInstanceIds);
+
+      getDbEntityManager().delete(HistoricTaskInstanceEntity.class, "deleteHistoricTaskInstancesByProcessInstanceIds", processInstanceIds);
+    }
+  }
+
   public void deleteHistoricTaskInstancesByCaseInstanceId(String caseInstanceId) {
     deleteHistoricTaskInstances("caseInstanceId", caseInstanceId);
   }
@@ -66,6 +66,13 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      getDbEntityManager().delete(ByteArrayEntity.class, "deleteHistoricVariableInstanceByteArraysByProcessInstanceIds", historicProcessInstanceIds);
+      getDbEntityManager().delete(HistoricVariableInstanceEntity.class, "deleteHistoricVariableInstancesByProcessInstanceIds", historicProcessInstanceIds);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricVariableInstance> findHistoricVariableInstancesByProcessInstanceId(String processInstanceId) {
     return getDbEntityManager().selectList("selectHistoricVariablesByProcessInstanceId", processInstanceId);
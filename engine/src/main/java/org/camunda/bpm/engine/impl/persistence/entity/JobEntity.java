@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import static org.camunda.bpm.engine.impl.util.CompareUtil.areEqual;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.camunda.bpm.engine.impl.util.JobExceptionUtil.createJobExceptionByteArray;
 import static org.camunda.bpm.engine.impl.util.JobExceptionUtil.getJobExceptionStacktrace;
@@ -28,6 +29,7 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyTracking;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.incident.FailedJobIncidentHandler;
 import org.camunda.bpm.engine.impl.incident.IncidentHandler;
@@ -47,12 +49,13 @@ import org.camunda.bpm.engine.runtime.Job;
  * @author Dave Syer
  * @author Frederik Heremans
  */
-public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision {
+public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRevision, HasDbDirtyTracking {
 
   private final static Logger LOG = Logger.getLogger(JobEntity.class.getName());
 
   public static final boolean DEFAULT_EXCLUSIVE = true;
   public static final int DEFAULT_RETRIES = 3;
+  public static final long DEFAULT_PRIORITY = 0;
 
   /**
    * Note: {@link String#length()} counts Unicode supplementary
@@ -105,6 +108,23 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   // sequence counter //////////////////////////
   protected long sequenceCounter = 1;
 
+  protected long priority = DEFAULT_PRIORITY;
+
+  // last flushed persistent state, see #isDbDirty()
+  protected transient String dbExecutionId;
+  protected transient String dbLockOwner;
+  protected transient Date dbLockExpirationTime;
+  protected transient int dbRetries;
+  protected transient Date dbDuedate;
+  protected transient String dbExceptionMessage;
+  protected transient int dbSuspensionState;
+  protected transient String dbProcessDefinitionId;
+  protected transient String dbJobDefinitionId;
+  protected transient String dbDeploymentId;
+  protected transient String dbJobHandlerConfiguration;
+  protected transient long dbPriority;
+  protected transient String dbExceptionByteArrayId;
+
   public void execute(CommandContext commandContext) {
     if (executionId != null) {
       ExecutionEntity execution = getExecution();
@@ -190,12 +210,45 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     persistentState.put("jobDefinitionId", jobDefinitionId);
     persistentState.put("deploymentId", deploymentId);
     persistentState.put("jobHandlerConfiguration", jobHandlerConfiguration);
+    persistentState.put("priority", priority);
     if(exceptionByteArrayId != null) {
       persistentState.put("exceptionByteArrayId", exceptionByteArrayId);
     }
     return persistentState;
   }
 
+  public boolean isDbDirty() {
+    return !areEqual(dbExecutionId, executionId)
+        || !areEqual(dbLockOwner, lockOwner)
+        || !areEqual(dbLockExpirationTime, lockExpirationTime)
+        || dbRetries != retries
+        || !areEqual(dbDuedate, duedate)
+        || !areEqual(dbExceptionMessage, exceptionMessage)
+        || dbSuspensionState != suspensionState
+        || !areEqual(dbProcessDefinitionId, processDefinitionId)
+        || !areEqual(dbJobDefinitionId, jobDefinitionId)
+        || !areEqual(dbDeploymentId, deploymentId)
+        || !areEqual(dbJobHandlerConfiguration, jobHandlerConfiguration)
+        || dbPriority != priority
+        || !areEqual(dbExceptionByteArrayId, exceptionByteArrayId);
+  }
+
+  public void markDbClean() {
+    dbExecutionId = executionId;
+    dbLockOwner = lockOwner;
+    dbLockExpirationTime = lockExpirationTime;
+    dbRetries = retries;
+    dbDuedate = duedate;
+    dbExceptionMessage = exceptionMessage;
+    dbSuspensionState = suspensionState;
+    dbProcessDefinitionId = processDefinitionId;
+    dbJobDefinitionId = jobDefinitionId;
+    dbDeploymentId = deploymentId;
+    dbJobHandlerConfiguration = jobHandlerConfiguration;
+    dbPriority = priority;
+    dbExceptionByteArrayId = exceptionByteArrayId;
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
@@ -385,6 +438,14 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     this.isExclusive = isExclusive;
   }
 
+  public long getPriority() {
+    return priority;
+  }
+
+  public void setPriority(long priority) {
+    this.priority = priority;
+  }
+
   public String getId() {
     return id;
   }
@@ -18,8 +18,11 @@ import static org.camunda.bpm.engine.impl.jobexecutor.TimerEventJobHandler.JOB_H
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +35,8 @@ import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
@@ -42,6 +47,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.Job;
 
 
@@ -53,8 +59,10 @@ public class JobManager extends AbstractManager {
 
   public static QueryOrderingProperty JOB_TYPE_ORDERING_PROPERTY = new QueryOrderingProperty(null, JobQueryProperty.TYPE);
   public static QueryOrderingProperty JOB_DUEDATE_ORDERING_PROPERTY = new QueryOrderingProperty(null, JobQueryProperty.DUEDATE);
+  public static QueryOrderingProperty JOB_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(null, JobQueryProperty.PRIORITY);
 
   static {
+    JOB_PRIORITY_ORDERING_PROPERTY.setDirection(Direction.DESCENDING);
     JOB_TYPE_ORDERING_PROPERTY.setDirection(Direction.DESCENDING);
     JOB_DUEDATE_ORDERING_PROPERTY.setDirection(Direction.ASCENDING);
   }
@@ -152,6 +160,9 @@ public class JobManager extends AbstractManager {
     }
 
     List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
+    if (Context.getProcessEngineConfiguration().isJobExecutorAcquireByPriority()) {
+      orderingProperties.add(JOB_PRIORITY_ORDERING_PROPERTY);
+    }
     if (Context.getProcessEngineConfiguration().isJobExecutorPreferTimerJobs()) {
       orderingProperties.add(JOB_TYPE_ORDERING_PROPERTY);
     }
@@ -183,6 +194,44 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExclusiveJobsToExecute", params);
   }
 
+  /**
+   * Selects the executable exclusive jobs of all given process instances
+   * with a single query per {@link DbSqlSessionFactory#MAXIMUM_IN_LIST_SIZE} process instances.
+   *
+   * @return the jobs grouped by process instance id, in the iteration order of
+   *   the given ids. Process instances without executable exclusive jobs are omitted.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, List<JobEntity>> findExclusiveJobsToExecute(Collection<String> processInstanceIds) {
+    Map<String, List<JobEntity>> jobsByProcessInstanceId = new LinkedHashMap<String, List<JobEntity>>();
+    if (processInstanceIds.isEmpty()) {
+      return jobsByProcessInstanceId;
+    }
+
+    Date now = ClockUtil.getCurrentTime();
+    List<JobEntity> jobs = new ArrayList<JobEntity>();
+    for (List<String> pids : CollectionUtil.partition(processInstanceIds, DbSqlSessionFactory.MAXIMUM_IN_LIST_SIZE)) {
+      Map<String,Object> params = new HashMap<String, Object>();
+      params.put("pids", pids);
+      params.put("now", now);
+      jobs.addAll(getDbEntityManager().selectList("selectExclusiveJobsToExecuteByProcessInstanceIds", params));
+    }
+
+    for (String processInstanceId : processInstanceIds) {
+      jobsByProcessInstanceId.put(processInstanceId, new ArrayList<JobEntity>());
+    }
+    for (JobEntity job : jobs) {
+      jobsByProcessInstanceId.get(job.getProcessInstanceId()).add(job);
+    }
+    Iterator<List<JobEntity>> groups = jobsByProcessInstanceId.values().iterator();
+    while (groups.hasNext()) {
+      if (groups.next().isEmpty()) {
+        groups.remove();
+      }
+    }
+    return jobsByProcessInstanceId;
+  }
+
 
   @SuppressWarnings("unchecked")
   public List<TimerEntity> findUnlockedTimersByDuedate(Date duedate, Page page) {
@@ -219,6 +268,11 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobsByConfiguration", params);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String jobHandlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", jobHandlerType);
+  }
+
   public long findJobCountByQueryCriteria(JobQueryImpl jobQuery) {
     getAuthorizationManager().configureJobQuery(jobQuery);
     return (Long) getDbEntityManager().selectOne("selectJobCountByQueryCriteria", jobQuery);
@@ -275,6 +329,27 @@ public class JobManager extends AbstractManager {
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", parameters);
   }
 
+  public void updateJobPriorityByDefinitionId(String jobDefinitionId, long priority) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("jobDefinitionId", jobDefinitionId);
+    parameters.put("priority", priority);
+    getDbEntityManager().update(JobEntity.class, "updateJobPriorityByDefinitionId", parameters);
+
+    // the bulk update does not change the jobs loaded or created in this command
+    DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+    for (JobEntity cachedJob : getDbEntityManager().getCachedEntitiesByType(JobEntity.class)) {
+      if (jobDefinitionId.equals(cachedJob.getJobDefinitionId())) {
+        cachedJob.setPriority(priority);
+
+        // the bulk update of the job entities is flushed before the updates and deletes
+        // of the message and timer entities and increments the revision of loaded jobs
+        if (!dbEntityCache.isTransient(cachedJob)) {
+          cachedJob.setRevision(cachedJob.getRevisionNext());
+        }
+      }
+    }
+  }
+
   public void updateFailedJobRetriesByJobDefinitionId(String jobDefinitionId, int retries) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobDefinitionId", jobDefinitionId);
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Map;
 
 /**
  * @author Daniel Meyer
@@ -20,7 +21,11 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 public class MessageEventSubscriptionEntity extends EventSubscriptionEntity {
 
   private static final long serialVersionUID = 1L;
-  
+
+  /** the correlation key declared by the message event definition and the current value of its variable */
+  protected String correlationKeyName;
+  protected String correlationKeyValue;
+
   public MessageEventSubscriptionEntity(ExecutionEntity executionEntity) {
     super(executionEntity);
     eventType = "message";
@@ -30,6 +35,43 @@ public class MessageEventSubscriptionEntity extends EventSubscriptionEntity {
     eventType = "message";
   }
 
+  public String getCorrelationKeyName() {
+    return correlationKeyName;
+  }
+
+  public void setCorrelationKeyName(String correlationKeyName) {
+    this.correlationKeyName = correlationKeyName;
+  }
+
+  public String getCorrelationKeyValue() {
+    return correlationKeyValue;
+  }
+
+  public void setCorrelationKeyValue(String correlationKeyValue) {
+    this.correlationKeyValue = correlationKeyValue;
+  }
+
+  /**
+   * Sets the new value of the correlation key variable. If the value is not a string, the
+   * correlation key is removed and the subscription is correlated by the process variables.
+   */
+  public void updateCorrelationKeyValue(Object value) {
+    if (value instanceof String) {
+      correlationKeyValue = (String) value;
+    } else {
+      correlationKeyName = null;
+      correlationKeyValue = null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = (Map<String, Object>) super.getPersistentState();
+    persistentState.put("correlationKeyName", correlationKeyName);
+    persistentState.put("correlationKeyValue", correlationKeyValue);
+    return persistentState;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -40,6 +82,8 @@ public class MessageEventSubscriptionEntity extends EventSubscriptionEntity {
            + ", processInstanceId=" + processInstanceId
            + ", activityId=" + activityId
            + ", configuration=" + configuration
+           + ", correlationKeyName=" + correlationKeyName
+           + ", correlationKeyValue=" + correlationKeyValue
            + ", revision=" + revision
            + ", created=" + created
            + "]";
@@ -14,10 +14,15 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MeterSum;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -45,11 +50,50 @@ public class MeterLogManager extends AbstractManager {
       if(meter != null) {
         result += meter.get();
       }
+
+      Histogram histogram = Context.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .getHistogramByName(query.getName());
+      if(histogram != null) {
+        result += histogram.getCount();
+      }
     }
 
     return result;
   }
 
+  @SuppressWarnings("unchecked")
+  public Long executeSelectPercentile(MetricsQueryImpl query) {
+    List<MeterSum> bucketSums = getDbEntityManager().selectList("selectHistogramBucketSums", query);
+
+    SortedMap<Long, Long> bucketCounts = new TreeMap<Long, Long>();
+    for (MeterSum bucketSum : bucketSums) {
+      addBucketCount(bucketCounts, Histogram.getBucketBound(query.getName(), bucketSum.getName()), bucketSum.getValue());
+    }
+
+    if(shouldAddCurrentUnloggedCount(query)) {
+      // add current unlogged counts
+      Histogram histogram = Context.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .getHistogramByName(query.getName());
+      if(histogram != null) {
+        long[] bucketBounds = histogram.getBucketBounds();
+        long[] counts = histogram.get();
+        for (int i = 0; i < counts.length; i++) {
+          long bucketBound = i < bucketBounds.length ? bucketBounds[i] : Long.MAX_VALUE;
+          addBucketCount(bucketCounts, bucketBound, counts[i]);
+        }
+      }
+    }
+
+    return Histogram.percentile(bucketCounts, query.getPercentile());
+  }
+
+  protected void addBucketCount(SortedMap<Long, Long> bucketCounts, long bucketBound, long count) {
+    Long currentCount = bucketCounts.get(bucketBound);
+    bucketCounts.put(bucketBound, currentCount != null ? currentCount + count : count);
+  }
+
   protected boolean shouldAddCurrentUnloggedCount(MetricsQueryImpl query) {
 
     long reportingIntervalInSeconds = Context.getProcessEngineConfiguration()
@@ -50,6 +50,7 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
   protected String deploymentId;
   protected String resourceName;
   protected Integer historyLevel;
+  protected Integer historyTimeToLive;
   protected StartFormHandler startFormHandler;
   protected String diagramResourceName;
   protected boolean isGraphicalNotationDefined;
@@ -231,6 +232,18 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
     this.historyLevel = historyLevel;
   }
 
+  /**
+   * @return the number of days the history of instances of this definition
+   * is kept after they ended or <code>null</code> if it is kept forever
+   */
+  public Integer getHistoryTimeToLive() {
+    return historyTimeToLive;
+  }
+
+  public void setHistoryTimeToLive(Integer historyTimeToLive) {
+    this.historyTimeToLive = historyTimeToLive;
+  }
+
   public StartFormHandler getStartFormHandler() {
     return startFormHandler;
   }
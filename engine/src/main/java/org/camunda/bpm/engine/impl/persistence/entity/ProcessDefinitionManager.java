@@ -105,6 +105,11 @@ public class ProcessDefinitionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectProcessDefinitionByDeploymentId", deploymentId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ProcessDefinitionEntity> findProcessDefinitionsWithHistoryTimeToLive() {
+    return getDbEntityManager().selectList("selectProcessDefinitionsWithHistoryTimeToLive");
+  }
+
   // update ///////////////////////////////////////////////////////////
 
   public void updateProcessDefinitionSuspensionStateById(String processDefinitionId, SuspensionState suspensionState) {
@@ -112,6 +117,9 @@ public class ProcessDefinitionManager extends AbstractManager {
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionSuspensionStateByParameters", parameters);
+
+    // invalidate cached latest process definitions on all nodes
+    getPropertyManager().incrementDeploymentSequence();
   }
 
   public void updateProcessDefinitionSuspensionStateByKey(String processDefinitionKey, SuspensionState suspensionState) {
@@ -119,6 +127,9 @@ public class ProcessDefinitionManager extends AbstractManager {
     parameters.put("processDefinitionKey", processDefinitionKey);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionSuspensionStateByParameters", parameters);
+
+    // invalidate cached latest process definitions on all nodes
+    getPropertyManager().incrementDeploymentSequence();
   }
 
   // delete  ///////////////////////////////////////////////////////////
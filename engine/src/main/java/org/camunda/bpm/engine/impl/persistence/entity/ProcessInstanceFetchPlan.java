@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+/**
+ * <p>Determines which entities referenced by the executions of a process instance
+ * are fetched for all executions at once instead of per execution.</p>
+ *
+ * <p>If a kind of entity is part of the fetch plan, the first access to it on any
+ * execution loads the entities of the whole process instance with a single select
+ * and initializes the corresponding lists of all executions of the process instance
+ * which are present in the entity cache. This avoids one select per execution in
+ * wide process instances (e.g. many concurrent executions after a parallel gateway)
+ * at the cost of loading entities which might not be accessed.</p>
+ */
+public class ProcessInstanceFetchPlan {
+
+  protected boolean fetchVariables;
+  protected boolean fetchEventSubscriptions;
+  protected boolean fetchJobs;
+  protected boolean fetchTasks;
+  protected boolean fetchIncidents;
+
+  /**
+   * @return a fetch plan which fetches all supported entities per process instance
+   */
+  public static ProcessInstanceFetchPlan all() {
+    return new ProcessInstanceFetchPlan()
+      .setFetchVariables(true)
+      .setFetchEventSubscriptions(true)
+      .setFetchJobs(true)
+      .setFetchTasks(true)
+      .setFetchIncidents(true);
+  }
+
+  public boolean isFetchVariables() {
+    return fetchVariables;
+  }
+
+  public ProcessInstanceFetchPlan setFetchVariables(boolean fetchVariables) {
+    this.fetchVariables = fetchVariables;
+    return this;
+  }
+
+  public boolean isFetchEventSubscriptions() {
+    return fetchEventSubscriptions;
+  }
+
+  public ProcessInstanceFetchPlan setFetchEventSubscriptions(boolean fetchEventSubscriptions) {
+    this.fetchEventSubscriptions = fetchEventSubscriptions;
+    return this;
+  }
+
+  public boolean isFetchJobs() {
+    return fetchJobs;
+  }
+
+  public ProcessInstanceFetchPlan setFetchJobs(boolean fetchJobs) {
+    this.fetchJobs = fetchJobs;
+    return this;
+  }
+
+  public boolean isFetchTasks() {
+    return fetchTasks;
+  }
+
+  public ProcessInstanceFetchPlan setFetchTasks(boolean fetchTasks) {
+    this.fetchTasks = fetchTasks;
+    return this;
+  }
+
+  public boolean isFetchIncidents() {
+    return fetchIncidents;
+  }
+
+  public ProcessInstanceFetchPlan setFetchIncidents(boolean fetchIncidents) {
+    this.fetchIncidents = fetchIncidents;
+    return this;
+  }
+
+}
@@ -22,10 +22,51 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
  */
 public class PropertyManager extends AbstractManager {
 
+  /**
+   * Name of the property whose revision is incremented whenever the set of
+   * deployed process definitions or their suspension state changes.
+   */
+  public static final String DEPLOYMENT_SEQUENCE_PROPERTY = "deployment.sequence";
+
+  protected boolean deploymentSequenceIncremented = false;
+
   public PropertyEntity findPropertyById(String propertyId) {
     return getDbEntityManager().selectById(PropertyEntity.class, propertyId);
   }
 
+  /**
+   * @return the current deployment sequence or null if the database does not
+   * provide the deployment sequence property
+   */
+  public Integer findDeploymentSequence() {
+    PropertyEntity property = findPropertyById(DEPLOYMENT_SEQUENCE_PROPERTY);
+    if (property != null) {
+      return property.getRevision();
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Increments the deployment sequence once per command. The increment is
+   * performed as an atomic update which does not conflict with concurrent
+   * increments from other commands.
+   */
+  public void incrementDeploymentSequence() {
+    if (!deploymentSequenceIncremented) {
+      getDbEntityManager().update(PropertyEntity.class, "incrementDeploymentSequence", null);
+      deploymentSequenceIncremented = true;
+    }
+  }
+
+  /**
+   * @return true if the deployment sequence was incremented by the current command
+   */
+  public boolean isDeploymentSequenceIncremented() {
+    return deploymentSequenceIncremented;
+  }
+
   public void acquireExclusiveLock() {
     // We lock a special deployment lock property
     getDbEntityManager().lock("lockDeploymentLockProperty");
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import static org.camunda.bpm.engine.impl.util.CompareUtil.areEqual;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.Serializable;
@@ -45,6 +46,7 @@ import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.core.variable.scope.CoreVariableStore;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyTracking;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -68,7 +70,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Joram Barrez
  * @author Falko Menge
  */
-public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, CommandContextListener {
+public class TaskEntity extends AbstractVariableScope implements Task, DelegateTask, Serializable, DbEntity, HasDbRevision, HasDbDirtyTracking, CommandContextListener {
 
   public static final String DELETE_REASON_COMPLETED = "completed";
   public static final String DELETE_REASON_DELETED = "deleted";
@@ -116,6 +118,24 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
   protected String taskDefinitionKey;
 
   protected boolean isDeleted;
+
+  // last flushed persistent state, see #isDbDirty()
+  protected transient String dbOwner;
+  protected transient String dbAssignee;
+  protected transient DelegationState dbDelegationState;
+  protected transient String dbParentTaskId;
+  protected transient String dbName;
+  protected transient String dbDescription;
+  protected transient int dbPriority;
+  protected transient Date dbCreateTime;
+  protected transient Date dbDueDate;
+  protected transient Date dbFollowUpDate;
+  protected transient int dbSuspensionState;
+  protected transient String dbExecutionId;
+  protected transient String dbProcessDefinitionId;
+  protected transient String dbCaseExecutionId;
+  protected transient String dbCaseInstanceId;
+  protected transient String dbCaseDefinitionId;
   protected String deleteReason;
 
   protected String eventName;
@@ -326,6 +346,44 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return persistentState;
   }
 
+  public boolean isDbDirty() {
+    return !areEqual(dbAssignee, assignee)
+        || !areEqual(dbOwner, owner)
+        || !areEqual(dbName, name)
+        || dbPriority != priority
+        || !areEqual(dbExecutionId, executionId)
+        || !areEqual(dbProcessDefinitionId, processDefinitionId)
+        || !areEqual(dbCaseExecutionId, caseExecutionId)
+        || !areEqual(dbCaseInstanceId, caseInstanceId)
+        || !areEqual(dbCaseDefinitionId, caseDefinitionId)
+        || !areEqual(dbCreateTime, createTime)
+        || !areEqual(dbDescription, description)
+        || !areEqual(dbDueDate, dueDate)
+        || !areEqual(dbFollowUpDate, followUpDate)
+        || !areEqual(dbParentTaskId, parentTaskId)
+        || !areEqual(dbDelegationState, delegationState)
+        || dbSuspensionState != suspensionState;
+  }
+
+  public void markDbClean() {
+    dbAssignee = assignee;
+    dbOwner = owner;
+    dbName = name;
+    dbPriority = priority;
+    dbExecutionId = executionId;
+    dbProcessDefinitionId = processDefinitionId;
+    dbCaseExecutionId = caseExecutionId;
+    dbCaseInstanceId = caseInstanceId;
+    dbCaseDefinitionId = caseDefinitionId;
+    dbCreateTime = createTime;
+    dbDescription = description;
+    dbDueDate = dueDate;
+    dbFollowUpDate = followUpDate;
+    dbParentTaskId = parentTaskId;
+    dbDelegationState = delegationState;
+    dbSuspensionState = suspensionState;
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
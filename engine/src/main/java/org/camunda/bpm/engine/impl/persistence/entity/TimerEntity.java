@@ -57,6 +57,7 @@ public class TimerEntity extends JobEntity {
     deploymentId = te.deploymentId;
     processDefinitionId = te.processDefinitionId;
     processDefinitionKey = te.processDefinitionKey;
+    priority = te.priority;
   }
 
   protected void preExecute(CommandContext commandContext) {
@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import static org.camunda.bpm.engine.impl.util.CompareUtil.areEqual;
+
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -24,6 +26,7 @@ import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.core.variable.value.UntypedValueImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbEntityLifecycleAware;
+import org.camunda.bpm.engine.impl.db.HasDbDirtyTracking;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
@@ -39,7 +42,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 /**
  * @author Tom Baeyens
  */
-public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, HasDbRevision, Serializable,
+public class VariableInstanceEntity implements VariableInstance, CoreVariableInstance, ValueFields, DbEntity, DbEntityLifecycleAware, HasDbRevision, HasDbDirtyTracking, Serializable,
   CommandContextListener {
 
   private static final long serialVersionUID = 1L;
@@ -102,6 +105,17 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
    */
   protected boolean isConcurrentLocal = false;
 
+  // last flushed persistent state, see #isDbDirty()
+  protected transient String dbSerializerName;
+  protected transient Long dbLongValue;
+  protected transient Double dbDoubleValue;
+  protected transient String dbTextValue;
+  protected transient String dbTextValue2;
+  protected transient String dbByteArrayValueId;
+  protected transient boolean dbForcedUpdate;
+  protected transient long dbSequenceCounter;
+  protected transient boolean dbIsConcurrentLocal;
+
   // Default constructor for SQL mapping
   public VariableInstanceEntity() {
   }
@@ -170,6 +184,30 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return persistentState;
   }
 
+  public boolean isDbDirty() {
+    return !areEqual(dbSerializerName, serializerName)
+        || !areEqual(dbLongValue, longValue)
+        || !areEqual(dbDoubleValue, doubleValue)
+        || !areEqual(dbTextValue, textValue)
+        || !areEqual(dbTextValue2, textValue2)
+        || !areEqual(dbByteArrayValueId, byteArrayValueId)
+        || dbForcedUpdate != forcedUpdate
+        || dbSequenceCounter != getSequenceCounter()
+        || dbIsConcurrentLocal != isConcurrentLocal;
+  }
+
+  public void markDbClean() {
+    dbSerializerName = serializerName;
+    dbLongValue = longValue;
+    dbDoubleValue = doubleValue;
+    dbTextValue = textValue;
+    dbTextValue2 = textValue2;
+    dbByteArrayValueId = byteArrayValueId;
+    dbForcedUpdate = forcedUpdate;
+    dbSequenceCounter = getSequenceCounter();
+    dbIsConcurrentLocal = isConcurrentLocal;
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
@@ -38,6 +38,15 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByExecutionId", executionId);
   }
 
+  /**
+   * @return the variables of all executions of the given process instance,
+   *   excluding task variables
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
+    return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
+  }
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return getDbEntityManager().selectList("selectVariablesByCaseExecutionId", caseExecutionId);
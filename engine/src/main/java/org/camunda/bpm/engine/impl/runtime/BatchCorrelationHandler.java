@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>A {@link CorrelationHandler} which correlates the messages of a batch together.
+ * Messages of a batch are correlated one by one by {@link #correlateMessages(CommandContext, String, CorrelationSet)}
+ * if the configured correlation handler does not implement this interface.</p>
+ */
+public interface BatchCorrelationHandler extends CorrelationHandler {
+
+  /**
+   * Correlate each of the given messages like {@link #correlateMessages(CommandContext, String, CorrelationSet)}.
+   *
+   * @param commandContext
+   * @param messageNames the names of the messages, an element may be <code>null</code>
+   * @param correlationSets the correlation sets of the messages, in the same order as the names
+   * @return for each message, the {@link List} of {@link MessageCorrelationResult}s that match it
+   */
+  public List<List<MessageCorrelationResult>> correlateMessageBatch(CommandContext commandContext, List<String> messageNames, List<CorrelationSet> correlationSets);
+
+}
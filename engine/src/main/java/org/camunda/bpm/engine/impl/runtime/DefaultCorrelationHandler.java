@@ -14,8 +14,14 @@
 package org.camunda.bpm.engine.impl.runtime;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,6 +30,8 @@ import org.camunda.bpm.engine.impl.ExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -34,14 +42,14 @@ import org.camunda.bpm.engine.runtime.Execution;
  * @author Daniel Meyer
  * @author Michael Scholz
  */
-public class DefaultCorrelationHandler implements CorrelationHandler {
+public class DefaultCorrelationHandler implements BatchCorrelationHandler {
 
   private final static Logger LOGGER = Logger.getLogger(DefaultCorrelationHandler.class.getName());
 
   public MessageCorrelationResult correlateMessage(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
     // first try to correlate to execution
-    List<MessageCorrelationResult> correlations = correlateMessageToExecutions(commandContext, messageName, correlationSet);
+    List<MessageCorrelationResult> correlations = correlateMessageToExecutions(commandContext, messageName, correlationSet, new CorrelationKeyLookup());
 
     if(correlations.size() > 1) {
       throw new MismatchingMessageCorrelationException(messageName, correlationSet.getBusinessKey(), correlationSet.getCorrelationKeys(),
@@ -60,7 +68,7 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     List<MessageCorrelationResult> result = new ArrayList<MessageCorrelationResult>();
 
     // first collect correlations to executions
-    result.addAll(correlateMessageToExecutions(commandContext, messageName, correlationSet));
+    result.addAll(correlateMessageToExecutions(commandContext, messageName, correlationSet, new CorrelationKeyLookup()));
 
     // now collect a potential correlation to process definition
     MessageCorrelationResult processDefinitionCorrelation = tryCorrelateMessageToProcessDefinition(commandContext, messageName, correlationSet);
@@ -71,7 +79,257 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     return result;
   }
 
+  public List<List<MessageCorrelationResult>> correlateMessageBatch(CommandContext commandContext, List<String> messageNames, List<CorrelationSet> correlationSets) {
+
+    List<List<MessageCorrelationResult>> result = new ArrayList<List<MessageCorrelationResult>>(messageNames.size());
+
+    // select the waiting executions of all messages correlated on the process instance at once
+    List<MessageCorrelationCandidate> candidates = findMessageCorrelationCandidates(commandContext, messageNames, correlationSets);
+    Map<String, ExecutionEntity> candidateExecutions = findCandidateExecutions(commandContext, candidates);
+
+    // select the subscriptions of all messages correlated on correlation keys at once
+    CorrelationKeyLookup correlationKeyLookup = new CorrelationKeyLookup();
+    correlationKeyLookup.prefetch(commandContext, messageNames, correlationSets);
+
+    Map<String, MessageCorrelationResult> processDefinitionCorrelations = new HashMap<String, MessageCorrelationResult>();
+
+    for (int i = 0; i < messageNames.size(); i++) {
+      String messageName = messageNames.get(i);
+      CorrelationSet correlationSet = correlationSets.get(i);
+
+      if (!isCorrelatedOnProcessInstance(messageName, correlationSet)) {
+        List<MessageCorrelationResult> correlations = correlateMessageToExecutions(commandContext, messageName, correlationSet, correlationKeyLookup);
+        MessageCorrelationResult processDefinitionCorrelation = getProcessDefinitionCorrelation(commandContext, messageName, correlationSet, processDefinitionCorrelations);
+        if (processDefinitionCorrelation != null) {
+          correlations.add(processDefinitionCorrelation);
+        }
+        result.add(correlations);
+        continue;
+      }
+
+      Set<String> matchingExecutionIds = new LinkedHashSet<String>();
+      for (MessageCorrelationCandidate candidate : candidates) {
+        if (matches(candidate, messageName, correlationSet)) {
+          matchingExecutionIds.add(candidate.getExecutionId());
+        }
+      }
+
+      List<MessageCorrelationResult> correlations = new ArrayList<MessageCorrelationResult>();
+      for (String executionId : matchingExecutionIds) {
+        ExecutionEntity execution = candidateExecutions.get(executionId);
+        if (execution != null) {
+          correlations.add(MessageCorrelationResult.matchedExecution(execution));
+        }
+      }
+
+      MessageCorrelationResult processDefinitionCorrelation = getProcessDefinitionCorrelation(commandContext, messageName, correlationSet, processDefinitionCorrelations);
+      if (processDefinitionCorrelation != null) {
+        correlations.add(processDefinitionCorrelation);
+      }
+
+      result.add(correlations);
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the correlation of the message to a process definition, selected once per message name
+   */
+  protected MessageCorrelationResult getProcessDefinitionCorrelation(CommandContext commandContext, String messageName, CorrelationSet correlationSet,
+      Map<String, MessageCorrelationResult> processDefinitionCorrelations) {
+
+    if (!processDefinitionCorrelations.containsKey(messageName)) {
+      processDefinitionCorrelations.put(messageName, tryCorrelateMessageToProcessDefinition(commandContext, messageName, correlationSet));
+    }
+    return processDefinitionCorrelations.get(messageName);
+  }
+
+  /**
+   * @return true if the waiting executions of the message are selected by
+   * {@link #findMessageCorrelationCandidates(CommandContext, List, List)}
+   */
+  protected boolean isCorrelatedOnProcessInstance(String messageName, CorrelationSet correlationSet) {
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    return messageName != null
+        && (correlationKeys == null || correlationKeys.isEmpty())
+        && (correlationSet.getBusinessKey() != null || correlationSet.getProcessInstanceId() != null);
+  }
+
+  protected List<MessageCorrelationCandidate> findMessageCorrelationCandidates(CommandContext commandContext, List<String> messageNames, List<CorrelationSet> correlationSets) {
+    Set<String> candidateMessageNames = new LinkedHashSet<String>();
+    Set<String> businessKeys = new LinkedHashSet<String>();
+    Set<String> processInstanceIds = new LinkedHashSet<String>();
+
+    for (int i = 0; i < messageNames.size(); i++) {
+      CorrelationSet correlationSet = correlationSets.get(i);
+      if (isCorrelatedOnProcessInstance(messageNames.get(i), correlationSet)) {
+        candidateMessageNames.add(messageNames.get(i));
+        if (correlationSet.getProcessInstanceId() != null) {
+          processInstanceIds.add(correlationSet.getProcessInstanceId());
+        } else {
+          businessKeys.add(correlationSet.getBusinessKey());
+        }
+      }
+    }
+
+    if (candidateMessageNames.isEmpty()) {
+      return new ArrayList<MessageCorrelationCandidate>();
+    }
+
+    return commandContext
+      .getExecutionManager()
+      .findMessageCorrelationCandidates(candidateMessageNames, businessKeys, processInstanceIds);
+  }
+
+  /**
+   * @return the executions of the candidates by id
+   */
+  protected Map<String, ExecutionEntity> findCandidateExecutions(CommandContext commandContext, List<MessageCorrelationCandidate> candidates) {
+    Map<String, ExecutionEntity> candidateExecutions = new HashMap<String, ExecutionEntity>();
+    if (candidates.isEmpty()) {
+      return candidateExecutions;
+    }
+
+    Set<String> executionIds = new LinkedHashSet<String>();
+    for (MessageCorrelationCandidate candidate : candidates) {
+      executionIds.add(candidate.getExecutionId());
+    }
+
+    for (ExecutionEntity execution : commandContext.getExecutionManager().findExecutionsByIds(executionIds)) {
+      candidateExecutions.put(execution.getId(), execution);
+    }
+    return candidateExecutions;
+  }
+
+  protected boolean matches(MessageCorrelationCandidate candidate, String messageName, CorrelationSet correlationSet) {
+    String processInstanceId = correlationSet.getProcessInstanceId();
+    String businessKey = correlationSet.getBusinessKey();
+
+    return messageName.equals(candidate.getMessageName())
+        && (processInstanceId == null || processInstanceId.equals(candidate.getProcessInstanceId()))
+        && (businessKey == null || businessKey.equals(candidate.getBusinessKey()));
+  }
+
   protected List<MessageCorrelationResult> correlateMessageToExecutions(CommandContext commandContext, String messageName,
+      CorrelationSet correlationSet, CorrelationKeyLookup correlationKeyLookup) {
+
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    if (messageName == null || correlationKeys == null || correlationKeys.isEmpty()) {
+      return correlateMessageToExecutionsByVariables(commandContext, messageName, correlationSet);
+    }
+
+    Set<String> correlationKeyNames = getStringCorrelationKeyNames(correlationSet);
+    if (correlationKeyNames.isEmpty()) {
+      return correlateMessageToExecutionsByVariables(commandContext, messageName, correlationSet);
+    }
+
+    Map<String, MessageCorrelationResult> result = new LinkedHashMap<String, MessageCorrelationResult>();
+    for (ExecutionEntity execution : findExecutionsByCorrelationKey(commandContext, messageName, correlationSet, correlationKeyLookup)) {
+      result.put(execution.getId(), MessageCorrelationResult.matchedExecution(execution));
+    }
+
+    // subscriptions which did not store one of the correlation keys are correlated by the process variables
+    if (correlationKeyLookup.hasSubscriptionsWithoutCorrelationKey(commandContext, messageName, correlationKeyNames)) {
+      for (MessageCorrelationResult correlation : correlateMessageToExecutionsByVariables(commandContext, messageName, correlationSet)) {
+        ExecutionEntity execution = correlation.getExecutionEntity();
+        if (!result.containsKey(execution.getId()) && !hasCorrelationKey(execution, messageName, correlationKeyNames)) {
+          result.put(execution.getId(), correlation);
+        }
+      }
+    }
+
+    return new ArrayList<MessageCorrelationResult>(result.values());
+  }
+
+  /**
+   * @return the active executions with a subscription to the message which stored one of the correlation keys
+   * and which match the remaining correlation criteria
+   */
+  protected List<ExecutionEntity> findExecutionsByCorrelationKey(CommandContext commandContext, String messageName, CorrelationSet correlationSet,
+      CorrelationKeyLookup correlationKeyLookup) {
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+
+    Map<String, ExecutionEntity> executions = new LinkedHashMap<String, ExecutionEntity>();
+
+    for (Map.Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
+      if (!(correlationKey.getValue() instanceof String)) {
+        continue;
+      }
+
+      List<MessageEventSubscriptionEntity> subscriptions = correlationKeyLookup
+        .findSubscriptions(commandContext, messageName, correlationKey.getKey(), (String) correlationKey.getValue());
+
+      for (MessageEventSubscriptionEntity subscription : subscriptions) {
+        ExecutionEntity execution = subscription.getExecution();
+        if (!executions.containsKey(execution.getId()) && matchesRemainingCriteria(commandContext, execution, correlationKey.getKey(), correlationSet)) {
+          executions.put(execution.getId(), execution);
+        }
+      }
+    }
+
+    return new ArrayList<ExecutionEntity>(executions.values());
+  }
+
+  /**
+   * @return true if the execution matches the business key, the process instance id and
+   * all correlation keys except the one which was matched by the subscription
+   */
+  protected boolean matchesRemainingCriteria(CommandContext commandContext, ExecutionEntity execution, String matchedCorrelationKey, CorrelationSet correlationSet) {
+    String processInstanceId = correlationSet.getProcessInstanceId();
+    if (processInstanceId != null && !processInstanceId.equals(execution.getProcessInstanceId())) {
+      return false;
+    }
+
+    if (correlationSet.getCorrelationKeys().size() == 1 && correlationSet.getBusinessKey() == null) {
+      return true;
+    }
+
+    ExecutionQueryImpl query = new ExecutionQueryImpl();
+    query.executionId(execution.getId());
+
+    for (Map.Entry<String, Object> correlationKey : correlationSet.getCorrelationKeys().entrySet()) {
+      if (!correlationKey.getKey().equals(matchedCorrelationKey)) {
+        query.processVariableValueEquals(correlationKey.getKey(), correlationKey.getValue());
+      }
+    }
+
+    String businessKey = correlationSet.getBusinessKey();
+    if (businessKey != null) {
+      query.processInstanceBusinessKey(businessKey);
+    }
+
+    return query.evaluateExpressionsAndExecuteCount(commandContext) > 0;
+  }
+
+  /**
+   * @return the names of the correlation keys which can be looked up by the stored correlation key of a subscription
+   */
+  protected Set<String> getStringCorrelationKeyNames(CorrelationSet correlationSet) {
+    Set<String> correlationKeyNames = new HashSet<String>();
+    for (Map.Entry<String, Object> correlationKey : correlationSet.getCorrelationKeys().entrySet()) {
+      if (correlationKey.getValue() instanceof String) {
+        correlationKeyNames.add(correlationKey.getKey());
+      }
+    }
+    return correlationKeyNames;
+  }
+
+  /**
+   * @return true if the subscription of the execution to the message stored one of the given correlation keys
+   */
+  protected boolean hasCorrelationKey(ExecutionEntity execution, String messageName, Set<String> correlationKeyNames) {
+    for (EventSubscriptionEntity eventSubscription : execution.getEventSubscriptions()) {
+      if (eventSubscription instanceof MessageEventSubscriptionEntity
+          && messageName.equals(eventSubscription.getEventName())
+          && correlationKeyNames.contains(((MessageEventSubscriptionEntity) eventSubscription).getCorrelationKeyName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected List<MessageCorrelationResult> correlateMessageToExecutionsByVariables(CommandContext commandContext, String messageName,
       CorrelationSet correlationSet) {
 
     ExecutionQueryImpl query = new ExecutionQueryImpl();
@@ -142,4 +400,100 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     }
   }
 
+  /**
+   * Looks up the subscriptions to messages by their stored correlation keys. Each lookup
+   * is selected once; for a batch of messages, the subscriptions of all messages are
+   * selected together by {@link #prefetch(CommandContext, List, List)}.
+   */
+  protected static class CorrelationKeyLookup {
+
+    protected Map<String, List<MessageEventSubscriptionEntity>> subscriptions = new HashMap<String, List<MessageEventSubscriptionEntity>>();
+    protected Map<String, Boolean> subscriptionsWithoutCorrelationKey = new HashMap<String, Boolean>();
+
+    public void prefetch(CommandContext commandContext, List<String> messageNames, List<CorrelationSet> correlationSets) {
+      // message name -> correlation key name -> correlation key values
+      Map<String, Map<String, Set<String>>> correlationKeyValues = new LinkedHashMap<String, Map<String, Set<String>>>();
+
+      for (int i = 0; i < messageNames.size(); i++) {
+        String messageName = messageNames.get(i);
+        Map<String, Object> correlationKeys = correlationSets.get(i).getCorrelationKeys();
+        if (messageName == null || correlationKeys == null) {
+          continue;
+        }
+
+        for (Map.Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
+          if (correlationKey.getValue() instanceof String) {
+            Map<String, Set<String>> valuesByName = correlationKeyValues.get(messageName);
+            if (valuesByName == null) {
+              valuesByName = new LinkedHashMap<String, Set<String>>();
+              correlationKeyValues.put(messageName, valuesByName);
+            }
+            Set<String> values = valuesByName.get(correlationKey.getKey());
+            if (values == null) {
+              values = new LinkedHashSet<String>();
+              valuesByName.put(correlationKey.getKey(), values);
+            }
+            values.add((String) correlationKey.getValue());
+          }
+        }
+      }
+
+      EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+      for (Map.Entry<String, Map<String, Set<String>>> messageValues : correlationKeyValues.entrySet()) {
+        String messageName = messageValues.getKey();
+
+        for (Map.Entry<String, Set<String>> keyValues : messageValues.getValue().entrySet()) {
+          String correlationKeyName = keyValues.getKey();
+          for (String correlationKeyValue : keyValues.getValue()) {
+            subscriptions.put(getLookupKey(messageName, correlationKeyName, correlationKeyValue), new ArrayList<MessageEventSubscriptionEntity>());
+          }
+
+          List<MessageEventSubscriptionEntity> foundSubscriptions = eventSubscriptionManager
+            .findMessageEventSubscriptionsByCorrelationKeyValues(messageName, correlationKeyName, keyValues.getValue());
+
+          for (MessageEventSubscriptionEntity subscription : foundSubscriptions) {
+            List<MessageEventSubscriptionEntity> valueSubscriptions = subscriptions.get(getLookupKey(messageName, correlationKeyName, subscription.getCorrelationKeyValue()));
+            if (valueSubscriptions != null) {
+              valueSubscriptions.add(subscription);
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * @return the subscriptions of active executions to the message which captured the given value for the correlation key
+     */
+    public List<MessageEventSubscriptionEntity> findSubscriptions(CommandContext commandContext, String messageName, String correlationKeyName, String correlationKeyValue) {
+      String lookupKey = getLookupKey(messageName, correlationKeyName, correlationKeyValue);
+      List<MessageEventSubscriptionEntity> result = subscriptions.get(lookupKey);
+      if (result == null) {
+        result = commandContext
+          .getEventSubscriptionManager()
+          .findMessageEventSubscriptionsByCorrelationKey(messageName, correlationKeyName, correlationKeyValue);
+        subscriptions.put(lookupKey, result);
+      }
+      return result;
+    }
+
+    /**
+     * @return true if an execution is subscribed to the message without one of the given correlation keys
+     */
+    public boolean hasSubscriptionsWithoutCorrelationKey(CommandContext commandContext, String messageName, Set<String> correlationKeyNames) {
+      String lookupKey = messageName + "|" + new TreeSet<String>(correlationKeyNames);
+      Boolean result = subscriptionsWithoutCorrelationKey.get(lookupKey);
+      if (result == null) {
+        result = commandContext
+          .getEventSubscriptionManager()
+          .hasMessageEventSubscriptionsWithoutCorrelationKey(messageName, correlationKeyNames);
+        subscriptionsWithoutCorrelationKey.put(lookupKey, result);
+      }
+      return result;
+    }
+
+    protected String getLookupKey(String messageName, String correlationKeyName, String correlationKeyValue) {
+      return messageName + "|" + correlationKeyName + "|" + correlationKeyValue;
+    }
+  }
+
 }
@@ -14,9 +14,11 @@
 package org.camunda.bpm.engine.impl.scripting;
 
 import javax.script.Bindings;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
+import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.ScriptEvaluationException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
@@ -39,13 +41,33 @@ public abstract class DynamicExecutableScript extends ExecutableScript {
   public Object execute(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
     String source = getScriptSource(variableScope);
     try {
-      return scriptEngine.eval(source, bindings);
+      CompiledScript compiledScript = getCompiledScript(source);
+      if (compiledScript != null) {
+        return compiledScript.eval(bindings);
+      }
+      else {
+        return scriptEngine.eval(source, bindings);
+      }
+    }
+    catch (ScriptCompilationException e) {
+      // an invalid source is reported the same way as if it was evaluated directly
+      throw new ScriptEvaluationException("Unable to evaluate script: " + e.getCause().getMessage(), e.getCause());
     }
     catch (ScriptException e) {
       throw new ScriptEvaluationException("Unable to evaluate script: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Dynamic sources may differ on every execution, so they are evaluated
+   * without being compiled by default.
+   *
+   * @return the compiled script or null if the source should be evaluated directly
+   */
+  protected CompiledScript getCompiledScript(String source) {
+    return null;
+  }
+
   protected String evaluateExpression(VariableScope variableScope) {
     return (String) scriptExpression.getValue(variableScope);
   }
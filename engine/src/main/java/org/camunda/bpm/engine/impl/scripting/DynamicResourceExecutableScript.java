@@ -13,8 +13,14 @@
 
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.CompiledScript;
+
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.util.ResourceUtil;
@@ -27,17 +33,65 @@ import org.camunda.bpm.engine.impl.util.ResourceUtil;
  */
 public class DynamicResourceExecutableScript extends DynamicExecutableScript {
 
+  /** the maximum number of resolved resources whose content is kept per script */
+  public static final int MAX_CACHED_SOURCES = 32;
+
+  /** script sources by deployment id and resource path, the least recently used first */
+  protected Map<String, String> scriptSources = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+      return size() > MAX_CACHED_SOURCES;
+    }
+  };
+
   public DynamicResourceExecutableScript(String language, Expression scriptResourceExpression) {
     super(scriptResourceExpression, language);
   }
 
   public String getScriptSource(VariableScope variableScope) {
     String scriptPath = evaluateExpression(variableScope);
-    return ResourceUtil.loadResourceContent(scriptPath, getDeployment());
+
+    // resources of a deployment and the classpath do not change, so the
+    // content only has to be loaded once per deployment and path
+    String key = getDeploymentId() + ":" + scriptPath;
+    String source;
+    synchronized (scriptSources) {
+      source = scriptSources.get(key);
+    }
+    if (source == null) {
+      source = ResourceUtil.loadResourceContent(scriptPath, getDeployment());
+      synchronized (scriptSources) {
+        scriptSources.put(key, source);
+      }
+    }
+    return source;
+  }
+
+  /**
+   * The resources of the deployments are limited, so their compiled scripts
+   * are shared through the engine-wide cache.
+   *
+   * @return the compiled script from the engine-wide cache or null if script
+   *   compilation is disabled or not supported by the script engine
+   */
+  protected CompiledScript getCompiledScript(String source) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isEnableScriptCompilation()) {
+      return processEngineConfiguration.getScriptingEngines().getCompiledScript(language, source);
+    }
+    else {
+      return null;
+    }
   }
 
   protected DeploymentEntity getDeployment() {
     return Context.getBpmnExecutionContext().getDeployment();
   }
 
+  protected String getDeploymentId() {
+    return Context.getBpmnExecutionContext().getProcessDefinition().getDeploymentId();
+  }
+
 }
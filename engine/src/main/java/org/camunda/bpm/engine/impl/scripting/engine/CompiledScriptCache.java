@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.CompiledScript;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Thread-safe cache of {@link CompiledScript}s keyed by the script language and
+ * a hash of the script source. Once the capacity is exceeded the least recently
+ * used script is evicted.</p>
+ *
+ * <p>The cache also remembers sources which could not be compiled by the script
+ * engine of their language so that compilation is not attempted again.</p>
+ */
+public class CompiledScriptCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected static final Charset UTF_8 = Charset.forName("UTF-8");
+  protected static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /** marks a source which cannot be compiled */
+  protected static final Object NOT_COMPILABLE = new Object();
+
+  protected int capacity;
+  protected Map<String, Object> compiledScripts;
+
+  public CompiledScriptCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public CompiledScriptCache(int capacity) {
+    this.capacity = capacity;
+    this.compiledScripts = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+        return size() > CompiledScriptCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * @return true if the given source was compiled or found to be not compilable before
+   */
+  public synchronized boolean contains(String key) {
+    return compiledScripts.containsKey(key);
+  }
+
+  /**
+   * @return the compiled script or null if the source is not cached or cannot be compiled
+   */
+  public synchronized CompiledScript get(String key) {
+    Object compiledScript = compiledScripts.get(key);
+    return compiledScript instanceof CompiledScript ? (CompiledScript) compiledScript : null;
+  }
+
+  /**
+   * @param compiledScript the compiled script or null if the source cannot be compiled
+   */
+  public synchronized void put(String key, CompiledScript compiledScript) {
+    compiledScripts.put(key, compiledScript != null ? compiledScript : NOT_COMPILABLE);
+  }
+
+  public synchronized void clear() {
+    compiledScripts.clear();
+  }
+
+  public synchronized int size() {
+    return compiledScripts.size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the cache key of a script, composed of the language and the SHA-256 hash of the source
+   */
+  public static String getKey(String language, String source) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Unable to hash script source", e);
+    }
+    byte[] hash = digest.digest(source.getBytes(UTF_8));
+
+    StringBuilder key = new StringBuilder(language.length() + 1 + 2 * hash.length);
+    key.append(language).append(':');
+    for (byte b : hash) {
+      key.append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
+    return key.toString();
+  }
+
+}
@@ -18,6 +18,8 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 
 import javax.script.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +34,10 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
  * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
  *
+ * <p><strong>Compiled scripts:</strong> if script engines are cached, {@link #getCompiledScript(String, String)}
+ * keeps the compiled scripts in an engine-wide {@link CompiledScriptCache} keyed by language and
+ * source hash so that each distinct script is compiled only once.</p>
+ *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
  * </p>
@@ -49,7 +55,9 @@ public class ScriptingEngines {
   private final ScriptEngineManager scriptEngineManager;
   protected ScriptBindingsFactory scriptBindingsFactory;
 
-  protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
+  protected ConcurrentMap<String, ScriptEngine> cachedEngines = new ConcurrentHashMap<String, ScriptEngine>();
+
+  protected CompiledScriptCache compiledScriptCache = new CompiledScriptCache();
 
   protected boolean enableScriptEngineCaching = true;
 
@@ -122,6 +130,32 @@ public class ScriptingEngines {
 
   }
 
+  /**
+   * <p>Returns the compiled script for the given source, compiling it on first use.</p>
+   *
+   * <p>Compiled scripts are shared through the {@link #compiledScriptCache} if
+   * {@link #enableScriptEngineCaching} is set to 'true'. Otherwise the script is compiled
+   * on every invocation, see {@link #compile(String, String)}.</p>
+   *
+   * @return a {@link CompiledScript} or null if the script engine does not support compilation.
+   * @throws ProcessEngineException if no {@link ScriptEngine} can be resolved for the provided language or
+   *         if the script cannot be compiled (syntax error ...).
+   */
+  public CompiledScript getCompiledScript(String language, String src) {
+    if (!enableScriptEngineCaching || language == null) {
+      return compile(language, src);
+    }
+
+    String key = CompiledScriptCache.getKey(language.toLowerCase(), src);
+    CompiledScript compiledScript = compiledScriptCache.get(key);
+    if (compiledScript == null && !compiledScriptCache.contains(key)) {
+      // concurrent threads may compile the same script, the last one wins
+      compiledScript = compile(language, src);
+      compiledScriptCache.put(key, compiledScript);
+    }
+    return compiledScript;
+  }
+
   /**
    * Loads the given script engine by language name. Will throw an exception if no script engine can be loaded for the given language name.
    *
@@ -180,7 +214,11 @@ public class ScriptingEngines {
         }
 
         if(isCachable(scriptEngine)) {
-          cachedEngines.put(language, scriptEngine);
+          // keep the engine created first if another thread raced us
+          ScriptEngine cachedEngine = cachedEngines.putIfAbsent(language, scriptEngine);
+          if (cachedEngine != null) {
+            scriptEngine = cachedEngine;
+          }
         }
 
       }
@@ -219,6 +257,14 @@ public class ScriptingEngines {
     return scriptBindingsFactory.createBindings(variableScope, scriptEngine.createBindings());
   }
 
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+  }
+
   public ScriptBindingsFactory getScriptBindingsFactory() {
     return scriptBindingsFactory;
   }
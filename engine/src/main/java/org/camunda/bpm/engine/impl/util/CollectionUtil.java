@@ -12,7 +12,10 @@
  */
 package org.camunda.bpm.engine.impl.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,5 +40,21 @@ public class CollectionUtil {
     map.put(key, value);
     return map;
   }
-  
+
+  /**
+   * Splits the values into lists of at most the given size, keeping their order.
+   */
+  public static <T> List<List<T>> partition(Collection<T> values, int partitionSize) {
+    List<List<T>> partitions = new ArrayList<List<T>>();
+    List<T> partition = null;
+    for (T value : values) {
+      if (partition == null || partition.size() == partitionSize) {
+        partition = new ArrayList<T>(partitionSize);
+        partitions.add(partition);
+      }
+      partition.add(value);
+    }
+    return partitions;
+  }
+
 }
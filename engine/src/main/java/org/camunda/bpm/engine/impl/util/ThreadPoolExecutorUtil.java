@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+public class ThreadPoolExecutorUtil {
+
+  /**
+   * @return the number of tasks which can be submitted to the executor without being
+   * rejected: the threads which are not busy plus the free slots of the queue.
+   */
+  public static int getAvailableCapacity(ThreadPoolExecutor threadPoolExecutor) {
+    long freeThreads = Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+    long freeQueueSlots = threadPoolExecutor.getQueue().remainingCapacity();
+    return (int) Math.min(Integer.MAX_VALUE, freeThreads + freeQueueSlots);
+  }
+
+  /**
+   * @return the number of busy threads in percent of the maximum pool size
+   */
+  public static int getUtilization(ThreadPoolExecutor threadPoolExecutor) {
+    int maximumPoolSize = threadPoolExecutor.getMaximumPoolSize();
+    if (maximumPoolSize <= 0) {
+      return 0;
+    }
+    return Math.min(100, threadPoolExecutor.getActiveCount() * 100 / maximumPoolSize);
+  }
+
+  public static int getQueueDepth(ThreadPoolExecutor threadPoolExecutor) {
+    return threadPoolExecutor.getQueue().size();
+  }
+
+}
@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Creates thread factories for virtual threads on JVMs which support them.</p>
+ *
+ * <p>The engine is compiled against older JVMs, the virtual thread API is therefore
+ * accessed reflectively.</p>
+ */
+public class VirtualThreadUtil {
+
+  private static Logger log = Logger.getLogger(VirtualThreadUtil.class.getName());
+
+  protected static volatile Boolean isVirtualThreadSupported;
+
+  /**
+   * @return true if the current JVM is able to create virtual threads. The virtual thread API
+   * is present but unusable on JVMs which only offer it as a preview feature which is not enabled.
+   */
+  public static boolean isVirtualThreadSupported() {
+    if (isVirtualThreadSupported == null) {
+      try {
+        doCreateVirtualThreadFactory("").newThread(new Runnable() {
+          public void run() {
+          }
+        });
+        isVirtualThreadSupported = true;
+      }
+      catch (Throwable t) {
+        isVirtualThreadSupported = false;
+      }
+    }
+    return isVirtualThreadSupported;
+  }
+
+  /**
+   * @param namePrefix the prefix of the thread names, followed by a counter
+   * @return a thread factory creating virtual threads or null if the JVM does not support virtual threads
+   */
+  public static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+    if (!isVirtualThreadSupported()) {
+      return null;
+    }
+
+    try {
+      return doCreateVirtualThreadFactory(namePrefix);
+    }
+    catch (Exception e) {
+      log.log(Level.WARNING, "Could not create a factory for virtual threads", e);
+      return null;
+    }
+  }
+
+  protected static ThreadFactory doCreateVirtualThreadFactory(String namePrefix) throws Exception {
+    Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+    builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+    Method factoryMethod = builderClass.getMethod("factory");
+    return (ThreadFactory) factoryMethod.invoke(builder);
+  }
+
+}
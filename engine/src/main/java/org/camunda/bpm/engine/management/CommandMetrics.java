@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * <p>Timing and database statistics of all invocations of one command class
+ * collected by this process engine since it was started. Only available if
+ * command metrics are enabled in the process engine configuration.</p>
+ *
+ * <p>The statistics of commands which are executed within another command
+ * are accounted to the outermost command. All times are in microseconds.</p>
+ *
+ * @since 7.4
+ */
+public interface CommandMetrics {
+
+  /**
+   * @return the fully qualified class name of the command
+   */
+  String getCommandName();
+
+  /**
+   * @return the number of invocations
+   */
+  long getInvocations();
+
+  /**
+   * @return the number of invocations which failed with an exception
+   */
+  long getFailures();
+
+  /**
+   * @return the number of sql statements issued by all invocations
+   */
+  long getSqlStatements();
+
+  /**
+   * @return the number of entities loaded from the database by all invocations
+   */
+  long getEntitiesLoaded();
+
+  /**
+   * @return the sum of the wall times of all invocations, including flush and commit
+   */
+  long getTotalExecutionTime();
+
+  /**
+   * @return the sum of the times spent flushing changes to the database
+   */
+  long getTotalFlushTime();
+
+  /**
+   * @param percentile between 0 (exclusive) and 100 (inclusive)
+   * @return the upper bound of the histogram bucket which contains the given
+   *   percentile of wall times
+   */
+  long getExecutionTimePercentile(double percentile);
+
+  /**
+   * @param percentile between 0 (exclusive) and 100 (inclusive)
+   * @return the upper bound of the histogram bucket which contains the given
+   *   percentile of flush times
+   */
+  long getFlushTimePercentile(double percentile);
+
+}
@@ -74,4 +74,13 @@ public interface JobDefinition {
    */
   boolean isSuspended();
 
+  /**
+   * <p>Returns the priority that overrides the priority declared in the BPMN 2.0 Xml
+   * for all jobs created from this job definition.</p>
+   *
+   * @return the overriding job priority or <code>null</code> if the declared
+   *   priority is used.
+   */
+  Long getOverridingJobPriority();
+
 }
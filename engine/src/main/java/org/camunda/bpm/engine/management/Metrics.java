@@ -43,4 +43,91 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Number of lookups in the deployment cache which found the cached definition or model.
+   * Kept in memory only and not logged to the database.
+   */
+  public final static String DEPLOYMENT_CACHE_HIT = "deployment-cache-hit";
+
+  /**
+   * Number of lookups in the deployment cache which did not find the cached definition or model.
+   * Kept in memory only and not logged to the database.
+   */
+  public final static String DEPLOYMENT_CACHE_MISS = "deployment-cache-miss";
+
+  /**
+   * Number of definitions or models evicted from the deployment cache.
+   * Kept in memory only and not logged to the database.
+   */
+  public final static String DEPLOYMENT_CACHE_EVICTION = "deployment-cache-eviction";
+
+  /**
+   * Histogram of the execution time of commands which open a new command context, in microseconds
+   */
+  public final static String COMMAND_EXECUTION_TIME = "command-execution-time";
+
+  /**
+   * Histogram of the time it takes to execute a job, excluding the flush, in microseconds
+   */
+  public final static String JOB_EXECUTION_TIME = "job-execution-time";
+
+  /**
+   * Histogram of the time it takes to flush the changes of a command to the database, in microseconds
+   */
+  public final static String FLUSH_TIME = "flush-time";
+
+  /**
+   * Histogram of the number of job batches waiting for an execution thread, sampled on every job acquisition
+   */
+  public final static String JOB_EXECUTOR_QUEUE_DEPTH = "job-executor-queue-depth";
+
+  /**
+   * Histogram of the busy job execution threads in percent of the maximum pool size, sampled on every job acquisition
+   */
+  public final static String JOB_EXECUTOR_UTILIZATION = "job-executor-utilization";
+
+  /**
+   * Number of historic process instances removed by the history cleanup because their time to live expired
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES = "history-cleanup-removed-process-instances";
+
+  /**
+   * Histogram of the time it takes to remove one batch of expired history, in microseconds
+   */
+  public final static String HISTORY_CLEANUP_TIME = "history-cleanup-time";
+
+  /**
+   * Histogram of the time between the commit of a history event and its write by the
+   * asynchronous history event handler, in microseconds
+   */
+  public final static String HISTORY_EVENT_BUFFER_LAG = "history-event-buffer-lag";
+
+  /**
+   * Number of history events written by the committing thread because the buffer of the
+   * asynchronous history event handler was full
+   */
+  public final static String HISTORY_EVENT_BUFFER_OVERFLOW = "history-event-buffer-overflow";
+
+  /**
+   * Number of executions an asynchronously broadcast signal was delivered to
+   */
+  public final static String SIGNAL_BROADCAST_DELIVERIES = "signal-broadcast-deliveries";
+
+  /**
+   * Number of chunks of executions an asynchronously broadcast signal was delivered to
+   */
+  public final static String SIGNAL_BROADCAST_CHUNKS = "signal-broadcast-chunks";
+
+  /**
+   * Number of credential checks and group lookups answered by the authentication cache.
+   * Kept in memory only and not logged to the database.
+   */
+  public final static String AUTHENTICATION_CACHE_HIT = "authentication-cache-hit";
+
+  /**
+   * Number of credential checks and group lookups not answered by the authentication cache.
+   * Kept in memory only and not logged to the database.
+   */
+  public final static String AUTHENTICATION_CACHE_MISS = "authentication-cache-miss";
+
 }
@@ -43,8 +43,23 @@ public interface MetricsQuery {
   MetricsQuery endDate(Date endTime);
 
   /**
+   * For a timing histogram such as {@link Metrics#JOB_EXECUTION_TIME} the sum is
+   * the number of recorded values. Histograms are not part of the sum if no name is set.
+   *
    * @return the aggregated sum
    */
   long sum();
 
+  /**
+   * Only applicable to timing histograms such as {@link Metrics#JOB_EXECUTION_TIME}.
+   * The name of the histogram must be set.
+   *
+   * @param percentile the percentile between 0 (exclusive) and 100 (inclusive), e.g. 99
+   *
+   * @return the upper bound in microseconds of the histogram bucket which contains the given
+   *   percentile of all recorded values, {@link Long#MAX_VALUE} if it exceeds the largest bucket
+   *   or 0 if no values have been recorded.
+   */
+  long percentile(double percentile);
+
 }
\ No newline at end of file
@@ -91,4 +91,10 @@ public interface Job {
    * @return true if this Job is currently suspended.
    */
   boolean isSuspended();
+
+  /**
+   * The priority of the job. Jobs with a higher priority are acquired
+   * first if the job executor is configured to acquire jobs by priority.
+   */
+  long getPriority();
 }
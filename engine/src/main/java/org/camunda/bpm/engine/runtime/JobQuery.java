@@ -112,6 +112,9 @@ public interface JobQuery extends Query<JobQuery, Job> {
   /** Order by retries (needs to be followed by {@link #asc()} or {@link #desc()}). */
   JobQuery orderByJobRetries();
 
+  /** Order by priority (needs to be followed by {@link #asc()} or {@link #desc()}). */
+  JobQuery orderByJobPriority();
+
   /** Order by process instance id (needs to be followed by {@link #asc()} or {@link #desc()}). */
   JobQuery orderByProcessInstanceId();
 
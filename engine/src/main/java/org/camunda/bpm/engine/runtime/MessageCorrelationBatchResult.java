@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * <p>The outcome of correlating one message of a batch, see
+ * {@link MessageCorrelationBuilder#correlateBatch()}.</p>
+ */
+public interface MessageCorrelationBatchResult {
+
+  /**
+   * @return the name of the correlated message
+   */
+  String getMessageName();
+
+  /**
+   * @return the business key the message was correlated on
+   */
+  String getBusinessKey();
+
+  /**
+   * @return true if the message was correlated to a waiting execution or started a process instance
+   */
+  boolean isCorrelated();
+
+  /**
+   * @return the id of the waiting execution the message was correlated to or null if
+   * the message started a process instance or was not correlated
+   */
+  String getExecutionId();
+
+  /**
+   * @return the id of the process instance the message was correlated to or which it
+   * started, null if the message was not correlated
+   */
+  String getProcessInstanceId();
+
+  /**
+   * @return the reason why the message was not correlated, null if it was correlated
+   */
+  Exception getException();
+
+}
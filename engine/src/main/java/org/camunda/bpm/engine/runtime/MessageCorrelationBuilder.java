@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.runtime;
 
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationException;
@@ -143,4 +144,42 @@ public interface MessageCorrelationBuilder {
    */
   void correlateAll();
 
+  /**
+   * <p>Adds the message defined so far to a batch and starts the definition of the next
+   * message of the batch. The messages of the batch are correlated by {@link #correlateBatch()}.</p>
+   *
+   * @param messageName the name of the next message
+   * @return the builder for the next message
+   */
+  MessageCorrelationBuilder nextMessage(String messageName);
+
+  /**
+   * <p>Sets the number of messages of a batch which are correlated in one transaction.
+   * Defaults to 100.</p>
+   *
+   * @param chunkSize the maximum number of messages correlated in one transaction
+   * @return the builder
+   */
+  MessageCorrelationBuilder batchChunkSize(int chunkSize);
+
+  /**
+   * Executes the message correlation for all messages of the batch, see {@link #nextMessage(String)}.
+   *
+   * <p>Each message is correlated like by {@link #correlate()}. Instead of throwing an exception,
+   * the outcome of the correlation is reported for each message. The messages are correlated in
+   * chunks of {@link #batchChunkSize(int) chunkSize} messages, each chunk in its own transaction.
+   * The waiting executions of messages which are correlated on the process instance business key or
+   * the process instance id are selected for a whole chunk at once.</p>
+   *
+   * <p>Messages referring to the same process instance are correlated in the order of the batch.
+   * If correlating a message fails with an exception, the messages of its chunk are correlated
+   * again one by one so that only the failing message is not correlated.</p>
+   *
+   * <p>If the builder was created inside a command, all messages are correlated one by one in the
+   * transaction of the command. An exception thrown while a message is correlated fails the command.</p>
+   *
+   * @return the outcome of each message, in the order of the batch
+   */
+  List<MessageCorrelationBatchResult> correlateBatch();
+
 }
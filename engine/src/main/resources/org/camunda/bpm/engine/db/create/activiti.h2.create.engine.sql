@@ -17,6 +17,9 @@ values ('next.dbid', '1', 1);
 insert into ACT_GE_PROPERTY
 values ('deployment.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('deployment.sequence', '0', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ varchar(64),
     REV_ integer,
@@ -78,6 +81,7 @@ create table ACT_RU_JOB (
     SUSPENSION_STATE_ integer,
     JOB_DEF_ID_ varchar(64),
     SEQUENCE_COUNTER_ integer,
+    PRIORITY_ bigint NOT NULL DEFAULT 0,
     primary key (ID_)
 );
 
@@ -90,6 +94,7 @@ create table ACT_RU_JOBDEF (
     JOB_TYPE_ varchar(255) NOT NULL,
     JOB_CONFIGURATION_ varchar(255),
     SUSPENSION_STATE_ integer,
+    JOB_PRIORITY_ bigint,
     primary key (ID_)
 );
 
@@ -105,6 +110,7 @@ create table ACT_RE_PROCDEF (
     DGRM_RESOURCE_NAME_ varchar(4000),
     HAS_START_FORM_KEY_ bit,
     SUSPENSION_STATE_ integer,
+    HISTORY_TTL_ integer,
     primary key (ID_)
 );
 
@@ -173,6 +179,8 @@ create table ACT_RU_EVENT_SUBSCR (
     PROC_INST_ID_ varchar(64),
     ACTIVITY_ID_ varchar(64),
     CONFIGURATION_ varchar(255),
+    CORR_KEY_NAME_ varchar(255),
+    CORR_KEY_VALUE_ varchar(255),
     CREATED_ timestamp not null,
     primary key (ID_)
 );
@@ -231,10 +239,12 @@ create index ACT_IDX_TASK_ASSIGNEE on ACT_RU_TASK(ASSIGNEE_);
 create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
 create index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR(CONFIGURATION_);
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORR_KEY_NAME_, CORR_KEY_VALUE_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
 create index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK(PROC_DEF_ID_);
 create index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT(CONFIGURATION_);
 create index ACT_IDX_JOB_PROCINST on ACT_RU_JOB(PROCESS_INSTANCE_ID_);
+create index ACT_IDX_JOB_PRIORITY on ACT_RU_JOB(PRIORITY_);
 create index ACT_IDX_METER_LOG on ACT_RU_METER_LOG(NAME_,TIMESTAMP_);
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567 --
@@ -6,6 +6,7 @@ drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_IDX_INC_CONFIGURATION;
 drop index ACT_IDX_JOB_PROCINST;
+drop index ACT_IDX_JOB_PRIORITY;
 drop index ACT_UNIQ_AUTH_USER;
 drop index ACT_UNIQ_AUTH_GROUP;
 drop index ACT_UNIQ_VARIABLE;
@@ -71,6 +72,7 @@ alter table ACT_RU_INCIDENT
     drop foreign key ACT_FK_INC_RCAUSE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
 -- indexes for concurrency problems - https://app.camunda.com/jira/browse/CAM-1646 --
@@ -6,6 +6,7 @@ drop index ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_IDX_INC_CONFIGURATION;
 drop index ACT_IDX_JOB_PROCINST;
+drop index ACT_IDX_JOB_PRIORITY;
 
 alter table ACT_GE_BYTEARRAY 
     drop constraint ACT_FK_BYTEARR_DEPL;
@@ -80,6 +81,7 @@ alter table ACT_RU_VARIABLE
     drop constraint ACT_UNIQ_VARIABLE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567
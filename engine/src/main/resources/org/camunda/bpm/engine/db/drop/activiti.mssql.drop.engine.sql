@@ -5,8 +5,10 @@ drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_USER;
 drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_GROUP;
 drop index ACT_RU_VARIABLE.ACT_IDX_VARIABLE_TASK_ID;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_RU_INCIDENT.ACT_IDX_INC_CONFIGURATION;
 drop index ACT_RU_JOB.ACT_IDX_JOB_PROCINST;
+drop index ACT_RU_JOB.ACT_IDX_JOB_PRIORITY;
 drop index ACT_RU_AUTHORIZATION.ACT_UNIQ_AUTH_GROUP;
 drop index ACT_RU_AUTHORIZATION.ACT_UNIQ_AUTH_USER;
 drop index ACT_RU_VARIABLE.ACT_UNIQ_VARIABLE;
@@ -6,6 +6,7 @@ drop index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE;
 drop index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOB_PROCINST on ACT_RU_JOB;
+drop index ACT_IDX_JOB_PRIORITY on ACT_RU_JOB;
 
 drop index ACT_IDX_METER_LOG on ACT_RU_METER_LOG;
 
@@ -71,6 +72,7 @@ alter table ACT_RU_INCIDENT
     
 drop index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR;
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567
 drop index ACT_IDX_INC_CAUSEINCID on ACT_RU_INCIDENT;
@@ -11,6 +11,7 @@ drop index ACT_IDX_VAR_PROCINST;
 drop index ACT_IDX_VAR_BYTEARRAY;
 drop index ACT_IDX_JOB_EXCEPTION;
 drop index ACT_IDX_JOB_PROCINST;
+drop index ACT_IDX_JOB_PRIORITY;
 drop index ACT_IDX_INC_CONFIGURATION;
 
 drop index ACT_IDX_EXEC_BUSKEY;
@@ -89,6 +90,7 @@ alter table ACT_RU_VARIABLE
     drop CONSTRAINT ACT_UNIQ_VARIABLE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_IDX_EVENT_SUBSCR;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
@@ -0,0 +1,153 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbIdGeneratorTest {
+
+  protected IdBlockCommandExecutor commandExecutor;
+  protected DbIdGenerator idGenerator;
+
+  @Before
+  public void setup() {
+    commandExecutor = new IdBlockCommandExecutor();
+
+    idGenerator = new DbIdGenerator();
+    idGenerator.setCommandExecutor(commandExecutor);
+    idGenerator.setIdBlockSize(100);
+    idGenerator.setMaxIdBlockSize(1000);
+  }
+
+  @Test
+  public void testIdsAreUniqueAcrossThreads() throws Exception {
+    final int numberOfThreads = 8;
+    final int idsPerThread = 5000;
+
+    final List<String> ids = Collections.synchronizedList(new ArrayList<String>());
+    List<Thread> threads = new ArrayList<Thread>();
+
+    for (int i = 0; i < numberOfThreads; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          List<String> threadIds = new ArrayList<String>();
+          for (int j = 0; j < idsPerThread; j++) {
+            threadIds.add(idGenerator.getNextId());
+          }
+          ids.addAll(threadIds);
+        }
+      });
+    }
+
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(numberOfThreads * idsPerThread, ids.size());
+    assertEquals(ids.size(), new HashSet<String>(ids).size());
+  }
+
+  @Test
+  public void testNextBlockIsPrefetched() throws Exception {
+    // consume three quarters of the first block
+    for (int i = 0; i < 76; i++) {
+      idGenerator.getNextId();
+    }
+
+    // the next block is fetched in the background
+    long deadline = System.currentTimeMillis() + 10000;
+    while (commandExecutor.getFetchedBlockSizes().size() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, commandExecutor.getFetchedBlockSizes().size());
+
+    // the rest of the first block and the prefetched block are used without fetching synchronously
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < 94; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+    assertEquals(94, ids.size());
+    assertEquals(2, commandExecutor.getFetchedBlockSizes().size());
+  }
+
+  @Test
+  public void testBlockSizeGrowsWithConsumptionRate() {
+    // every rate of consumption is high enough for the largest block
+    idGenerator.setTargetBlockDurationInMillis(3600000);
+
+    for (int i = 0; i < 1500; i++) {
+      idGenerator.getNextId();
+    }
+
+    List<Integer> blockSizes = commandExecutor.getFetchedBlockSizes();
+    assertEquals(100, (int) blockSizes.get(0));
+    assertEquals(1000, (int) blockSizes.get(1));
+    for (Integer blockSize : blockSizes) {
+      assertTrue(blockSize <= 1000);
+    }
+  }
+
+  @Test
+  public void testBlockSizeIsNotSmallerThanIdBlockSize() {
+    idGenerator.setTargetBlockDurationInMillis(0);
+
+    for (int i = 0; i < 500; i++) {
+      idGenerator.getNextId();
+    }
+
+    for (Integer blockSize : commandExecutor.getFetchedBlockSizes()) {
+      assertEquals(100, (int) blockSize);
+    }
+  }
+
+  /**
+   * Hands out id blocks like the next.dbid property without a database.
+   */
+  protected static class IdBlockCommandExecutor implements CommandExecutor {
+
+    protected long nextId = 1;
+    protected List<Integer> fetchedBlockSizes = new ArrayList<Integer>();
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(Command<T> command) {
+      int blockSize = ((GetNextIdBlockCmd) command).getIdBlockSize();
+      fetchedBlockSizes.add(blockSize);
+
+      IdBlock idBlock = new IdBlock(nextId, nextId + blockSize - 1);
+      nextId += blockSize;
+      return (T) idBlock;
+    }
+
+    public synchronized List<Integer> getFetchedBlockSizes() {
+      return new ArrayList<Integer>(fetchedBlockSizes);
+    }
+
+  }
+
+}
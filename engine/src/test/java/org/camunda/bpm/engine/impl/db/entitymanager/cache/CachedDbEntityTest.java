@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.Test;
+
+public class CachedDbEntityTest {
+
+  @Test
+  public void testExecutionDirtyTracking() {
+    ExecutionEntity execution = new ExecutionEntity();
+    CachedDbEntity cachedEntity = cache(execution);
+    assertFalse(cachedEntity.isDirty());
+
+    execution.setActivityInstanceId("someActivityInstanceId");
+    assertTrue(cachedEntity.isDirty());
+
+    cachedEntity.makeCopy();
+    assertFalse(cachedEntity.isDirty());
+
+    // setting the same value does not make the entity dirty
+    execution.setActivityInstanceId(new String("someActivityInstanceId"));
+    assertFalse(cachedEntity.isDirty());
+
+    execution.setSequenceCounter(execution.getSequenceCounter() + 1);
+    assertTrue(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void testTaskDirtyTracking() {
+    TaskEntity task = new TaskEntity();
+    CachedDbEntity cachedEntity = cache(task);
+    assertFalse(cachedEntity.isDirty());
+
+    task.setOwnerWithoutCascade("kermit");
+    assertTrue(cachedEntity.isDirty());
+
+    task.setOwnerWithoutCascade(null);
+    assertFalse(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void testJobDirtyTracking() {
+    MessageEntity job = new MessageEntity();
+    CachedDbEntity cachedEntity = cache(job);
+    assertFalse(cachedEntity.isDirty());
+
+    job.setLockOwner("owner");
+    job.setLockExpirationTime(new Date());
+    assertTrue(cachedEntity.isDirty());
+
+    cachedEntity.makeCopy();
+    assertFalse(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void testVariableDirtyTracking() {
+    VariableInstanceEntity variable = new VariableInstanceEntity();
+    CachedDbEntity cachedEntity = cache(variable);
+    assertFalse(cachedEntity.isDirty());
+
+    variable.setTextValue("value");
+    assertTrue(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void testForceSetDirty() {
+    ExecutionEntity execution = new ExecutionEntity();
+    CachedDbEntity cachedEntity = cache(execution);
+
+    cachedEntity.forceSetDirty();
+    assertTrue(cachedEntity.isDirty());
+
+    // a flush resets the forced state
+    cachedEntity.makeCopy();
+    assertFalse(cachedEntity.isDirty());
+  }
+
+  @Test
+  public void testSnapshotDirtyChecking() {
+    // entities which do not track their state use a persistent state snapshot
+    PropertyEntity property = new PropertyEntity("name", "value");
+    CachedDbEntity cachedEntity = cache(property);
+    assertFalse(cachedEntity.isDirty());
+
+    property.setValue("otherValue");
+    assertTrue(cachedEntity.isDirty());
+  }
+
+  protected CachedDbEntity cache(DbEntity entity) {
+    CachedDbEntity cachedEntity = new CachedDbEntity();
+    cachedEntity.setEntity(entity);
+    cachedEntity.setEntityState(DbEntityState.PERSISTENT);
+    cachedEntity.makeCopy();
+    return cachedEntity;
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.junit.Test;
+
+public class TimeOrderedIdGeneratorTest {
+
+  private static final int THREAD_COUNT = 10;
+  private static final int LOOP_COUNT = 10000;
+
+  @Test
+  public void testIdsAreIncreasing() {
+    TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+
+    String previousId = idGenerator.getNextId();
+    for (int i = 0; i < 100000; i++) {
+      String id = idGenerator.getNextId();
+      assertEquals(36, id.length());
+      assertTrue(previousId + " is not less than " + id, previousId.compareTo(id) < 0);
+      previousId = id;
+    }
+  }
+
+  @Test
+  public void testIdsOfDifferentGeneratorsAreIncreasing() {
+    TimeOrderedIdGenerator idGenerator1 = new TimeOrderedIdGenerator();
+    TimeOrderedIdGenerator idGenerator2 = new TimeOrderedIdGenerator();
+
+    String id1 = idGenerator1.getNextId();
+    String id2 = idGenerator2.getNextId();
+    String id3 = idGenerator1.getNextId();
+
+    assertTrue(id1.compareTo(id2) < 0);
+    assertTrue(id2.compareTo(id3) < 0);
+  }
+
+  @Test
+  public void testMultithreaded() throws InterruptedException {
+    final TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+    final ConcurrentSkipListSet<String> generatedIds = new ConcurrentSkipListSet<String>();
+    final ConcurrentSkipListSet<String> duplicatedIds = new ConcurrentSkipListSet<String>();
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      Thread thread = new Thread(new Runnable() {
+        public void run() {
+          for (int j = 0; j < LOOP_COUNT; j++) {
+            String id = idGenerator.getNextId();
+            if (!generatedIds.add(id)) {
+              duplicatedIds.add(id);
+            }
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(THREAD_COUNT * LOOP_COUNT, generatedIds.size());
+    assertTrue(duplicatedIds.isEmpty());
+  }
+
+}
@@ -0,0 +1,222 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.test.TestHelper;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class HistoryCleanupTest extends PluggableProcessEngineTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/history/HistoryCleanupTest.bpmn20.xml";
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testHistoryTimeToLiveIsParsed() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    assertEquals(Integer.valueOf(5), ((ProcessDefinitionEntity) processDefinition).getHistoryTimeToLive());
+  }
+
+  public void testInvalidHistoryTimeToLive() {
+    try {
+      String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testInvalidHistoryTimeToLive");
+      repositoryService.createDeployment().name(resource).addClasspathResource(resource).deploy();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Attribute 'historyTimeToLive' must be an integer value but is 'five'", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testCleanUpExpiredHistory() {
+    Date now = ClockUtil.getCurrentTime();
+
+    Calendar tenDaysAgo = Calendar.getInstance();
+    tenDaysAgo.setTime(now);
+    tenDaysAgo.add(Calendar.DAY_OF_MONTH, -10);
+    ClockUtil.setCurrentTime(tenDaysAgo.getTime());
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("historyTimeToLiveProcess");
+    }
+
+    ClockUtil.setCurrentTime(now);
+    String remainingProcessInstanceId = runtimeService.startProcessInstanceByKey("historyTimeToLiveProcess").getId();
+
+    long removedBefore = getRemovedProcessInstances();
+
+    Job job = historyService.cleanUpHistoryAsync();
+    managementService.executeJob(job.getId());
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(remainingProcessInstanceId, historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+    assertEquals(3, getRemovedProcessInstances() - removedBefore);
+
+    // less than a full batch was removed and there is no batch window, so the job is not rescheduled
+    assertEquals(0, managementService.createJobQuery().count());
+
+    cleanUpJobLogs();
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testCleanUpInBatches() {
+    int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+    processEngineConfiguration.setHistoryCleanupBatchSize(2);
+
+    try {
+      Date now = ClockUtil.getCurrentTime();
+
+      Calendar tenDaysAgo = Calendar.getInstance();
+      tenDaysAgo.setTime(now);
+      tenDaysAgo.add(Calendar.DAY_OF_MONTH, -10);
+      ClockUtil.setCurrentTime(tenDaysAgo.getTime());
+
+      for (int i = 0; i < 3; i++) {
+        runtimeService.startProcessInstanceByKey("historyTimeToLiveProcess");
+      }
+
+      ClockUtil.setCurrentTime(now);
+
+      Job job = historyService.cleanUpHistoryAsync();
+      managementService.executeJob(job.getId());
+
+      // a full batch was removed, so the job is rescheduled right away
+      assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+      job = managementService.createJobQuery().singleResult();
+      assertNotNull(job);
+
+      managementService.executeJob(job.getId());
+
+      assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+      assertEquals(0, managementService.createJobQuery().count());
+    }
+    finally {
+      processEngineConfiguration.setHistoryCleanupBatchSize(batchSize);
+      cleanUpJobLogs();
+    }
+  }
+
+  public void testBatchWindowSpanningMidnight() {
+    processEngineConfiguration.setHistoryCleanupBatchWindowStartTime("22:00");
+    processEngineConfiguration.setHistoryCleanupBatchWindowEndTime("03:00");
+
+    try {
+      assertTrue(HistoryCleanupJobHandler.isWithinBatchWindow(processEngineConfiguration, timeOfDay(23, 30)));
+      assertTrue(HistoryCleanupJobHandler.isWithinBatchWindow(processEngineConfiguration, timeOfDay(1, 0)));
+      assertFalse(HistoryCleanupJobHandler.isWithinBatchWindow(processEngineConfiguration, timeOfDay(3, 0)));
+      assertFalse(HistoryCleanupJobHandler.isWithinBatchWindow(processEngineConfiguration, timeOfDay(12, 0)));
+
+      Date noon = timeOfDay(12, 0);
+      assertEquals(timeOfDay(22, 0), HistoryCleanupJobHandler.getNextBatchWindowStart(processEngineConfiguration, noon));
+
+      Calendar nextWindowStart = Calendar.getInstance();
+      nextWindowStart.setTime(timeOfDay(22, 0));
+      nextWindowStart.add(Calendar.DAY_OF_MONTH, 1);
+      Date withinWindow = timeOfDay(23, 30);
+      assertEquals(withinWindow, HistoryCleanupJobHandler.getNextBatchWindowStart(processEngineConfiguration, withinWindow));
+      assertEquals(nextWindowStart.getTime(), HistoryCleanupJobHandler.getBatchWindowStartAfter(processEngineConfiguration, withinWindow));
+    }
+    finally {
+      processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
+      processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(null);
+    }
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testCleanUpWithinBatchWindow() {
+    processEngineConfiguration.setHistoryCleanupBatchWindowStartTime("11:00");
+    processEngineConfiguration.setHistoryCleanupBatchWindowEndTime("13:00");
+
+    try {
+      Date noon = timeOfDay(12, 0);
+
+      Calendar tenDaysAgo = Calendar.getInstance();
+      tenDaysAgo.setTime(noon);
+      tenDaysAgo.add(Calendar.DAY_OF_MONTH, -10);
+      ClockUtil.setCurrentTime(tenDaysAgo.getTime());
+
+      runtimeService.startProcessInstanceByKey("historyTimeToLiveProcess");
+
+      ClockUtil.setCurrentTime(noon);
+
+      Job job = historyService.cleanUpHistoryAsync();
+      managementService.executeJob(job.getId());
+
+      assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+      // less than a full batch was removed, so the job waits for the window of the next day
+      Calendar nextWindowStart = Calendar.getInstance();
+      nextWindowStart.setTime(timeOfDay(11, 0));
+      nextWindowStart.add(Calendar.DAY_OF_MONTH, 1);
+
+      job = managementService.createJobQuery().singleResult();
+      assertEquals(nextWindowStart.getTime(), job.getDuedate());
+
+      managementService.deleteJob(job.getId());
+    }
+    finally {
+      processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
+      processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(null);
+      cleanUpJobLogs();
+    }
+  }
+
+  public void testInvalidBatchWindowTime() {
+    try {
+      HistoryCleanupJobHandler.parseTimeOfDay("25:00");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Cannot parse time of day '25:00'", e.getMessage());
+    }
+  }
+
+  protected Date timeOfDay(int hour, int minute) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.set(Calendar.HOUR_OF_DAY, hour);
+    calendar.set(Calendar.MINUTE, minute);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+    return calendar.getTime();
+  }
+
+  protected long getRemovedProcessInstances() {
+    return processEngineConfiguration
+      .getMetricsRegistry()
+      .getMeterByName(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES)
+      .get();
+  }
+
+  protected void cleanUpJobLogs() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext
+          .getHistoricJobLogManager()
+          .deleteHistoricJobLogsByHandlerType(HistoryCleanupJobHandler.TYPE);
+        return null;
+      }
+    });
+  }
+
+}
@@ -27,8 +27,13 @@ import java.util.Map;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceDeletionJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.HistoricProcessInstanceQueryDeletionJobHandler;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
@@ -473,4 +478,192 @@ public class HistoryServiceTest extends PluggableProcessEngineTestCase {
 
     assertEquals(1, historyService.createHistoricProcessInstanceQuery().variableValueEquals("var", Variables.numberValue(null)).count());
   }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstances() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+    String remainingProcessInstanceId = processInstanceIds.remove(2);
+
+    historyService.deleteHistoricProcessInstances(processInstanceIds);
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(remainingProcessInstanceId, historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+    for (String processInstanceId : processInstanceIds) {
+      assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstanceId).count());
+    }
+
+    historyService.deleteHistoricProcessInstance(remainingProcessInstanceId);
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesInSeveralBatches() {
+    int batchSize = processEngineConfiguration.getHistoricProcessInstanceDeletionBatchSize();
+    processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(2);
+
+    try {
+      startAndCompleteProcessInstances(5);
+
+      historyService.deleteHistoricProcessInstances(historyService.createHistoricProcessInstanceQuery().finished());
+
+      assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    }
+    finally {
+      processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(batchSize);
+    }
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesFailsForInvalidBatchSize() {
+    String processInstanceId = startAndCompleteProcessInstances(1).get(0);
+
+    int batchSize = processEngineConfiguration.getHistoricProcessInstanceDeletionBatchSize();
+    processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(0);
+
+    try {
+      historyService.deleteHistoricProcessInstances(Arrays.asList(processInstanceId));
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("historicProcessInstanceDeletionBatchSize is not positive", e.getMessage());
+    }
+    finally {
+      processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(batchSize);
+    }
+
+    historyService.deleteHistoricProcessInstance(processInstanceId);
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesFailsForRunningInstance() {
+    String finishedProcessInstanceId = startAndCompleteProcessInstances(1).get(0);
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    try {
+      historyService.deleteHistoricProcessInstances(Arrays.asList(finishedProcessInstanceId, runningProcessInstanceId));
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Process instance is still running", e.getMessage());
+    }
+
+    // nothing is deleted
+    assertEquals(2, historyService.createHistoricProcessInstanceQuery().count());
+
+    historyService.deleteHistoricProcessInstance(finishedProcessInstanceId);
+  }
+
+  public void testDeleteHistoricProcessInstancesFailsForUnknownInstance() {
+    try {
+      historyService.deleteHistoricProcessInstances(Arrays.asList("unknown"));
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("No historic process instance found with id: unknown", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesAsync() {
+    List<String> processInstanceIds = startAndCompleteProcessInstances(3);
+
+    historyService.deleteHistoricProcessInstancesAsync(processInstanceIds);
+
+    // the instances are deleted by a job
+    assertEquals(3, historyService.createHistoricProcessInstanceQuery().count());
+    Job job = managementService.createJobQuery().singleResult();
+    assertNotNull(job);
+
+    managementService.executeJob(job.getId());
+
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext
+          .getHistoricJobLogManager()
+          .deleteHistoricJobLogsByHandlerType(HistoricProcessInstanceDeletionJobHandler.TYPE);
+        return null;
+      }
+    });
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesAsyncByQueryInSeveralChunks() {
+    int batchSize = processEngineConfiguration.getHistoricProcessInstanceDeletionBatchSize();
+    processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(2);
+
+    try {
+      startAndCompleteProcessInstances(5);
+      String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+      historyService.deleteHistoricProcessInstancesAsync(historyService.createHistoricProcessInstanceQuery()
+          .finished()
+          .variableValueLike("stringVar", "value%")
+          .orderByProcessInstanceStartTime().desc());
+
+      // one job is scheduled which deletes the first chunk and schedules the job of the next one
+      assertEquals(6, historyService.createHistoricProcessInstanceQuery().count());
+      for (int chunk = 0; chunk < 3; chunk++) {
+        Job job = managementService.createJobQuery().singleResult();
+        assertNotNull(job);
+        managementService.executeJob(job.getId());
+        assertEquals(Math.max(1, 4 - 2 * chunk), historyService.createHistoricProcessInstanceQuery().count());
+      }
+
+      // the last chunk is not full
+      assertEquals(0, managementService.createJobQuery().count());
+      assertEquals(runningProcessInstanceId, historyService.createHistoricProcessInstanceQuery().singleResult().getId());
+
+      runtimeService.deleteProcessInstance(runningProcessInstanceId, null);
+      historyService.deleteHistoricProcessInstance(runningProcessInstanceId);
+    }
+    finally {
+      processEngineConfiguration.setHistoricProcessInstanceDeletionBatchSize(batchSize);
+
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext
+            .getHistoricJobLogManager()
+            .deleteHistoricJobLogsByHandlerType(HistoricProcessInstanceQueryDeletionJobHandler.TYPE);
+          return null;
+        }
+      });
+    }
+  }
+
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesAsyncByQueryFailsForRunningInstance() {
+    String finishedProcessInstanceId = startAndCompleteProcessInstances(1).get(0);
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    try {
+      historyService.deleteHistoricProcessInstancesAsync(historyService.createHistoricProcessInstanceQuery());
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Process instance is still running", e.getMessage());
+    }
+
+    assertEquals(0, managementService.createJobQuery().count());
+
+    runtimeService.deleteProcessInstance(runningProcessInstanceId, null);
+    historyService.deleteHistoricProcessInstance(runningProcessInstanceId);
+    historyService.deleteHistoricProcessInstance(finishedProcessInstanceId);
+  }
+
+  protected List<String> startAndCompleteProcessInstances(int count) {
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("stringVar", "value" + i);
+      variables.put("bytesVar", ("value" + i).getBytes());
+      String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+      Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+      taskService.setVariableLocal(task.getId(), "taskVar", i);
+      taskService.complete(task.getId());
+
+      processInstanceIds.add(processInstanceId);
+    }
+    return processInstanceIds;
+  }
 }
@@ -0,0 +1,155 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.identity;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.IdentityServiceImpl;
+import org.camunda.bpm.engine.impl.identity.AuthenticationCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+public class AuthenticationCacheTest extends PluggableProcessEngineTestCase {
+
+  protected static final long TIME_TO_LIVE = 60000;
+
+  protected AuthenticationCache authenticationCache;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    authenticationCache = new AuthenticationCache(TIME_TO_LIVE, null);
+    ((IdentityServiceImpl) identityService).setAuthenticationCache(authenticationCache);
+
+    User user = identityService.newUser("kermit");
+    user.setPassword("secret");
+    identityService.saveUser(user);
+  }
+
+  protected void tearDown() throws Exception {
+    ((IdentityServiceImpl) identityService).setAuthenticationCache(null);
+    ClockUtil.reset();
+
+    for (User user : identityService.createUserQuery().list()) {
+      identityService.deleteUser(user.getId());
+    }
+    for (Group group : identityService.createGroupQuery().list()) {
+      identityService.deleteGroup(group.getId());
+    }
+    super.tearDown();
+  }
+
+  public void testCachesSuccessfulPasswordCheck() {
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "secret"));
+
+    assertTrue(identityService.checkPassword("kermit", "secret"));
+
+    assertTrue(authenticationCache.isPasswordVerified("kermit", "secret"));
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "wrong"));
+    assertFalse(authenticationCache.isPasswordVerified("fozzie", "secret"));
+  }
+
+  public void testDoesNotCacheFailedPasswordCheck() {
+    assertFalse(identityService.checkPassword("kermit", "wrong"));
+
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "wrong"));
+    assertFalse(identityService.checkPassword("kermit", "wrong"));
+  }
+
+  public void testChangedPasswordInvalidatesCache() {
+    assertTrue(identityService.checkPassword("kermit", "secret"));
+
+    User user = identityService.createUserQuery().userId("kermit").singleResult();
+    user.setPassword("changed");
+    identityService.saveUser(user);
+
+    assertFalse(identityService.checkPassword("kermit", "secret"));
+    assertTrue(identityService.checkPassword("kermit", "changed"));
+  }
+
+  public void testDeletedUserInvalidatesCache() {
+    assertTrue(identityService.checkPassword("kermit", "secret"));
+
+    identityService.deleteUser("kermit");
+
+    assertFalse(identityService.checkPassword("kermit", "secret"));
+  }
+
+  public void testEntriesExpire() {
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    assertTrue(identityService.checkPassword("kermit", "secret"));
+    authenticationCache.putGroupIds("kermit", Arrays.asList("muppets"), authenticationCache.getGeneration());
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + TIME_TO_LIVE - 1));
+    assertTrue(authenticationCache.isPasswordVerified("kermit", "secret"));
+    assertNotNull(authenticationCache.getGroupIds("kermit"));
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + TIME_TO_LIVE));
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "secret"));
+    assertNull(authenticationCache.getGroupIds("kermit"));
+  }
+
+  public void testMembershipChangesInvalidateGroupIds() {
+    Group group = identityService.newGroup("muppets");
+    identityService.saveGroup(group);
+
+    authenticationCache.putGroupIds("kermit", Arrays.<String>asList(), authenticationCache.getGeneration());
+    identityService.createMembership("kermit", "muppets");
+    assertNull(authenticationCache.getGroupIds("kermit"));
+
+    authenticationCache.putGroupIds("kermit", Arrays.asList("muppets"), authenticationCache.getGeneration());
+    identityService.deleteMembership("kermit", "muppets");
+    assertNull(authenticationCache.getGroupIds("kermit"));
+
+    authenticationCache.putGroupIds("kermit", Arrays.asList("muppets"), authenticationCache.getGeneration());
+    identityService.deleteGroup("muppets");
+    assertNull(authenticationCache.getGroupIds("kermit"));
+  }
+
+  public void testInvalidatesCacheWhenOuterTransactionCommits() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        User user = identityService.createUserQuery().userId("kermit").singleResult();
+        user.setPassword("changed");
+        identityService.saveUser(user);
+
+        // a concurrent check still sees the old password until the change is committed
+        authenticationCache.putVerifiedPassword("kermit", "secret", authenticationCache.getGeneration());
+        assertTrue(authenticationCache.isPasswordVerified("kermit", "secret"));
+        return null;
+      }
+    });
+
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "secret"));
+    assertFalse(identityService.checkPassword("kermit", "secret"));
+    assertTrue(identityService.checkPassword("kermit", "changed"));
+  }
+
+  public void testIgnoresValuesLoadedBeforeInvalidation() {
+    long generation = authenticationCache.getGeneration();
+
+    authenticationCache.invalidate("kermit");
+
+    authenticationCache.putGroupIds("kermit", Arrays.asList("muppets"), generation);
+    authenticationCache.putVerifiedPassword("kermit", "secret", generation);
+
+    assertNull(authenticationCache.getGroupIds("kermit"));
+    assertFalse(authenticationCache.isPasswordVerified("kermit", "secret"));
+  }
+
+}
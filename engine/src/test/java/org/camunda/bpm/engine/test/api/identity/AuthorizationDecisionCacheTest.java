@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.identity;
+
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+public class AuthorizationDecisionCacheTest extends PluggableProcessEngineTestCase {
+
+  protected static final long TIME_TO_LIVE = 60000;
+
+  protected AuthorizationDecisionCache decisionCache;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    decisionCache = new AuthorizationDecisionCache(TIME_TO_LIVE);
+    processEngineConfiguration.setAuthorizationDecisionCache(decisionCache);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setAuthorizationDecisionCache(null);
+    ClockUtil.reset();
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+    super.tearDown();
+  }
+
+  public void testSavedAuthorizationInvalidatesCache() {
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId("jonny");
+    authorization.setResource(PROCESS_INSTANCE);
+    authorization.setResourceId("someId");
+    authorization.addPermission(READ);
+    authorizationService.saveAuthorization(authorization);
+
+    assertTrue(authorizationService.isUserAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, UPDATE, PROCESS_INSTANCE, "someId"));
+
+    authorization.addPermission(UPDATE);
+    authorizationService.saveAuthorization(authorization);
+
+    assertTrue(authorizationService.isUserAuthorized("jonny", null, UPDATE, PROCESS_INSTANCE, "someId"));
+  }
+
+  public void testDeletedAuthorizationInvalidatesCache() {
+    Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    authorization.setUserId("jonny");
+    authorization.setResource(PROCESS_INSTANCE);
+    authorization.setResourceId("someId");
+    authorization.addPermission(READ);
+    authorizationService.saveAuthorization(authorization);
+
+    assertTrue(authorizationService.isUserAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+  }
+
+  public void testChangeWithinCommandInvalidatesDecisions() {
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+
+    boolean authorizedAfterChange = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        // grant the authorization without invalidating the cached decision
+        processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            commandContext.getDbEntityManager().insert(createGrant("jonny", "someId"));
+            return null;
+          }
+        });
+
+        AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+        assertFalse(authorizationManager.isAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId"));
+
+        // a change of this command clears its decisions and bypasses the cache
+        authorizationManager.insert(createGrant("jonny", "someOtherId"));
+
+        return authorizationManager.isAuthorized("jonny", null, READ, PROCESS_INSTANCE, "someId");
+      }
+    });
+
+    assertTrue(authorizedAfterChange);
+  }
+
+  public void testDecisionsExpire() {
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    decisionCache.putDecision("key", true, decisionCache.getGeneration());
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + TIME_TO_LIVE - 1));
+    assertEquals(Boolean.TRUE, decisionCache.getDecision("key"));
+
+    ClockUtil.setCurrentTime(new Date(now.getTime() + TIME_TO_LIVE));
+    assertNull(decisionCache.getDecision("key"));
+  }
+
+  public void testIgnoresDecisionsLoadedBeforeInvalidation() {
+    long generation = decisionCache.getGeneration();
+
+    decisionCache.invalidateAll();
+    decisionCache.putDecision("key", true, generation);
+
+    assertNull(decisionCache.getDecision("key"));
+  }
+
+  protected AuthorizationEntity createGrant(String userId, String resourceId) {
+    AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_GRANT);
+    authorization.setUserId(userId);
+    authorization.setResource(PROCESS_INSTANCE);
+    authorization.setResourceId(resourceId);
+    authorization.addPermission(READ);
+    return authorization;
+  }
+
+}
@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cmd.SetJobDefinitionPriorityCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class JobPriorityTest extends PluggableProcessEngineTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/mgmt/JobPriorityTest.testBase.bpmn20.xml";
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setJobExecutorAcquireByPriority(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testDeclaredPriority() {
+    runtimeService.startProcessInstanceByKey("highPriorityProcess");
+    runtimeService.startProcessInstanceByKey("defaultPriorityProcess");
+
+    Job highPriorityJob = managementService.createJobQuery().processDefinitionKey("highPriorityProcess").singleResult();
+    Job defaultPriorityJob = managementService.createJobQuery().processDefinitionKey("defaultPriorityProcess").singleResult();
+
+    assertEquals(10, highPriorityJob.getPriority());
+    assertEquals(JobEntity.DEFAULT_PRIORITY, defaultPriorityJob.getPriority());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testOverridingPriority() {
+    JobDefinition jobDefinition = managementService.createJobDefinitionQuery().processDefinitionKey("highPriorityProcess").singleResult();
+    assertNull(jobDefinition.getOverridingJobPriority());
+
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinition.getId(), 42);
+
+    jobDefinition = managementService.createJobDefinitionQuery().jobDefinitionId(jobDefinition.getId()).singleResult();
+    assertEquals(Long.valueOf(42), jobDefinition.getOverridingJobPriority());
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("highPriorityProcess").getId();
+    Job job = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals(42, job.getPriority());
+
+    managementService.clearOverridingJobPriorityForJobDefinition(jobDefinition.getId());
+
+    processInstanceId = runtimeService.startProcessInstanceByKey("highPriorityProcess").getId();
+    job = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals(10, job.getPriority());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testOverridingPriorityCascadesToExistingJobs() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("highPriorityProcess").getId();
+    JobDefinition jobDefinition = managementService.createJobDefinitionQuery().processDefinitionKey("highPriorityProcess").singleResult();
+
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinition.getId(), 42);
+    Job job = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals(10, job.getPriority());
+
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinition.getId(), 43, true);
+    job = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult();
+    assertEquals(43, job.getPriority());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testOverridingPriorityCascadesToCachedJobs() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("highPriorityProcess").getId();
+    final String jobId = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult().getId();
+    final String jobDefinitionId = managementService.createJobDefinitionQuery().processDefinitionKey("highPriorityProcess").singleResult().getId();
+
+    long cachedPriority = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Long>() {
+      public Long execute(CommandContext commandContext) {
+        JobEntity job = commandContext.getJobManager().findJobById(jobId);
+        // the job is flushed with its own update before the bulk update
+        job.setRetries(5);
+
+        new SetJobDefinitionPriorityCmd(jobDefinitionId, 44L, true).execute(commandContext);
+        return job.getPriority();
+      }
+    });
+
+    assertEquals(44, cachedPriority);
+
+    Job job = managementService.createJobQuery().jobId(jobId).singleResult();
+    assertEquals(44, job.getPriority());
+    assertEquals(5, job.getRetries());
+  }
+
+  public void testOverridingPriorityForNonExistingJobDefinition() {
+    try {
+      managementService.setOverridingJobPriorityForJobDefinition("nonExisting", 42);
+      fail("A ProcessEngineException was expected.");
+    } catch (ProcessEngineException e) {
+    }
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testAcquisitionByPriority() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("defaultPriorityProcess");
+    }
+    runtimeService.startProcessInstanceByKey("highPriorityProcess");
+
+    processEngineConfiguration.setJobExecutorAcquireByPriority(true);
+
+    List<JobEntity> acquirableJobs = findNextJobsToExecute(1);
+    assertEquals(1, acquirableJobs.size());
+    assertEquals(10, acquirableJobs.get(0).getPriority());
+
+    List<Job> jobsByPriority = managementService.createJobQuery().orderByJobPriority().desc().list();
+    assertEquals(4, jobsByPriority.size());
+    assertEquals(10, jobsByPriority.get(0).getPriority());
+  }
+
+  protected List<JobEntity> findNextJobsToExecute(final int maxJobs) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<JobEntity>>() {
+      public List<JobEntity> execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findNextJobsToExecute(new Page(0, maxJobs));
+      }
+    });
+  }
+
+}
@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.SuspendedEntityInteractionException;
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.CommandStatistics;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class LatestProcessDefinitionCacheTest extends PluggableProcessEngineTestCase {
+
+  protected List<String> deploymentIds = new ArrayList<String>();
+
+  protected void tearDown() throws Exception {
+    for (String deploymentId : deploymentIds) {
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+    super.tearDown();
+  }
+
+  public void testCachedLookupDoesNotQueryLatestVersion() {
+    deployProcess();
+
+    FindLatestProcessDefinitionCmd firstLookup = new FindLatestProcessDefinitionCmd();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(firstLookup);
+
+    FindLatestProcessDefinitionCmd secondLookup = new FindLatestProcessDefinitionCmd();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(secondLookup);
+
+    assertEquals(firstLookup.processDefinitionId, secondLookup.processDefinitionId);
+    // only the deployment sequence is selected
+    assertEquals(1, secondLookup.sqlStatements);
+    assertTrue(secondLookup.sqlStatements < firstLookup.sqlStatements);
+  }
+
+  public void testIncrementedDeploymentSequenceInvalidatesCache() {
+    deployProcess();
+
+    FindLatestProcessDefinitionCmd lookup = new FindLatestProcessDefinitionCmd();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(lookup);
+
+    // another node changes the deployed process definitions
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getPropertyManager().incrementDeploymentSequence();
+        return null;
+      }
+    });
+
+    FindLatestProcessDefinitionCmd lookupAfterChange = new FindLatestProcessDefinitionCmd();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(lookupAfterChange);
+
+    assertEquals(lookup.processDefinitionId, lookupAfterChange.processDefinitionId);
+    assertEquals(lookup.sqlStatements, lookupAfterChange.sqlStatements);
+  }
+
+  public void testNewVersionIsStarted() {
+    deployProcess();
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    deployProcess();
+    ProcessDefinition latestVersion = repositoryService.createProcessDefinitionQuery()
+      .processDefinitionKey("testProcess")
+      .latestVersion()
+      .singleResult();
+
+    String processDefinitionId = runtimeService.startProcessInstanceByKey("testProcess").getProcessDefinitionId();
+    assertEquals(latestVersion.getId(), processDefinitionId);
+  }
+
+  public void testSuspendedLatestVersionIsNotStarted() {
+    deployProcess();
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    repositoryService.suspendProcessDefinitionByKey("testProcess");
+
+    try {
+      runtimeService.startProcessInstanceByKey("testProcess");
+      fail("exception expected");
+    } catch (SuspendedEntityInteractionException e) {
+      // expected
+    }
+
+    // clean up
+    List<UserOperationLogEntry> uoles = historyService.createUserOperationLogQuery().list();
+    for (UserOperationLogEntry uole : uoles) {
+      historyService.deleteUserOperationLogEntry(uole.getId());
+    }
+  }
+
+  public void testPreviousVersionIsStartedAfterLatestDeploymentIsDeleted() {
+    deployProcess();
+    ProcessDefinition firstVersion = repositoryService.createProcessDefinitionQuery()
+      .processDefinitionKey("testProcess")
+      .singleResult();
+
+    String secondDeploymentId = deployProcess();
+    runtimeService.startProcessInstanceByKey("testProcess");
+
+    repositoryService.deleteDeployment(secondDeploymentId, true);
+    deploymentIds.remove(secondDeploymentId);
+
+    String processDefinitionId = runtimeService.startProcessInstanceByKey("testProcess").getProcessDefinitionId();
+    assertEquals(firstVersion.getId(), processDefinitionId);
+  }
+
+  protected String deployProcess() {
+    BpmnModelInstance process = Bpmn.createExecutableProcess("testProcess")
+      .startEvent()
+      .userTask()
+      .endEvent()
+    .done();
+
+    String deploymentId = repositoryService.createDeployment()
+      .addModelInstance("testProcess.bpmn", process)
+      .deploy()
+      .getId();
+    deploymentIds.add(deploymentId);
+
+    return deploymentId;
+  }
+
+  protected static class FindLatestProcessDefinitionCmd implements Command<Void> {
+
+    protected String processDefinitionId;
+    protected long sqlStatements;
+
+    public Void execute(CommandContext commandContext) {
+      CommandStatistics statistics = new CommandStatistics();
+      Context.setCommandStatistics(statistics);
+      try {
+        processDefinitionId = Context.getProcessEngineConfiguration()
+          .getDeploymentCache()
+          .findDeployedLatestProcessDefinitionByKey("testProcess")
+          .getId();
+        sqlStatements = statistics.getSqlStatements();
+      }
+      finally {
+        Context.removeCommandStatistics();
+      }
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,237 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageBatchCmd;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class MessageCorrelationBatchTest extends PluggableProcessEngineTestCase {
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml")
+  public void testCorrelateBatchOnBusinessKey() {
+    ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("process", "key1");
+    ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("process", "key2");
+    runtimeService.startProcessInstanceByKey("process", "key3");
+
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("newInvoiceMessage")
+        .processInstanceBusinessKey("key1")
+        .setVariable("aVariable", "aValue")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key2")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("unknownKey")
+      .correlateBatch();
+
+    assertEquals(3, results.size());
+
+    Execution execution1 = runtimeService.createExecutionQuery().processInstanceId(processInstance1.getId()).activityId("task").singleResult();
+    assertNotNull(execution1);
+    assertTrue(results.get(0).isCorrelated());
+    assertEquals("key1", results.get(0).getBusinessKey());
+    assertEquals(processInstance1.getId(), results.get(0).getProcessInstanceId());
+    assertNotNull(results.get(0).getExecutionId());
+    assertEquals("aValue", runtimeService.getVariable(processInstance1.getId(), "aVariable"));
+
+    assertTrue(results.get(1).isCorrelated());
+    assertEquals(processInstance2.getId(), results.get(1).getProcessInstanceId());
+
+    assertFalse(results.get(2).isCorrelated());
+    assertEquals("unknownKey", results.get(2).getBusinessKey());
+    assertNull(results.get(2).getProcessInstanceId());
+    assertTrue(results.get(2).getException() instanceof MismatchingMessageCorrelationException);
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, runtimeService.createExecutionQuery().messageEventSubscriptionName("newInvoiceMessage").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml")
+  public void testCorrelateBatchOnProcessInstanceIdAndCorrelationKeys() {
+    ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "aValue"));
+    ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "anotherValue"));
+
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("newInvoiceMessage")
+        .processInstanceId(processInstance1.getId())
+      .nextMessage("newInvoiceMessage")
+        .processInstanceVariableEquals("aKey", "anotherValue")
+      .correlateBatch();
+
+    assertTrue(results.get(0).isCorrelated());
+    assertEquals(processInstance1.getId(), results.get(0).getProcessInstanceId());
+    assertTrue(results.get(1).isCorrelated());
+    assertEquals(processInstance2.getId(), results.get(1).getProcessInstanceId());
+
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testMessageStartEventCorrelation.bpmn20.xml")
+  public void testCorrelateBatchStartsProcessInstances() {
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("newInvoiceMessage")
+        .processInstanceBusinessKey("key1")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key2")
+      .correlateBatch();
+
+    for (MessageCorrelationBatchResult result : results) {
+      assertTrue(result.isCorrelated());
+      assertNull(result.getExecutionId());
+
+      ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
+          .processInstanceId(result.getProcessInstanceId())
+          .singleResult();
+      assertEquals(result.getBusinessKey(), processInstance.getBusinessKey());
+    }
+
+    assertEquals(2, runtimeService.createProcessInstanceQuery().processDefinitionKey("messageStartEvent").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationBatchTest.twoMessages.bpmn20.xml")
+  public void testMessagesOfTheSameProcessInstanceAreCorrelatedInOrder() {
+    ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("twoMessages", "key1");
+    ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("twoMessages", "key2");
+
+    // the second message can only be correlated after the first one
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("firstMessage")
+        .processInstanceBusinessKey("key1")
+      .nextMessage("secondMessage")
+        .processInstanceBusinessKey("key1")
+      .nextMessage("firstMessage")
+        .processInstanceId(processInstance2.getId())
+      .nextMessage("secondMessage")
+        .processInstanceId(processInstance2.getId())
+      .correlateBatch();
+
+    for (MessageCorrelationBatchResult result : results) {
+      assertTrue(result.isCorrelated());
+    }
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance1.getId()).count());
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance2.getId()).count());
+  }
+
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml",
+      "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationBatchTest.failingProcess.bpmn20.xml"})
+  public void testFailingMessageDoesNotPreventOtherMessages() {
+    runtimeService.startProcessInstanceByKey("process", "key1");
+    ProcessInstance failingProcessInstance = runtimeService.startProcessInstanceByKey("failingProcess", "failingKey");
+    runtimeService.startProcessInstanceByKey("process", "key2");
+
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("newInvoiceMessage")
+        .processInstanceBusinessKey("key1")
+      .nextMessage("failingMessage")
+        .processInstanceBusinessKey("failingKey")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key2")
+      .correlateBatch();
+
+    assertTrue(results.get(0).isCorrelated());
+    assertFalse(results.get(1).isCorrelated());
+    assertNotNull(results.get(1).getException());
+    assertTrue(results.get(2).isCorrelated());
+
+    // the failing process instance still waits for the message
+    assertEquals(1, runtimeService.createExecutionQuery()
+        .processInstanceId(failingProcessInstance.getId())
+        .messageEventSubscriptionName("failingMessage")
+        .count());
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml")
+  public void testCorrelateBatchInChunks() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process", "key" + i);
+    }
+
+    List<MessageCorrelationBatchResult> results = runtimeService
+      .createMessageCorrelation("newInvoiceMessage")
+        .processInstanceBusinessKey("key0")
+        .batchChunkSize(2)
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key1")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key2")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key3")
+      .nextMessage("newInvoiceMessage")
+        .processInstanceBusinessKey("key4")
+      .correlateBatch();
+
+    assertEquals(5, results.size());
+    for (int i = 0; i < 5; i++) {
+      assertTrue(results.get(i).isCorrelated());
+      assertEquals("key" + i, results.get(i).getBusinessKey());
+    }
+    assertEquals(5, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelateBatchOnCorrelationKeysInOneTransaction() {
+    List<String> processInstanceIds = new ArrayList<String>();
+    List<MessageCorrelationBuilderImpl> messages = new ArrayList<MessageCorrelationBuilderImpl>();
+    for (int i = 0; i < 3; i++) {
+      processInstanceIds.add(runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+          Variables.createVariables().putValue("orderId", "order" + i)).getId());
+      messages.add((MessageCorrelationBuilderImpl) runtimeService
+          .createMessageCorrelation("orderMessage")
+          .processInstanceVariableEquals("orderId", "order" + i));
+    }
+
+    // refers to the process instance of the first message
+    messages.add((MessageCorrelationBuilderImpl) runtimeService
+        .createMessageCorrelation("orderMessage")
+        .processInstanceVariableEquals("orderId", "order0"));
+
+    List<MessageCorrelationBatchResultImpl> results = processEngineConfiguration
+      .getCommandExecutorTxRequired()
+      .execute(new CorrelateMessageBatchCmd(messages));
+
+    // the independent messages are correlated together, the last one is left for a later transaction
+    for (int i = 0; i < 3; i++) {
+      assertTrue(results.get(i).isCorrelated());
+      assertEquals(processInstanceIds.get(i), results.get(i).getProcessInstanceId());
+    }
+    assertNull(results.get(3));
+
+    assertEquals(3, taskService.createTaskQuery().count());
+  }
+
+  public void testInvalidBatchChunkSize() {
+    try {
+      runtimeService.createMessageCorrelation("newInvoiceMessage").batchChunkSize(0);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+}
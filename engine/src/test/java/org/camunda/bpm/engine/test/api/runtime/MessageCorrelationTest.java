@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.test.api.runtime;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +21,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -963,4 +965,139 @@ public class MessageCorrelationTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyIsStoredWithSubscription() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order1"));
+    runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order2"));
+
+    MessageEventSubscriptionEntity subscription = (MessageEventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertEquals("orderId", subscription.getCorrelationKeyName());
+    assertEquals("order1", subscription.getCorrelationKeyValue());
+
+    runtimeService.createMessageCorrelation("orderMessage")
+      .processInstanceVariableEquals("orderId", "order1")
+      .correlate();
+
+    Task task = taskService.createTaskQuery().singleResult();
+    assertEquals(processInstance.getId(), task.getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyValueFollowsVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order1"));
+
+    runtimeService.setVariable(processInstance.getId(), "orderId", "order2");
+
+    MessageEventSubscriptionEntity subscription = (MessageEventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertEquals("order2", subscription.getCorrelationKeyValue());
+
+    try {
+      runtimeService.createMessageCorrelation("orderMessage")
+        .processInstanceVariableEquals("orderId", "order1")
+        .correlate();
+      fail("exception expected");
+    } catch (MismatchingMessageCorrelationException e) {
+      // expected
+    }
+
+    runtimeService.createMessageCorrelation("orderMessage")
+      .processInstanceVariableEquals("orderId", "order2")
+      .correlate();
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyIsRemovedWithVariable() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order1"));
+
+    runtimeService.setVariable(processInstance.getId(), "orderId", 1);
+
+    MessageEventSubscriptionEntity subscription = (MessageEventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertNull(subscription.getCorrelationKeyName());
+    assertNull(subscription.getCorrelationKeyValue());
+
+    runtimeService.createMessageCorrelation("orderMessage")
+      .processInstanceVariableEquals("orderId", 1)
+      .correlate();
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyDoesNotExcludeOtherVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("orderId", "order1");
+    variables.put("customerId", "customer1");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("correlationKeyProcess", variables);
+
+    runtimeService.createMessageCorrelation("orderMessage")
+      .processInstanceVariableEquals("customerId", "customer1")
+      .correlate();
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyWithAdditionalCriteria() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("orderId", "order1");
+    variables.put("customerId", "customer1");
+    runtimeService.startProcessInstanceByKey("correlationKeyProcess", "businessKey1", variables);
+
+    variables.put("customerId", "customer2");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("correlationKeyProcess", "businessKey2", variables);
+
+    runtimeService.createMessageCorrelation("orderMessage")
+      .processInstanceVariableEquals("orderId", "order1")
+      .processInstanceVariableEquals("customerId", "customer2")
+      .correlate();
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+
+    try {
+      runtimeService.createMessageCorrelation("orderMessage")
+        .processInstanceBusinessKey("businessKey2")
+        .processInstanceVariableEquals("orderId", "order1")
+        .correlate();
+      fail("exception expected");
+    } catch (MismatchingMessageCorrelationException e) {
+      // expected
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationKey.bpmn20.xml")
+  public void testCorrelationKeyAndProcessVariables() {
+    ProcessInstance withCorrelationKey = runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order1"));
+    ProcessInstance withoutCorrelationKey = runtimeService.startProcessInstanceByKey("noCorrelationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", "order2"));
+    // a value which is not a string is not stored with the subscription
+    ProcessInstance withNumericValue = runtimeService.startProcessInstanceByKey("correlationKeyProcess",
+        Collections.<String, Object>singletonMap("orderId", 3));
+
+    MessageEventSubscriptionEntity subscription = (MessageEventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(withNumericValue.getId())
+        .singleResult();
+    assertNull(subscription.getCorrelationKeyName());
+
+    runtimeService.createMessageCorrelation("orderMessage").processInstanceVariableEquals("orderId", "order1").correlate();
+    runtimeService.createMessageCorrelation("orderMessage").processInstanceVariableEquals("orderId", "order2").correlate();
+    runtimeService.createMessageCorrelation("orderMessage").processInstanceVariableEquals("orderId", 3).correlate();
+
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(withCorrelationKey.getId()).count());
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(withoutCorrelationKey.getId()).count());
+    assertEquals(1, taskService.createTaskQuery().processInstanceId(withNumericValue.getId()).count());
+  }
+
 }
@@ -13,14 +13,22 @@
 
 package org.camunda.bpm.engine.test.bpmn.event.signal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
+import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
@@ -326,4 +334,175 @@ public class SignalEventTest extends PluggableProcessEngineTestCase {
     assertEquals(1, executionQuery.count());
   }
 
+  @Deployment
+  public void testSignalEventReceivedAsync() {
+    int signalBroadcastChunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(2);
+
+    try {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("catchSignal");
+      }
+
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("signalVariable", "aValue");
+      runtimeService.signalEventReceivedAsync("alert", variables);
+
+      // the signal is not delivered yet
+      assertEquals(5, createEventSubscriptionQuery().count());
+      assertEquals(0, taskService.createTaskQuery().count());
+
+      // an execution which waits on the signal after the broadcast does not receive it
+      ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 1000));
+      ProcessInstance lateProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+
+      // for each chunk, one job reads the chunk and one job delivers the signal to it
+      int executedJobs = 0;
+      List<Job> jobs = managementService.createJobQuery().list();
+      while (!jobs.isEmpty()) {
+        for (Job job : jobs) {
+          managementService.executeJob(job.getId());
+          executedJobs++;
+        }
+        jobs = managementService.createJobQuery().list();
+      }
+      assertEquals(6, executedJobs);
+
+      List<Task> tasks = taskService.createTaskQuery().list();
+      assertEquals(5, tasks.size());
+      for (Task task : tasks) {
+        assertEquals("aValue", runtimeService.getVariable(task.getProcessInstanceId(), "signalVariable"));
+      }
+
+      assertEquals(1, createEventSubscriptionQuery().count());
+      assertEquals(lateProcessInstance.getId(), createEventSubscriptionQuery().singleResult().getProcessInstanceId());
+
+    } finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(signalBroadcastChunkSize);
+      ClockUtil.reset();
+      cleanUpJobLogs();
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTest.testSignalEventReceivedAsync.bpmn20.xml")
+  public void testSignalEventReceivedAsyncComparesCreationTimesInSeconds() {
+    // some databases store the creation time of a subscription in full seconds
+    long second = (System.currentTimeMillis() / 1000) * 1000;
+
+    try {
+      ClockUtil.setCurrentTime(new Date(second + 100));
+      ProcessInstance earlyProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+
+      ClockUtil.setCurrentTime(new Date(second + 300));
+      runtimeService.signalEventReceivedAsync("alert");
+
+      ClockUtil.setCurrentTime(new Date(second + 900));
+      ProcessInstance sameSecondProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+
+      ClockUtil.setCurrentTime(new Date(second + 1100));
+      ProcessInstance lateProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+
+      executeAvailableJobs();
+
+      assertEquals(1, taskService.createTaskQuery().processInstanceId(earlyProcessInstance.getId()).count());
+      assertEquals(1, taskService.createTaskQuery().processInstanceId(sameSecondProcessInstance.getId()).count());
+      assertEquals(0, taskService.createTaskQuery().processInstanceId(lateProcessInstance.getId()).count());
+
+    } finally {
+      ClockUtil.reset();
+      cleanUpJobLogs();
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTest.testSignalEventReceivedAsync.bpmn20.xml")
+  public void testSignalEventReceivedAsyncSkipsSuspendedExecutions() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+    ProcessInstance suspendedProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal");
+    runtimeService.suspendProcessInstanceById(suspendedProcessInstance.getId());
+
+    try {
+      runtimeService.signalEventReceivedAsync("alert");
+      executeAvailableJobs();
+
+      assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+      assertEquals(0, taskService.createTaskQuery().processInstanceId(suspendedProcessInstance.getId()).count());
+      assertEquals(0, managementService.createJobQuery().count());
+
+    } finally {
+      cleanUpJobLogs();
+    }
+  }
+
+  @Deployment
+  public void testSignalEventReceivedAsyncContinuesAfterFailedChunk() {
+    int signalBroadcastChunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(1);
+
+    try {
+      runtimeService.startProcessInstanceByKey("catchSignal", Collections.<String, Object>singletonMap("fail", false));
+      ProcessInstance failingProcessInstance = runtimeService.startProcessInstanceByKey("catchSignal",
+          Collections.<String, Object>singletonMap("fail", true));
+      runtimeService.startProcessInstanceByKey("catchSignal", Collections.<String, Object>singletonMap("fail", false));
+
+      runtimeService.signalEventReceivedAsync("alert");
+
+      // execute the jobs until only the job of the failing chunk is left
+      List<String> failedJobIds = new ArrayList<String>();
+      List<Job> jobs = managementService.createJobQuery().list();
+      while (jobs.size() > failedJobIds.size()) {
+        for (Job job : jobs) {
+          if (!failedJobIds.contains(job.getId())) {
+            try {
+              managementService.executeJob(job.getId());
+            } catch (ProcessEngineException e) {
+              failedJobIds.add(job.getId());
+            }
+          }
+        }
+        jobs = managementService.createJobQuery().list();
+      }
+
+      // the signal is delivered to the other executions
+      assertEquals(1, failedJobIds.size());
+      assertEquals(2, taskService.createTaskQuery().count());
+      assertEquals(0, taskService.createTaskQuery().processInstanceId(failingProcessInstance.getId()).count());
+
+      // the failed chunk is delivered when its job is retried
+      runtimeService.setVariable(failingProcessInstance.getId(), "fail", false);
+      managementService.executeJob(failedJobIds.get(0));
+
+      assertEquals(3, taskService.createTaskQuery().count());
+      assertEquals(0, managementService.createJobQuery().count());
+
+    } finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(signalBroadcastChunkSize);
+      cleanUpJobLogs();
+    }
+  }
+
+  public void testSignalEventReceivedAsyncWithNonSerializableVariable() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("variable", new Object());
+
+    try {
+      runtimeService.signalEventReceivedAsync("alert", variables);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("not serializable", e.getMessage());
+    }
+
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+  protected void cleanUpJobLogs() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext
+          .getHistoricJobLogManager()
+          .deleteHistoricJobLogsByHandlerType(SignalBroadcastJobHandler.TYPE);
+        return null;
+      }
+    });
+  }
+
 }
@@ -19,7 +19,9 @@ import java.util.Map;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.impl.scripting.engine.CompiledScriptCache;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.test.Deployment;
 
@@ -48,6 +50,26 @@ public class ExternalScriptTaskTest extends PluggableProcessEngineTestCase {
     assertEquals("Greetings camunda BPM speaking", greeting);
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/bpmn/scripttask/ExternalScriptTaskTest.testDefaultExternalScriptAsVariable.bpmn20.xml"})
+  public void testDynamicExternalScriptIsCompiledOnce() {
+    String scriptPath = "org/camunda/bpm/engine/test/bpmn/scripttask/greeting.py";
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getScriptingEngines().getCompiledScriptCache();
+    String key = CompiledScriptCache.getKey("python", ResourceUtil.loadResourceContent(scriptPath, null));
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("scriptPath", scriptPath);
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    assertTrue(compiledScriptCache.contains(key));
+    int cachedScripts = compiledScriptCache.size();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // the script is not compiled again
+    assertEquals(cachedScripts, compiledScriptCache.size());
+    assertEquals("Greetings camunda BPM speaking", runtimeService.getVariable(processInstance.getId(), "greeting"));
+  }
+
   @Deployment(resources = {"org/camunda/bpm/engine/test/bpmn/scripttask/ExternalScriptTaskTest.testDefaultExternalScriptAsVariable.bpmn20.xml"})
   public void testDefaultExternalScriptAsNonExistingVariable() {
     try {
@@ -546,6 +546,21 @@ public class ScriptTaskTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  public void testGroovyNotExistingImportAsDynamicSource() {
+    deployProcess(GROOVY, "${scriptSource}");
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("scriptSource", "import unknown");
+
+    try {
+      runtimeService.startProcessInstanceByKey("testProcess", variables);
+      fail("Should fail during script evaluation");
+    }
+    catch (ScriptEvaluationException e) {
+      assertTextPresentIgnoreCase("import unknown", e.getMessage());
+    }
+  }
+
   public void testShouldNotDeployProcessWithMissingScriptElementAndResource() {
     try {
       deployProcess(Bpmn.createExecutableProcess("testProcess")
@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.test.cache;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.LruCache;
+
+public class LruCacheTest extends TestCase {
+
+  public void testEvictLeastRecentlyUsedEntry() {
+    LruCache<String, String> cache = new LruCache<String, String>("test", 2);
+
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    // access "a" so that "b" is the least recently used entry
+    assertEquals("1", cache.get("a"));
+
+    cache.put("c", "3");
+
+    assertEquals(2, cache.size());
+    assertEquals("1", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("3", cache.get("c"));
+  }
+
+  public void testUnboundedCache() {
+    LruCache<String, String> cache = new LruCache<String, String>("test", 0);
+
+    for (int i = 0; i < 100; i++) {
+      cache.put("key" + i, "value" + i);
+    }
+
+    assertEquals(100, cache.size());
+    assertEquals("value0", cache.get("key0"));
+  }
+
+  public void testRemoveAndClear() {
+    LruCache<String, String> cache = new LruCache<String, String>("test", 10);
+    cache.put("a", "1");
+    cache.put("b", "2");
+
+    cache.remove("a");
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertTrue(cache.isEmpty());
+  }
+
+  public void testMapView() {
+    LruCache<String, String> cache = new LruCache<String, String>("test", 2);
+    cache.put("a", "1");
+
+    Map<String, String> entries = cache.asMap();
+    assertEquals("1", entries.get("a"));
+
+    entries.put("b", "2");
+    entries.put("c", "3");
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get("a"));
+    assertEquals("3", cache.get("c"));
+  }
+
+}
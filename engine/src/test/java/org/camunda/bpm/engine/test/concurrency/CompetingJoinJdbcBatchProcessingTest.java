@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.test.concurrency;
+
+import org.camunda.bpm.engine.test.Deployment;
+
+/**
+ * Runs the competing joins with JDBC batch processing enabled to make sure
+ * that optimistic locking failures are detected for batched updates.
+ */
+public class CompetingJoinJdbcBatchProcessingTest extends CompetingJoinTest {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchProcessing(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchProcessing(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/concurrency/CompetingJoinTest.testCompetingJoins.bpmn20.xml"})
+  public void testCompetingJoins() throws Exception {
+    super.testCompetingJoins();
+  }
+
+}
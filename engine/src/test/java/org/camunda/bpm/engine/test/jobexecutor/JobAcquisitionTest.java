@@ -4,7 +4,10 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.impl.Page;
@@ -110,6 +113,23 @@ public class JobAcquisitionTest extends PluggableProcessEngineTestCase {
           executableJobs = jobManager.findExclusiveJobsToExecute(processInstanceId);
           assertEquals(1, executableJobs.size());
           assertEquals(myCustomTimerEntity, executableJobs.get(0).getJobHandlerConfiguration());
+
+          Map<String, List<JobEntity>> exclusiveJobs = jobManager
+              .findExclusiveJobsToExecute(Arrays.asList(processInstanceId, "unknown"));
+          assertEquals(1, exclusiveJobs.size());
+          executableJobs = exclusiveJobs.get(processInstanceId);
+          assertEquals(1, executableJobs.size());
+          assertEquals(myCustomTimerEntity, executableJobs.get(0).getJobHandlerConfiguration());
+
+          // more process instances than fit into one IN list
+          List<String> processInstanceIds = new ArrayList<String>();
+          for (int i = 0; i < 1500; i++) {
+            processInstanceIds.add("unknown" + i);
+          }
+          processInstanceIds.add(processInstanceId);
+          exclusiveJobs = jobManager.findExclusiveJobsToExecute(processInstanceIds);
+          assertEquals(1, exclusiveJobs.size());
+          assertEquals(1, exclusiveJobs.get(processInstanceId).size());
           return null;
         }
       });
@@ -17,13 +17,17 @@ import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.ExecuteJobsRunnable;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -65,6 +69,135 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
     clearDatabase();
   }
 
+  public void testJobCommandsWithAcquiredMessage() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    String jobId = commandExecutor.execute(new Command<String>() {
+
+      public String execute(CommandContext commandContext) {
+        MessageEntity message = createTweetMessage("i'm coding a test");
+        commandContext.getJobManager().send(message);
+        return message.getId();
+      }
+    });
+
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    assertEquals(1, acquiredJobs.getJobs().size());
+
+    // the acquired job reflects the locked state in the database
+    JobEntity acquiredJob = acquiredJobs.getJobs().iterator().next();
+    assertEquals(jobId, acquiredJob.getId());
+    assertEquals(jobExecutor.getLockOwner(), acquiredJob.getLockOwner());
+    assertEquals(2, acquiredJob.getRevision());
+
+    commandExecutor.execute(new ExecuteJobsCmd(jobId, acquiredJob));
+
+    assertEquals("i'm coding a test", tweetHandler.getMessages().get(0));
+    assertEquals(1, tweetHandler.getMessages().size());
+    assertEquals(0, managementService.createJobQuery().count());
+
+    clearDatabase();
+  }
+
+  public void testChangedAcquiredMessageIsSelectedAgain() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    String jobId = commandExecutor.execute(new Command<String>() {
+
+      public String execute(CommandContext commandContext) {
+        MessageEntity message = createTweetMessage("i'm coding a test");
+        commandContext.getJobManager().send(message);
+        return message.getId();
+      }
+    });
+
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    JobEntity acquiredJob = acquiredJobs.getJobs().iterator().next();
+
+    // the job is changed after it was acquired
+    final String changedJobId = jobId;
+    commandExecutor.execute(new Command<Void>() {
+
+      public Void execute(CommandContext commandContext) {
+        commandContext.getJobManager().findJobById(changedJobId).setRetries(5);
+        return null;
+      }
+    });
+
+    // the job is selected again and executed in its current state
+    commandExecutor.execute(new ExecuteJobsCmd(jobId, acquiredJob));
+
+    assertEquals(1, tweetHandler.getMessages().size());
+    assertEquals(0, managementService.createJobQuery().count());
+
+    clearDatabase();
+  }
+
+  public void testDeletedAcquiredMessageIsSkipped() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    String jobId = commandExecutor.execute(new Command<String>() {
+
+      public String execute(CommandContext commandContext) {
+        MessageEntity message = createTweetMessage("i'm coding a test");
+        commandContext.getJobManager().send(message);
+        return message.getId();
+      }
+    });
+
+    ProcessEngineImpl processEngineImpl = (ProcessEngineImpl) processEngine;
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    jobExecutor.registerAcquiredJobs(processEngineImpl, acquiredJobs);
+
+    // the job is deleted after it was acquired
+    deleteJob(jobId);
+
+    List<String> jobIds = new ArrayList<String>();
+    jobIds.add(jobId);
+    new ExecuteJobsRunnable(jobIds, processEngineImpl).run();
+
+    // the handler is not invoked for the deleted job
+    assertEquals(0, tweetHandler.getMessages().size());
+    assertEquals(0, managementService.createJobQuery().count());
+
+    clearDatabase();
+  }
+
+  public void testOnlyFirstAcquiredJobOfBatchIsUsed() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    JobExecutor jobExecutor = processEngineConfiguration.getJobExecutor();
+    final List<String> jobIds = commandExecutor.execute(new Command<List<String>>() {
+
+      public List<String> execute(CommandContext commandContext) {
+        List<String> jobIds = new ArrayList<String>();
+        for (int i = 0; i < 2; i++) {
+          MessageEntity message = createTweetMessage("message-" + i);
+          commandContext.getJobManager().send(message);
+          jobIds.add(message.getId());
+        }
+        return jobIds;
+      }
+    });
+
+    ProcessEngineImpl processEngineImpl = (ProcessEngineImpl) processEngine;
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    jobExecutor.registerAcquiredJobs(processEngineImpl, acquiredJobs);
+    assertEquals(2, acquiredJobs.getJobs().size());
+
+    // the second job is deleted while the first one is executed
+    deleteJob(jobIds.get(1));
+
+    new ExecuteJobsRunnable(jobIds, processEngineImpl).run();
+
+    // the deleted job is skipped
+    assertEquals(1, tweetHandler.getMessages().size());
+    assertEquals("message-0", tweetHandler.getMessages().get(0));
+    assertEquals(0, managementService.createJobQuery().count());
+    assertNull(jobExecutor.takeAcquiredJob(processEngineImpl, jobIds.get(1)));
+
+    clearDatabase();
+  }
+
   static final long SOME_TIME = 928374923546L;
   static final long SECOND = 1000;
 
@@ -111,6 +244,93 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
     clearDatabase();
   }
 
+  public void testAcquisitionIsLimitedByExecutionCapacity() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    final List<String> jobIds = commandExecutor.execute(new Command<List<String>>() {
+
+      public List<String> execute(CommandContext commandContext) {
+        List<String> jobIds = new ArrayList<String>();
+        for (int i = 0; i < 3; i++) {
+          MessageEntity message = createTweetMessage("message-" + i);
+          commandContext.getJobManager().send(message);
+          jobIds.add(message.getId());
+        }
+        return jobIds;
+      }
+    });
+
+    CapacityLimitedJobExecutor jobExecutor = new CapacityLimitedJobExecutor();
+    jobExecutor.availableExecutionCapacity = 2;
+
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    assertEquals(2, acquiredJobs.size());
+    assertEquals(2, acquiredJobs.getNumberOfJobsAttemptedToAcquire());
+
+    // no capacity left: no job is locked
+    jobExecutor.availableExecutionCapacity = 0;
+    acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    assertEquals(0, acquiredJobs.size());
+    assertEquals(0, acquiredJobs.getNumberOfJobsAttemptedToAcquire());
+    assertEquals(1, countAcquirableJobs(commandExecutor));
+
+    for (String jobId : jobIds) {
+      commandExecutor.execute(new ExecuteJobsCmd(jobId));
+    }
+    assertEquals(3, tweetHandler.getMessages().size());
+
+    clearDatabase();
+  }
+
+  public void testExecutionCapacityLimitsJobBatches() {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    final List<String> jobIds = commandExecutor.execute(new Command<List<String>>() {
+
+      public List<String> execute(CommandContext commandContext) {
+        List<String> jobIds = new ArrayList<String>();
+        for (int i = 0; i < 3; i++) {
+          MessageEntity message = createTweetMessage("message-" + i);
+          message.setExclusive(true);
+          message.setProcessInstanceId("aProcessInstanceId");
+          commandContext.getJobManager().send(message);
+          jobIds.add(message.getId());
+        }
+        return jobIds;
+      }
+    });
+
+    CapacityLimitedJobExecutor jobExecutor = new CapacityLimitedJobExecutor();
+    jobExecutor.availableExecutionCapacity = 1;
+
+    // the exclusive jobs of a process instance are executed in one batch
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(jobExecutor));
+    assertEquals(1, acquiredJobs.getJobIdBatches().size());
+    assertEquals(3, acquiredJobs.size());
+
+    for (String jobId : jobIds) {
+      commandExecutor.execute(new ExecuteJobsCmd(jobId));
+    }
+    assertEquals(3, tweetHandler.getMessages().size());
+
+    clearDatabase();
+  }
+
+  protected int countAcquirableJobs(CommandExecutor commandExecutor) {
+    return commandExecutor.execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findNextJobsToExecute(new Page(0, 10)).size();
+      }
+    });
+  }
+
+  protected void deleteJob(final String jobId) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getJobManager().findJobById(jobId).delete();
+        return null;
+      }
+    });
+  }
+
   protected void clearDatabase() {
     processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
       public Void execute(CommandContext commandContext) {
@@ -131,4 +351,22 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
     });
   }
 
+  protected static class CapacityLimitedJobExecutor extends JobExecutor {
+
+    protected int availableExecutionCapacity;
+
+    public int getAvailableExecutionCapacity() {
+      return availableExecutionCapacity;
+    }
+
+    protected void startExecutingJobs() {
+    }
+
+    protected void stopExecutingJobs() {
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    }
+  }
+
 }
@@ -19,14 +19,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.util.VirtualThreadUtil;
 
 
 /**
@@ -123,4 +129,72 @@ public class JobExecutorTest extends JobExecutorTestCase {
     acquiredJobs.removeJobId("g");
     assertEquals(2, acquiredJobs.getJobIdBatches().size());
   }
+
+  public void testVirtualThreadFactory() throws Exception {
+    ThreadFactory threadFactory = VirtualThreadUtil.createVirtualThreadFactory("job-executor-test-");
+
+    if (!VirtualThreadUtil.isVirtualThreadSupported()) {
+      assertNull(threadFactory);
+      return;
+    }
+
+    final List<String> executedBy = new ArrayList<String>();
+    Thread thread = threadFactory.newThread(new Runnable() {
+      public void run() {
+        executedBy.add(Thread.currentThread().getName());
+      }
+    });
+    thread.start();
+    thread.join();
+
+    assertEquals(Arrays.asList("job-executor-test-0"), executedBy);
+  }
+
+  public void testVirtualThreadsLimitConcurrentJobsPerProcessEngine() throws Exception {
+    final CountDownLatch jobsReleased = new CountDownLatch(1);
+
+    DefaultJobExecutor jobExecutor = new DefaultJobExecutor() {
+      protected ThreadFactory createVirtualThreadFactory() {
+        // stands in for virtual threads which are not available on every JVM
+        return new ThreadFactory() {
+          public Thread newThread(final Runnable runnable) {
+            return new Thread(new Runnable() {
+              public void run() {
+                try {
+                  jobsReleased.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                runnable.run();
+              }
+            });
+          }
+        };
+      }
+    };
+    jobExecutor.setUseVirtualThreads(true);
+    jobExecutor.setMaxConcurrentJobsPerProcessEngine(1);
+
+    final List<String> rejectedJobIds = new ArrayList<String>();
+    jobExecutor.setRejectedJobsHandler(new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    });
+
+    ProcessEngineImpl processEngineImpl = (ProcessEngineImpl) processEngine;
+    jobExecutor.start();
+    try {
+      jobExecutor.executeJobs(Arrays.asList("first"), processEngineImpl);
+      assertEquals(0, jobExecutor.getAvailableExecutionCapacity(processEngineImpl.getName()));
+
+      // the second batch exceeds the limit of the process engine
+      jobExecutor.executeJobs(Arrays.asList("second"), processEngineImpl);
+      assertEquals(Arrays.asList("second"), rejectedJobIds);
+    }
+    finally {
+      jobsReleased.countDown();
+      jobExecutor.shutdown();
+    }
+  }
 }
@@ -0,0 +1,138 @@
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.text.DateFormat.Field;
+import java.util.Calendar;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ParallelJobAcquisitionRunnable;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelJobAcquisitionTest {
+
+  private static final String RESOURCE_BASE = ParallelJobAcquisitionTest.class.getPackage().getName().replace(".", "/");
+  private static final String PROCESS_RESOURCE = RESOURCE_BASE + "/IntermediateTimerEventTest.testCatchingTimerEvent.bpmn20.xml";
+
+  private JobExecutor jobExecutor = new DefaultJobExecutor();
+
+  @Before
+  public void configureJobExecutor() {
+    jobExecutor.setAcquisitionPerProcessEngine(true);
+  }
+
+  @After
+  public void stopJobExecutor() {
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  public void testExecuteJobsForTwoEngines() {
+    ProcessEngine engine1 = buildProcessEngine("engine1", "jdbc:h2:mem:parallel-acquisition-1");
+    ProcessEngine engine2 = buildProcessEngine("engine2", "jdbc:h2:mem:parallel-acquisition-2");
+
+    try {
+      engine1.getRepositoryService().createDeployment()
+        .addClasspathResource(PROCESS_RESOURCE)
+        .deploy();
+
+      engine2.getRepositoryService().createDeployment()
+        .addClasspathResource(PROCESS_RESOURCE)
+        .deploy();
+
+      engine1.getRuntimeService().startProcessInstanceByKey("intermediateTimerEventExample");
+      engine2.getRuntimeService().startProcessInstanceByKey("intermediateTimerEventExample");
+
+      Assert.assertEquals(1, engine1.getManagementService().createJobQuery().count());
+      Assert.assertEquals(1, engine2.getManagementService().createJobQuery().count());
+
+      Calendar calendar = Calendar.getInstance();
+      calendar.add(Field.DAY_OF_YEAR.getCalendarField(), 6);
+      ClockUtil.setCurrentTime(calendar.getTime());
+
+      jobExecutor.start();
+
+      // both engines are served by their own acquisition
+      waitForAllJobsProcessed(10000, 100, engine1.getManagementService());
+      waitForAllJobsProcessed(10000, 100, engine2.getManagementService());
+
+      ParallelJobAcquisitionRunnable acquisition = (ParallelJobAcquisitionRunnable) jobExecutor.getAcquireJobsRunnable();
+      Assert.assertEquals(2, acquisition.getAcquisitionRunnables().size());
+
+    } finally {
+      ClockUtil.reset();
+      jobExecutor.shutdown();
+      engine1.close();
+      engine2.close();
+    }
+  }
+
+  @Test
+  public void testStopAcquisitionOfUnregisteredEngine() throws InterruptedException {
+    ProcessEngine engine1 = buildProcessEngine("engine1", "jdbc:h2:mem:parallel-acquisition-1");
+    ProcessEngine engine2 = buildProcessEngine("engine2", "jdbc:h2:mem:parallel-acquisition-2");
+
+    try {
+      jobExecutor.start();
+
+      ParallelJobAcquisitionRunnable acquisition = (ParallelJobAcquisitionRunnable) jobExecutor.getAcquireJobsRunnable();
+      waitForNumberOfAcquisitions(acquisition, 2, 10000);
+
+      jobExecutor.unregisterProcessEngine((ProcessEngineImpl) engine2);
+      waitForNumberOfAcquisitions(acquisition, 1, 10000);
+
+      Assert.assertTrue(acquisition.getAcquisitionRunnables().containsKey(engine1));
+
+    } finally {
+      jobExecutor.shutdown();
+      engine1.close();
+      engine2.close();
+    }
+  }
+
+  ////////// helper methods ////////////////////////////
+
+  protected ProcessEngine buildProcessEngine(String name, String jdbcUrl) {
+    StandaloneProcessEngineConfiguration engineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    engineConfiguration.setProcessEngineName(getClass().getName() + "-" + name);
+    engineConfiguration.setJdbcUrl(jdbcUrl);
+    engineConfiguration.setJobExecutorActivate(false);
+    // the process engine registers itself with the job executor
+    engineConfiguration.setJobExecutor(jobExecutor);
+    return engineConfiguration.buildProcessEngine();
+  }
+
+  protected void waitForNumberOfAcquisitions(ParallelJobAcquisitionRunnable acquisition, int numberOfAcquisitions, long maxMillisToWait) throws InterruptedException {
+    long timeout = System.currentTimeMillis() + maxMillisToWait;
+    while (acquisition.getAcquisitionRunnables().size() != numberOfAcquisitions) {
+      if (System.currentTimeMillis() > timeout) {
+        throw new ProcessEngineException("time limit of " + maxMillisToWait + " was exceeded");
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  protected void waitForAllJobsProcessed(long maxMillisToWait, long intervalMillis, ManagementService managementService) {
+    long timeout = System.currentTimeMillis() + maxMillisToWait;
+    try {
+      while (!managementService.createJobQuery().executable().list().isEmpty()) {
+        if (System.currentTimeMillis() > timeout) {
+          throw new ProcessEngineException("time limit of " + maxMillisToWait + " was exceeded");
+        }
+        Thread.sleep(intervalMillis);
+      }
+    } catch (InterruptedException e) {
+      throw new ProcessEngineException("interrupted while waiting for jobs to be processed", e);
+    }
+  }
+
+}
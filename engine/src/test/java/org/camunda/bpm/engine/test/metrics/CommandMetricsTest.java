@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.metrics;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.CompleteTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.CommandMetrics;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class CommandMetricsTest extends ResourceProcessEngineTestCase {
+
+  public CommandMetricsTest() {
+    super("org/camunda/bpm/engine/test/metrics/commandMetricsTest.cfg.xml");
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    managementService.resetCommandMetrics();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRecordCommandMetrics() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CommandMetrics startMetrics = getCommandMetrics(StartProcessInstanceCmd.class);
+    assertNotNull(startMetrics);
+    assertEquals(2, startMetrics.getInvocations());
+    assertEquals(0, startMetrics.getFailures());
+    assertTrue(startMetrics.getSqlStatements() > 0);
+    assertTrue(startMetrics.getTotalExecutionTime() >= startMetrics.getTotalFlushTime());
+    assertTrue(startMetrics.getExecutionTimePercentile(100) > 0);
+
+    Task task = taskService.createTaskQuery().list().get(0);
+    taskService.complete(task.getId());
+
+    CommandMetrics completeMetrics = getCommandMetrics(CompleteTaskCmd.class);
+    assertNotNull(completeMetrics);
+    assertEquals(1, completeMetrics.getInvocations());
+    assertTrue(completeMetrics.getEntitiesLoaded() > 0);
+  }
+
+  public void testRecordFailedCommand() {
+    try {
+      runtimeService.startProcessInstanceByKey("nonExistingProcess");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    CommandMetrics startMetrics = getCommandMetrics(StartProcessInstanceCmd.class);
+    assertNotNull(startMetrics);
+    assertEquals(1, startMetrics.getInvocations());
+    assertEquals(1, startMetrics.getFailures());
+  }
+
+  public void testResetCommandMetrics() {
+    taskService.createTaskQuery().list();
+    assertNotNull(getCommandMetrics(TaskQueryImpl.class));
+
+    managementService.resetCommandMetrics();
+
+    assertNull(getCommandMetrics(TaskQueryImpl.class));
+  }
+
+  protected CommandMetrics getCommandMetrics(Class<?> commandClass) {
+    List<CommandMetrics> commandMetrics = managementService.getCommandMetrics();
+    for (CommandMetrics metrics : commandMetrics) {
+      if (commandClass.getName().equals(metrics.getCommandName())) {
+        return metrics;
+      }
+    }
+    return null;
+  }
+
+}
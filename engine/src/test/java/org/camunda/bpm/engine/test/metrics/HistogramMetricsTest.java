@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class HistogramMetricsTest extends AbstractMetricsTest {
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void testJobExecutionTimeReporting() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    Job job = managementService.createJobQuery().singleResult();
+
+    // when
+    managementService.executeJob(job.getId());
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then the number of executed jobs is logged under the name of the histogram
+    assertEquals(1, managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_TIME).sum());
+    assertTrue(managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_TIME).percentile(50) > 0);
+
+    // and commands and flushes are timed
+    assertTrue(managementService.createMetricsQuery().name(Metrics.COMMAND_EXECUTION_TIME).sum() > 0);
+    assertTrue(managementService.createMetricsQuery().name(Metrics.FLUSH_TIME).sum() > 0);
+  }
+
+  public void testPercentileOfUnreportedValues() {
+    Histogram histogram = processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.JOB_EXECUTION_TIME);
+    histogram.record(80);
+    histogram.record(90);
+    histogram.record(2000);
+
+    assertEquals(100, managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_TIME).percentile(50));
+    assertEquals(2500, managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_TIME).percentile(99));
+  }
+
+  public void testPercentileWithoutName() {
+    try {
+      managementService.createMetricsQuery().percentile(99);
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  public void testPercentileOutOfRange() {
+    try {
+      managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_TIME).percentile(0);
+      fail("Exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  public void testPercentileCalculation() {
+    SortedMap<Long, Long> bucketCounts = new TreeMap<Long, Long>();
+    assertEquals(0, Histogram.percentile(bucketCounts, 99));
+
+    bucketCounts.put(100l, 90l);
+    bucketCounts.put(1000l, 9l);
+    bucketCounts.put(Long.MAX_VALUE, 1l);
+
+    assertEquals(100, Histogram.percentile(bucketCounts, 50));
+    assertEquals(100, Histogram.percentile(bucketCounts, 90));
+    assertEquals(1000, Histogram.percentile(bucketCounts, 99));
+    assertEquals(Long.MAX_VALUE, Histogram.percentile(bucketCounts, 100));
+  }
+
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.CommandStatistics;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessInstanceFetchPlan;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ProcessInstanceFetchPlanTest extends PluggableProcessEngineTestCase {
+
+  protected ProcessInstanceFetchPlan defaultFetchPlan;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    defaultFetchPlan = processEngineConfiguration.getProcessInstanceFetchPlan();
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setProcessInstanceFetchPlan(defaultFetchPlan);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/persistence/ProcessInstanceFetchPlanTest.parallelTasks.bpmn20.xml")
+  public void testPrefetchTasksAndVariables() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("parallelTasks").getId();
+    for (Execution execution : runtimeService.createExecutionQuery().activityId("task1").list()) {
+      runtimeService.setVariableLocal(execution.getId(), "aVariable", "aValue");
+    }
+    for (Execution execution : runtimeService.createExecutionQuery().activityId("task2").list()) {
+      runtimeService.setVariableLocal(execution.getId(), "aVariable", "anotherValue");
+    }
+
+    LoadExecutionTreeCmd lazyLoading = new LoadExecutionTreeCmd(processInstanceId);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(lazyLoading);
+
+    processEngineConfiguration.setProcessInstanceFetchPlan(ProcessInstanceFetchPlan.all());
+    LoadExecutionTreeCmd prefetching = new LoadExecutionTreeCmd(processInstanceId);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(prefetching);
+
+    // the same entities are loaded
+    assertEquals(3, lazyLoading.tasksByExecution.size());
+    assertEquals(lazyLoading.tasksByExecution, prefetching.tasksByExecution);
+    assertEquals(lazyLoading.variablesByExecution, prefetching.variablesByExecution);
+
+    // with less statements
+    assertTrue(prefetching.sqlStatements < lazyLoading.sqlStatements);
+  }
+
+  protected static class LoadExecutionTreeCmd implements Command<Void> {
+
+    protected String processInstanceId;
+    protected Map<String, Integer> tasksByExecution = new HashMap<String, Integer>();
+    protected Map<String, Object> variablesByExecution = new HashMap<String, Object>();
+    protected long sqlStatements;
+
+    public LoadExecutionTreeCmd(String processInstanceId) {
+      this.processInstanceId = processInstanceId;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      CommandStatistics statistics = new CommandStatistics();
+      Context.setCommandStatistics(statistics);
+      try {
+        ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        for (ExecutionEntity execution : processInstance.getExecutions()) {
+          tasksByExecution.put(execution.getId(), execution.getTasks().size());
+          variablesByExecution.put(execution.getId(), execution.getVariableLocal("aVariable"));
+        }
+        sqlStatements = statistics.getSqlStatements();
+      }
+      finally {
+        Context.removeCommandStatistics();
+      }
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,140 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.history.handler.AsyncBufferedHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class AsyncBufferedHistoryTest extends ResourceProcessEngineTestCase {
+
+  public AsyncBufferedHistoryTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/asyncbufferedhistory.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testHistoryIsWrittenByTheWriter() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    // the events are buffered
+    assertTrue(getHistoryEventHandler().getQueueSize() > 0);
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    getHistoryEventHandler().flush();
+
+    assertEquals(0, getHistoryEventHandler().getQueueSize());
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertEquals(processInstanceId, historicProcessInstance.getId());
+    assertNotNull(historicProcessInstance.getStartTime());
+    assertNotNull(historicProcessInstance.getEndTime());
+
+    List<HistoricActivityInstance> historicActivityInstances = historyService.createHistoricActivityInstanceQuery().list();
+    assertEquals(3, historicActivityInstances.size());
+    for (HistoricActivityInstance historicActivityInstance : historicActivityInstances) {
+      assertNotNull(historicActivityInstance.getStartTime());
+      assertNotNull(historicActivityInstance.getEndTime());
+    }
+
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().finished().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testEventsAreWrittenSynchronouslyIfTheBufferIsFull() {
+    long overflowBefore = getOverflowCount();
+
+    // each process instance fires several events, five of them do not fit into the buffer
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    // the committing thread wrote the buffered events and its own ones,
+    // the events of the later process instances are buffered again
+    assertTrue(getOverflowCount() > overflowBefore);
+    long writtenProcessInstances = historyService.createHistoricProcessInstanceQuery().count();
+    assertTrue(writtenProcessInstances > 0);
+    assertTrue(writtenProcessInstances < 5);
+    assertTrue(getHistoryEventHandler().getQueueSize() > 0);
+
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    getHistoryEventHandler().flush();
+
+    assertEquals(5, historyService.createHistoricProcessInstanceQuery().finished().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testEventsAreWrittenInCommitOrder() {
+    final CommandExecutor requiresNewCommandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        // another command completes the task after this command committed but before its events are queued
+        commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            requiresNewCommandExecutor.execute(new Command<Void>() {
+              public Void execute(CommandContext commandContext) {
+                Task task = taskService.createTaskQuery().singleResult();
+                taskService.complete(task.getId());
+                return null;
+              }
+            });
+          }
+        });
+
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        return null;
+      }
+    });
+
+    getHistoryEventHandler().flush();
+
+    // the end of the process instance is not written before its start
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().finished().count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().finished().count());
+  }
+
+  protected AsyncBufferedHistoryEventHandler getHistoryEventHandler() {
+    return (AsyncBufferedHistoryEventHandler) processEngineConfiguration.getHistoryEventHandler();
+  }
+
+  protected long getOverflowCount() {
+    return processEngineConfiguration
+      .getMetricsRegistry()
+      .getMeterByName(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW)
+      .get();
+  }
+
+}
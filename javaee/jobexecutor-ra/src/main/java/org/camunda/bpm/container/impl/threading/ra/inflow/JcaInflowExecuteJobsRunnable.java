@@ -37,6 +37,9 @@ public class JcaInflowExecuteJobsRunnable extends ExecuteJobsRunnable {
   }
 
   protected void executeJob(String nextJobId, CommandExecutor commandExecutor) {
+    // the JobExecutionHandler selects the job itself, discard the state of the acquired job
+    getAcquiredJob(nextJobId);
+
     JobExecutionHandlerActivation jobHandlerActivation = ra.getJobHandlerActivation();
     if(jobHandlerActivation == null) {
       // TODO: stop acquisition / only activate acquisition if MDB active?
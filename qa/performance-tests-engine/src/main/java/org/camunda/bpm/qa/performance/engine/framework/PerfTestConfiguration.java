@@ -35,6 +35,7 @@ public class PerfTestConfiguration {
 
   protected String testWatchers = null;
   protected String historyLevel;
+  protected String idGeneratorType;
 
   protected List<String> watchActivities = null;
 
@@ -48,6 +49,7 @@ public class PerfTestConfiguration {
     testWatchers = properties.getProperty("testWatchers", null);
     databaseName = properties.getProperty("databaseDriver", null);
     historyLevel = properties.getProperty("historyLevel");
+    idGeneratorType = properties.getProperty("idGeneratorType");
     watchActivities = parseWatchActivities(properties.getProperty("watchActivities", null));
   }
 
@@ -90,6 +92,14 @@ public class PerfTestConfiguration {
     this.historyLevel = historyLevel;
   }
 
+  public String getIdGeneratorType() {
+    return idGeneratorType;
+  }
+
+  public void setIdGeneratorType(String idGeneratorType) {
+    this.idGeneratorType = idGeneratorType;
+  }
+
   public Date getStartTime() {
     return startTime;
   }
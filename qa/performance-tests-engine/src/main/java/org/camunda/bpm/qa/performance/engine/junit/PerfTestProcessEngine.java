@@ -57,6 +57,7 @@ public class PerfTestProcessEngine {
     processEngineConfiguration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
 
     processEngineConfiguration.setHistory(properties.getProperty("historyLevel"));
+    processEngineConfiguration.setIdGeneratorType(properties.getProperty("idGeneratorType"));
 
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.TASK_ID;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE1;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE10;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE2;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE3;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE4;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE5;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE6;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE7;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE8;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE9;
+
+import java.util.HashMap;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.CompleteTaskStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * <p>Insert heavy processes which fill the execution, variable, task and history
+ * tables. Run the benchmark once for each id generator type to compare the insert
+ * throughput of the id generators (see README).</p>
+ */
+public class IdGeneratorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  @Deployment(resources =
+    {"org/camunda/bpm/qa/performance/engine/bpmn/StartEventPerformanceTest.noneStartEvent.bpmn"})
+  public void noneStartEvent10Vars() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources =
+    {"org/camunda/bpm/qa/performance/engine/bpmn/UserTaskPerformanceTest.singleTask.bpmn"})
+  public void singleTask10Vars() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+      .step(new CompleteTaskStep(engine, TASK_ID))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources =
+    {"org/camunda/bpm/qa/performance/engine/bpmn/SequencePerformanceTest.syncSequence15Steps.bpmn"})
+  public void syncSequence15Steps() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  protected HashMap<String, Object> createVariables() {
+    HashMap<String, Object> variables = new HashMap<String, Object>();
+    variables.put(VARIABLE1, "someValue");
+    variables.put(VARIABLE2, "someValue");
+    variables.put(VARIABLE3, "someValue");
+    variables.put(VARIABLE4, "someValue");
+    variables.put(VARIABLE5, "someValue");
+    variables.put(VARIABLE6, 2d);
+    variables.put(VARIABLE7, 2d);
+    variables.put(VARIABLE8, 42l);
+    variables.put(VARIABLE9, 42l);
+    variables.put(VARIABLE10, "This string will be saved as a byte array.".getBytes());
+    return variables;
+  }
+
+}